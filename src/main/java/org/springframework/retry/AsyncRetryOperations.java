@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Defines the basic set of operations to execute asynchronous operations with
+ * configurable retry behaviour. In contrast to {@link RetryOperations} no thread is held
+ * while backing off between attempts: the next attempt is scheduled once the previous
+ * {@link CompletionStage} has completed exceptionally.
+ *
+ * @since 2.0.5
+ * @see org.springframework.retry.support.AsyncRetryTemplate
+ */
+public interface AsyncRetryOperations {
+
+	/**
+	 * Execute the supplied operation with the configured retry semantics. The supplier is
+	 * invoked once per attempt and should return without blocking.
+	 * @param <T> the type of the result
+	 * @param supplier the operation to retry
+	 * @return a future completed with the first successful result, or exceptionally with
+	 * the last exception once retries are exhausted.
+	 */
+	<T> CompletableFuture<T> execute(Supplier<? extends CompletionStage<T>> supplier);
+
+	/**
+	 * Execute the supplied operation with a fallback on exhausted retry to the
+	 * {@link RecoveryCallback}.
+	 * @param <T> the type of the result
+	 * @param supplier the operation to retry
+	 * @param recoveryCallback the {@link RecoveryCallback} providing the fallback result
+	 * @return a future completed with the first successful result, or with the result of
+	 * the recovery callback once retries are exhausted.
+	 */
+	<T> CompletableFuture<T> execute(Supplier<? extends CompletionStage<T>> supplier,
+			RecoveryCallback<? extends CompletionStage<T>> recoveryCallback);
+
+	/**
+	 * Execute the callback with the configured retry semantics. The callback is invoked
+	 * once per attempt and its {@link CompletionStage} decides whether the attempt
+	 * failed. Retry listeners are passed the callback itself.
+	 * @param <T> the type of the result
+	 * @param retryCallback the {@link RetryCallback}
+	 * @return a future completed with the first successful result, or exceptionally with
+	 * the last exception once retries are exhausted.
+	 */
+	<T> CompletableFuture<T> execute(RetryCallback<? extends CompletionStage<T>, ?> retryCallback);
+
+	/**
+	 * Execute the callback with a fallback on exhausted retry to the
+	 * {@link RecoveryCallback}.
+	 * @param <T> the type of the result
+	 * @param retryCallback the {@link RetryCallback}
+	 * @param recoveryCallback the {@link RecoveryCallback} providing the fallback result
+	 * @return a future completed with the first successful result, or with the result of
+	 * the recovery callback once retries are exhausted.
+	 */
+	<T> CompletableFuture<T> execute(RetryCallback<? extends CompletionStage<T>, ?> retryCallback,
+			RecoveryCallback<? extends CompletionStage<T>> recoveryCallback);
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2022 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -81,4 +81,52 @@ public interface RetryListener {
 			Throwable throwable) {
 	}
 
+	/**
+	 * Called after backing off between two attempts, before the next attempt or the
+	 * rethrow of the last exception. Implementations of {@link RetryOperations} only time
+	 * the back off when a listener overrides this method.
+	 * @param context the current {@link RetryContext}.
+	 * @param callback the current {@link RetryCallback}.
+	 * @param nanos the time spent backing off, in nanoseconds
+	 * @param <T> the return value
+	 * @param <E> the exception to throw
+	 * @since 2.0.5
+	 */
+	default <T, E extends Throwable> void onBackOff(RetryContext context, RetryCallback<T, E> callback, long nanos) {
+	}
+
+	/**
+	 * Called after every attempt, before {@link #onSuccess} or {@link #onError}, with the
+	 * time the attempt took. The time is that of the current call even when the context
+	 * is shared by concurrent calls, like the global context of a circuit breaker.
+	 * Implementations of {@link RetryOperations} only time the attempts when a listener
+	 * overrides this method or {@link #onCallLatency}.
+	 * @param context the current {@link RetryContext}.
+	 * @param callback the current {@link RetryCallback}.
+	 * @param nanos the time the attempt took, in nanoseconds
+	 * @param <T> the return value
+	 * @param <E> the exception to throw
+	 * @since 2.0.5
+	 */
+	default <T, E extends Throwable> void onAttemptLatency(RetryContext context, RetryCallback<T, E> callback,
+			long nanos) {
+	}
+
+	/**
+	 * Called before {@link #close}, with the time since the retry was opened, including
+	 * all the attempts and back offs. The time is that of the current call even when the
+	 * context is shared by concurrent calls. Implementations of {@link RetryOperations}
+	 * only time the calls when a listener overrides this method or
+	 * {@link #onAttemptLatency}.
+	 * @param context the current {@link RetryContext}.
+	 * @param callback the current {@link RetryCallback}.
+	 * @param nanos the time the call took, in nanoseconds
+	 * @param <T> the return value
+	 * @param <E> the exception to throw
+	 * @since 2.0.5
+	 */
+	default <T, E extends Throwable> void onCallLatency(RetryContext context, RetryCallback<T, E> callback,
+			long nanos) {
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2007 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,9 @@ package org.springframework.retry;
 /**
  * Interface for statistics reporting of retry attempts. Counts the number of retry
  * attempts, successes, errors (including retries), and aborts.
+ * <p>
+ * The {@code int} counts wrap around once more than {@link Integer#MAX_VALUE} events have
+ * been counted, the {@code long} totals do not.
  *
  * @author Dave Syer
  *
@@ -55,6 +58,51 @@ public interface RetryStatistics {
 	 */
 	int getRecoveryCount();
 
+	/**
+	 * Get the number of completed successful retry attempts as a {@code long}.
+	 * @return the number of completed successful retry attempts.
+	 * @since 2.0.5
+	 */
+	default long getCompleteTotal() {
+		return getCompleteCount();
+	}
+
+	/**
+	 * Get the number of retry blocks started as a {@code long}.
+	 * @return the number of retry blocks started.
+	 * @since 2.0.5
+	 */
+	default long getStartedTotal() {
+		return getStartedCount();
+	}
+
+	/**
+	 * Get the number of errors detected as a {@code long}.
+	 * @return the number of errors detected.
+	 * @since 2.0.5
+	 */
+	default long getErrorTotal() {
+		return getErrorCount();
+	}
+
+	/**
+	 * Get the number of retry blocks that failed overall as a {@code long}.
+	 * @return the number of retry attempts that failed overall.
+	 * @since 2.0.5
+	 */
+	default long getAbortTotal() {
+		return getAbortCount();
+	}
+
+	/**
+	 * Get the number of times a recovery callback was applied as a {@code long}.
+	 * @return the number of recovered attempts.
+	 * @since 2.0.5
+	 */
+	default long getRecoveryTotal() {
+		return getRecoveryCount();
+	}
+
 	/**
 	 * Get an identifier for the retry block for reporting purposes.
 	 * @return an identifier for the block.
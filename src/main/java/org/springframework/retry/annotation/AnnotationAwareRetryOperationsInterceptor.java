@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2023 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,14 @@ package org.springframework.retry.annotation;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.naming.OperationNotSupportedException;
@@ -56,14 +59,21 @@ import org.springframework.retry.interceptor.MethodArgumentsKeyGenerator;
 import org.springframework.retry.interceptor.MethodInvocationRecoverer;
 import org.springframework.retry.interceptor.NewMethodArgumentsIdentifier;
 import org.springframework.retry.interceptor.RetryInterceptorBuilder;
+import org.springframework.retry.policy.BoundedRetryContextCache;
+import org.springframework.retry.policy.CircuitBreakerRegistry;
 import org.springframework.retry.policy.CircuitBreakerRetryPolicy;
 import org.springframework.retry.policy.ExpressionRetryPolicy;
+import org.springframework.retry.policy.FailureRateCircuitBreakerRetryPolicy;
 import org.springframework.retry.policy.MapRetryContextCache;
 import org.springframework.retry.policy.RetryContextCache;
 import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.reactor.ReactorRetryOperations;
 import org.springframework.retry.support.Args;
+import org.springframework.retry.support.AsyncRetryTemplate;
 import org.springframework.retry.support.RetrySynchronizationManager;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
@@ -79,10 +89,23 @@ import org.springframework.util.StringUtils;
  */
 public class AnnotationAwareRetryOperationsInterceptor implements IntroductionInterceptor, BeanFactoryAware {
 
+	/**
+	 * The default time in milliseconds after which the circuit of a key not used any more
+	 * is forgotten - 10 minutes.
+	 * @since 2.0.5
+	 * @see CircuitBreaker#key()
+	 */
+	public static final long DEFAULT_KEYED_CIRCUIT_EXPIRE_AFTER_ACCESS = 600000;
+
 	private static final TemplateParserContext PARSER_CONTEXT = new TemplateParserContext();
 
 	private static final SpelExpressionParser PARSER = new SpelExpressionParser();
 
+	private static final String CIRCUIT_KEY = "circuit";
+
+	private static final boolean reactorPresent = ClassUtils.isPresent("reactor.core.publisher.Flux",
+			AnnotationAwareRetryOperationsInterceptor.class.getClassLoader());
+
 	private static final MethodInterceptor NULL_INTERCEPTOR = methodInvocation -> {
 		throw new OperationNotSupportedException("Not supported");
 	};
@@ -93,6 +116,10 @@ public class AnnotationAwareRetryOperationsInterceptor implements IntroductionIn
 
 	private RetryContextCache retryContextCache = new MapRetryContextCache();
 
+	private RetryContextCache keyedCircuitContextCache = createKeyedCircuitContextCache();
+
+	private CircuitBreakerRegistry circuitBreakerRegistry = new CircuitBreakerRegistry();
+
 	private MethodArgumentsKeyGenerator methodArgumentsKeyGenerator;
 
 	private NewMethodArgumentsIdentifier newMethodArgumentsIdentifier;
@@ -103,6 +130,8 @@ public class AnnotationAwareRetryOperationsInterceptor implements IntroductionIn
 
 	private RetryListener[] globalListeners;
 
+	private ScheduledExecutorService scheduler;
+
 	/**
 	 * @param sleeper the sleeper to set
 	 */
@@ -110,6 +139,17 @@ public class AnnotationAwareRetryOperationsInterceptor implements IntroductionIn
 		this.sleeper = sleeper;
 	}
 
+	/**
+	 * Set the scheduler used to run the attempts of methods returning a
+	 * {@link CompletionStage} after a back off.
+	 * @param scheduler the scheduler
+	 * @since 2.0.5
+	 * @see AsyncRetryTemplate#setScheduler(ScheduledExecutorService)
+	 */
+	public void setScheduler(ScheduledExecutorService scheduler) {
+		this.scheduler = scheduler;
+	}
+
 	/**
 	 * Public setter for the {@link RetryContextCache}.
 	 * @param retryContextCache the {@link RetryContextCache} to set.
@@ -118,6 +158,41 @@ public class AnnotationAwareRetryOperationsInterceptor implements IntroductionIn
 		this.retryContextCache = retryContextCache;
 	}
 
+	/**
+	 * Set the {@link RetryContextCache} holding the circuits of the
+	 * {@link CircuitBreaker} methods with a {@link CircuitBreaker#key() key}. Defaults to
+	 * a {@link BoundedRetryContextCache} with its default maximum size, forgetting the
+	 * circuits not used for {@link #DEFAULT_KEYED_CIRCUIT_EXPIRE_AFTER_ACCESS}.
+	 * @param keyedCircuitContextCache the {@link RetryContextCache} to set
+	 * @since 2.0.5
+	 */
+	public void setKeyedCircuitContextCache(RetryContextCache keyedCircuitContextCache) {
+		this.keyedCircuitContextCache = keyedCircuitContextCache;
+	}
+
+	/**
+	 * Set the {@link CircuitBreakerRegistry} tracking the circuit breakers of the
+	 * {@link CircuitBreaker} methods. A method without a {@link CircuitBreaker#key() key}
+	 * has a single circuit, and a method with one a circuit per key, stored in the
+	 * {@link #setKeyedCircuitContextCache(RetryContextCache) keyed circuit context cache}
+	 * under the list of the label and the key. A breaker is registered when its method is
+	 * first called. Defaults to a registry of its own.
+	 * @param circuitBreakerRegistry the registry
+	 * @since 2.0.5
+	 */
+	public void setCircuitBreakerRegistry(CircuitBreakerRegistry circuitBreakerRegistry) {
+		Assert.notNull(circuitBreakerRegistry, "'circuitBreakerRegistry' cannot be null");
+		this.circuitBreakerRegistry = circuitBreakerRegistry;
+	}
+
+	/**
+	 * @return the {@link CircuitBreakerRegistry} tracking the circuit breakers
+	 * @since 2.0.5
+	 */
+	public CircuitBreakerRegistry getCircuitBreakerRegistry() {
+		return this.circuitBreakerRegistry;
+	}
+
 	/**
 	 * @param methodArgumentsKeyGenerator the {@link MethodArgumentsKeyGenerator}
 	 */
@@ -226,9 +301,24 @@ public class AnnotationAwareRetryOperationsInterceptor implements IntroductionIn
 
 	private MethodInterceptor getStatelessInterceptor(Object target, Method method, Retryable retryable) {
 		RetryTemplate template = createTemplate(retryable.listeners());
-		template.setRetryPolicy(getRetryPolicy(retryable, true));
-		template.setBackOffPolicy(getBackoffPolicy(retryable.backoff(), true));
+		RetryPolicy retryPolicy = getRetryPolicy(retryable, true);
+		BackOffPolicy backOffPolicy = getBackoffPolicy(retryable.backoff(), true);
+		template.setRetryPolicy(retryPolicy);
+		template.setBackOffPolicy(backOffPolicy);
+		AsyncRetryTemplate asyncTemplate = null;
+		if (CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+			asyncTemplate = createAsyncTemplate(retryable.listeners());
+			asyncTemplate.setRetryPolicy(retryPolicy);
+			asyncTemplate.setBackOffPolicy(backOffPolicy);
+		}
+		ReactorRetryOperations reactorOperations = null;
+		if (isReactive(method)) {
+			reactorOperations = ReactorRetryTemplateFactory.create(getListeners(retryable.listeners()), retryPolicy,
+					backOffPolicy, null);
+		}
 		return RetryInterceptorBuilder.stateless()
+			.asyncRetryOperations(asyncTemplate)
+			.reactorRetryOperations(reactorOperations)
 			.retryOperations(template)
 			.label(retryable.label())
 			.recoverer(getRecoverer(target, method))
@@ -245,35 +335,97 @@ public class AnnotationAwareRetryOperationsInterceptor implements IntroductionIn
 		}
 		if (circuit != null) {
 			RetryPolicy policy = getRetryPolicy(circuit, false);
-			CircuitBreakerRetryPolicy breaker = new CircuitBreakerRetryPolicy(policy);
+			CircuitBreakerRetryPolicy breaker = createCircuitBreaker(policy, circuit);
 			openTimeout(breaker, circuit);
 			resetTimeout(breaker, circuit);
+			halfOpenPermits(breaker, circuit);
 			template.setRetryPolicy(breaker);
 			template.setBackOffPolicy(new NoBackOffPolicy());
 			String label = circuit.label();
 			if (!StringUtils.hasText(label)) {
 				label = method.toGenericString();
 			}
+			MethodArgumentsKeyGenerator keyGenerator = getCircuitKeyGenerator(circuit);
+			RetryContextCache cache = this.retryContextCache;
+			if (keyGenerator != null) {
+				cache = this.keyedCircuitContextCache;
+				template.setRetryContextCache(cache);
+				this.circuitBreakerRegistry.registerKeyed(label, breaker, cache);
+			}
+			else {
+				keyGenerator = new FixedKeyGenerator(CIRCUIT_KEY);
+				this.circuitBreakerRegistry.register(label, breaker, cache, Arrays.asList(label, CIRCUIT_KEY));
+			}
+			ReactorRetryOperations reactorOperations = null;
+			if (isReactive(method)) {
+				reactorOperations = ReactorRetryTemplateFactory.create(getListeners(retryable.listeners()), breaker,
+						null, cache);
+			}
 			return RetryInterceptorBuilder.circuitBreaker()
-				.keyGenerator(new FixedKeyGenerator("circuit"))
+				.keyGenerator(keyGenerator)
+				.reactorRetryOperations(reactorOperations)
 				.retryOperations(template)
 				.recoverer(getRecoverer(target, method))
 				.label(label)
 				.build();
 		}
 		RetryPolicy policy = getRetryPolicy(retryable, false);
+		BackOffPolicy backOffPolicy = getBackoffPolicy(retryable.backoff(), false);
 		template.setRetryPolicy(policy);
-		template.setBackOffPolicy(getBackoffPolicy(retryable.backoff(), false));
+		template.setBackOffPolicy(backOffPolicy);
+		ReactorRetryOperations reactorOperations = null;
+		if (isReactive(method)) {
+			reactorOperations = ReactorRetryTemplateFactory.create(getListeners(retryable.listeners()), policy,
+					backOffPolicy, this.retryContextCache);
+		}
 		String label = retryable.label();
 		return RetryInterceptorBuilder.stateful()
 			.keyGenerator(this.methodArgumentsKeyGenerator)
 			.newMethodArgumentsIdentifier(this.newMethodArgumentsIdentifier)
+			.reactorRetryOperations(reactorOperations)
 			.retryOperations(template)
 			.label(label)
 			.recoverer(getRecoverer(target, method))
 			.build();
 	}
 
+	private MethodArgumentsKeyGenerator getCircuitKeyGenerator(CircuitBreaker circuit) {
+		MethodArgumentsKeyGenerator keyGenerator;
+		if (StringUtils.hasText(circuit.keyGenerator())) {
+			Assert.state(this.beanFactory != null, "BeanFactory is required to resolve the key generator");
+			keyGenerator = this.beanFactory.getBean(circuit.keyGenerator(), MethodArgumentsKeyGenerator.class);
+		}
+		else if (StringUtils.hasText(circuit.key())) {
+			Expression parsed = parse(circuit.key());
+			keyGenerator = args -> parsed.getValue(this.evaluationContext, new Args(args));
+		}
+		else {
+			return null;
+		}
+		return args -> {
+			Object key = keyGenerator.getKey(args);
+			return key != null ? key : CIRCUIT_KEY;
+		};
+	}
+
+	private CircuitBreakerRetryPolicy createCircuitBreaker(RetryPolicy policy, CircuitBreaker circuit) {
+		if (circuit.slidingWindowSize() <= 0 && circuit.slowCallDurationThreshold() <= 0) {
+			return new CircuitBreakerRetryPolicy(policy);
+		}
+		FailureRateCircuitBreakerRetryPolicy breaker = new FailureRateCircuitBreakerRetryPolicy(policy);
+		breaker.setSlidingWindowType(circuit.slidingWindowType());
+		if (circuit.slidingWindowSize() > 0) {
+			breaker.setSlidingWindowSize(circuit.slidingWindowSize());
+		}
+		breaker.setMinimumNumberOfCalls(circuit.minimumNumberOfCalls());
+		breaker.setFailureRateThreshold(circuit.failureRateThreshold());
+		if (circuit.slowCallDurationThreshold() > 0) {
+			breaker.setSlowCallDurationThreshold(circuit.slowCallDurationThreshold());
+		}
+		breaker.setSlowCallRateThreshold(circuit.slowCallRateThreshold());
+		return breaker;
+	}
+
 	private void openTimeout(CircuitBreakerRetryPolicy breaker, CircuitBreaker circuit) {
 		String expression = circuit.openTimeoutExpression();
 		if (StringUtils.hasText(expression)) {
@@ -311,6 +463,31 @@ public class AnnotationAwareRetryOperationsInterceptor implements IntroductionIn
 		breaker.setResetTimeout(circuit.resetTimeout());
 	}
 
+	private void halfOpenPermits(CircuitBreakerRetryPolicy breaker, CircuitBreaker circuit) {
+		String expression = circuit.halfOpenPermitsExpression();
+		if (StringUtils.hasText(expression)) {
+			Expression parsed = parse(expression);
+			if (isTemplate(expression)) {
+				Integer value = parsed.getValue(this.evaluationContext, Integer.class);
+				if (value != null) {
+					breaker.setHalfOpenPermits(value);
+					return;
+				}
+			}
+			else {
+				breaker.halfOpenPermitsSupplier(() -> evaluate(parsed, Integer.class, false));
+				return;
+			}
+		}
+		breaker.setHalfOpenPermits(circuit.halfOpenPermits());
+	}
+
+	private static RetryContextCache createKeyedCircuitContextCache() {
+		BoundedRetryContextCache cache = new BoundedRetryContextCache();
+		cache.setExpireAfterAccess(DEFAULT_KEYED_CIRCUIT_EXPIRE_AFTER_ACCESS);
+		return cache;
+	}
+
 	private RetryTemplate createTemplate(String[] listenersBeanNames) {
 		RetryTemplate template = new RetryTemplate();
 		if (listenersBeanNames.length > 0) {
@@ -322,6 +499,29 @@ public class AnnotationAwareRetryOperationsInterceptor implements IntroductionIn
 		return template;
 	}
 
+	private AsyncRetryTemplate createAsyncTemplate(String[] listenersBeanNames) {
+		AsyncRetryTemplate template = new AsyncRetryTemplate();
+		if (listenersBeanNames.length > 0) {
+			template.setListeners(getListenersBeans(listenersBeanNames));
+		}
+		else if (this.globalListeners != null) {
+			template.setListeners(this.globalListeners);
+		}
+		if (this.scheduler != null) {
+			template.setScheduler(this.scheduler);
+		}
+		return template;
+	}
+
+	private RetryListener[] getListeners(String[] listenersBeanNames) {
+		return listenersBeanNames.length > 0 ? getListenersBeans(listenersBeanNames) : this.globalListeners;
+	}
+
+	private static boolean isReactive(Method method) {
+		// Checked first, so that the factory is only loaded with Reactor
+		return reactorPresent && ReactorRetryTemplateFactory.isReactive(method);
+	}
+
 	private RetryListener[] getListenersBeans(String[] listenersBeanNames) {
 		RetryListener[] listeners = new RetryListener[listenersBeanNames.length];
 		for (int i = 0; i < listeners.length; i++) {
@@ -23,6 +23,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import org.springframework.core.annotation.AliasFor;
+import org.springframework.retry.policy.FailureRateCircuitBreakerRetryPolicy.SlidingWindowType;
 
 /**
  * Annotation for a method invocation that is retryable.
@@ -159,6 +160,99 @@ public @interface CircuitBreaker {
 	 */
 	String openTimeoutExpression() default "";
 
+	/**
+	 * Once the {@link #resetTimeout()} has elapsed, the circuit is half open: this number
+	 * of trial calls go through, and the circuit closes when they have all succeeded, or
+	 * opens again as soon as one of them fails. The other calls are short circuited in
+	 * the meantime.
+	 * @return the number of trial calls while the circuit is half open, defaults to 1
+	 * @since 2.0.5
+	 */
+	int halfOpenPermits() default 1;
+
+	/**
+	 * Once the {@link #resetTimeout()} has elapsed, the circuit is half open: this number
+	 * of trial calls go through, and the circuit closes when they have all succeeded.
+	 * Overrides {@link #halfOpenPermits()}. Use {@code #{...}} for one-time evaluation
+	 * during initialization, omit the delimiters for evaluation at runtime.
+	 * @return the number of trial calls while the circuit is half open, no default.
+	 * @since 2.0.5
+	 */
+	String halfOpenPermitsExpression() default "";
+
+	/**
+	 * When positive, the circuit opens when the rate of failed calls in a sliding window
+	 * of this size reaches {@link #failureRateThreshold()}, instead of when
+	 * {@link #maxAttempts()} failures are reached within {@link #openTimeout()}.
+	 * @return the number of calls or seconds in the window, depending on
+	 * {@link #slidingWindowType()}, defaults to 0 (no window)
+	 * @since 2.0.5
+	 */
+	int slidingWindowSize() default 0;
+
+	/**
+	 * Whether the {@link #slidingWindowSize() sliding window} holds the last calls or the
+	 * calls of the last seconds.
+	 * @return the type of the window, defaults to {@link SlidingWindowType#COUNT_BASED}
+	 * @since 2.0.5
+	 */
+	SlidingWindowType slidingWindowType() default SlidingWindowType.COUNT_BASED;
+
+	/**
+	 * The number of calls the {@link #slidingWindowSize() sliding window} must hold
+	 * before its failure rate can open the circuit.
+	 * @return the minimum number of calls, defaults to 100
+	 * @since 2.0.5
+	 */
+	int minimumNumberOfCalls() default 100;
+
+	/**
+	 * The percentage of failed calls in the {@link #slidingWindowSize() sliding window}
+	 * at which the circuit opens.
+	 * @return the failure rate threshold, defaults to 50
+	 * @since 2.0.5
+	 */
+	float failureRateThreshold() default 50;
+
+	/**
+	 * When positive, the calls lasting longer than this duration count as slow, and the
+	 * circuit opens when the rate of slow calls in the {@link #slidingWindowSize()
+	 * sliding window} reaches {@link #slowCallRateThreshold()}. The sliding window holds
+	 * 100 calls unless {@link #slidingWindowSize()} is set.
+	 * @return the duration of a slow call in milliseconds, defaults to 0 (no slow calls)
+	 * @since 2.0.5
+	 */
+	long slowCallDurationThreshold() default 0;
+
+	/**
+	 * The percentage of slow calls in the {@link #slidingWindowSize() sliding window} at
+	 * which the circuit opens.
+	 * @return the slow call rate threshold, defaults to 100
+	 * @since 2.0.5
+	 * @see #slowCallDurationThreshold()
+	 */
+	float slowCallRateThreshold() default 100;
+
+	/**
+	 * An expression evaluated against the method arguments to a key, each key getting its
+	 * own circuit, e.g. {@code "args[0].tenant"}. The circuits of the keys are held in a
+	 * bounded cache, and forgotten when they have not been used for a while. A null key
+	 * uses the circuit shared by all the calls.
+	 * @return the key expression, defaults to none: all the calls share one circuit
+	 * @since 2.0.5
+	 */
+	String key() default "";
+
+	/**
+	 * The name of a
+	 * {@link org.springframework.retry.interceptor.MethodArgumentsKeyGenerator} bean
+	 * computing the key of the circuit from the method arguments, each key getting its
+	 * own circuit. Overrides {@link #key()}.
+	 * @return the bean name, defaults to none: all the calls share one circuit
+	 * @since 2.0.5
+	 */
+	String keyGenerator() default "";
+
 	/**
 	 * Specify an expression to be evaluated after the
 	 * {@code SimpleRetryPolicy.canRetry()} returns true - can be used to conditionally
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.annotation;
+
+import java.lang.reflect.Method;
+
+import org.reactivestreams.Publisher;
+
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.RetryPolicy;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.policy.RetryContextCache;
+import org.springframework.retry.reactor.ReactorRetryOperations;
+import org.springframework.retry.reactor.ReactorRetryTemplate;
+
+/**
+ * Creates the {@link ReactorRetryOperations} of the methods returning a
+ * {@link Publisher}. All references of {@link AnnotationAwareRetryOperationsInterceptor}
+ * to Reactor types are kept in this class, which is only loaded when Reactor is on the
+ * class path.
+ *
+ * @since 2.0.5
+ */
+final class ReactorRetryTemplateFactory {
+
+	private ReactorRetryTemplateFactory() {
+	}
+
+	/**
+	 * Whether a method is retried reactively.
+	 * @param method the method
+	 * @return true if it returns a {@link Publisher}
+	 */
+	static boolean isReactive(Method method) {
+		return Publisher.class.isAssignableFrom(method.getReturnType());
+	}
+
+	/**
+	 * Create the retry operations of a reactive method.
+	 * @param listeners the listeners, or null for none
+	 * @param retryPolicy the retry policy
+	 * @param backOffPolicy the back off policy, or null for the default
+	 * @param retryContextCache the cache of the stateful contexts, or null for the
+	 * default
+	 * @return the retry operations
+	 */
+	static ReactorRetryOperations create(RetryListener[] listeners, RetryPolicy retryPolicy,
+			BackOffPolicy backOffPolicy, RetryContextCache retryContextCache) {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		if (listeners != null) {
+			template.setListeners(listeners);
+		}
+		template.setRetryPolicy(retryPolicy);
+		if (backOffPolicy != null) {
+			template.setBackOffPolicy(backOffPolicy);
+		}
+		if (retryContextCache != null) {
+			template.setRetryContextCache(retryContextCache);
+		}
+		return template;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2023 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.management.MBeanServer;
+
 import org.aopalliance.aop.Advice;
 
 import org.springframework.aop.ClassFilter;
@@ -37,6 +39,7 @@ import org.springframework.aop.support.annotation.AnnotationClassFilter;
 import org.springframework.aop.support.annotation.AnnotationMethodMatcher;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.SmartInitializingSingleton;
@@ -52,7 +55,10 @@ import org.springframework.retry.RetryListener;
 import org.springframework.retry.backoff.Sleeper;
 import org.springframework.retry.interceptor.MethodArgumentsKeyGenerator;
 import org.springframework.retry.interceptor.NewMethodArgumentsIdentifier;
+import org.springframework.retry.jmx.RetryMBeanRegistrar;
+import org.springframework.retry.policy.CircuitBreakerRegistry;
 import org.springframework.retry.policy.RetryContextCache;
+import org.springframework.retry.stats.StatisticsRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
@@ -60,8 +66,11 @@ import org.springframework.util.ReflectionUtils;
 /**
  * Basic configuration for <code>@Retryable</code> processing. For stateful retry, if
  * there is a unique bean elsewhere in the context of type {@link RetryContextCache},
- * {@link MethodArgumentsKeyGenerator} or {@link NewMethodArgumentsIdentifier} it will be
- * used by the corresponding retry interceptor (otherwise sensible defaults are adopted).
+ * {@link MethodArgumentsKeyGenerator}, {@link NewMethodArgumentsIdentifier} or
+ * {@link CircuitBreakerRegistry} it will be used by the corresponding retry interceptor
+ * (otherwise sensible defaults are adopted). If there is a unique {@link MBeanServer}
+ * bean, the statistics of a unique {@link StatisticsRepository} bean and the circuit
+ * breakers are registered with it by a {@link RetryMBeanRegistrar}.
  *
  * @author Dave Syer
  * @author Artem Bilan
@@ -74,8 +83,8 @@ import org.springframework.util.ReflectionUtils;
 @SuppressWarnings("serial")
 @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
 @Component
-public class RetryConfiguration extends AbstractPointcutAdvisor
-		implements IntroductionAdvisor, BeanFactoryAware, InitializingBean, SmartInitializingSingleton, ImportAware {
+public class RetryConfiguration extends AbstractPointcutAdvisor implements IntroductionAdvisor, BeanFactoryAware,
+		InitializingBean, SmartInitializingSingleton, ImportAware, DisposableBean {
 
 	@Nullable
 	protected AnnotationAttributes enableRetry;
@@ -86,6 +95,8 @@ public class RetryConfiguration extends AbstractPointcutAdvisor
 
 	private RetryContextCache retryContextCache;
 
+	private CircuitBreakerRegistry circuitBreakerRegistry;
+
 	private List<RetryListener> retryListeners;
 
 	private MethodArgumentsKeyGenerator methodArgumentsKeyGenerator;
@@ -96,6 +107,8 @@ public class RetryConfiguration extends AbstractPointcutAdvisor
 
 	private BeanFactory beanFactory;
 
+	private RetryMBeanRegistrar mbeanRegistrar;
+
 	@Override
 	public void setImportMetadata(AnnotationMetadata importMetadata) {
 		this.enableRetry = AnnotationAttributes
@@ -105,6 +118,7 @@ public class RetryConfiguration extends AbstractPointcutAdvisor
 	@Override
 	public void afterPropertiesSet() throws Exception {
 		this.retryContextCache = findBean(RetryContextCache.class);
+		this.circuitBreakerRegistry = findBean(CircuitBreakerRegistry.class);
 		this.methodArgumentsKeyGenerator = findBean(MethodArgumentsKeyGenerator.class);
 		this.newMethodArgumentsIdentifier = findBean(NewMethodArgumentsIdentifier.class);
 		this.sleeper = findBean(Sleeper.class);
@@ -121,11 +135,29 @@ public class RetryConfiguration extends AbstractPointcutAdvisor
 	@Override
 	public void afterSingletonsInstantiated() {
 		this.retryListeners = findBeans(RetryListener.class);
+		MBeanServer server = findBean(MBeanServer.class);
+		if (server != null) {
+			this.mbeanRegistrar = new RetryMBeanRegistrar(server);
+			this.mbeanRegistrar.setStatisticsRepository(findBean(StatisticsRepository.class));
+			this.mbeanRegistrar.setCircuitBreakerRegistry(this.advice.getCircuitBreakerRegistry());
+			this.mbeanRegistrar.refresh();
+			if (this.retryListeners == null) {
+				this.retryListeners = new ArrayList<>();
+			}
+			this.retryListeners.add(this.mbeanRegistrar);
+		}
 		if (this.retryListeners != null) {
 			this.advice.setListeners(this.retryListeners);
 		}
 	}
 
+	@Override
+	public void destroy() {
+		if (this.mbeanRegistrar != null) {
+			this.mbeanRegistrar.destroy();
+		}
+	}
+
 	private <T> List<T> findBeans(Class<? extends T> type) {
 		if (this.beanFactory instanceof ListableBeanFactory) {
 			ListableBeanFactory listable = (ListableBeanFactory) this.beanFactory;
@@ -185,6 +217,9 @@ public class RetryConfiguration extends AbstractPointcutAdvisor
 		if (this.retryContextCache != null) {
 			interceptor.setRetryContextCache(this.retryContextCache);
 		}
+		if (this.circuitBreakerRegistry != null) {
+			interceptor.setCircuitBreakerRegistry(this.circuitBreakerRegistry);
+		}
 		if (this.methodArgumentsKeyGenerator != null) {
 			interceptor.setKeyGenerator(this.methodArgumentsKeyGenerator);
 		}
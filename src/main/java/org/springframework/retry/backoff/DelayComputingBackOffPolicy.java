@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.backoff;
+
+/**
+ * A interface which can be mixed in by {@link BackOffPolicy}s that are able to compute
+ * the period of the next back off without pausing. Callers that do not want to block a
+ * thread, such as schedulers or asynchronous executors, can use the computed delay to
+ * decide when to make the next attempt.
+ * <p>
+ * Computing a delay advances the {@link BackOffContext} exactly like a call to
+ * {@link #backOff(BackOffContext)} would, so for a given back off only one of the two
+ * methods should be called.
+ *
+ * @since 2.0.5
+ * @see org.springframework.retry.support.RetryTemplate#setSleeper(Sleeper)
+ */
+public interface DelayComputingBackOffPolicy extends BackOffPolicy {
+
+	/**
+	 * Compute the period to pause for the next back off without pausing. The passed in
+	 * {@link BackOffContext} corresponds to the one created by the call to {@link #start}
+	 * for a given retry operation set.
+	 * @param backOffContext the {@link BackOffContext}
+	 * @return the delay in nanoseconds, never negative
+	 */
+	long computeDelayNanos(BackOffContext backOffContext);
+
+}
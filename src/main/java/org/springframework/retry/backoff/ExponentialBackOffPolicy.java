@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2023 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,14 @@
 
 package org.springframework.retry.backoff;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.retry.RetryContext;
+import org.springframework.retry.jfr.RetryFlightRecorder;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 
@@ -44,7 +46,8 @@ import org.springframework.util.ClassUtils;
  * @author Marius Lichtblau
  */
 @SuppressWarnings("serial")
-public class ExponentialBackOffPolicy implements SleepingBackOffPolicy<ExponentialBackOffPolicy> {
+public class ExponentialBackOffPolicy
+		implements SleepingBackOffPolicy<ExponentialBackOffPolicy>, DelayComputingBackOffPolicy {
 
 	protected final Log logger = LogFactory.getLog(this.getClass());
 
@@ -232,23 +235,38 @@ public class ExponentialBackOffPolicy implements SleepingBackOffPolicy<Exponenti
 				this.initialIntervalSupplier, this.multiplierSupplier, this.maxIntervalSupplier);
 	}
 
+	/**
+	 * Return the current backoff interval in nanoseconds and increment it for the next
+	 * back off.
+	 * @since 2.0.5
+	 */
+	@Override
+	public long computeDelayNanos(BackOffContext backOffContext) {
+		ExponentialBackOffContext context = (ExponentialBackOffContext) backOffContext;
+		return TimeUnit.MILLISECONDS.toNanos(context.getSleepAndIncrement());
+	}
+
 	/**
 	 * Pause for the current backoff interval.
 	 */
 	@Override
 	public void backOff(BackOffContext backOffContext) throws BackOffInterruptedException {
-		ExponentialBackOffContext context = (ExponentialBackOffContext) backOffContext;
+		long delay = computeDelayNanos(backOffContext);
+		long sleepTime = TimeUnit.NANOSECONDS.toMillis(delay);
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug("Sleeping for " + sleepTime);
+		}
+		Object backOff = RetryFlightRecorder.beginBackOff();
 		try {
-			long sleepTime = context.getSleepAndIncrement();
-			if (this.logger.isDebugEnabled()) {
-				this.logger.debug("Sleeping for " + sleepTime);
-			}
 			this.sleeper.sleep(sleepTime);
 		}
 		catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
 			throw new BackOffInterruptedException("Thread interrupted while sleeping", e);
 		}
+		finally {
+			RetryFlightRecorder.endBackOff(backOff, delay);
+		}
 	}
 
 	static class ExponentialBackOffContext implements BackOffContext {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2023 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,10 @@
 
 package org.springframework.retry.backoff;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+import org.springframework.retry.jfr.RetryFlightRecorder;
 import org.springframework.util.Assert;
 
 /**
@@ -33,7 +35,8 @@ import org.springframework.util.Assert;
  * @author Artem Bilan
  * @author Marius Lichtblau
  */
-public class FixedBackOffPolicy extends StatelessBackOffPolicy implements SleepingBackOffPolicy<FixedBackOffPolicy> {
+public class FixedBackOffPolicy extends StatelessBackOffPolicy
+		implements SleepingBackOffPolicy<FixedBackOffPolicy>, DelayComputingBackOffPolicy {
 
 	/**
 	 * Default back off period - 1000ms.
@@ -89,18 +92,32 @@ public class FixedBackOffPolicy extends StatelessBackOffPolicy implements Sleepi
 		return this.backOffPeriod.get();
 	}
 
+	/**
+	 * Return the {@link #setBackOffPeriod(long)} in nanoseconds.
+	 * @since 2.0.5
+	 */
+	@Override
+	public long computeDelayNanos(BackOffContext backOffContext) {
+		return TimeUnit.MILLISECONDS.toNanos(this.backOffPeriod.get());
+	}
+
 	/**
 	 * Pause for the {@link #setBackOffPeriod(long)}.
 	 * @throws BackOffInterruptedException if interrupted during sleep.
 	 */
 	protected void doBackOff() throws BackOffInterruptedException {
+		long delay = computeDelayNanos(null);
+		Object backOff = RetryFlightRecorder.beginBackOff();
 		try {
-			sleeper.sleep(this.backOffPeriod.get());
+			sleeper.sleep(TimeUnit.NANOSECONDS.toMillis(delay));
 		}
 		catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
 			throw new BackOffInterruptedException("Thread interrupted while sleeping", e);
 		}
+		finally {
+			RetryFlightRecorder.endBackOff(backOff, delay);
+		}
 	}
 
 	public String toString() {
@@ -23,7 +23,16 @@ package org.springframework.retry.backoff;
  * @author Rob Harrop
  * @since 2.1
  */
-public class NoBackOffPolicy extends StatelessBackOffPolicy {
+public class NoBackOffPolicy extends StatelessBackOffPolicy implements DelayComputingBackOffPolicy {
+
+	/**
+	 * Return zero.
+	 * @since 2.0.5
+	 */
+	@Override
+	public long computeDelayNanos(BackOffContext backOffContext) {
+		return 0;
+	}
 
 	protected void doBackOff() throws BackOffInterruptedException {
 	}
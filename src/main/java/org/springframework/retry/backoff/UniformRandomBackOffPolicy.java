@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2023 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,8 +17,10 @@
 package org.springframework.retry.backoff;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+import org.springframework.retry.jfr.RetryFlightRecorder;
 import org.springframework.util.Assert;
 
 /**
@@ -35,7 +37,7 @@ import org.springframework.util.Assert;
  * @author Marius Lichtblau
  */
 public class UniformRandomBackOffPolicy extends StatelessBackOffPolicy
-		implements SleepingBackOffPolicy<UniformRandomBackOffPolicy> {
+		implements SleepingBackOffPolicy<UniformRandomBackOffPolicy>, DelayComputingBackOffPolicy {
 
 	/**
 	 * Default min back off period - 500ms.
@@ -128,20 +130,36 @@ public class UniformRandomBackOffPolicy extends StatelessBackOffPolicy
 	}
 
 	/**
-	 * Pause for the {@link #setMinBackOffPeriod(long)}.
+	 * Return a random period between the {@link #setMinBackOffPeriod(long)} and the
+	 * {@link #setMaxBackOffPeriod(long)} in nanoseconds.
+	 * @since 2.0.5
+	 */
+	@Override
+	public long computeDelayNanos(BackOffContext backOffContext) {
+		Long min = this.minBackOffPeriod.get();
+		long delta = this.maxBackOffPeriod.get() == this.minBackOffPeriod.get() ? 0
+				: this.random.nextInt((int) (this.maxBackOffPeriod.get() - min));
+		return TimeUnit.MILLISECONDS.toNanos(min + delta);
+	}
+
+	/**
+	 * Pause for a random period between the {@link #setMinBackOffPeriod(long)} and the
+	 * {@link #setMaxBackOffPeriod(long)}.
 	 * @throws BackOffInterruptedException if interrupted during sleep.
 	 */
 	protected void doBackOff() throws BackOffInterruptedException {
+		long delay = computeDelayNanos(null);
+		Object backOff = RetryFlightRecorder.beginBackOff();
 		try {
-			Long min = this.minBackOffPeriod.get();
-			long delta = this.maxBackOffPeriod.get() == this.minBackOffPeriod.get() ? 0
-					: this.random.nextInt((int) (this.maxBackOffPeriod.get() - min));
-			this.sleeper.sleep(min + delta);
+			this.sleeper.sleep(TimeUnit.NANOSECONDS.toMillis(delay));
 		}
 		catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
 			throw new BackOffInterruptedException("Thread interrupted while sleeping", e);
 		}
+		finally {
+			RetryFlightRecorder.endBackOff(backOff, delay);
+		}
 	}
 
 	public String toString() {
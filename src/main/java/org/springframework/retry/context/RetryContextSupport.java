@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2014 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,18 +16,75 @@
 
 package org.springframework.retry.context;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.core.AttributeAccessor;
 import org.springframework.core.AttributeAccessorSupport;
 import org.springframework.retry.RetryContext;
 import org.springframework.retry.RetryPolicy;
+import org.springframework.util.Assert;
 
 /**
+ * Base class for {@link RetryContext} implementations.
+ * <p>
+ * The attributes that the framework itself sets on every call, such as
+ * {@link RetryContext#NAME}, {@link RetryContext#CLOSED} or the back off context, are
+ * kept in fields of their own. The other attributes go to a map that is only created once
+ * one of them is set, so a retry that succeeds at the first attempt neither hashes nor
+ * allocates an entry. The map of the {@link AttributeAccessorSupport} is left empty.
+ *
  * @author Dave Syer
  */
 @SuppressWarnings("serial")
 public class RetryContextSupport extends AttributeAccessorSupport implements RetryContext {
 
+	/**
+	 * The attributes kept in fields of their own, in the order of
+	 * {@link #attributeNames()}.
+	 */
+	private static final String[] FIELD_NAMES = { RetryContext.NAME, RetryContext.STATE_KEY, RetryContext.CLOSED,
+			RetryContext.RECOVERED, RetryContext.EXHAUSTED, RetryContext.NO_RECOVERY, "ARGS", "___proxy___",
+			"backOffContext", "state.global", "circuit.open", "circuit.shortCount" };
+
+	/**
+	 * Returned by {@link #getField(String)} and {@link #setField(String, Object)} for an
+	 * attribute that is not kept in a field.
+	 */
+	private static final Object NO_FIELD = new Object();
+
 	private final RetryContext parent;
 
+	private Object contextName;
+
+	private Object stateKey;
+
+	private Object closed;
+
+	private Object recovered;
+
+	private Object exhausted;
+
+	private Object noRecovery;
+
+	private Object args;
+
+	private Object proxy;
+
+	private Object backOffContext;
+
+	private Object globalState;
+
+	private Object circuitOpen;
+
+	private Object circuitShortCount;
+
+	private Map<String, Object> otherAttributes;
+
 	private volatile boolean terminate = false;
 
 	private volatile int count;
@@ -77,10 +134,256 @@ public class RetryContextSupport extends AttributeAccessorSupport implements Ret
 			count++;
 	}
 
+	@Override
+	public void setAttribute(String name, Object value) {
+		Assert.notNull(name, "Name must not be null");
+		if (value == null) {
+			removeAttribute(name);
+		}
+		else if (setField(name, value) == NO_FIELD) {
+			if (this.otherAttributes == null) {
+				this.otherAttributes = new LinkedHashMap<>();
+			}
+			this.otherAttributes.put(name, value);
+		}
+	}
+
+	@Override
+	public Object getAttribute(String name) {
+		Assert.notNull(name, "Name must not be null");
+		Object value = getField(name);
+		if (value != NO_FIELD) {
+			return value;
+		}
+		return this.otherAttributes != null ? this.otherAttributes.get(name) : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T computeAttribute(String name, Function<String, T> computeFunction) {
+		Assert.notNull(name, "Name must not be null");
+		Assert.notNull(computeFunction, "Compute function must not be null");
+		Object value = getAttribute(name);
+		if (value == null) {
+			value = computeFunction.apply(name);
+			Assert.state(value != null,
+					() -> String.format("Compute function must not return null for attribute named '%s'", name));
+			setAttribute(name, value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	public Object removeAttribute(String name) {
+		Assert.notNull(name, "Name must not be null");
+		Object value = setField(name, null);
+		if (value != NO_FIELD) {
+			return value;
+		}
+		return this.otherAttributes != null ? this.otherAttributes.remove(name) : null;
+	}
+
+	@Override
+	public boolean hasAttribute(String name) {
+		Assert.notNull(name, "Name must not be null");
+		Object value = getField(name);
+		if (value != NO_FIELD) {
+			return value != null;
+		}
+		return this.otherAttributes != null && this.otherAttributes.containsKey(name);
+	}
+
+	/**
+	 * Return the names of all attributes, the ones kept in fields first.
+	 * @return the attribute names
+	 */
+	@Override
+	public String[] attributeNames() {
+		int size = this.otherAttributes != null ? this.otherAttributes.size() : 0;
+		for (String name : FIELD_NAMES) {
+			if (getField(name) != null) {
+				size++;
+			}
+		}
+		String[] names = new String[size];
+		int i = 0;
+		for (String name : FIELD_NAMES) {
+			if (getField(name) != null) {
+				names[i++] = name;
+			}
+		}
+		if (this.otherAttributes != null) {
+			for (String name : this.otherAttributes.keySet()) {
+				names[i++] = name;
+			}
+		}
+		return names;
+	}
+
+	@Override
+	protected void copyAttributesFrom(AttributeAccessor source) {
+		Assert.notNull(source, "Source must not be null");
+		for (String name : source.attributeNames()) {
+			setAttribute(name, source.getAttribute(name));
+		}
+	}
+
+	/**
+	 * Two contexts are equal when they hold the same attributes, as for an
+	 * {@link AttributeAccessorSupport}.
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof RetryContextSupport)) {
+			return false;
+		}
+		RetryContextSupport that = (RetryContextSupport) other;
+		for (String name : FIELD_NAMES) {
+			Object value = getField(name);
+			if (value != null ? !value.equals(that.getField(name)) : that.getField(name) != null) {
+				return false;
+			}
+		}
+		return otherAttributes().equals(that.otherAttributes());
+	}
+
+	/**
+	 * The hash code of a map holding all attributes, consistent with
+	 * {@link #equals(Object)}.
+	 */
+	@Override
+	public int hashCode() {
+		int hash = this.otherAttributes != null ? this.otherAttributes.hashCode() : 0;
+		for (String name : FIELD_NAMES) {
+			Object value = getField(name);
+			if (value != null) {
+				hash += name.hashCode() ^ value.hashCode();
+			}
+		}
+		return hash;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("[RetryContext: count=%d, lastException=%s, exhausted=%b]", count, lastException,
 				terminate);
 	}
 
+	private Map<String, Object> otherAttributes() {
+		return this.otherAttributes != null ? this.otherAttributes : Collections.emptyMap();
+	}
+
+	/**
+	 * Return the value of an attribute kept in a field.
+	 * @param name the name of the attribute
+	 * @return the value, or {@link #NO_FIELD} if the attribute is not kept in a field
+	 */
+	private Object getField(String name) {
+		switch (name) {
+			case RetryContext.NAME:
+				return this.contextName;
+			case RetryContext.STATE_KEY:
+				return this.stateKey;
+			case RetryContext.CLOSED:
+				return this.closed;
+			case RetryContext.RECOVERED:
+				return this.recovered;
+			case RetryContext.EXHAUSTED:
+				return this.exhausted;
+			case RetryContext.NO_RECOVERY:
+				return this.noRecovery;
+			case "ARGS":
+				return this.args;
+			case "___proxy___":
+				return this.proxy;
+			case "backOffContext":
+				return this.backOffContext;
+			case "state.global":
+				return this.globalState;
+			case "circuit.open":
+				return this.circuitOpen;
+			case "circuit.shortCount":
+				return this.circuitShortCount;
+			default:
+				return NO_FIELD;
+		}
+	}
+
+	/**
+	 * Set the value of an attribute kept in a field.
+	 * @param name the name of the attribute
+	 * @param value the value, or null to remove the attribute
+	 * @return the previous value, or {@link #NO_FIELD} if the attribute is not kept in a
+	 * field
+	 */
+	private Object setField(String name, Object value) {
+		Object previous;
+		switch (name) {
+			case RetryContext.NAME:
+				previous = this.contextName;
+				this.contextName = value;
+				return previous;
+			case RetryContext.STATE_KEY:
+				previous = this.stateKey;
+				this.stateKey = value;
+				return previous;
+			case RetryContext.CLOSED:
+				previous = this.closed;
+				this.closed = value;
+				return previous;
+			case RetryContext.RECOVERED:
+				previous = this.recovered;
+				this.recovered = value;
+				return previous;
+			case RetryContext.EXHAUSTED:
+				previous = this.exhausted;
+				this.exhausted = value;
+				return previous;
+			case RetryContext.NO_RECOVERY:
+				previous = this.noRecovery;
+				this.noRecovery = value;
+				return previous;
+			case "ARGS":
+				previous = this.args;
+				this.args = value;
+				return previous;
+			case "___proxy___":
+				previous = this.proxy;
+				this.proxy = value;
+				return previous;
+			case "backOffContext":
+				previous = this.backOffContext;
+				this.backOffContext = value;
+				return previous;
+			case "state.global":
+				previous = this.globalState;
+				this.globalState = value;
+				return previous;
+			case "circuit.open":
+				previous = this.circuitOpen;
+				this.circuitOpen = value;
+				return previous;
+			case "circuit.shortCount":
+				previous = this.circuitShortCount;
+				this.circuitShortCount = value;
+				return previous;
+			default:
+				return NO_FIELD;
+		}
+	}
+
+	/**
+	 * Move the attributes of a context serialized before they were kept apart from the
+	 * map of the {@link AttributeAccessorSupport}.
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		for (String name : super.attributeNames()) {
+			setAttribute(name, super.removeAttribute(name));
+		}
+	}
+
 }
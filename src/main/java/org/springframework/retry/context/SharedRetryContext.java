@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.context;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryPolicy;
+
+/**
+ * A {@link RetryContext} shared by concurrent calls, like the global context of a circuit
+ * breaker, whose {@link RetryPolicy} needs to tell the calls apart. For each call, the
+ * retry operations open a context of the call and pass it to the policy instead of the
+ * shared context, whether the call ends with the policy being closed or not. The
+ * callback, the listeners and the cache still get the shared context.
+ * <p>
+ * Retry operations that are done with a call by the time they return, like
+ * {@link org.springframework.retry.support.RetryTemplate}, also close it, so that the
+ * shared context may reuse it for a later call. The others leave it to the garbage
+ * collector.
+ *
+ * @since 2.0.5
+ */
+public interface SharedRetryContext extends RetryContext {
+
+	/**
+	 * Open the context of a new call. It reads and writes through to this context, and
+	 * keeps whatever the policy needs to know about the call, like its outcome.
+	 * @return the context of the call, or this context if the policy does not need to
+	 * tell the calls apart
+	 */
+	RetryContext openCall();
+
+	/**
+	 * Close the context of a call once the policy is done with it. It may be returned by
+	 * a later {@link #openCall()}, so it must not be used any more. Does nothing by
+	 * default.
+	 * @param call a context returned by {@link #openCall()}
+	 */
+	default void closeCall(RetryContext call) {
+	}
+
+	/**
+	 * Return the context to pass to a policy for a new call.
+	 * @param context the context of the retry
+	 * @return the context of a new call if the context is shared, or else the context
+	 * itself
+	 */
+	static RetryContext openCall(RetryContext context) {
+		return context instanceof SharedRetryContext ? ((SharedRetryContext) context).openCall() : context;
+	}
+
+	/**
+	 * Close the context of a call opened by {@link #openCall(RetryContext)}.
+	 * @param context the context of the retry
+	 * @param call the context of the call
+	 */
+	static void closeCall(RetryContext context, RetryContext call) {
+		if (call != context && context instanceof SharedRetryContext) {
+			((SharedRetryContext) context).closeCall(call);
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.interceptor;
+
+import java.util.Arrays;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.retry.RecoveryCallback;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryState;
+import org.springframework.retry.reactor.ReactorRetryOperations;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Retries method invocations returning a Reactor {@link Mono} or {@link Flux} with
+ * {@link ReactorRetryOperations}. All references to Reactor types are kept in this class,
+ * which is only loaded when such an invocation is retried, so that the interceptors do
+ * not need Reactor on the class path.
+ *
+ * @since 2.0.5
+ */
+final class ReactorMethodInvocationSupport {
+
+	private static final boolean reactorPresent = ClassUtils.isPresent("reactor.core.publisher.Flux",
+			ReactorMethodInvocationSupport.class.getClassLoader());
+
+	private ReactorMethodInvocationSupport() {
+	}
+
+	/**
+	 * Whether a method with this return type can be retried reactively.
+	 * @param returnType the return type of the method
+	 * @return true for {@link Mono}, {@link Flux} and any super type of {@link Flux} that
+	 * is a {@link Publisher}
+	 */
+	static boolean isReactive(Class<?> returnType) {
+		return reactorPresent && Publisher.class.isAssignableFrom(returnType)
+				&& (returnType == Mono.class || returnType.isAssignableFrom(Flux.class));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static Object execute(ReactorRetryOperations operations, RetryCallback<Object, Throwable> retryCallback,
+			Class<?> returnType, Object[] args, MethodInvocationRecoverer<?> recoverer, RetryState retryState) {
+		if (returnType == Mono.class) {
+			return operations.executeMono((RetryCallback) retryCallback,
+					recoverer != null ? new MonoItemRecovererCallback(args, recoverer) : null, retryState);
+		}
+		return operations.executeFlux((RetryCallback) retryCallback,
+				recoverer != null ? new FluxItemRecovererCallback(args, recoverer) : null, retryState);
+	}
+
+	private static final class MonoItemRecovererCallback implements RecoveryCallback<Mono<Object>> {
+
+		private final Object[] args;
+
+		private final MethodInvocationRecoverer<?> recoverer;
+
+		private MonoItemRecovererCallback(Object[] args, MethodInvocationRecoverer<?> recoverer) {
+			this.args = Arrays.asList(args).toArray();
+			this.recoverer = recoverer;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Mono<Object> recover(RetryContext context) {
+			Object recovered = this.recoverer.recover(this.args, context.getLastThrowable());
+			if (recovered instanceof Publisher) {
+				return Mono.from((Publisher<Object>) recovered);
+			}
+			return Mono.justOrEmpty(recovered);
+		}
+
+	}
+
+	private static final class FluxItemRecovererCallback implements RecoveryCallback<Publisher<Object>> {
+
+		private final Object[] args;
+
+		private final MethodInvocationRecoverer<?> recoverer;
+
+		private FluxItemRecovererCallback(Object[] args, MethodInvocationRecoverer<?> recoverer) {
+			this.args = Arrays.asList(args).toArray();
+			this.recoverer = recoverer;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Publisher<Object> recover(RetryContext context) {
+			Object recovered = this.recoverer.recover(this.args, context.getLastThrowable());
+			if (recovered instanceof Publisher) {
+				return (Publisher<Object>) recovered;
+			}
+			return Mono.justOrEmpty(recovered);
+		}
+
+	}
+
+}
@@ -18,11 +18,13 @@ package org.springframework.retry.interceptor;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.springframework.classify.BinaryExceptionClassifier;
 import org.springframework.classify.Classifier;
+import org.springframework.retry.AsyncRetryOperations;
 import org.springframework.retry.RetryOperations;
 import org.springframework.retry.RetryPolicy;
 import org.springframework.retry.backoff.BackOffPolicy;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.reactor.ReactorRetryOperations;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.util.Assert;
 
@@ -58,6 +60,8 @@ public abstract class RetryInterceptorBuilder<T extends MethodInterceptor> {
 
 	protected RetryOperations retryOperations;
 
+	protected ReactorRetryOperations reactorRetryOperations;
+
 	protected MethodInvocationRecoverer<?> recoverer;
 
 	private boolean templateAltered;
@@ -186,6 +190,18 @@ public abstract class RetryInterceptorBuilder<T extends MethodInterceptor> {
 		return this;
 	}
 
+	/**
+	 * Retry methods returning a Reactor {@code Mono} or {@code Flux} when the returned
+	 * publisher signals an error.
+	 * @param reactorRetryOperations The reactor retry operations.
+	 * @return this.
+	 * @since 2.0.5
+	 */
+	public RetryInterceptorBuilder<T> reactorRetryOperations(ReactorRetryOperations reactorRetryOperations) {
+		this.reactorRetryOperations = reactorRetryOperations;
+		return this;
+	}
+
 	public RetryInterceptorBuilder<T> label(String label) {
 		this.label = label;
 		return this;
@@ -277,11 +293,20 @@ public abstract class RetryInterceptorBuilder<T extends MethodInterceptor> {
 			return this;
 		}
 
+		@Override
+		public StatefulRetryInterceptorBuilder reactorRetryOperations(ReactorRetryOperations reactorRetryOperations) {
+			super.reactorRetryOperations(reactorRetryOperations);
+			return this;
+		}
+
 		@Override
 		public StatefulRetryOperationsInterceptor build() {
 			if (this.recoverer != null) {
 				this.interceptor.setRecoverer(this.recoverer);
 			}
+			if (this.reactorRetryOperations != null) {
+				this.interceptor.setReactorRetryOperations(this.reactorRetryOperations);
+			}
 			if (this.retryOperations != null) {
 				this.interceptor.setRetryOperations(this.retryOperations);
 			}
@@ -344,11 +369,20 @@ public abstract class RetryInterceptorBuilder<T extends MethodInterceptor> {
 			return this;
 		}
 
+		@Override
+		public CircuitBreakerInterceptorBuilder reactorRetryOperations(ReactorRetryOperations reactorRetryOperations) {
+			super.reactorRetryOperations(reactorRetryOperations);
+			return this;
+		}
+
 		@Override
 		public StatefulRetryOperationsInterceptor build() {
 			if (this.recoverer != null) {
 				this.interceptor.setRecoverer(this.recoverer);
 			}
+			if (this.reactorRetryOperations != null) {
+				this.interceptor.setReactorRetryOperations(this.reactorRetryOperations);
+			}
 			if (this.retryOperations != null) {
 				this.interceptor.setRetryOperations(this.retryOperations);
 			}
@@ -374,11 +408,38 @@ public abstract class RetryInterceptorBuilder<T extends MethodInterceptor> {
 
 		private final RetryOperationsInterceptor interceptor = new RetryOperationsInterceptor();
 
+		private AsyncRetryOperations asyncRetryOperations;
+
+		/**
+		 * Retry methods returning a {@link java.util.concurrent.CompletionStage} when the
+		 * returned stage completes exceptionally.
+		 * @param asyncRetryOperations The async retry operations.
+		 * @return this.
+		 * @since 2.0.5
+		 * @see RetryOperationsInterceptor#setAsyncRetryOperations(AsyncRetryOperations)
+		 */
+		public StatelessRetryInterceptorBuilder asyncRetryOperations(AsyncRetryOperations asyncRetryOperations) {
+			this.asyncRetryOperations = asyncRetryOperations;
+			return this;
+		}
+
+		@Override
+		public StatelessRetryInterceptorBuilder reactorRetryOperations(ReactorRetryOperations reactorRetryOperations) {
+			super.reactorRetryOperations(reactorRetryOperations);
+			return this;
+		}
+
 		@Override
 		public RetryOperationsInterceptor build() {
 			if (this.recoverer != null) {
 				this.interceptor.setRecoverer(this.recoverer);
 			}
+			if (this.asyncRetryOperations != null) {
+				this.interceptor.setAsyncRetryOperations(this.asyncRetryOperations);
+			}
+			if (this.reactorRetryOperations != null) {
+				this.interceptor.setReactorRetryOperations(this.reactorRetryOperations);
+			}
 			if (this.retryOperations != null) {
 				this.interceptor.setRetryOperations(this.retryOperations);
 			}
@@ -17,15 +17,19 @@
 package org.springframework.retry.interceptor;
 
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
 import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.retry.AsyncRetryOperations;
 import org.springframework.retry.RecoveryCallback;
 import org.springframework.retry.RetryCallback;
 import org.springframework.retry.RetryContext;
 import org.springframework.retry.RetryOperations;
+import org.springframework.retry.reactor.ReactorRetryOperations;
 import org.springframework.retry.support.Args;
 import org.springframework.retry.support.RetrySynchronizationManager;
 import org.springframework.retry.support.RetryTemplate;
@@ -45,6 +49,16 @@ import org.springframework.util.StringUtils;
  * declarations to ensure that this one is before the transaction interceptor in the
  * advice chain.
  *
+ * If {@link AsyncRetryOperations} are provided, methods returning a
+ * {@link CompletionStage} or {@link CompletableFuture} are retried when the returned
+ * stage completes exceptionally: each attempt invokes the method again once the previous
+ * stage has failed and the back off has elapsed, without blocking the caller. The
+ * recoverer is applied when the last stage fails and is expected to return a
+ * {@link CompletionStage} as well; any other value completes the returned future.
+ *
+ * Likewise, if {@link ReactorRetryOperations} are provided, methods returning a Reactor
+ * {@code Mono} or {@code Flux} are retried when the returned publisher signals an error.
+ *
  * @author Rob Harrop
  * @author Dave Syer
  */
@@ -52,6 +66,10 @@ public class RetryOperationsInterceptor implements MethodInterceptor {
 
 	private RetryOperations retryOperations = new RetryTemplate();
 
+	private AsyncRetryOperations asyncRetryOperations;
+
+	private ReactorRetryOperations reactorRetryOperations;
+
 	private MethodInvocationRecoverer<?> recoverer;
 
 	private String label;
@@ -65,6 +83,27 @@ public class RetryOperationsInterceptor implements MethodInterceptor {
 		this.retryOperations = retryTemplate;
 	}
 
+	/**
+	 * Set the {@link AsyncRetryOperations} used for methods that return a
+	 * {@link CompletionStage}. By default such methods are retried only when they throw.
+	 * @param asyncRetryOperations the async retry operations
+	 * @since 2.0.5
+	 */
+	public void setAsyncRetryOperations(AsyncRetryOperations asyncRetryOperations) {
+		this.asyncRetryOperations = asyncRetryOperations;
+	}
+
+	/**
+	 * Set the {@link ReactorRetryOperations} used for methods that return a Reactor
+	 * {@code Mono} or {@code Flux}. By default such methods are retried only when they
+	 * throw.
+	 * @param reactorRetryOperations the reactor retry operations
+	 * @since 2.0.5
+	 */
+	public void setReactorRetryOperations(ReactorRetryOperations reactorRetryOperations) {
+		this.reactorRetryOperations = reactorRetryOperations;
+	}
+
 	public void setRecoverer(MethodInvocationRecoverer<?> recoverer) {
 		this.recoverer = recoverer;
 	}
@@ -117,6 +156,16 @@ public class RetryOperationsInterceptor implements MethodInterceptor {
 
 		};
 
+		if (this.asyncRetryOperations != null && isAsync(invocation)) {
+			return executeAsync(retryCallback, invocation);
+		}
+
+		if (this.reactorRetryOperations != null && isReactive(invocation)) {
+			Class<?> returnType = invocation.getMethod().getReturnType();
+			return ReactorMethodInvocationSupport.execute(this.reactorRetryOperations, retryCallback, returnType,
+					invocation.getArguments(), this.recoverer, null);
+		}
+
 		if (this.recoverer != null) {
 			ItemRecovererCallback recoveryCallback = new ItemRecovererCallback(invocation.getArguments(),
 					this.recoverer);
@@ -136,6 +185,26 @@ public class RetryOperationsInterceptor implements MethodInterceptor {
 
 	}
 
+	private boolean isReactive(MethodInvocation invocation) {
+		return ReactorMethodInvocationSupport.isReactive(invocation.getMethod().getReturnType());
+	}
+
+	private boolean isAsync(MethodInvocation invocation) {
+		Class<?> returnType = invocation.getMethod().getReturnType();
+		return CompletionStage.class.isAssignableFrom(returnType)
+				&& returnType.isAssignableFrom(CompletableFuture.class);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object executeAsync(RetryCallback<Object, Throwable> retryCallback, MethodInvocation invocation) {
+		RetryCallback<CompletionStage<Object>, Throwable> asyncCallback = (RetryCallback) retryCallback;
+		if (this.recoverer != null) {
+			return this.asyncRetryOperations.execute(asyncCallback,
+					new AsyncItemRecovererCallback(invocation.getArguments(), this.recoverer));
+		}
+		return this.asyncRetryOperations.execute(asyncCallback);
+	}
+
 	/**
 	 * @author Dave Syer
 	 *
@@ -161,4 +230,27 @@ public class RetryOperationsInterceptor implements MethodInterceptor {
 
 	}
 
+	private static final class AsyncItemRecovererCallback implements RecoveryCallback<CompletionStage<Object>> {
+
+		private final Object[] args;
+
+		private final MethodInvocationRecoverer<?> recoverer;
+
+		private AsyncItemRecovererCallback(Object[] args, MethodInvocationRecoverer<?> recoverer) {
+			this.args = Arrays.asList(args).toArray();
+			this.recoverer = recoverer;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public CompletionStage<Object> recover(RetryContext context) {
+			Object recovered = this.recoverer.recover(this.args, context.getLastThrowable());
+			if (recovered instanceof CompletionStage) {
+				return (CompletionStage<Object>) recovered;
+			}
+			return CompletableFuture.completedFuture(recovered);
+		}
+
+	}
+
 }
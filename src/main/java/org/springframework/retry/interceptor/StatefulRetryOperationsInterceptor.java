@@ -30,6 +30,7 @@ import org.springframework.retry.RetryContext;
 import org.springframework.retry.RetryOperations;
 import org.springframework.retry.RetryState;
 import org.springframework.retry.policy.NeverRetryPolicy;
+import org.springframework.retry.reactor.ReactorRetryOperations;
 import org.springframework.retry.support.DefaultRetryState;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.util.Assert;
@@ -52,6 +53,11 @@ import org.springframework.util.StringUtils;
  * default it will retry a fixed number of times, according to the defaults in
  * {@link RetryTemplate}.
  *
+ * If {@link ReactorRetryOperations} are provided, methods returning a Reactor
+ * {@code Mono} or {@code Flux} are retried with the same state when the returned
+ * publisher signals an error, and that error is passed on to the subscriber instead of
+ * being re-thrown.
+ *
  * @author Dave Syer
  * @author Gary Russell
  */
@@ -67,6 +73,8 @@ public class StatefulRetryOperationsInterceptor implements MethodInterceptor {
 
 	private RetryOperations retryOperations;
 
+	private ReactorRetryOperations reactorRetryOperations;
+
 	private String label;
 
 	private Classifier<? super Throwable, Boolean> rollbackClassifier;
@@ -84,6 +92,17 @@ public class StatefulRetryOperationsInterceptor implements MethodInterceptor {
 		this.retryOperations = retryTemplate;
 	}
 
+	/**
+	 * Set the {@link ReactorRetryOperations} used for methods that return a Reactor
+	 * {@code Mono} or {@code Flux}. By default such methods are retried only when they
+	 * throw.
+	 * @param reactorRetryOperations the reactor retry operations
+	 * @since 2.0.5
+	 */
+	public void setReactorRetryOperations(ReactorRetryOperations reactorRetryOperations) {
+		this.reactorRetryOperations = reactorRetryOperations;
+	}
+
 	/**
 	 * Public setter for the {@link MethodInvocationRecoverer} to use if the retry is
 	 * exhausted. The recoverer should be able to return an object of the same type as the
@@ -163,6 +182,13 @@ public class StatefulRetryOperationsInterceptor implements MethodInterceptor {
 				this.newMethodArgumentsIdentifier != null && this.newMethodArgumentsIdentifier.isNew(args),
 				this.rollbackClassifier);
 
+		if (this.reactorRetryOperations != null && isReactive(invocation)) {
+			Class<?> returnType = invocation.getMethod().getReturnType();
+			return ReactorMethodInvocationSupport.execute(this.reactorRetryOperations,
+					new StatefulMethodInvocationRetryCallback(invocation, label), returnType, args, this.recoverer,
+					retryState);
+		}
+
 		Object result = this.retryOperations.execute(new StatefulMethodInvocationRetryCallback(invocation, label),
 				this.recoverer != null ? new ItemRecovererCallback(args, this.recoverer) : null, retryState);
 
@@ -174,6 +200,10 @@ public class StatefulRetryOperationsInterceptor implements MethodInterceptor {
 
 	}
 
+	private boolean isReactive(MethodInvocation invocation) {
+		return ReactorMethodInvocationSupport.isReactive(invocation.getMethod().getReturnType());
+	}
+
 	private Object createKey(final MethodInvocation invocation, Object defaultKey) {
 		Object generatedKey = defaultKey;
 		if (this.keyGenerator != null) {
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A transition of the circuit of a
+ * {@link org.springframework.retry.policy.CircuitBreakerRetryPolicy}.
+ *
+ * @since 2.0.5
+ */
+@Name(CircuitStateChangeEvent.NAME)
+@Label("Circuit State Change")
+@Category("Spring Retry")
+@Description("A transition of the circuit of a circuit breaker")
+@StackTrace(false)
+class CircuitStateChangeEvent extends Event {
+
+	static final String NAME = "org.springframework.retry.CircuitStateChange";
+
+	@Label("Label")
+	@Description("The name of the retry block of the circuit breaker")
+	String label;
+
+	@Label("From")
+	@Description("The state the circuit left")
+	String from;
+
+	@Label("To")
+	@Description("The state the circuit entered")
+	String to;
+
+}
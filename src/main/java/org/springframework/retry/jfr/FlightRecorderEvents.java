@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.jfr;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy;
+import org.springframework.retry.support.RetrySynchronizationManager;
+
+/**
+ * The only class using the {@code jdk.jfr} API directly, loaded by
+ * {@link RetryFlightRecorder} only if it is present. Each event class has a shared
+ * instance to tell whether it is enabled, so that an event is only created when it is to
+ * be committed.
+ *
+ * @since 2.0.5
+ */
+final class FlightRecorderEvents {
+
+	private static final RetryAttemptEvent ATTEMPT = new RetryAttemptEvent();
+
+	private static final RetryBackOffEvent BACK_OFF = new RetryBackOffEvent();
+
+	private static final RetryExhaustedEvent EXHAUSTED = new RetryExhaustedEvent();
+
+	private static final RetryRecoveredEvent RECOVERED = new RetryRecoveredEvent();
+
+	private static final CircuitStateChangeEvent CIRCUIT_STATE_CHANGE = new CircuitStateChangeEvent();
+
+	private FlightRecorderEvents() {
+	}
+
+	static Object beginAttempt() {
+		if (!ATTEMPT.isEnabled()) {
+			return null;
+		}
+		RetryAttemptEvent event = new RetryAttemptEvent();
+		event.begin();
+		return event;
+	}
+
+	static void endAttempt(Object attempt, RetryContext context, Throwable throwable) {
+		RetryAttemptEvent event = (RetryAttemptEvent) attempt;
+		event.end();
+		if (event.shouldCommit()) {
+			event.label = label(context);
+			event.attempt = context.getRetryCount() + 1;
+			event.exceptionClass = throwable != null ? throwable.getClass() : null;
+			event.commit();
+		}
+	}
+
+	static Object beginBackOff() {
+		if (!BACK_OFF.isEnabled()) {
+			return null;
+		}
+		RetryBackOffEvent event = new RetryBackOffEvent();
+		event.begin();
+		return event;
+	}
+
+	static void endBackOff(Object backOff, long requested) {
+		RetryBackOffEvent event = (RetryBackOffEvent) backOff;
+		event.end();
+		if (event.shouldCommit()) {
+			event.label = label(RetrySynchronizationManager.getContext());
+			event.requested = requested;
+			event.commit();
+		}
+	}
+
+	static void exhausted(RetryContext context) {
+		if (!EXHAUSTED.isEnabled()) {
+			return;
+		}
+		RetryExhaustedEvent event = new RetryExhaustedEvent();
+		if (event.shouldCommit()) {
+			event.label = label(context);
+			event.attempts = context.getRetryCount();
+			event.exceptionClass = exceptionClass(context);
+			event.commit();
+		}
+	}
+
+	static Object beginRecovery() {
+		if (!RECOVERED.isEnabled()) {
+			return null;
+		}
+		RetryRecoveredEvent event = new RetryRecoveredEvent();
+		event.begin();
+		return event;
+	}
+
+	static void endRecovery(Object recovery, RetryContext context) {
+		RetryRecoveredEvent event = (RetryRecoveredEvent) recovery;
+		event.end();
+		if (event.shouldCommit()) {
+			event.label = label(context);
+			event.attempts = context.getRetryCount();
+			event.exceptionClass = exceptionClass(context);
+			event.commit();
+		}
+	}
+
+	static void circuitStateChanged(RetryContext context, CircuitBreakerRetryPolicy.State from,
+			CircuitBreakerRetryPolicy.State to) {
+		if (!CIRCUIT_STATE_CHANGE.isEnabled()) {
+			return;
+		}
+		CircuitStateChangeEvent event = new CircuitStateChangeEvent();
+		if (event.shouldCommit()) {
+			event.label = label(context);
+			event.from = from.name();
+			event.to = to.name();
+			event.commit();
+		}
+	}
+
+	private static String label(RetryContext context) {
+		Object name = context != null ? context.getAttribute(RetryContext.NAME) : null;
+		return name != null ? name.toString() : null;
+	}
+
+	private static Class<?> exceptionClass(RetryContext context) {
+		Throwable throwable = context.getLastThrowable();
+		return throwable != null ? throwable.getClass() : null;
+	}
+
+}
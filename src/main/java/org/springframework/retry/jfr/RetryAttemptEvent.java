@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An attempt of a retry block, lasting as long as its callback.
+ *
+ * @since 2.0.5
+ */
+@Name(RetryAttemptEvent.NAME)
+@Label("Retry Attempt")
+@Category("Spring Retry")
+@Description("An attempt of a retry block")
+@StackTrace(false)
+class RetryAttemptEvent extends Event {
+
+	static final String NAME = "org.springframework.retry.RetryAttempt";
+
+	@Label("Label")
+	@Description("The name of the retry block")
+	String label;
+
+	@Label("Attempt")
+	@Description("The number of the attempt, starting at 1")
+	int attempt;
+
+	@Label("Exception Class")
+	@Description("The class of the exception thrown by the attempt, if it failed")
+	Class<?> exceptionClass;
+
+}
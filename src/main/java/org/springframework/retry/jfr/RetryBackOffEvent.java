@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A back off between two attempts, lasting as long as the actual sleep.
+ *
+ * @since 2.0.5
+ */
+@Name(RetryBackOffEvent.NAME)
+@Label("Retry Back Off")
+@Category("Spring Retry")
+@Description("A back off between two attempts of a retry block")
+@StackTrace(false)
+class RetryBackOffEvent extends Event {
+
+	static final String NAME = "org.springframework.retry.RetryBackOff";
+
+	@Label("Label")
+	@Description("The name of the retry block")
+	String label;
+
+	@Label("Requested")
+	@Description("The sleep requested by the back off policy")
+	@Timespan(Timespan.NANOSECONDS)
+	long requested;
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.jfr;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Emits the JDK Flight Recorder events of the retry blocks, so that the time they spend
+ * shows up in a recording as attempts, back offs, recoveries and circuit transitions
+ * rather than as anonymous sleeps and exceptions. The events are in the
+ * {@code Spring Retry} category, named:
+ * <ul>
+ * <li>{@code org.springframework.retry.RetryAttempt}, an attempt with its label, number
+ * and the class of the exception it threw, if any;</li>
+ * <li>{@code org.springframework.retry.RetryBackOff}, a back off with the sleep requested
+ * by the policy, its duration being the actual sleep;</li>
+ * <li>{@code org.springframework.retry.RetryExhausted} and
+ * {@code org.springframework.retry.RetryRecovered}, a retry block that ran out of
+ * attempts, and its recovery;</li>
+ * <li>{@code org.springframework.retry.CircuitStateChange}, a transition of a circuit
+ * breaker.</li>
+ * </ul>
+ * <p>
+ * Nothing is allocated nor measured unless the event is enabled in a recording, and on a
+ * runtime without the {@code jdk.jfr} module the event classes are never loaded, so the
+ * calls cost a constant check. The {@code begin} methods return a handle to pass to the
+ * matching {@code end} method, null if the event is disabled.
+ *
+ * @since 2.0.5
+ */
+public final class RetryFlightRecorder {
+
+	private static final boolean PRESENT = ClassUtils.isPresent("jdk.jfr.Event",
+			RetryFlightRecorder.class.getClassLoader());
+
+	private RetryFlightRecorder() {
+	}
+
+	/**
+	 * Start timing an attempt.
+	 * @return the handle of the attempt, or null
+	 */
+	public static Object beginAttempt() {
+		return PRESENT ? FlightRecorderEvents.beginAttempt() : null;
+	}
+
+	/**
+	 * Record an attempt, before the failure is registered with the context.
+	 * @param attempt the handle of the attempt
+	 * @param context the retry context
+	 * @param throwable the exception thrown by the attempt, or null if it succeeded
+	 */
+	public static void endAttempt(Object attempt, RetryContext context, Throwable throwable) {
+		if (attempt != null) {
+			FlightRecorderEvents.endAttempt(attempt, context, throwable);
+		}
+	}
+
+	/**
+	 * Start timing a back off.
+	 * @return the handle of the back off, or null
+	 */
+	public static Object beginBackOff() {
+		return PRESENT ? FlightRecorderEvents.beginBackOff() : null;
+	}
+
+	/**
+	 * Record a back off of the retry block of the current thread.
+	 * @param backOff the handle of the back off
+	 * @param requested the sleep requested by the policy in nanoseconds
+	 */
+	public static void endBackOff(Object backOff, long requested) {
+		if (backOff != null) {
+			FlightRecorderEvents.endBackOff(backOff, requested);
+		}
+	}
+
+	/**
+	 * Record a retry block that ran out of attempts.
+	 * @param context the retry context
+	 */
+	public static void exhausted(RetryContext context) {
+		if (PRESENT) {
+			FlightRecorderEvents.exhausted(context);
+		}
+	}
+
+	/**
+	 * Start timing the recovery of a retry block.
+	 * @return the handle of the recovery, or null
+	 */
+	public static Object beginRecovery() {
+		return PRESENT ? FlightRecorderEvents.beginRecovery() : null;
+	}
+
+	/**
+	 * Record the recovery of a retry block.
+	 * @param recovery the handle of the recovery
+	 * @param context the retry context
+	 */
+	public static void endRecovery(Object recovery, RetryContext context) {
+		if (recovery != null) {
+			FlightRecorderEvents.endRecovery(recovery, context);
+		}
+	}
+
+	/**
+	 * Record a transition of a circuit.
+	 * @param context the context of the circuit
+	 * @param from the state the circuit left
+	 * @param to the state the circuit entered
+	 */
+	public static void circuitStateChanged(RetryContext context, CircuitBreakerRetryPolicy.State from,
+			CircuitBreakerRetryPolicy.State to) {
+		if (PRESENT) {
+			FlightRecorderEvents.circuitStateChanged(context, from, to);
+		}
+	}
+
+}
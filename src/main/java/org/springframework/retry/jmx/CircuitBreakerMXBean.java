@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.jmx;
+
+/**
+ * Management interface of a circuit breaker, to inspect and control its circuit on a live
+ * node.
+ *
+ * @since 2.0.5
+ * @see RetryMBeanRegistrar
+ * @see org.springframework.retry.policy.CircuitBreakerRetryPolicy
+ */
+public interface CircuitBreakerMXBean {
+
+	/**
+	 * @return the label of the circuit breaker
+	 */
+	String getLabel();
+
+	/**
+	 * @return the state of the circuit: {@code CLOSED}, {@code OPEN} or {@code HALF_OPEN}
+	 */
+	String getState();
+
+	/**
+	 * @return the number of calls short circuited since the circuit last let one through
+	 */
+	int getShortCircuitCount();
+
+	/**
+	 * @return the time in milliseconds until the open circuit half opens, 0 unless it is
+	 * open
+	 */
+	long getTimeUntilReset();
+
+	/**
+	 * Open the circuit now. It half opens after the reset timeout as usual.
+	 */
+	void forceOpen();
+
+	/**
+	 * Close the circuit now, unless it is closed already.
+	 */
+	void forceClose();
+
+	/**
+	 * Close the circuit, forgetting its failures and short circuited calls.
+	 */
+	void reset();
+
+}
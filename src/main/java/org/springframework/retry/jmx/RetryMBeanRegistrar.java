@@ -0,0 +1,356 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.jmx;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.RetryStatistics;
+import org.springframework.retry.policy.CircuitBreakerRegistry;
+import org.springframework.retry.policy.CircuitBreakerRegistry.StateChange;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy.State;
+import org.springframework.retry.stats.StatisticsRepository;
+import org.springframework.util.Assert;
+
+/**
+ * Registers MBeans for the entries of a {@link StatisticsRepository}, as
+ * {@link RetryStatisticsMXBean}, and for the circuit breakers of a
+ * {@link CircuitBreakerRegistry}, as {@link CircuitBreakerMXBean}, named
+ * {@code org.springframework.retry:type=RetryStatistics,name="..."} and
+ * {@code org.springframework.retry:type=CircuitBreaker,name="..."}.
+ * <p>
+ * A circuit breaker with a circuit per key may have any number of circuits, so each of
+ * them is registered, with the key of its context in the name, as
+ * {@code org.springframework.retry:type=CircuitBreaker,name="...",key="..."}, only while
+ * it is not closed: from its transition out of the closed state to its transition back.
+ * <p>
+ * Retry blocks come and go with the calls, so the registrar is also a
+ * {@link RetryListener}: registered with the retry operations, it registers the MBeans of
+ * a name as soon as a retry block of that name closes. {@link #refresh()} registers those
+ * of all the names known already. The MBeans are unregistered when the registrar is
+ * destroyed.
+ *
+ * @since 2.0.5
+ * @see org.springframework.retry.annotation.RetryConfiguration
+ */
+public class RetryMBeanRegistrar implements RetryListener, DisposableBean {
+
+	/**
+	 * The default domain of the names of the MBeans.
+	 */
+	public static final String DEFAULT_DOMAIN = "org.springframework.retry";
+
+	private static final Log logger = LogFactory.getLog(RetryMBeanRegistrar.class);
+
+	private final MBeanServer server;
+
+	private final Set<String> statistics = ConcurrentHashMap.newKeySet();
+
+	private final Set<String> circuitBreakers = ConcurrentHashMap.newKeySet();
+
+	private final Map<List<Object>, ObjectName> circuits = new ConcurrentHashMap<>();
+
+	private final Set<ObjectName> registered = ConcurrentHashMap.newKeySet();
+
+	private final Consumer<StateChange> subscriber = this::stateChanged;
+
+	private String domain = DEFAULT_DOMAIN;
+
+	private StatisticsRepository repository;
+
+	private CircuitBreakerRegistry circuitBreakerRegistry;
+
+	/**
+	 * Create a registrar for the given server.
+	 * @param server the server to register the MBeans with
+	 */
+	public RetryMBeanRegistrar(MBeanServer server) {
+		Assert.notNull(server, "'server' cannot be null");
+		this.server = server;
+	}
+
+	/**
+	 * @param domain the domain of the names of the MBeans, defaults to
+	 * {@link #DEFAULT_DOMAIN}
+	 */
+	public void setDomain(String domain) {
+		Assert.hasText(domain, "'domain' cannot be empty");
+		this.domain = domain;
+	}
+
+	/**
+	 * @param repository the repository whose statistics to register
+	 */
+	public void setStatisticsRepository(StatisticsRepository repository) {
+		this.repository = repository;
+	}
+
+	/**
+	 * @param circuitBreakerRegistry the registry whose circuit breakers to register
+	 */
+	public void setCircuitBreakerRegistry(CircuitBreakerRegistry circuitBreakerRegistry) {
+		if (this.circuitBreakerRegistry != null) {
+			this.circuitBreakerRegistry.unsubscribe(this.subscriber);
+		}
+		this.circuitBreakerRegistry = circuitBreakerRegistry;
+		if (circuitBreakerRegistry != null) {
+			circuitBreakerRegistry.subscribe(this.subscriber);
+		}
+	}
+
+	/**
+	 * Register the MBeans of all the statistics and circuit breakers known so far.
+	 */
+	public void refresh() {
+		if (this.repository != null) {
+			this.repository.forEach(statistics -> registerStatistics(statistics.getName()));
+		}
+		if (this.circuitBreakerRegistry != null) {
+			for (String label : this.circuitBreakerRegistry.getLabels()) {
+				if (!this.circuitBreakerRegistry.isKeyed(label)) {
+					registerCircuitBreaker(label);
+				}
+			}
+		}
+	}
+
+	@Override
+	public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+			Throwable throwable) {
+		Object name = context.getAttribute(RetryContext.NAME);
+		if (!(name instanceof String)) {
+			return;
+		}
+		if (this.repository != null && !this.statistics.contains(name)
+				&& this.repository.findOne((String) name) != null) {
+			registerStatistics((String) name);
+		}
+		if (this.circuitBreakerRegistry != null && !this.circuitBreakers.contains(name)
+				&& this.circuitBreakerRegistry.getCircuitBreaker((String) name) != null
+				&& !this.circuitBreakerRegistry.isKeyed((String) name)) {
+			registerCircuitBreaker((String) name);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (this.circuitBreakerRegistry != null) {
+			this.circuitBreakerRegistry.unsubscribe(this.subscriber);
+		}
+		for (ObjectName name : this.registered) {
+			try {
+				this.server.unregisterMBean(name);
+			}
+			catch (JMException ex) {
+				logger.debug("Could not unregister MBean " + name, ex);
+			}
+		}
+		this.registered.clear();
+		this.statistics.clear();
+		this.circuitBreakers.clear();
+		this.circuits.clear();
+	}
+
+	private void registerStatistics(String name) {
+		if (name != null && this.statistics.add(name)) {
+			register(new ManagedRetryStatistics(name), "RetryStatistics", name, null);
+		}
+	}
+
+	private void registerCircuitBreaker(String label) {
+		if (this.circuitBreakers.add(label)) {
+			register(new ManagedCircuitBreaker(label, null), "CircuitBreaker", label, null);
+		}
+	}
+
+	/**
+	 * Register the circuits of a breaker with a circuit per key while they are not
+	 * closed. The transitions are delivered one at a time by the registry.
+	 */
+	private void stateChanged(StateChange change) {
+		String label = change.getLabel();
+		if (!this.circuitBreakerRegistry.isKeyed(label)) {
+			return;
+		}
+		List<Object> circuit = Arrays.asList(label, change.getKey());
+		if (change.getTo() == State.CLOSED) {
+			ObjectName name = this.circuits.remove(circuit);
+			if (name != null) {
+				unregister(name);
+			}
+		}
+		else if (!this.circuits.containsKey(circuit)) {
+			ObjectName name = register(new ManagedCircuitBreaker(label, change.getKey()), "CircuitBreaker", label,
+					String.valueOf(change.getKey()));
+			if (name != null) {
+				this.circuits.put(circuit, name);
+			}
+		}
+	}
+
+	private ObjectName register(Object mbean, String type, String name, String key) {
+		try {
+			ObjectName objectName = new ObjectName(this.domain + ":type=" + type + ",name=" + ObjectName.quote(name)
+					+ (key != null ? ",key=" + ObjectName.quote(key) : ""));
+			this.server.registerMBean(mbean, objectName);
+			this.registered.add(objectName);
+			return objectName;
+		}
+		catch (JMException ex) {
+			logger.warn("Could not register " + type + " MBean for " + name, ex);
+			return null;
+		}
+	}
+
+	private void unregister(ObjectName name) {
+		this.registered.remove(name);
+		try {
+			this.server.unregisterMBean(name);
+		}
+		catch (JMException ex) {
+			logger.debug("Could not unregister MBean " + name, ex);
+		}
+	}
+
+	private final class ManagedRetryStatistics implements RetryStatisticsMXBean {
+
+		private final String name;
+
+		ManagedRetryStatistics(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public long getStartedCount() {
+			RetryStatistics statistics = statistics();
+			return statistics != null ? statistics.getStartedTotal() : 0;
+		}
+
+		@Override
+		public long getCompleteCount() {
+			RetryStatistics statistics = statistics();
+			return statistics != null ? statistics.getCompleteTotal() : 0;
+		}
+
+		@Override
+		public long getErrorCount() {
+			RetryStatistics statistics = statistics();
+			return statistics != null ? statistics.getErrorTotal() : 0;
+		}
+
+		@Override
+		public long getAbortCount() {
+			RetryStatistics statistics = statistics();
+			return statistics != null ? statistics.getAbortTotal() : 0;
+		}
+
+		@Override
+		public long getRecoveryCount() {
+			RetryStatistics statistics = statistics();
+			return statistics != null ? statistics.getRecoveryTotal() : 0;
+		}
+
+		private RetryStatistics statistics() {
+			return RetryMBeanRegistrar.this.repository.findOne(this.name);
+		}
+
+	}
+
+	private final class ManagedCircuitBreaker implements CircuitBreakerMXBean {
+
+		private final String label;
+
+		/**
+		 * The key of the context of the circuit, null for the single circuit of the
+		 * breaker.
+		 */
+		private final Object key;
+
+		ManagedCircuitBreaker(String label, Object key) {
+			this.label = label;
+			this.key = key;
+		}
+
+		@Override
+		public String getLabel() {
+			return this.label;
+		}
+
+		@Override
+		public String getState() {
+			CircuitBreakerRegistry registry = RetryMBeanRegistrar.this.circuitBreakerRegistry;
+			return (this.key != null ? registry.getState(this.label, this.key) : registry.getState(this.label)).name();
+		}
+
+		@Override
+		public int getShortCircuitCount() {
+			return (Integer) context().getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_SHORT_COUNT);
+		}
+
+		@Override
+		public long getTimeUntilReset() {
+			return policy().getTimeUntilReset(context());
+		}
+
+		@Override
+		public void forceOpen() {
+			policy().forceOpen(context());
+		}
+
+		@Override
+		public void forceClose() {
+			policy().forceClose(context());
+		}
+
+		@Override
+		public void reset() {
+			policy().reset(context());
+		}
+
+		private CircuitBreakerRetryPolicy policy() {
+			return RetryMBeanRegistrar.this.circuitBreakerRegistry.getCircuitBreaker(this.label);
+		}
+
+		private RetryContext context() {
+			CircuitBreakerRegistry registry = RetryMBeanRegistrar.this.circuitBreakerRegistry;
+			return this.key != null ? registry.getContext(this.label, this.key) : registry.getContext(this.label);
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.jmx;
+
+/**
+ * Management interface of the statistics of a retry block, as held by a
+ * {@link org.springframework.retry.stats.StatisticsRepository}.
+ *
+ * @since 2.0.5
+ * @see RetryMBeanRegistrar
+ */
+public interface RetryStatisticsMXBean {
+
+	/**
+	 * @return the name of the retry block
+	 */
+	String getName();
+
+	/**
+	 * @return the number of retry blocks started
+	 */
+	long getStartedCount();
+
+	/**
+	 * @return the number of retry blocks completed successfully
+	 */
+	long getCompleteCount();
+
+	/**
+	 * @return the number of errors detected, retried or not
+	 */
+	long getErrorCount();
+
+	/**
+	 * @return the number of retry blocks that failed overall
+	 */
+	long getAbortCount();
+
+	/**
+	 * @return the number of recovery callbacks applied
+	 */
+	long getRecoveryCount();
+
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.listener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable dispatcher of the callbacks of a list of {@link RetryListener}s. When it is
+ * created, each listener is checked for the callbacks it overrides, and only the
+ * listeners that override a callback are invoked for it, so that a listener implementing
+ * only {@link RetryListener#onError onError} costs nothing on success. A
+ * {@link MethodInvocationRetryListenerSupport} is checked for the template methods it
+ * overrides instead, such as {@code doOnError}. The listeners are invoked in the same
+ * order as by {@link org.springframework.retry.support.RetryTemplate}: {@code open} in
+ * the order of the list, stopping at the first listener that vetoes the retry, and the
+ * other callbacks in reverse order.
+ *
+ * @since 2.0.5
+ */
+public final class RetryListenerDispatcher {
+
+	private static final RetryListener[] NO_LISTENERS = new RetryListener[0];
+
+	/**
+	 * A dispatcher without listeners.
+	 */
+	public static final RetryListenerDispatcher EMPTY = new RetryListenerDispatcher(NO_LISTENERS);
+
+	private final RetryListener[] listeners;
+
+	private final RetryListener[] openListeners;
+
+	private final RetryListener[] closeListeners;
+
+	private final RetryListener[] successListeners;
+
+	private final RetryListener[] errorListeners;
+
+	private final RetryListener[] backOffListeners;
+
+	private final RetryListener[] attemptLatencyListeners;
+
+	private final RetryListener[] callLatencyListeners;
+
+	private RetryListenerDispatcher(RetryListener[] listeners) {
+		this.listeners = listeners;
+		this.openListeners = select(listeners, "open", RetryContext.class, RetryCallback.class);
+		this.closeListeners = select(listeners, "close", RetryContext.class, RetryCallback.class, Throwable.class);
+		this.successListeners = select(listeners, "onSuccess", RetryContext.class, RetryCallback.class, Object.class);
+		this.errorListeners = select(listeners, "onError", RetryContext.class, RetryCallback.class, Throwable.class);
+		this.backOffListeners = select(listeners, "onBackOff", RetryContext.class, RetryCallback.class, long.class);
+		this.attemptLatencyListeners = select(listeners, "onAttemptLatency", RetryContext.class, RetryCallback.class,
+				long.class);
+		this.callLatencyListeners = select(listeners, "onCallLatency", RetryContext.class, RetryCallback.class,
+				long.class);
+	}
+
+	/**
+	 * Create a dispatcher for the supplied listeners.
+	 * @param listeners the listeners, which are copied
+	 * @return the dispatcher
+	 */
+	public static RetryListenerDispatcher of(RetryListener... listeners) {
+		Assert.noNullElements(listeners, "'listeners' must not contain null elements");
+		if (listeners.length == 0) {
+			return EMPTY;
+		}
+		return new RetryListenerDispatcher(Arrays.copyOf(listeners, listeners.length));
+	}
+
+	/**
+	 * Create a dispatcher with an additional listener at the specified index.
+	 * @param listener the listener to add
+	 * @param index the position in the list, the listener being added at the end if it is
+	 * not lower than the number of listeners
+	 * @return the new dispatcher
+	 */
+	public RetryListenerDispatcher with(RetryListener listener, int index) {
+		List<RetryListener> list = new ArrayList<>(Arrays.asList(this.listeners));
+		if (index >= list.size()) {
+			list.add(listener);
+		}
+		else {
+			list.add(index, listener);
+		}
+		return of(list.toArray(NO_LISTENERS));
+	}
+
+	/**
+	 * @return a copy of all the listeners, in their original order
+	 */
+	public RetryListener[] getListeners() {
+		return this.listeners.clone();
+	}
+
+	/**
+	 * @return true if there is at least one listener
+	 */
+	public boolean hasListeners() {
+		return this.listeners.length > 0;
+	}
+
+	/**
+	 * @return true if at least one listener overrides {@link RetryListener#onBackOff}, so
+	 * that the back off has to be timed
+	 */
+	public boolean hasBackOffListeners() {
+		return this.backOffListeners.length > 0;
+	}
+
+	/**
+	 * @return true if at least one listener overrides
+	 * {@link RetryListener#onAttemptLatency} or {@link RetryListener#onCallLatency}, so
+	 * that the attempts and the call have to be timed
+	 */
+	public boolean hasLatencyListeners() {
+		return this.attemptLatencyListeners.length > 0 || this.callLatencyListeners.length > 0;
+	}
+
+	/**
+	 * Invoke {@link RetryListener#open} on the listeners overriding it, in order, until
+	 * one of them returns false.
+	 * @param context the current retry context
+	 * @param callback the current callback
+	 * @param <T> the type of object returned by the callback
+	 * @param <E> the type of exception it declares may be thrown
+	 * @return true if the retry can proceed
+	 */
+	public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+		for (RetryListener listener : this.openListeners) {
+			if (!listener.open(context, callback)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Invoke {@link RetryListener#close} on the listeners overriding it, in reverse
+	 * order.
+	 * @param context the current retry context
+	 * @param callback the current callback
+	 * @param throwable the last exception that was thrown by the callback
+	 * @param <T> the type of object returned by the callback
+	 * @param <E> the type of exception it declares may be thrown
+	 */
+	public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+			Throwable throwable) {
+		RetryListener[] listeners = this.closeListeners;
+		for (int i = listeners.length; i-- > 0;) {
+			listeners[i].close(context, callback, throwable);
+		}
+	}
+
+	/**
+	 * Invoke {@link RetryListener#onSuccess} on the listeners overriding it, in reverse
+	 * order.
+	 * @param context the current retry context
+	 * @param callback the current callback
+	 * @param result the result of the callback
+	 * @param <T> the type of object returned by the callback
+	 * @param <E> the type of exception it declares may be thrown
+	 */
+	public <T, E extends Throwable> void onSuccess(RetryContext context, RetryCallback<T, E> callback, T result) {
+		RetryListener[] listeners = this.successListeners;
+		for (int i = listeners.length; i-- > 0;) {
+			listeners[i].onSuccess(context, callback, result);
+		}
+	}
+
+	/**
+	 * Invoke {@link RetryListener#onError} on the listeners overriding it, in reverse
+	 * order.
+	 * @param context the current retry context
+	 * @param callback the current callback
+	 * @param throwable the last exception that was thrown by the callback
+	 * @param <T> the type of object returned by the callback
+	 * @param <E> the type of exception it declares may be thrown
+	 */
+	public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+			Throwable throwable) {
+		RetryListener[] listeners = this.errorListeners;
+		for (int i = listeners.length; i-- > 0;) {
+			listeners[i].onError(context, callback, throwable);
+		}
+	}
+
+	/**
+	 * Invoke {@link RetryListener#onBackOff} on the listeners overriding it, in reverse
+	 * order.
+	 * @param context the current retry context
+	 * @param callback the current callback
+	 * @param nanos the time spent backing off, in nanoseconds
+	 * @param <T> the type of object returned by the callback
+	 * @param <E> the type of exception it declares may be thrown
+	 */
+	public <T, E extends Throwable> void onBackOff(RetryContext context, RetryCallback<T, E> callback, long nanos) {
+		RetryListener[] listeners = this.backOffListeners;
+		for (int i = listeners.length; i-- > 0;) {
+			listeners[i].onBackOff(context, callback, nanos);
+		}
+	}
+
+	/**
+	 * Invoke {@link RetryListener#onAttemptLatency} on the listeners overriding it, in
+	 * reverse order.
+	 * @param context the current retry context
+	 * @param callback the current callback
+	 * @param nanos the time the attempt took, in nanoseconds
+	 * @param <T> the type of object returned by the callback
+	 * @param <E> the type of exception it declares may be thrown
+	 */
+	public <T, E extends Throwable> void onAttemptLatency(RetryContext context, RetryCallback<T, E> callback,
+			long nanos) {
+		RetryListener[] listeners = this.attemptLatencyListeners;
+		for (int i = listeners.length; i-- > 0;) {
+			listeners[i].onAttemptLatency(context, callback, nanos);
+		}
+	}
+
+	/**
+	 * Invoke {@link RetryListener#onCallLatency} on the listeners overriding it, in
+	 * reverse order.
+	 * @param context the current retry context
+	 * @param callback the current callback
+	 * @param nanos the time the call took, in nanoseconds
+	 * @param <T> the type of object returned by the callback
+	 * @param <E> the type of exception it declares may be thrown
+	 */
+	public <T, E extends Throwable> void onCallLatency(RetryContext context, RetryCallback<T, E> callback, long nanos) {
+		RetryListener[] listeners = this.callLatencyListeners;
+		for (int i = listeners.length; i-- > 0;) {
+			listeners[i].onCallLatency(context, callback, nanos);
+		}
+	}
+
+	private static RetryListener[] select(RetryListener[] listeners, String name, Class<?>... parameterTypes) {
+		List<RetryListener> selected = new ArrayList<>(listeners.length);
+		for (RetryListener listener : listeners) {
+			if (overrides(listener.getClass(), name, parameterTypes)) {
+				selected.add(listener);
+			}
+		}
+		return selected.isEmpty() ? NO_LISTENERS : selected.toArray(NO_LISTENERS);
+	}
+
+	private static boolean overrides(Class<?> type, String name, Class<?>... parameterTypes) {
+		try {
+			Class<?> declaringClass = type.getMethod(name, parameterTypes).getDeclaringClass();
+			if (declaringClass == MethodInvocationRetryListenerSupport.class) {
+				return overridesTemplateMethod(type, name, parameterTypes);
+			}
+			return declaringClass != RetryListener.class;
+		}
+		catch (NoSuchMethodException | SecurityException ex) {
+			// Cannot tell, so invoke it anyway
+			return true;
+		}
+	}
+
+	/**
+	 * Whether a subclass of {@link MethodInvocationRetryListenerSupport} overrides the
+	 * template method that a callback delegates to, like {@code doOpen} for {@code open}.
+	 */
+	private static boolean overridesTemplateMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+		String templateName = "do" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		Class<?>[] templateParameterTypes = parameterTypes.clone();
+		templateParameterTypes[1] = MethodInvocationRetryCallback.class;
+		Class<?> current = type;
+		while (current != MethodInvocationRetryListenerSupport.class) {
+			try {
+				current.getDeclaredMethod(templateName, templateParameterTypes);
+				return true;
+			}
+			catch (NoSuchMethodException ex) {
+				// Not declared at this level
+				current = current.getSuperclass();
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link RetryContextCache} holding at most a maximum number of contexts, evicting the
+ * least recently used ones instead of throwing a
+ * {@link RetryCacheCapacityExceededException}, and optionally expiring the contexts that
+ * have not been used or updated for a while. It suits contexts that are never removed,
+ * like the ones of circuits keyed by the method arguments, or of items that fail and
+ * never come back. It can be set on a
+ * {@link org.springframework.retry.support.RetryTemplate}, or declared as the unique
+ * {@link RetryContextCache} bean used by {@code @EnableRetry}.
+ * <p>
+ * The keys are spread over segments, each with its own lock and its own share of the
+ * maximum size, so that concurrent calls with different keys rarely contend. As a
+ * consequence the eviction is least recently used within a segment, not across the whole
+ * cache. The hits, misses and evictions are counted without locking.
+ *
+ * @since 2.0.5
+ */
+public class BoundedRetryContextCache implements RetryContextCache {
+
+	/**
+	 * The default maximum number of contexts.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 100000;
+
+	private static final int MAX_SEGMENTS = 64;
+
+	private final Segment[] segments;
+
+	private final int segmentMask;
+
+	private volatile long expireAfterAccess;
+
+	private volatile long expireAfterWrite;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Create a cache with the {@link #DEFAULT_MAXIMUM_SIZE default maximum size}.
+	 */
+	public BoundedRetryContextCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Create a cache with the given maximum size.
+	 * @param maximumSize the maximum number of contexts
+	 */
+	public BoundedRetryContextCache(int maximumSize) {
+		Assert.isTrue(maximumSize > 0, "Maximum size must be positive");
+		int count = 1;
+		while (count < MAX_SEGMENTS && count < Runtime.getRuntime().availableProcessors() * 4
+				&& count * 2 <= maximumSize) {
+			count <<= 1;
+		}
+		this.segments = new Segment[count];
+		this.segmentMask = count - 1;
+		for (int i = 0; i < count; i++) {
+			// Spread the remainder so that the segments add up to the maximum size
+			this.segments[i] = new Segment(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Expire the contexts that have not been read or written for this long.
+	 * @param expireAfterAccess the time to live in milliseconds since the last access, or
+	 * 0 (the default) to never expire
+	 */
+	public void setExpireAfterAccess(long expireAfterAccess) {
+		Assert.isTrue(expireAfterAccess >= 0, "Expire after access cannot be negative");
+		this.expireAfterAccess = expireAfterAccess;
+	}
+
+	/**
+	 * Expire the contexts that have not been written for this long, even if they are
+	 * read.
+	 * @param expireAfterWrite the time to live in milliseconds since the last write, or 0
+	 * (the default) to never expire
+	 */
+	public void setExpireAfterWrite(long expireAfterWrite) {
+		Assert.isTrue(expireAfterWrite >= 0, "Expire after write cannot be negative");
+		this.expireAfterWrite = expireAfterWrite;
+	}
+
+	@Override
+	public RetryContext get(Object key) {
+		RetryContext context = segmentFor(key).get(key, System.currentTimeMillis());
+		if (context != null) {
+			this.hits.increment();
+		}
+		else {
+			this.misses.increment();
+		}
+		return context;
+	}
+
+	@Override
+	public void put(Object key, RetryContext context) {
+		segmentFor(key).put(key, context, System.currentTimeMillis());
+	}
+
+	@Override
+	public void remove(Object key) {
+		segmentFor(key).remove(key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return segmentFor(key).containsKey(key, System.currentTimeMillis());
+	}
+
+	@Override
+	public RetryContext computeIfAbsent(Object key, Function<Object, ? extends RetryContext> mappingFunction) {
+		long now = System.currentTimeMillis();
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			RetryContext context = segment.get(key, now);
+			if (context != null) {
+				this.hits.increment();
+				return context;
+			}
+			this.misses.increment();
+			context = mappingFunction.apply(key);
+			if (context != null) {
+				segment.put(key, context, now);
+			}
+			return context;
+		}
+	}
+
+	@Override
+	public boolean replace(Object key, RetryContext context) {
+		long now = System.currentTimeMillis();
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			if (segment.get(key, now) == null) {
+				return false;
+			}
+			segment.put(key, context, now);
+			return true;
+		}
+	}
+
+	@Override
+	public boolean remove(Object key, RetryContext context) {
+		return segmentFor(key).remove(key, context);
+	}
+
+	/**
+	 * @return the number of calls to {@link #get(Object)} that found a context
+	 */
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * @return the number of calls to {@link #get(Object)} that found no context
+	 */
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * @return the number of contexts removed because the cache was full or because they
+	 * expired
+	 */
+	public long getEvictionCount() {
+		return this.evictions.sum();
+	}
+
+	/**
+	 * @return the number of contexts in the cache, some of which may have expired
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : this.segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	private Segment segmentFor(Object key) {
+		int hash = key == null ? 0 : key.hashCode();
+		hash ^= (hash >>> 16);
+		return this.segments[hash & this.segmentMask];
+	}
+
+	private boolean isExpired(Entry entry, long now) {
+		long expireAfterAccess = this.expireAfterAccess;
+		long expireAfterWrite = this.expireAfterWrite;
+		return expireAfterAccess > 0 && now - entry.accessed >= expireAfterAccess
+				|| expireAfterWrite > 0 && now - entry.written >= expireAfterWrite;
+	}
+
+	private static final class Entry {
+
+		private final RetryContext context;
+
+		private final long written;
+
+		private long accessed;
+
+		private Entry(RetryContext context, long written) {
+			this.context = context;
+			this.written = written;
+			this.accessed = written;
+		}
+
+	}
+
+	private final class Segment {
+
+		private final int maximumSize;
+
+		private final LinkedHashMap<Object, Entry> entries;
+
+		private Segment(int maximumSize) {
+			this.maximumSize = maximumSize;
+			// Access order, so that the eldest entry is the least recently used
+			this.entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+					if (size() > Segment.this.maximumSize) {
+						BoundedRetryContextCache.this.evictions.increment();
+						return true;
+					}
+					return false;
+				}
+
+			};
+		}
+
+		synchronized RetryContext get(Object key, long now) {
+			Entry entry = this.entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (isExpired(entry, now)) {
+				this.entries.remove(key);
+				BoundedRetryContextCache.this.evictions.increment();
+				return null;
+			}
+			entry.accessed = now;
+			return entry.context;
+		}
+
+		synchronized boolean containsKey(Object key, long now) {
+			// Only get() counts the hits and misses
+			return get(key, now) != null;
+		}
+
+		synchronized void put(Object key, RetryContext context, long now) {
+			purge(now);
+			this.entries.put(key, new Entry(context, now));
+		}
+
+		synchronized void remove(Object key) {
+			this.entries.remove(key);
+		}
+
+		synchronized boolean remove(Object key, RetryContext context) {
+			Entry entry = this.entries.get(key);
+			if (entry == null || entry.context != context) {
+				return false;
+			}
+			this.entries.remove(key);
+			return true;
+		}
+
+		synchronized int size() {
+			return this.entries.size();
+		}
+
+		/**
+		 * Remove the expired entries at the least recently used end, which are all of
+		 * them unless they expire after write. The others are removed when they are read,
+		 * or evicted.
+		 */
+		private void purge(long now) {
+			Iterator<Entry> iterator = this.entries.values().iterator();
+			while (iterator.hasNext() && isExpired(iterator.next(), now)) {
+				iterator.remove();
+				BoundedRetryContextCache.this.evictions.increment();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy.CircuitBreakerRetryContext;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy.State;
+import org.springframework.util.Assert;
+
+/**
+ * Keeps track of circuit breakers by label, so that their state can be read without
+ * knowing where their context is stored, and publishes their transitions to subscribers.
+ * <p>
+ * A breaker either has a single circuit, whose context is stored in a
+ * {@link RetryContextCache} under a known key, or a circuit per key, all stored in the
+ * same cache. The context of a single circuit is remembered as soon as it makes a
+ * transition, so reading the state of the breaker is a map lookup and an atomic read, and
+ * {@link #getStates()} takes a snapshot of all of them without locking. The circuits of a
+ * breaker with a circuit per key are read from the cache by key.
+ * <p>
+ * Transitions are queued by the thread making them and delivered to the subscribers one
+ * at a time, in order, by a task run on the {@link #setExecutor(Executor) executor}, so
+ * that a slow subscriber never holds up a call. Nothing is queued while there is no
+ * subscriber.
+ *
+ * @since 2.0.5
+ * @see org.springframework.retry.annotation.AnnotationAwareRetryOperationsInterceptor
+ */
+public class CircuitBreakerRegistry {
+
+	private static final Log logger = LogFactory.getLog(CircuitBreakerRegistry.class);
+
+	private final ConcurrentMap<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+	private final List<Consumer<? super StateChange>> subscribers = new CopyOnWriteArrayList<>();
+
+	private final Queue<StateChange> changes = new ConcurrentLinkedQueue<>();
+
+	private final AtomicBoolean publishing = new AtomicBoolean();
+
+	private final Runnable publisher = this::deliver;
+
+	private Executor executor = ForkJoinPool.commonPool();
+
+	/**
+	 * Set the executor delivering the transitions to the subscribers. Defaults to the
+	 * {@link ForkJoinPool#commonPool() common pool}.
+	 * @param executor the executor
+	 */
+	public void setExecutor(Executor executor) {
+		Assert.notNull(executor, "'executor' cannot be null");
+		this.executor = executor;
+	}
+
+	/**
+	 * Register a circuit breaker with a single circuit, becoming the
+	 * {@link CircuitBreakerRetryPolicy#setStateChangeListener(CircuitBreakerRetryPolicy.StateChangeListener)
+	 * state change listener} of its policy. A policy registered with a label that is
+	 * taken already is taken to share the circuit of the first one, as it does when both
+	 * store it under the same key: unless it has a state change listener of its own, its
+	 * transitions are published with the label.
+	 * @param label the label of the breaker
+	 * @param policy the policy of the breaker
+	 * @param cache the cache storing the context of its circuit
+	 * @param key the key of the context in the cache
+	 * @return true if the breaker was registered, false if the label is taken already
+	 */
+	public boolean register(String label, CircuitBreakerRetryPolicy policy, RetryContextCache cache, Object key) {
+		Assert.notNull(key, "'key' cannot be null");
+		return register(label, policy, cache, key, false);
+	}
+
+	/**
+	 * Register a circuit breaker with a circuit per key, becoming the
+	 * {@link CircuitBreakerRetryPolicy#setStateChangeListener(CircuitBreakerRetryPolicy.StateChangeListener)
+	 * state change listener} of its policy, as with
+	 * {@link #register(String, CircuitBreakerRetryPolicy, RetryContextCache, Object)}.
+	 * The circuits are read with {@link #getState(String, Object)} and
+	 * {@link #getContext(String, Object)}.
+	 * @param label the label of the breaker
+	 * @param policy the policy of the breaker
+	 * @param cache the cache storing the contexts of its circuits
+	 * @return true if the breaker was registered, false if the label is taken already
+	 */
+	public boolean registerKeyed(String label, CircuitBreakerRetryPolicy policy, RetryContextCache cache) {
+		return register(label, policy, cache, null, true);
+	}
+
+	private boolean register(String label, CircuitBreakerRetryPolicy policy, RetryContextCache cache, Object key,
+			boolean keyed) {
+		Assert.notNull(label, "'label' cannot be null");
+		Assert.notNull(policy, "'policy' cannot be null");
+		Assert.notNull(cache, "'cache' cannot be null");
+		Breaker breaker = this.breakers.computeIfAbsent(label, name -> new Breaker(name, policy, cache, key, keyed));
+		if (breaker.policy == policy) {
+			policy.setStateChangeListener(breaker);
+			return true;
+		}
+		if (policy.getStateChangeListener() == null) {
+			policy.setStateChangeListener(breaker);
+		}
+		return false;
+	}
+
+	/**
+	 * @return the labels of the registered circuit breakers
+	 */
+	public Set<String> getLabels() {
+		return Collections.unmodifiableSet(this.breakers.keySet());
+	}
+
+	/**
+	 * Tell whether a circuit breaker has a circuit per key.
+	 * @param label the label of the breaker
+	 * @return true if the breaker has a circuit per key, false if it has a single one or
+	 * there is no such breaker
+	 */
+	public boolean isKeyed(String label) {
+		Breaker breaker = this.breakers.get(label);
+		return breaker != null && breaker.keyed;
+	}
+
+	/**
+	 * Return the policy of a circuit breaker.
+	 * @param label the label of the breaker
+	 * @return the policy, or null if there is no such breaker
+	 */
+	public CircuitBreakerRetryPolicy getCircuitBreaker(String label) {
+		Breaker breaker = this.breakers.get(label);
+		return breaker != null ? breaker.policy : null;
+	}
+
+	/**
+	 * Return the context holding the single circuit of a breaker, as stored in its cache,
+	 * creating it closed if no call got that far yet.
+	 * @param label the label of the breaker
+	 * @return the context, or null if there is no such breaker or it has a circuit per
+	 * key
+	 * @see CircuitBreakerRetryPolicy#forceOpen(RetryContext)
+	 */
+	public RetryContext getContext(String label) {
+		Breaker breaker = this.breakers.get(label);
+		return breaker != null && !breaker.keyed ? breaker.getContext(breaker.key) : null;
+	}
+
+	/**
+	 * Return the context holding a circuit of a breaker, as stored in its cache, creating
+	 * it closed if no call got that far yet.
+	 * @param label the label of the breaker
+	 * @param key the key of the context in the cache
+	 * @return the context, or null if there is no such breaker
+	 */
+	public RetryContext getContext(String label, Object key) {
+		Assert.notNull(key, "'key' cannot be null");
+		Breaker breaker = this.breakers.get(label);
+		return breaker != null ? breaker.getContext(key) : null;
+	}
+
+	/**
+	 * Return the state of the single circuit of a breaker, closed until it makes its
+	 * first transition.
+	 * @param label the label of the breaker
+	 * @return the state, or null if there is no such breaker or it has a circuit per key
+	 */
+	public State getState(String label) {
+		Breaker breaker = this.breakers.get(label);
+		return breaker != null && !breaker.keyed ? breaker.getState() : null;
+	}
+
+	/**
+	 * Return the state of a circuit of a breaker, closed if it is not in the cache.
+	 * @param label the label of the breaker
+	 * @param key the key of the context in the cache
+	 * @return the state, or null if there is no such breaker
+	 */
+	public State getState(String label, Object key) {
+		Assert.notNull(key, "'key' cannot be null");
+		Breaker breaker = this.breakers.get(label);
+		return breaker != null ? breaker.getState(key) : null;
+	}
+
+	/**
+	 * Take a snapshot of the states of all the circuit breakers with a single circuit.
+	 * @return the states by label
+	 */
+	public Map<String, State> getStates() {
+		Map<String, State> states = new LinkedHashMap<>();
+		for (Breaker breaker : this.breakers.values()) {
+			if (!breaker.keyed) {
+				states.put(breaker.label, breaker.getState());
+			}
+		}
+		return states;
+	}
+
+	/**
+	 * Subscribe to the transitions of all the circuit breakers. An exception thrown by a
+	 * subscriber is logged, and does not prevent the others from being notified.
+	 * @param subscriber the subscriber
+	 */
+	public void subscribe(Consumer<? super StateChange> subscriber) {
+		Assert.notNull(subscriber, "'subscriber' cannot be null");
+		this.subscribers.add(subscriber);
+	}
+
+	/**
+	 * Stop notifying a subscriber.
+	 * @param subscriber the subscriber
+	 */
+	public void unsubscribe(Consumer<? super StateChange> subscriber) {
+		this.subscribers.remove(subscriber);
+	}
+
+	private void publish(StateChange change) {
+		if (this.subscribers.isEmpty()) {
+			return;
+		}
+		this.changes.offer(change);
+		schedule();
+	}
+
+	private void schedule() {
+		if (this.publishing.compareAndSet(false, true)) {
+			try {
+				this.executor.execute(this.publisher);
+			}
+			catch (RejectedExecutionException ex) {
+				this.publishing.set(false);
+				logger.warn("Could not publish circuit breaker transitions", ex);
+			}
+		}
+	}
+
+	private void deliver() {
+		StateChange change;
+		while ((change = this.changes.poll()) != null) {
+			for (Consumer<? super StateChange> subscriber : this.subscribers) {
+				try {
+					subscriber.accept(change);
+				}
+				catch (RuntimeException ex) {
+					logger.warn("Circuit breaker transition subscriber failed for " + change, ex);
+				}
+			}
+		}
+		this.publishing.set(false);
+		// A transition may have been queued after the queue was found empty
+		if (!this.changes.isEmpty()) {
+			schedule();
+		}
+	}
+
+	/**
+	 * A transition of the circuit of a breaker.
+	 */
+	public static final class StateChange {
+
+		private final String label;
+
+		private final Object key;
+
+		private final State from;
+
+		private final State to;
+
+		private final long timestamp = System.currentTimeMillis();
+
+		StateChange(String label, Object key, State from, State to) {
+			this.label = label;
+			this.key = key;
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * @return the label of the circuit breaker
+		 */
+		public String getLabel() {
+			return this.label;
+		}
+
+		/**
+		 * @return the key of the context of the circuit in its cache
+		 */
+		public Object getKey() {
+			return this.key;
+		}
+
+		/**
+		 * @return the state the circuit left
+		 */
+		public State getFrom() {
+			return this.from;
+		}
+
+		/**
+		 * @return the state the circuit entered
+		 */
+		public State getTo() {
+			return this.to;
+		}
+
+		/**
+		 * @return the time of the transition in milliseconds since the epoch
+		 */
+		public long getTimestamp() {
+			return this.timestamp;
+		}
+
+		@Override
+		public String toString() {
+			return "StateChange[label=" + this.label + ", key=" + this.key + ", from=" + this.from + ", to=" + this.to
+					+ "]";
+		}
+
+	}
+
+	private final class Breaker implements CircuitBreakerRetryPolicy.StateChangeListener {
+
+		private final String label;
+
+		private final CircuitBreakerRetryPolicy policy;
+
+		private final RetryContextCache cache;
+
+		/**
+		 * The key of the single circuit, null if there is a circuit per key.
+		 */
+		private final Object key;
+
+		private final boolean keyed;
+
+		/**
+		 * The context of the single circuit, once known.
+		 */
+		private volatile RetryContext context;
+
+		Breaker(String label, CircuitBreakerRetryPolicy policy, RetryContextCache cache, Object key, boolean keyed) {
+			this.label = label;
+			this.policy = policy;
+			this.cache = cache;
+			this.key = key;
+			this.keyed = keyed;
+		}
+
+		RetryContext getContext(Object key) {
+			RetryContext context = this.cache.computeIfAbsent(key, k -> {
+				RetryContext created = this.policy.open(null);
+				created.setAttribute(RetryContext.STATE_KEY, k);
+				created.setAttribute(RetryContext.NAME, this.label);
+				return created;
+			});
+			if (!this.keyed && key.equals(this.key)) {
+				this.context = context;
+			}
+			return context;
+		}
+
+		@Override
+		public void stateChanged(RetryContext context, State from, State to) {
+			Object key = this.keyed ? context.getAttribute(RetryContext.STATE_KEY) : this.key;
+			if (!this.keyed) {
+				this.context = context;
+			}
+			publish(new StateChange(this.label, key, from, to));
+		}
+
+		State getState() {
+			return stateOf(this.context);
+		}
+
+		State getState(Object key) {
+			return stateOf(!this.keyed && key.equals(this.key) ? this.context : this.cache.get(key));
+		}
+
+		private State stateOf(RetryContext context) {
+			return context instanceof CircuitBreakerRetryContext ? ((CircuitBreakerRetryContext) context).getState()
+					: State.CLOSED;
+		}
+
+	}
+
+}
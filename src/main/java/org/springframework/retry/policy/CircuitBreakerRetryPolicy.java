@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2022 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,15 @@
 
 package org.springframework.retry.policy;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
@@ -25,8 +33,31 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.retry.RetryContext;
 import org.springframework.retry.RetryPolicy;
 import org.springframework.retry.context.RetryContextSupport;
+import org.springframework.retry.context.SharedRetryContext;
+import org.springframework.retry.jfr.RetryFlightRecorder;
+import org.springframework.util.Assert;
 
 /**
+ * A {@link RetryPolicy} that opens a circuit when its delegate cannot retry any more,
+ * short circuiting the calls until the circuit is reset. It is meant to be used with a
+ * global {@link org.springframework.retry.RetryState}, so that the context is shared by
+ * all the calls.
+ * <p>
+ * The circuit is {@link State#CLOSED} until the delegate is exhausted within the
+ * {@link #setOpenTimeout(long) open timeout}, then {@link State#OPEN} for the
+ * {@link #setResetTimeout(long) reset timeout}, and then {@link State#HALF_OPEN}: the
+ * next {@link #setHalfOpenPermits(int) half-open permits} calls are let through as
+ * trials. The circuit closes once all the trials have succeeded, and opens again as soon
+ * as one of them fails. The state and its timestamp are kept in a single atomic value, so
+ * that concurrent calls agree on the transitions without locking.
+ * <p>
+ * The context is a {@link SharedRetryContext}: each call gets a context of its own, so
+ * that its outcome is recorded once whether it is closed or rethrown, and the close of a
+ * short circuited or failed call is not mistaken for a successful trial. A caller using
+ * the shared context directly has each close counted as a success. The contexts of the
+ * calls closed by the retry operations are kept for reuse, so that a synchronous call
+ * does not allocate one.
+ *
  * @author Dave Syer
  *
  */
@@ -37,6 +68,33 @@ public class CircuitBreakerRetryPolicy implements RetryPolicy {
 
 	public static final String CIRCUIT_SHORT_COUNT = "circuit.shortCount";
 
+	/**
+	 * The name of the context attribute holding the {@link State} of the circuit.
+	 * @since 2.0.5
+	 */
+	public static final String CIRCUIT_STATE = "circuit.state";
+
+	/**
+	 * The name of the context attribute holding the number of slow calls in the window of
+	 * the circuit, if it has one.
+	 * @since 2.0.5
+	 * @see #isSlowCall(long)
+	 */
+	public static final String CIRCUIT_SLOW_CALL_COUNT = "circuit.slowCallCount";
+
+	/**
+	 * The name of the context attribute holding the duration in milliseconds of the last
+	 * call through the circuit, if it has a window.
+	 * @since 2.0.5
+	 */
+	public static final String CIRCUIT_LAST_CALL_DURATION = "circuit.lastCallDuration";
+
+	/**
+	 * The maximum number of calls let through while the circuit is half open.
+	 * @since 2.0.5
+	 */
+	public static final int MAX_HALF_OPEN_PERMITS = 2047;
+
 	private static final Log logger = LogFactory.getLog(CircuitBreakerRetryPolicy.class);
 
 	private final RetryPolicy delegate;
@@ -45,10 +103,16 @@ public class CircuitBreakerRetryPolicy implements RetryPolicy {
 
 	private long openTimeout = 5000;
 
+	private int halfOpenPermits = 1;
+
 	private Supplier<Long> resetTimeoutSupplier;
 
 	private Supplier<Long> openTimeoutSupplier;
 
+	private Supplier<Integer> halfOpenPermitsSupplier;
+
+	private transient volatile StateChangeListener stateChangeListener;
+
 	public CircuitBreakerRetryPolicy() {
 		this(new SimpleRetryPolicy());
 	}
@@ -59,7 +123,7 @@ public class CircuitBreakerRetryPolicy implements RetryPolicy {
 
 	/**
 	 * Timeout for resetting circuit in milliseconds. After the circuit opens it will
-	 * re-close after this time has elapsed and the context will be restarted.
+	 * become half open after this time has elapsed, letting trial calls through.
 	 * @param timeout the timeout to set in milliseconds
 	 */
 	public void setResetTimeout(long timeout) {
@@ -68,8 +132,8 @@ public class CircuitBreakerRetryPolicy implements RetryPolicy {
 
 	/**
 	 * A supplier for the timeout for resetting circuit in milliseconds. After the circuit
-	 * opens it will re-close after this time has elapsed and the context will be
-	 * restarted.
+	 * opens it will become half open after this time has elapsed, letting trial calls
+	 * through.
 	 * @param timeoutSupplier a supplier for the timeout to set in milliseconds
 	 * @since 2.0
 	 */
@@ -98,17 +162,60 @@ public class CircuitBreakerRetryPolicy implements RetryPolicy {
 		this.openTimeoutSupplier = timeoutSupplier;
 	}
 
+	/**
+	 * The number of trial calls let through while the circuit is half open. The circuit
+	 * closes once they have all succeeded. Defaults to 1.
+	 * @param permits the number of trial calls, between 1 and
+	 * {@link #MAX_HALF_OPEN_PERMITS}
+	 * @since 2.0.5
+	 */
+	public void setHalfOpenPermits(int permits) {
+		checkHalfOpenPermits(permits);
+		this.halfOpenPermits = permits;
+	}
+
+	/**
+	 * A supplier for the number of trial calls let through while the circuit is half
+	 * open.
+	 * @param permitsSupplier a supplier for the number of trial calls
+	 * @since 2.0.5
+	 */
+	public void halfOpenPermitsSupplier(Supplier<Integer> permitsSupplier) {
+		this.halfOpenPermitsSupplier = permitsSupplier;
+	}
+
+	/**
+	 * Set the listener notified of the transitions of the circuits opened by this policy.
+	 * It is called by the thread making the transition, right after it, so it should hand
+	 * the work off rather than block.
+	 * @param listener the listener, or null for none
+	 * @since 2.0.5
+	 * @see CircuitBreakerRegistry
+	 */
+	public void setStateChangeListener(StateChangeListener listener) {
+		this.stateChangeListener = listener;
+	}
+
+	/**
+	 * @return the listener notified of the transitions of the circuits, or null if there
+	 * is none
+	 * @since 2.0.5
+	 */
+	public StateChangeListener getStateChangeListener() {
+		return this.stateChangeListener;
+	}
+
 	@Override
 	public boolean canRetry(RetryContext context) {
-		CircuitBreakerRetryContext circuit = (CircuitBreakerRetryContext) context;
-		if (circuit.isOpen()) {
+		CircuitBreakerRetryContext circuit = circuit(context);
+		CircuitBreakerCall call = call(context);
+		if (!circuit.tryAcquire(call)) {
 			circuit.incrementShortCircuitCount();
+			circuit.shortCircuited(call);
 			return false;
 		}
-		else {
-			circuit.reset();
-		}
-		return this.delegate.canRetry(circuit.context);
+		circuit.reset();
+		return true;
 	}
 
 	@Override
@@ -118,96 +225,537 @@ public class CircuitBreakerRetryPolicy implements RetryPolicy {
 			resetTimeout = this.resetTimeoutSupplier.get();
 		}
 		long openTimeout = this.openTimeout;
-		if (this.resetTimeoutSupplier != null) {
+		if (this.openTimeoutSupplier != null) {
 			openTimeout = this.openTimeoutSupplier.get();
 		}
-		return new CircuitBreakerRetryContext(parent, this.delegate, resetTimeout, openTimeout);
+		int halfOpenPermits = this.halfOpenPermits;
+		if (this.halfOpenPermitsSupplier != null) {
+			halfOpenPermits = this.halfOpenPermitsSupplier.get();
+			checkHalfOpenPermits(halfOpenPermits);
+		}
+		return new CircuitBreakerRetryContext(parent, this.delegate, resetTimeout, openTimeout, halfOpenPermits, this);
 	}
 
 	@Override
 	public void close(RetryContext context) {
-		CircuitBreakerRetryContext circuit = (CircuitBreakerRetryContext) context;
+		CircuitBreakerRetryContext circuit = circuit(context);
 		this.delegate.close(circuit.context);
+		circuit.release(call(context));
 	}
 
 	@Override
 	public void registerThrowable(RetryContext context, Throwable throwable) {
-		CircuitBreakerRetryContext circuit = (CircuitBreakerRetryContext) context;
+		CircuitBreakerRetryContext circuit = circuit(context);
 		circuit.registerThrowable(throwable);
 		this.delegate.registerThrowable(circuit.context, throwable);
+		circuit.fail(call(context));
+	}
+
+	/**
+	 * Create the window of outcomes that decides when a closed circuit opens, instead of
+	 * the delegate being exhausted within the open timeout.
+	 * @return the window, or null (the default) to rely on the delegate
+	 * @since 2.0.5
+	 * @see #isTripped(SlidingWindow)
+	 */
+	protected SlidingWindow createSlidingWindow() {
+		return null;
+	}
+
+	/**
+	 * Whether the outcomes in the window of a closed circuit should open it. Only called
+	 * if {@link #createSlidingWindow()} returns a window.
+	 * @param window the window of outcomes
+	 * @return true to open the circuit
+	 * @since 2.0.5
+	 */
+	protected boolean isTripped(SlidingWindow window) {
+		return false;
+	}
+
+	/**
+	 * Whether a call through a closed circuit took so long that it counts as slow in its
+	 * window. Only called if {@link #createSlidingWindow()} returns a window.
+	 * @param duration the duration of the call in nanoseconds
+	 * @return true if the call is slow
+	 * @since 2.0.5
+	 */
+	protected boolean isSlowCall(long duration) {
+		return false;
+	}
+
+	/**
+	 * Open the circuit of a context opened by this policy now, whatever its state. It
+	 * half opens after the reset timeout as usual.
+	 * @param context the context of the circuit
+	 * @since 2.0.5
+	 */
+	public void forceOpen(RetryContext context) {
+		circuit(context).forceOpen();
+	}
+
+	/**
+	 * Close the circuit of a context opened by this policy, with a fresh context of the
+	 * delegate, unless it is closed already.
+	 * @param context the context of the circuit
+	 * @since 2.0.5
+	 */
+	public void forceClose(RetryContext context) {
+		circuit(context).forceClose(false);
+	}
+
+	/**
+	 * Close the circuit of a context opened by this policy, forgetting its failures and
+	 * short circuited calls, even if it is closed already.
+	 * @param context the context of the circuit
+	 * @since 2.0.5
+	 */
+	public void reset(RetryContext context) {
+		circuit(context).forceClose(true);
 	}
 
-	static class CircuitBreakerRetryContext extends RetryContextSupport {
+	/**
+	 * Return the time left until the open circuit of a context opened by this policy half
+	 * opens.
+	 * @param context the context of the circuit
+	 * @return the time in milliseconds, 0 unless the circuit is open
+	 * @since 2.0.5
+	 */
+	public long getTimeUntilReset(RetryContext context) {
+		return circuit(context).getTimeUntilReset();
+	}
+
+	private static CircuitBreakerRetryContext circuit(RetryContext context) {
+		if (context instanceof CircuitBreakerCall) {
+			return ((CircuitBreakerCall) context).circuit;
+		}
+		Assert.isInstanceOf(CircuitBreakerRetryContext.class, context, "Not the context of a circuit breaker");
+		return (CircuitBreakerRetryContext) context;
+	}
+
+	private static CircuitBreakerCall call(RetryContext context) {
+		return context instanceof CircuitBreakerCall ? (CircuitBreakerCall) context : null;
+	}
+
+	private static void checkHalfOpenPermits(int permits) {
+		Assert.isTrue(permits > 0 && permits <= MAX_HALF_OPEN_PERMITS,
+				() -> "Half open permits must be between 1 and " + MAX_HALF_OPEN_PERMITS + ", was " + permits);
+	}
+
+	/**
+	 * A listener notified of the transitions of the circuits of a policy.
+	 *
+	 * @since 2.0.5
+	 * @see #setStateChangeListener(StateChangeListener)
+	 */
+	@FunctionalInterface
+	public interface StateChangeListener {
+
+		/**
+		 * Called after a circuit made a transition.
+		 * @param context the context of the circuit
+		 * @param from the state the circuit left
+		 * @param to the state the circuit entered
+		 */
+		void stateChanged(RetryContext context, State from, State to);
+
+	}
+
+	/**
+	 * The states of a circuit.
+	 *
+	 * @since 2.0.5
+	 */
+	public enum State {
+
+		/**
+		 * Calls go through, and their failures are counted by the delegate policy.
+		 */
+		CLOSED,
+
+		/**
+		 * Calls are short circuited.
+		 */
+		OPEN,
+
+		/**
+		 * A limited number of trial calls go through, the others are short circuited.
+		 */
+		HALF_OPEN
+
+	}
+
+	static class CircuitBreakerRetryContext extends RetryContextSupport implements SharedRetryContext {
+
+		private static final State[] STATES = State.values();
+
+		private static final int PERMIT_BITS = 11;
+
+		private static final long PERMIT_MASK = (1L << PERMIT_BITS) - 1;
+
+		private static final int ACQUIRED_SHIFT = 2;
+
+		private static final int SUCCEEDED_SHIFT = ACQUIRED_SHIFT + PERMIT_BITS;
+
+		private static final int TIME_SHIFT = SUCCEEDED_SHIFT + PERMIT_BITS;
+
+		private static final int CALL_POOL_SIZE = 16;
 
 		private volatile RetryContext context;
 
 		private final RetryPolicy policy;
 
-		private volatile long start = System.currentTimeMillis();
+		private final long origin = System.currentTimeMillis();
+
+		/**
+		 * The state in the lowest two bits, then the number of trial calls let through
+		 * and the number of them that succeeded while half open, and the time of the last
+		 * transition in milliseconds since {@link #origin} in the highest bits.
+		 */
+		private final AtomicLong state = new AtomicLong(pack(State.CLOSED, 0, 0, 0));
 
 		private final long timeout;
 
 		private final long openWindow;
 
+		private final int halfOpenPermits;
+
 		private final AtomicInteger shortCircuitCount = new AtomicInteger();
 
+		private final CircuitBreakerRetryPolicy breaker;
+
+		private final SlidingWindow window;
+
+		private final AtomicLong lastCallDuration = new AtomicLong(-1);
+
+		/**
+		 * The contexts of the closed calls, ready to be opened again. Each thread starts
+		 * looking from a slot of its own, so that concurrent calls seldom contend.
+		 */
+		private transient AtomicReferenceArray<CircuitBreakerCall> calls = new AtomicReferenceArray<>(CALL_POOL_SIZE);
+
 		public CircuitBreakerRetryContext(RetryContext parent, RetryPolicy policy, long timeout, long openWindow) {
+			this(parent, policy, timeout, openWindow, 1);
+		}
+
+		public CircuitBreakerRetryContext(RetryContext parent, RetryPolicy policy, long timeout, long openWindow,
+				int halfOpenPermits) {
+			this(parent, policy, timeout, openWindow, halfOpenPermits, null);
+		}
+
+		CircuitBreakerRetryContext(RetryContext parent, RetryPolicy policy, long timeout, long openWindow,
+				int halfOpenPermits, CircuitBreakerRetryPolicy breaker) {
 			super(parent);
 			this.policy = policy;
 			this.timeout = timeout;
 			this.openWindow = openWindow;
-			this.context = createDelegateContext(policy, parent);
+			this.halfOpenPermits = halfOpenPermits;
+			this.breaker = breaker;
+			this.window = breaker != null ? breaker.createSlidingWindow() : null;
+			this.context = policy.open(parent);
 			setAttribute("state.global", true);
 		}
 
 		public void reset() {
-			shortCircuitCount.set(0);
-			setAttribute(CIRCUIT_SHORT_COUNT, shortCircuitCount.get());
+			if (this.shortCircuitCount.get() != 0) {
+				this.shortCircuitCount.set(0);
+			}
 		}
 
 		public void incrementShortCircuitCount() {
-			shortCircuitCount.incrementAndGet();
-			setAttribute(CIRCUIT_SHORT_COUNT, shortCircuitCount.get());
+			this.shortCircuitCount.incrementAndGet();
 		}
 
-		private RetryContext createDelegateContext(RetryPolicy policy, RetryContext parent) {
-			RetryContext context = policy.open(parent);
-			reset();
-			return context;
+		@Override
+		public RetryContext openCall() {
+			int first = (int) Thread.currentThread().getId();
+			for (int i = 0; i < CALL_POOL_SIZE; i++) {
+				int slot = (first + i) & (CALL_POOL_SIZE - 1);
+				CircuitBreakerCall call = this.calls.get(slot);
+				if (call != null && this.calls.compareAndSet(slot, call, null)) {
+					return call;
+				}
+			}
+			return new CircuitBreakerCall(this);
+		}
+
+		@Override
+		public void closeCall(RetryContext call) {
+			if (!(call instanceof CircuitBreakerCall) || ((CircuitBreakerCall) call).circuit != this) {
+				return;
+			}
+			CircuitBreakerCall closed = (CircuitBreakerCall) call;
+			closed.start = Long.MIN_VALUE;
+			closed.shortCircuited = false;
+			closed.failed = false;
+			int first = (int) Thread.currentThread().getId();
+			for (int i = 0; i < CALL_POOL_SIZE; i++) {
+				int slot = (first + i) & (CALL_POOL_SIZE - 1);
+				if (this.calls.get(slot) == null && this.calls.compareAndSet(slot, null, closed)) {
+					return;
+				}
+			}
 		}
 
+		/**
+		 * Remember that a call was short circuited, so that its close is not mistaken for
+		 * a successful trial.
+		 * @param call the call, or null if it has no context of its own
+		 */
+		void shortCircuited(CircuitBreakerCall call) {
+			if (call != null) {
+				call.shortCircuited = true;
+			}
+		}
+
+		/**
+		 * Return the current state, without any transition. An open circuit whose reset
+		 * timeout has elapsed is still reported as open until the next call.
+		 * @return the state
+		 */
+		public State getState() {
+			return state(this.state.get());
+		}
+
+		/**
+		 * Whether a call would be short circuited now.
+		 * @return true if the circuit is open, or half open without any trial left
+		 */
 		public boolean isOpen() {
-			long time = System.currentTimeMillis() - this.start;
-			boolean retryable = this.policy.canRetry(this.context);
-			if (!retryable) {
-				if (time > this.timeout) {
-					logger.trace("Closing");
-					this.context = createDelegateContext(policy, getParent());
-					this.start = System.currentTimeMillis();
-					retryable = this.policy.canRetry(this.context);
+			long current = this.state.get();
+			switch (state(current)) {
+				case OPEN:
+					return now() - time(current) <= this.timeout;
+				case HALF_OPEN:
+					return acquired(current) >= this.halfOpenPermits && now() - time(current) <= this.timeout;
+				default:
+					return false;
+			}
+		}
+
+		/**
+		 * Decide whether a call goes through, making the transitions that are due.
+		 * @param call the call, or null if it has no context of its own
+		 * @return true unless the call is short circuited
+		 */
+		boolean tryAcquire(CircuitBreakerCall call) {
+			while (true) {
+				long current = this.state.get();
+				long now = now();
+				long elapsed = now - time(current);
+				switch (state(current)) {
+					case CLOSED:
+						if (this.window != null) {
+							if (!this.breaker.isTripped(this.window)) {
+								if (call != null && call.start == Long.MIN_VALUE) {
+									call.start = System.nanoTime();
+								}
+								return true;
+							}
+							if (this.state.compareAndSet(current, pack(State.OPEN, now, 0, 0))) {
+								transition(State.CLOSED, State.OPEN, "Opening circuit");
+							}
+							break;
+						}
+						if (this.policy.canRetry(this.context)) {
+							if (elapsed > this.openWindow && this.state.compareAndSet(current, closed(now))) {
+								logger.trace("Resetting context");
+								this.context = this.policy.open(getParent());
+							}
+							return true;
+						}
+						// Failures older than the open window do not restart the reset
+						// timeout
+						if (this.state.compareAndSet(current,
+								pack(State.OPEN, elapsed < this.openWindow ? now : time(current), 0, 0))) {
+							transition(State.CLOSED, State.OPEN, "Opening circuit");
+						}
+						break;
+					case OPEN:
+						if (elapsed <= this.timeout) {
+							return false;
+						}
+						if (this.state.compareAndSet(current, pack(State.HALF_OPEN, now, 1, 0))) {
+							transition(State.OPEN, State.HALF_OPEN, "Half opening circuit");
+							return true;
+						}
+						break;
+					default:
+						if (acquired(current) < this.halfOpenPermits) {
+							if (this.state.compareAndSet(current, current + (1L << ACQUIRED_SHIFT))) {
+								return true;
+							}
+						}
+						else if (elapsed <= this.timeout) {
+							return false;
+						}
+						// The trials never completed: let new ones through
+						else if (this.state.compareAndSet(current, pack(State.HALF_OPEN, now, 1, 0))) {
+							return true;
+						}
+				}
+			}
+		}
+
+		/**
+		 * Called when a call ends without an exception being rethrown. Records its
+		 * success in the window if the circuit is closed, or counts a trial that
+		 * succeeded while the circuit is half open, closing it if it was the last.
+		 * @param call the call, or null if it has no context of its own
+		 */
+		void release(CircuitBreakerCall call) {
+			if (call != null && (call.shortCircuited || call.failed)) {
+				return;
+			}
+			if (this.window != null && getState() == State.CLOSED) {
+				if (call != null) {
+					this.window.record(false, isSlowCall(callDuration(call)));
+				}
+				return;
+			}
+			while (true) {
+				long current = this.state.get();
+				if (state(current) != State.HALF_OPEN || succeeded(current) >= acquired(current)) {
+					return;
 				}
-				else if (time < this.openWindow) {
-					if (!hasAttribute(CIRCUIT_OPEN) || (Boolean) getAttribute(CIRCUIT_OPEN) == false) {
-						logger.trace("Opening circuit");
-						setAttribute(CIRCUIT_OPEN, true);
-						this.start = System.currentTimeMillis();
+				long next = current + (1L << SUCCEEDED_SHIFT);
+				if (this.state.compareAndSet(current, next)) {
+					if (succeeded(next) >= this.halfOpenPermits) {
+						// Others are short circuited until the fresh context is in place
+						this.context = this.policy.open(getParent());
+						if (this.window != null) {
+							this.window.reset();
+						}
+						if (this.state.compareAndSet(next, closed(now()))) {
+							transition(State.HALF_OPEN, State.CLOSED, "Closing circuit");
+						}
 					}
+					return;
+				}
+			}
+		}
 
-					return true;
+		/**
+		 * Called when a call failed. Records the failure in the window if the circuit is
+		 * closed, once per call, or opens it again if it is half open.
+		 * @param call the call, or null if it has no context of its own
+		 */
+		void fail(CircuitBreakerCall call) {
+			boolean recorded = call == null || call.failed;
+			if (call != null) {
+				call.failed = true;
+			}
+			while (true) {
+				long current = this.state.get();
+				if (state(current) == State.CLOSED && this.window != null) {
+					if (!recorded) {
+						this.window.record(true, isSlowCall(callDuration(call)));
+					}
+					return;
+				}
+				if (state(current) != State.HALF_OPEN) {
+					return;
+				}
+				if (this.state.compareAndSet(current, pack(State.OPEN, now(), 0, 0))) {
+					transition(State.HALF_OPEN, State.OPEN, "Opening circuit again");
+					return;
 				}
 			}
-			else {
-				if (time > this.openWindow) {
-					logger.trace("Resetting context");
-					this.start = System.currentTimeMillis();
-					this.context = createDelegateContext(policy, getParent());
+		}
+
+		/**
+		 * Open the circuit now, whatever its state.
+		 */
+		void forceOpen() {
+			long previous = this.state.getAndSet(pack(State.OPEN, now(), 0, 0));
+			if (state(previous) != State.OPEN) {
+				transition(state(previous), State.OPEN, "Forcing circuit open");
+			}
+		}
+
+		/**
+		 * Close the circuit with a fresh context of the delegate.
+		 * @param reset whether to also forget the short circuited calls, and to start
+		 * again if the circuit is closed already
+		 */
+		void forceClose(boolean reset) {
+			if (!reset && getState() == State.CLOSED) {
+				return;
+			}
+			this.context = this.policy.open(getParent());
+			if (this.window != null) {
+				this.window.reset();
+			}
+			if (reset) {
+				this.shortCircuitCount.set(0);
+			}
+			long previous = this.state.getAndSet(closed(now()));
+			if (state(previous) != State.CLOSED) {
+				transition(state(previous), State.CLOSED, "Forcing circuit closed");
+			}
+		}
+
+		/**
+		 * Return the time left until an open circuit half opens.
+		 * @return the time in milliseconds, 0 unless the circuit is open
+		 */
+		long getTimeUntilReset() {
+			long current = this.state.get();
+			if (state(current) != State.OPEN) {
+				return 0;
+			}
+			return Math.max(0, this.timeout - (now() - time(current)));
+		}
+
+		@Override
+		public Object getAttribute(String name) {
+			if (CIRCUIT_OPEN.equals(name)) {
+				return getState() != State.CLOSED;
+			}
+			if (CIRCUIT_SHORT_COUNT.equals(name)) {
+				return this.shortCircuitCount.get();
+			}
+			if (CIRCUIT_STATE.equals(name)) {
+				return getState();
+			}
+			if (this.window != null) {
+				if (CIRCUIT_SLOW_CALL_COUNT.equals(name)) {
+					return this.window.getNumberOfSlowCalls();
+				}
+				if (CIRCUIT_LAST_CALL_DURATION.equals(name)) {
+					long duration = this.lastCallDuration.get();
+					return duration < 0 ? null : TimeUnit.NANOSECONDS.toMillis(duration);
 				}
 			}
-			if (logger.isTraceEnabled()) {
-				logger.trace("Open: " + !retryable);
+			return super.getAttribute(name);
+		}
+
+		@Override
+		public boolean hasAttribute(String name) {
+			if (CIRCUIT_SLOW_CALL_COUNT.equals(name)) {
+				return this.window != null;
+			}
+			if (CIRCUIT_LAST_CALL_DURATION.equals(name)) {
+				return this.window != null && this.lastCallDuration.get() >= 0;
+			}
+			return isCircuitAttribute(name) || super.hasAttribute(name);
+		}
+
+		@Override
+		public String[] attributeNames() {
+			List<String> names = new ArrayList<>(Arrays.asList(CIRCUIT_OPEN, CIRCUIT_SHORT_COUNT, CIRCUIT_STATE));
+			if (hasAttribute(CIRCUIT_SLOW_CALL_COUNT)) {
+				names.add(CIRCUIT_SLOW_CALL_COUNT);
+			}
+			if (hasAttribute(CIRCUIT_LAST_CALL_DURATION)) {
+				names.add(CIRCUIT_LAST_CALL_DURATION);
+			}
+			for (String name : super.attributeNames()) {
+				if (!isCircuitAttribute(name)) {
+					names.add(name);
+				}
 			}
-			setAttribute(CIRCUIT_OPEN, !retryable);
-			return !retryable;
+			return names.toArray(new String[0]);
 		}
 
 		@Override
@@ -220,6 +768,154 @@ public class CircuitBreakerRetryPolicy implements RetryPolicy {
 			return this.context.toString();
 		}
 
+		/**
+		 * Report a transition made by this thread.
+		 */
+		private void transition(State from, State to, String message) {
+			logger.trace(message);
+			RetryFlightRecorder.circuitStateChanged(this, from, to);
+			StateChangeListener listener = this.breaker != null ? this.breaker.stateChangeListener : null;
+			if (listener != null) {
+				listener.stateChanged(this, from, to);
+			}
+		}
+
+		private long now() {
+			return Math.max(0, System.currentTimeMillis() - this.origin);
+		}
+
+		private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+			in.defaultReadObject();
+			this.calls = new AtomicReferenceArray<>(CALL_POOL_SIZE);
+		}
+
+		/**
+		 * Measure a call, if it is being timed.
+		 * @param call the call, or null if it has no context of its own
+		 * @return its duration in nanoseconds so far, or -1
+		 */
+		private long callDuration(CircuitBreakerCall call) {
+			if (call == null || call.start == Long.MIN_VALUE) {
+				return -1;
+			}
+			long duration = System.nanoTime() - call.start;
+			this.lastCallDuration.set(duration);
+			return duration;
+		}
+
+		private boolean isSlowCall(long duration) {
+			return duration >= 0 && this.breaker.isSlowCall(duration);
+		}
+
+		private static boolean isCircuitAttribute(String name) {
+			return CIRCUIT_OPEN.equals(name) || CIRCUIT_SHORT_COUNT.equals(name) || CIRCUIT_STATE.equals(name)
+					|| CIRCUIT_SLOW_CALL_COUNT.equals(name) || CIRCUIT_LAST_CALL_DURATION.equals(name);
+		}
+
+		private static long closed(long time) {
+			return pack(State.CLOSED, time, 0, 0);
+		}
+
+		private static long pack(State state, long time, int acquired, int succeeded) {
+			return (time << TIME_SHIFT) | ((long) succeeded << SUCCEEDED_SHIFT) | ((long) acquired << ACQUIRED_SHIFT)
+					| state.ordinal();
+		}
+
+		private static State state(long value) {
+			return STATES[(int) (value & 3)];
+		}
+
+		private static int acquired(long value) {
+			return (int) ((value >>> ACQUIRED_SHIFT) & PERMIT_MASK);
+		}
+
+		private static int succeeded(long value) {
+			return (int) ((value >>> SUCCEEDED_SHIFT) & PERMIT_MASK);
+		}
+
+		private static long time(long value) {
+			return value >>> TIME_SHIFT;
+		}
+
+	}
+
+	/**
+	 * The context of a call through a circuit, reading and writing through to the context
+	 * of the circuit.
+	 */
+	private static final class CircuitBreakerCall implements RetryContext {
+
+		private final CircuitBreakerRetryContext circuit;
+
+		/**
+		 * The start of the call in nanoseconds, once it went through a closed circuit, or
+		 * else {@link Long#MIN_VALUE}.
+		 */
+		private long start = Long.MIN_VALUE;
+
+		private boolean shortCircuited;
+
+		private boolean failed;
+
+		private CircuitBreakerCall(CircuitBreakerRetryContext circuit) {
+			this.circuit = circuit;
+		}
+
+		@Override
+		public void setExhaustedOnly() {
+			this.circuit.setExhaustedOnly();
+		}
+
+		@Override
+		public boolean isExhaustedOnly() {
+			return this.circuit.isExhaustedOnly();
+		}
+
+		@Override
+		public RetryContext getParent() {
+			return this.circuit.getParent();
+		}
+
+		@Override
+		public int getRetryCount() {
+			return this.circuit.getRetryCount();
+		}
+
+		@Override
+		public Throwable getLastThrowable() {
+			return this.circuit.getLastThrowable();
+		}
+
+		@Override
+		public void setAttribute(String name, Object value) {
+			this.circuit.setAttribute(name, value);
+		}
+
+		@Override
+		public Object getAttribute(String name) {
+			return this.circuit.getAttribute(name);
+		}
+
+		@Override
+		public Object removeAttribute(String name) {
+			return this.circuit.removeAttribute(name);
+		}
+
+		@Override
+		public boolean hasAttribute(String name) {
+			return this.circuit.hasAttribute(name);
+		}
+
+		@Override
+		public String[] attributeNames() {
+			return this.circuit.attributeNames();
+		}
+
+		@Override
+		public String toString() {
+			return this.circuit.toString();
+		}
+
 	}
 
 }
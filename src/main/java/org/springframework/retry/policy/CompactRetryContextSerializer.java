@@ -0,0 +1,349 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryException;
+import org.springframework.retry.RetryPolicy;
+import org.springframework.retry.context.RetryContextSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * A {@link RetryContextSerializer} writing only the state a stateful retry needs: the
+ * state key, the retry count, whether the context is exhausted, and the class and message
+ * of the last throwable. The contexts of the delegates of a {@link CompositeRetryPolicy}
+ * or of an {@link ExceptionClassifierRetryPolicy} are written too, recursively.
+ * <p>
+ * The contexts are read back by opening them with the {@link RetryPolicy} they were
+ * opened with, and registering the last throwable with it as many times as it failed, so
+ * the policy must be the same, and the contexts must extend {@link RetryContextSupport}.
+ * The last throwable is created again from its class and message when possible, so that
+ * it is classified as the original was. The other attributes, the parent context and the
+ * stack traces are not written.
+ * <p>
+ * The state keys are written as strings, numbers or UUIDs, or else with Java
+ * serialization.
+ *
+ * @since 2.0.5
+ */
+public class CompactRetryContextSerializer implements RetryContextSerializer {
+
+	private static final int VERSION = 1;
+
+	private static final int EXHAUSTED = 1;
+
+	private static final int HAS_THROWABLE = 2;
+
+	private static final int HAS_MESSAGE = 4;
+
+	private static final byte NO_KEY = 0;
+
+	private static final byte STRING_KEY = 'S';
+
+	private static final byte INTEGER_KEY = 'I';
+
+	private static final byte LONG_KEY = 'J';
+
+	private static final byte UUID_KEY = 'U';
+
+	private static final byte SERIALIZED_KEY = 'O';
+
+	private final RetryPolicy retryPolicy;
+
+	private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+	private int maxMessageLength = 1024;
+
+	/**
+	 * Create a serializer for the contexts of the given policy.
+	 * @param retryPolicy the policy that opens the contexts
+	 */
+	public CompactRetryContextSerializer(RetryPolicy retryPolicy) {
+		Assert.notNull(retryPolicy, "'retryPolicy' cannot be null");
+		this.retryPolicy = retryPolicy;
+	}
+
+	/**
+	 * The class loader for the classes of the throwables and of the serialized keys.
+	 * Defaults to the default class loader.
+	 * @param classLoader the class loader
+	 */
+	public void setClassLoader(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * The number of characters of the messages of the throwables to keep. Defaults to
+	 * 1024.
+	 * @param maxMessageLength the maximum length of the messages, at most 16384
+	 */
+	public void setMaxMessageLength(int maxMessageLength) {
+		Assert.isTrue(maxMessageLength >= 0 && maxMessageLength <= 16384,
+				"Maximum message length must be between 0 and 16384");
+		this.maxMessageLength = maxMessageLength;
+	}
+
+	@Override
+	public byte[] serialize(RetryContext context) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			output.writeByte(VERSION);
+			writeKey(output, context.getAttribute(RetryContext.STATE_KEY));
+			writeState(output, context);
+		}
+		catch (IOException ex) {
+			throw new IllegalArgumentException("Cannot serialize retry context", ex);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public RetryContext deserialize(byte[] bytes) {
+		try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+			int version = input.readUnsignedByte();
+			if (version != VERSION) {
+				throw new IllegalArgumentException("Unknown retry context version " + version);
+			}
+			Object key = readKey(input);
+			State state = readState(input);
+			RetryContext context = this.retryPolicy.open(null);
+			restore(this.retryPolicy, context, state);
+			if (key != null) {
+				context.setAttribute(RetryContext.STATE_KEY, key);
+			}
+			return context;
+		}
+		catch (IOException | ClassNotFoundException ex) {
+			throw new IllegalArgumentException("Cannot deserialize retry context", ex);
+		}
+	}
+
+	private void writeKey(DataOutputStream output, Object key) throws IOException {
+		if (key == null) {
+			output.writeByte(NO_KEY);
+		}
+		else if (key instanceof String) {
+			byte[] bytes = ((String) key).getBytes(StandardCharsets.UTF_8);
+			output.writeByte(STRING_KEY);
+			writeVarLong(output, bytes.length);
+			output.write(bytes);
+		}
+		else if (key instanceof Integer) {
+			output.writeByte(INTEGER_KEY);
+			writeVarLong(output, (Integer) key);
+		}
+		else if (key instanceof Long) {
+			output.writeByte(LONG_KEY);
+			writeVarLong(output, (Long) key);
+		}
+		else if (key instanceof UUID) {
+			output.writeByte(UUID_KEY);
+			output.writeLong(((UUID) key).getMostSignificantBits());
+			output.writeLong(((UUID) key).getLeastSignificantBits());
+		}
+		else {
+			Assert.isInstanceOf(Serializable.class, key, "Retry context key must be serializable");
+			byte[] bytes = SerializationUtils.serialize(key);
+			output.writeByte(SERIALIZED_KEY);
+			writeVarLong(output, bytes.length);
+			output.write(bytes);
+		}
+	}
+
+	private Object readKey(DataInput input) throws IOException, ClassNotFoundException {
+		byte type = input.readByte();
+		switch (type) {
+			case NO_KEY:
+				return null;
+			case STRING_KEY:
+				return new String(readBytes(input), StandardCharsets.UTF_8);
+			case INTEGER_KEY:
+				return (int) readVarLong(input);
+			case LONG_KEY:
+				return readVarLong(input);
+			case UUID_KEY:
+				return new UUID(input.readLong(), input.readLong());
+			case SERIALIZED_KEY:
+				try (ObjectInputStream objects = new ConfigurableObjectInputStream(
+						new ByteArrayInputStream(readBytes(input)), this.classLoader)) {
+					return objects.readObject();
+				}
+			default:
+				throw new IOException("Unknown retry context key type " + type);
+		}
+	}
+
+	private void writeState(DataOutputStream output, RetryContext context) throws IOException {
+		Throwable throwable = context.getLastThrowable();
+		String message = throwable != null ? throwable.getMessage() : null;
+		int flags = (context.isExhaustedOnly() ? EXHAUSTED : 0) | (throwable != null ? HAS_THROWABLE : 0)
+				| (message != null ? HAS_MESSAGE : 0);
+		output.writeByte(flags);
+		writeVarLong(output, context.getRetryCount());
+		if (throwable != null) {
+			output.writeUTF(throwable.getClass().getName());
+		}
+		if (message != null) {
+			output.writeUTF(
+					message.length() > this.maxMessageLength ? message.substring(0, this.maxMessageLength) : message);
+		}
+		List<RetryContext> delegates = context instanceof DelegatingRetryContext
+				? ((DelegatingRetryContext) context).getDelegateContexts() : Collections.emptyList();
+		writeVarLong(output, delegates.size());
+		for (RetryContext delegate : delegates) {
+			writeState(output, delegate);
+		}
+	}
+
+	private State readState(DataInput input) throws IOException {
+		int flags = input.readUnsignedByte();
+		int count = (int) readVarLong(input);
+		String className = (flags & HAS_THROWABLE) != 0 ? input.readUTF() : null;
+		String message = (flags & HAS_MESSAGE) != 0 ? input.readUTF() : null;
+		Throwable throwable = className != null ? restoreThrowable(className, message, this.classLoader) : null;
+		int size = (int) readVarLong(input);
+		List<State> delegates = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			delegates.add(readState(input));
+		}
+		return new State(count, (flags & EXHAUSTED) != 0, throwable, delegates);
+	}
+
+	private void restore(RetryPolicy policy, RetryContext context, State state) {
+		if (context instanceof DelegatingRetryContext) {
+			DelegatingRetryContext delegating = (DelegatingRetryContext) context;
+			for (int i = 0; i < state.delegates.size(); i++) {
+				State delegate = state.delegates.get(i);
+				delegating.restoreDelegate(i, delegate.throwable,
+						(delegatePolicy, delegateContext) -> restore(delegatePolicy, delegateContext, delegate));
+			}
+			// Only count the failures, the delegates have been registered already
+			registerThrowable(context, state);
+		}
+		else if (state.throwable != null) {
+			for (int i = 0; i < state.count; i++) {
+				policy.registerThrowable(context, state.throwable);
+			}
+		}
+		if (state.exhausted) {
+			context.setExhaustedOnly();
+		}
+	}
+
+	private static void registerThrowable(RetryContext context, State state) {
+		if (!(context instanceof RetryContextSupport)) {
+			throw new IllegalStateException("Cannot restore a " + context.getClass().getName()
+					+ ", the retry policy must open a RetryContextSupport");
+		}
+		if (state.throwable != null) {
+			for (int i = 0; i < state.count; i++) {
+				((RetryContextSupport) context).registerThrowable(state.throwable);
+			}
+		}
+	}
+
+	/**
+	 * Create a throwable of the given class with the given message, or else a
+	 * {@link RetryException} with the same description.
+	 */
+	static Throwable restoreThrowable(String className, String message, ClassLoader classLoader) {
+		try {
+			Class<?> type = ClassUtils.forName(className, classLoader);
+			if (Throwable.class.isAssignableFrom(type)) {
+				try {
+					Constructor<?> constructor = ReflectionUtils.accessibleConstructor(type, String.class);
+					return (Throwable) constructor.newInstance(message);
+				}
+				catch (NoSuchMethodException ex) {
+					return (Throwable) ReflectionUtils.accessibleConstructor(type).newInstance();
+				}
+			}
+		}
+		catch (Exception | LinkageError ex) {
+			// Fall back to an exception with the same description
+		}
+		return new RetryException(className + ": " + message);
+	}
+
+	private static byte[] readBytes(DataInput input) throws IOException {
+		byte[] bytes = new byte[(int) readVarLong(input)];
+		input.readFully(bytes);
+		return bytes;
+	}
+
+	private static void writeVarLong(DataOutput output, long value) throws IOException {
+		// Zig zag, so that small negative numbers are short too
+		long bits = (value << 1) ^ (value >> 63);
+		while ((bits & ~0x7FL) != 0) {
+			output.writeByte((int) ((bits & 0x7F) | 0x80));
+			bits >>>= 7;
+		}
+		output.writeByte((int) bits);
+	}
+
+	private static long readVarLong(DataInput input) throws IOException {
+		long bits = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = input.readUnsignedByte();
+			bits |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return (bits >>> 1) ^ -(bits & 1);
+			}
+		}
+		throw new IOException("Malformed variable length number");
+	}
+
+	private static final class State {
+
+		private final int count;
+
+		private final boolean exhausted;
+
+		private final Throwable throwable;
+
+		private final List<State> delegates;
+
+		private State(int count, boolean exhausted, Throwable throwable, List<State> delegates) {
+			this.count = count;
+			this.exhausted = exhausted;
+			this.throwable = throwable;
+			this.delegates = delegates;
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2022 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.springframework.retry.policy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 import org.springframework.retry.RetryContext;
 import org.springframework.retry.RetryPolicy;
@@ -145,7 +146,7 @@ public class CompositeRetryPolicy implements RetryPolicy {
 		((RetryContextSupport) context).registerThrowable(throwable);
 	}
 
-	private static class CompositeRetryContext extends RetryContextSupport {
+	private static class CompositeRetryContext extends RetryContextSupport implements DelegatingRetryContext {
 
 		RetryContext[] contexts;
 
@@ -157,6 +158,19 @@ public class CompositeRetryPolicy implements RetryPolicy {
 			this.policies = policies;
 		}
 
+		@Override
+		public List<RetryContext> getDelegateContexts() {
+			return Arrays.asList(this.contexts);
+		}
+
+		@Override
+		public void restoreDelegate(int index, Throwable lastThrowable,
+				BiConsumer<RetryPolicy, RetryContext> restorer) {
+			if (index < this.contexts.length) {
+				restorer.accept(this.policies[index], this.contexts[index]);
+			}
+		}
+
 	}
 
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SlidingWindow} over the last calls, kept in a ring buffer of outcomes. The
+ * totals are adjusted with the outcome each slot replaces, so reading them does not
+ * iterate the buffer.
+ *
+ * @since 2.0.5
+ */
+@SuppressWarnings("serial")
+class CountBasedSlidingWindow implements SlidingWindow {
+
+	private static final int EMPTY = 0;
+
+	private static final int CALL = 1;
+
+	private static final int FAILURE = 2;
+
+	private static final int SLOW = 4;
+
+	private final AtomicIntegerArray outcomes;
+
+	private final AtomicLong index = new AtomicLong();
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	private final AtomicInteger failures = new AtomicInteger();
+
+	private final AtomicInteger slowCalls = new AtomicInteger();
+
+	/**
+	 * Create a window over the given number of calls.
+	 * @param size the number of calls
+	 */
+	CountBasedSlidingWindow(int size) {
+		Assert.isTrue(size > 0, "Sliding window size must be positive");
+		this.outcomes = new AtomicIntegerArray(size);
+	}
+
+	@Override
+	public void record(boolean failure, boolean slow) {
+		int slot = (int) (this.index.getAndIncrement() % this.outcomes.length());
+		replace(slot, CALL | (failure ? FAILURE : 0) | (slow ? SLOW : 0));
+	}
+
+	@Override
+	public int getNumberOfCalls() {
+		return this.calls.get();
+	}
+
+	@Override
+	public int getNumberOfFailedCalls() {
+		return this.failures.get();
+	}
+
+	@Override
+	public int getNumberOfSlowCalls() {
+		return this.slowCalls.get();
+	}
+
+	@Override
+	public void reset() {
+		for (int slot = 0; slot < this.outcomes.length(); slot++) {
+			replace(slot, EMPTY);
+		}
+	}
+
+	private void replace(int slot, int outcome) {
+		int previous = this.outcomes.getAndSet(slot, outcome);
+		if (previous != outcome) {
+			adjust(this.calls, previous, outcome, CALL);
+			adjust(this.failures, previous, outcome, FAILURE);
+			adjust(this.slowCalls, previous, outcome, SLOW);
+		}
+	}
+
+	private static void adjust(AtomicInteger total, int previous, int outcome, int flag) {
+		int delta = (outcome & flag) - (previous & flag);
+		if (delta > 0) {
+			total.incrementAndGet();
+		}
+		else if (delta < 0) {
+			total.decrementAndGet();
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryPolicy;
+
+/**
+ * A context of a policy delegating to other policies, giving a
+ * {@link CompactRetryContextSerializer} access to the contexts of the delegates.
+ *
+ * @since 2.0.5
+ */
+interface DelegatingRetryContext {
+
+	/**
+	 * @return the contexts of the delegates used so far, the current one last
+	 */
+	List<RetryContext> getDelegateContexts();
+
+	/**
+	 * Restore the context of a delegate, opening it if needed.
+	 * @param index the index of the context in {@link #getDelegateContexts()} when it was
+	 * written
+	 * @param lastThrowable the last throwable of the context
+	 * @param restorer called with the delegate and its context to restore
+	 */
+	void restoreDelegate(int index, Throwable lastThrowable, BiConsumer<RetryPolicy, RetryContext> restorer);
+
+}
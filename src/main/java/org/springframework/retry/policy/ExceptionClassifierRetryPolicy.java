@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2022 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,11 @@
 
 package org.springframework.retry.policy;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.springframework.classify.Classifier;
 import org.springframework.classify.ClassifierSupport;
@@ -101,7 +104,8 @@ public class ExceptionClassifierRetryPolicy implements RetryPolicy {
 		((RetryContextSupport) context).registerThrowable(throwable);
 	}
 
-	private static class ExceptionClassifierRetryContext extends RetryContextSupport implements RetryPolicy {
+	private static class ExceptionClassifierRetryContext extends RetryContextSupport
+			implements RetryPolicy, DelegatingRetryContext {
 
 		final private Classifier<Throwable, RetryPolicy> exceptionClassifier;
 
@@ -141,6 +145,27 @@ public class ExceptionClassifierRetryPolicy implements RetryPolicy {
 			policy.registerThrowable(this.context, throwable);
 		}
 
+		@Override
+		public List<RetryContext> getDelegateContexts() {
+			List<RetryContext> contexts = new ArrayList<>(this.contexts.values());
+			// The current context last, so that it is current again once restored
+			if (contexts.removeIf(context -> context == this.context)) {
+				contexts.add(this.context);
+			}
+			return contexts;
+		}
+
+		@Override
+		public void restoreDelegate(int index, Throwable lastThrowable,
+				BiConsumer<RetryPolicy, RetryContext> restorer) {
+			RetryPolicy policy = lastThrowable != null ? exceptionClassifier.classify(lastThrowable) : null;
+			if (policy != null) {
+				this.policy = policy;
+				this.context = getContext(policy, getParent());
+				restorer.accept(policy, this.context);
+			}
+		}
+
 		private RetryContext getContext(RetryPolicy policy, RetryContext parent) {
 			RetryContext context = contexts.get(policy);
 			if (context == null) {
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.retry.RetryPolicy;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link CircuitBreakerRetryPolicy} that opens the circuit when the rate of failed
+ * calls in a {@link SlidingWindow} reaches a threshold, instead of when its delegate is
+ * exhausted. The window holds either the outcomes of the last calls or the calls of the
+ * last seconds, and the rates are only considered once it holds a minimum number of
+ * calls. The delegate still classifies and records the exceptions, but does not open the
+ * circuit.
+ * <p>
+ * The calls through a closed circuit are timed, and with a
+ * {@link #setSlowCallDurationThreshold(long) slow call duration threshold} the circuit
+ * also opens when the rate of calls lasting longer reaches a threshold, whether they
+ * failed or not.
+ *
+ * @since 2.0.5
+ */
+@SuppressWarnings("serial")
+public class FailureRateCircuitBreakerRetryPolicy extends CircuitBreakerRetryPolicy {
+
+	private SlidingWindowType slidingWindowType = SlidingWindowType.COUNT_BASED;
+
+	private int slidingWindowSize = 100;
+
+	private int minimumNumberOfCalls = 100;
+
+	private float failureRateThreshold = 50;
+
+	private long slowCallDurationThreshold;
+
+	private float slowCallRateThreshold = 100;
+
+	public FailureRateCircuitBreakerRetryPolicy() {
+		this(new SimpleRetryPolicy());
+	}
+
+	public FailureRateCircuitBreakerRetryPolicy(RetryPolicy delegate) {
+		super(delegate);
+	}
+
+	/**
+	 * Whether the window holds the last calls or the last seconds. Defaults to
+	 * {@link SlidingWindowType#COUNT_BASED}.
+	 * @param slidingWindowType the type of window
+	 */
+	public void setSlidingWindowType(SlidingWindowType slidingWindowType) {
+		Assert.notNull(slidingWindowType, "'slidingWindowType' cannot be null");
+		this.slidingWindowType = slidingWindowType;
+	}
+
+	/**
+	 * The size of the window, as a number of calls or of seconds depending on the
+	 * {@link #setSlidingWindowType(SlidingWindowType) type}. Defaults to 100.
+	 * @param slidingWindowSize the size of the window
+	 */
+	public void setSlidingWindowSize(int slidingWindowSize) {
+		Assert.isTrue(slidingWindowSize > 0, "Sliding window size must be positive");
+		this.slidingWindowSize = slidingWindowSize;
+	}
+
+	/**
+	 * The number of calls the window must hold before the failure rate is considered.
+	 * With a count based window it is capped at the size of the window. Defaults to 100.
+	 * @param minimumNumberOfCalls the minimum number of calls
+	 */
+	public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+		Assert.isTrue(minimumNumberOfCalls > 0, "Minimum number of calls must be positive");
+		this.minimumNumberOfCalls = minimumNumberOfCalls;
+	}
+
+	/**
+	 * The percentage of failed calls in the window at which the circuit opens. Defaults
+	 * to 50.
+	 * @param failureRateThreshold the threshold, greater than 0 and at most 100
+	 */
+	public void setFailureRateThreshold(float failureRateThreshold) {
+		Assert.isTrue(failureRateThreshold > 0 && failureRateThreshold <= 100,
+				"Failure rate threshold must be greater than 0 and at most 100");
+		this.failureRateThreshold = failureRateThreshold;
+	}
+
+	/**
+	 * The duration in milliseconds above which a call counts as slow. Defaults to 0, no
+	 * call is slow.
+	 * @param slowCallDurationThreshold the duration in milliseconds
+	 */
+	public void setSlowCallDurationThreshold(long slowCallDurationThreshold) {
+		Assert.isTrue(slowCallDurationThreshold >= 0, "Slow call duration threshold cannot be negative");
+		this.slowCallDurationThreshold = slowCallDurationThreshold;
+	}
+
+	/**
+	 * The percentage of slow calls in the window at which the circuit opens. Defaults to
+	 * 100.
+	 * @param slowCallRateThreshold the threshold, greater than 0 and at most 100
+	 * @see #setSlowCallDurationThreshold(long)
+	 */
+	public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+		Assert.isTrue(slowCallRateThreshold > 0 && slowCallRateThreshold <= 100,
+				"Slow call rate threshold must be greater than 0 and at most 100");
+		this.slowCallRateThreshold = slowCallRateThreshold;
+	}
+
+	@Override
+	protected SlidingWindow createSlidingWindow() {
+		if (this.slidingWindowType == SlidingWindowType.TIME_BASED) {
+			return new TimeBasedSlidingWindow(this.slidingWindowSize);
+		}
+		return new CountBasedSlidingWindow(this.slidingWindowSize);
+	}
+
+	@Override
+	protected boolean isTripped(SlidingWindow window) {
+		int calls = window.getNumberOfCalls();
+		int minimum = this.minimumNumberOfCalls;
+		if (this.slidingWindowType == SlidingWindowType.COUNT_BASED) {
+			minimum = Math.min(minimum, this.slidingWindowSize);
+		}
+		if (calls == 0 || calls < minimum) {
+			return false;
+		}
+		return window.getNumberOfFailedCalls() * 100f >= this.failureRateThreshold * calls
+				|| this.slowCallDurationThreshold > 0
+						&& window.getNumberOfSlowCalls() * 100f >= this.slowCallRateThreshold * calls;
+	}
+
+	@Override
+	protected boolean isSlowCall(long duration) {
+		return this.slowCallDurationThreshold > 0
+				&& duration > TimeUnit.MILLISECONDS.toNanos(this.slowCallDurationThreshold);
+	}
+
+	/**
+	 * The types of {@link SlidingWindow}.
+	 */
+	public enum SlidingWindowType {
+
+		/**
+		 * The outcomes of the last calls.
+		 */
+		COUNT_BASED,
+
+		/**
+		 * The outcomes of the calls of the last seconds.
+		 */
+		TIME_BASED
+
+	}
+
+}
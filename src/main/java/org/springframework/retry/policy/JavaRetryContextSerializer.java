@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.retry.RetryContext;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * A {@link RetryContextSerializer} using Java serialization. It keeps the whole context,
+ * with its attributes, parent and throwables, and needs no retry policy to read it back,
+ * but it is slower and larger than a {@link CompactRetryContextSerializer}.
+ *
+ * @since 2.0.5
+ */
+public class JavaRetryContextSerializer implements RetryContextSerializer {
+
+	private final ClassLoader classLoader;
+
+	/**
+	 * Create a serializer reading the classes with the default class loader.
+	 */
+	public JavaRetryContextSerializer() {
+		this(ClassUtils.getDefaultClassLoader());
+	}
+
+	/**
+	 * Create a serializer reading the classes with the given class loader.
+	 * @param classLoader the class loader
+	 */
+	public JavaRetryContextSerializer(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	@Override
+	public byte[] serialize(RetryContext context) {
+		return SerializationUtils.serialize(context);
+	}
+
+	@Override
+	public RetryContext deserialize(byte[] bytes) {
+		try (ObjectInputStream input = new ConfigurableObjectInputStream(new ByteArrayInputStream(bytes),
+				this.classLoader)) {
+			return (RetryContext) input.readObject();
+		}
+		catch (IOException | ClassNotFoundException | ClassCastException ex) {
+			throw new IllegalArgumentException("Cannot deserialize retry context", ex);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2022 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,15 +15,15 @@
  */
 package org.springframework.retry.policy;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.springframework.retry.RetryContext;
 
 /**
  * Map-based implementation of {@link RetryContextCache}. The map backing the cache of
- * contexts is synchronized.
+ * contexts is concurrent, and the compound operations are atomic.
  *
  * @author Dave Syer
  */
@@ -36,7 +36,10 @@ public class MapRetryContextCache implements RetryContextCache {
 	 */
 	public static final int DEFAULT_CAPACITY = 4096;
 
-	private final Map<Object, RetryContext> map = Collections.synchronizedMap(new HashMap<>());
+	// Stands for the null key, which a concurrent map does not accept
+	private static final Object NULL_KEY = new Object();
+
+	private final Map<Object, RetryContext> map = new ConcurrentHashMap<>();
 
 	private int capacity;
 
@@ -67,24 +70,62 @@ public class MapRetryContextCache implements RetryContextCache {
 	}
 
 	public boolean containsKey(Object key) {
-		return map.containsKey(key);
+		return map.containsKey(mapKey(key));
 	}
 
 	public RetryContext get(Object key) {
-		return map.get(key);
+		return map.get(mapKey(key));
 	}
 
 	public void put(Object key, RetryContext context) {
+		checkCapacity();
+		map.put(mapKey(key), context);
+	}
+
+	public void remove(Object key) {
+		map.remove(mapKey(key));
+	}
+
+	@Override
+	public RetryContext computeIfAbsent(Object key, Function<Object, ? extends RetryContext> mappingFunction) {
+		return map.computeIfAbsent(mapKey(key), k -> {
+			RetryContext context = mappingFunction.apply(key);
+			if (context != null) {
+				checkCapacity();
+			}
+			return context;
+		});
+	}
+
+	@Override
+	public boolean replace(Object key, RetryContext context) {
+		return map.replace(mapKey(key), context) != null;
+	}
+
+	@Override
+	public boolean remove(Object key, RetryContext context) {
+		// Compare by identity, contexts with the same attributes are equal
+		boolean[] removed = new boolean[1];
+		map.computeIfPresent(mapKey(key), (k, existing) -> {
+			if (existing == context) {
+				removed[0] = true;
+				return null;
+			}
+			return existing;
+		});
+		return removed[0];
+	}
+
+	private void checkCapacity() {
 		if (map.size() >= capacity) {
 			throw new RetryCacheCapacityExceededException("Retry cache capacity limit breached. "
 					+ "Do you need to re-consider the implementation of the key generator, "
 					+ "or the equals and hashCode of the items that failed?");
 		}
-		map.put(key, context);
 	}
 
-	public void remove(Object key) {
-		map.remove(key);
+	private static Object mapKey(Object key) {
+		return key == null ? NULL_KEY : key;
 	}
 
 }
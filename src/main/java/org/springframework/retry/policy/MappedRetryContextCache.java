@@ -0,0 +1,521 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryPolicy;
+import org.springframework.retry.context.RetryContextSupport;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * A {@link RetryContextCache} keeping the contexts off the heap, in an open addressing
+ * table backed by a memory-mapped file, so that it can hold the contexts of millions of
+ * keys, e.g. of redelivered messages, without putting pressure on the garbage collector.
+ * With a given file, the contexts survive a restart of the process.
+ * <p>
+ * Only the state a stateful retry needs is kept, in a fixed size slot per key: the retry
+ * count, the class and message of the last throwable, and whether the context is
+ * exhausted. The contexts are rebuilt with the {@link RetryPolicy} they were opened with,
+ * so a cache serves the contexts of one policy, which must extend
+ * {@link RetryContextSupport}. Each read returns a new context, so changes to it are only
+ * kept once it is stored again, as a {@code RetryTemplate} does after each failure. The
+ * other attributes are not kept, so the cache does not suit the global contexts of
+ * circuit breakers.
+ * <p>
+ * The keys are compared by their binary form: strings, numbers, UUIDs, or else
+ * serializable objects with the same serialized form when equal. They are spread over
+ * segments, each with its own lock and room for half as many keys again as its share of
+ * the maximum size, which cannot be exceeded as a whole.
+ *
+ * @since 2.0.5
+ */
+public class MappedRetryContextCache implements RetryContextCache, Closeable {
+
+	/**
+	 * The default size of a slot in bytes.
+	 */
+	public static final int DEFAULT_SLOT_SIZE = 256;
+
+	private static final int MAGIC = 0x52435443;
+
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 32;
+
+	private static final int MAX_SEGMENTS = 64;
+
+	private static final int MIN_SEGMENT_SIZE = 1024;
+
+	// The layout of a slot: a fixed part, then the key, the class and the message
+
+	private static final int STATUS = 0;
+
+	private static final int FLAGS = 1;
+
+	private static final int KEY_LENGTH = 2;
+
+	private static final int HASH = 4;
+
+	private static final int COUNT = 8;
+
+	private static final int CLASS_LENGTH = 12;
+
+	private static final int MESSAGE_LENGTH = 14;
+
+	private static final int DATA = 16;
+
+	private static final byte EMPTY = 0;
+
+	private static final byte FULL = 1;
+
+	private static final byte EXHAUSTED = 1;
+
+	private static final byte HAS_THROWABLE = 2;
+
+	private static final byte[] NO_BYTES = new byte[0];
+
+	private final RetryPolicy retryPolicy;
+
+	private final Path file;
+
+	private final boolean temporary;
+
+	private final FileChannel channel;
+
+	private final int slotSize;
+
+	private final Segment[] segments;
+
+	private final int segmentShift;
+
+	private final int maximumSize;
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+	/**
+	 * Create a cache in a temporary file, deleted when the cache is closed.
+	 * @param retryPolicy the policy that opens the contexts
+	 * @param maximumSize the maximum number of contexts
+	 */
+	public MappedRetryContextCache(RetryPolicy retryPolicy, int maximumSize) {
+		this(retryPolicy, maximumSize, null, DEFAULT_SLOT_SIZE);
+	}
+
+	/**
+	 * Create a cache in the given file, reopening the contexts it holds if it exists.
+	 * @param retryPolicy the policy that opens the contexts
+	 * @param maximumSize the maximum number of contexts
+	 * @param file the file, or null for a temporary file
+	 */
+	public MappedRetryContextCache(RetryPolicy retryPolicy, int maximumSize, Path file) {
+		this(retryPolicy, maximumSize, file, DEFAULT_SLOT_SIZE);
+	}
+
+	/**
+	 * Create a cache in the given file, reopening the contexts it holds if it exists. The
+	 * key and the class name of the last throwable must fit in a slot, and the message is
+	 * truncated to the room left.
+	 * @param retryPolicy the policy that opens the contexts
+	 * @param maximumSize the maximum number of contexts
+	 * @param file the file, or null for a temporary file
+	 * @param slotSize the size of a slot in bytes
+	 */
+	public MappedRetryContextCache(RetryPolicy retryPolicy, int maximumSize, Path file, int slotSize) {
+		Assert.notNull(retryPolicy, "'retryPolicy' cannot be null");
+		Assert.isTrue(maximumSize > 0, "Maximum size must be positive");
+		Assert.isTrue(slotSize >= 64 && slotSize <= Short.MAX_VALUE,
+				"Slot size must be between 64 and " + Short.MAX_VALUE);
+		this.retryPolicy = retryPolicy;
+		this.slotSize = slotSize;
+		this.maximumSize = maximumSize;
+		int count = 1;
+		while (count < MAX_SEGMENTS && (long) count * 2 * MIN_SEGMENT_SIZE <= maximumSize) {
+			count <<= 1;
+		}
+		int segmentShare = (maximumSize + count - 1) / count;
+		// Leave room for the keys that do not spread evenly over the segments
+		int segmentMaximumSize = count == 1 ? maximumSize : segmentShare + segmentShare / 2;
+		// Keep the load factor under 0.75 so that the probes stay short
+		int slots = Integer.highestOneBit(segmentMaximumSize + segmentMaximumSize / 3) << 1;
+		long segmentBytes = (long) slots * slotSize;
+		Assert.isTrue(segmentBytes <= Integer.MAX_VALUE, "Maximum size too large for the slot size");
+		this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+		try {
+			this.temporary = file == null;
+			this.file = this.temporary ? Files.createTempFile("retry-contexts", ".bin") : file;
+			this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			MappedByteBuffer header = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+			if (header.getInt(0) == MAGIC) {
+				Assert.state(
+						header.getInt(4) == VERSION && header.getInt(8) == slotSize && header.getInt(12) == count
+								&& header.getInt(16) == slots && header.getInt(20) == maximumSize,
+						"Retry context file " + this.file + " was created with a different maximum or slot size");
+			}
+			else {
+				header.putInt(4, VERSION).putInt(8, slotSize).putInt(12, count).putInt(16, slots);
+				header.putInt(20, maximumSize).putInt(0, MAGIC);
+			}
+			this.segments = new Segment[count];
+			for (int i = 0; i < count; i++) {
+				MappedByteBuffer buffer = this.channel.map(FileChannel.MapMode.READ_WRITE,
+						HEADER_SIZE + i * segmentBytes, segmentBytes);
+				this.segments[i] = new Segment(buffer, slots, segmentMaximumSize);
+				this.size.addAndGet(this.segments[i].size());
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Cannot map retry context file " + file, ex);
+		}
+	}
+
+	@Override
+	public RetryContext get(Object key) {
+		byte[] keyBytes = keyBytes(key);
+		int hash = hash(keyBytes);
+		return segmentFor(hash).get(key, keyBytes, hash);
+	}
+
+	@Override
+	public void put(Object key, RetryContext context) {
+		byte[] keyBytes = keyBytes(key);
+		int hash = hash(keyBytes);
+		segmentFor(hash).put(keyBytes, hash, context, false);
+	}
+
+	@Override
+	public void remove(Object key) {
+		remove(key, null);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		byte[] keyBytes = keyBytes(key);
+		int hash = hash(keyBytes);
+		return segmentFor(hash).containsKey(keyBytes, hash);
+	}
+
+	@Override
+	public RetryContext computeIfAbsent(Object key, Function<Object, ? extends RetryContext> mappingFunction) {
+		byte[] keyBytes = keyBytes(key);
+		int hash = hash(keyBytes);
+		return segmentFor(hash).computeIfAbsent(key, keyBytes, hash, mappingFunction);
+	}
+
+	@Override
+	public boolean replace(Object key, RetryContext context) {
+		byte[] keyBytes = keyBytes(key);
+		int hash = hash(keyBytes);
+		return segmentFor(hash).put(keyBytes, hash, context, true);
+	}
+
+	/**
+	 * Remove the context of the key, whatever it is, as the cache does not keep the
+	 * context instances.
+	 */
+	@Override
+	public boolean remove(Object key, RetryContext context) {
+		byte[] keyBytes = keyBytes(key);
+		int hash = hash(keyBytes);
+		return segmentFor(hash).remove(keyBytes, hash);
+	}
+
+	/**
+	 * @return the number of contexts in the cache
+	 */
+	public int size() {
+		return this.size.get();
+	}
+
+	/**
+	 * Flush the contexts to the file, and delete it if it is temporary. The cache must
+	 * not be used afterwards.
+	 */
+	@Override
+	public void close() throws IOException {
+		for (Segment segment : this.segments) {
+			segment.force();
+		}
+		this.channel.close();
+		if (this.temporary) {
+			Files.deleteIfExists(this.file);
+		}
+	}
+
+	private Segment segmentFor(int hash) {
+		// The high bits pick the segment, the low bits the slot
+		return this.segments[this.segments.length == 1 ? 0 : hash >>> this.segmentShift];
+	}
+
+	private static byte[] keyBytes(Object key) {
+		if (key == null) {
+			return new byte[] { 'N' };
+		}
+		if (key instanceof String) {
+			return typed('S', ((String) key).getBytes(StandardCharsets.UTF_8));
+		}
+		if (key instanceof Long || key instanceof Integer || key instanceof UUID) {
+			char type = key instanceof Long ? 'J' : key instanceof Integer ? 'I' : 'U';
+			return typed(type, key.toString().getBytes(StandardCharsets.UTF_8));
+		}
+		Assert.isInstanceOf(Serializable.class, key, "Retry context key must be serializable");
+		return typed('O', SerializationUtils.serialize(key));
+	}
+
+	private static byte[] typed(char type, byte[] bytes) {
+		byte[] typed = new byte[bytes.length + 1];
+		typed[0] = (byte) type;
+		System.arraycopy(bytes, 0, typed, 1, bytes.length);
+		return typed;
+	}
+
+	private static int hash(byte[] keyBytes) {
+		// Mix the bits, as both the high and the low ones are used
+		int hash = Arrays.hashCode(keyBytes);
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		hash *= 0xc2b2ae35;
+		return hash ^ (hash >>> 16);
+	}
+
+	private RetryContext restore(Object key, int count, boolean exhausted, String className, String message) {
+		RetryContext context = this.retryPolicy.open(null);
+		if (!(context instanceof RetryContextSupport)) {
+			throw new IllegalStateException("Cannot restore a " + context.getClass().getName()
+					+ ", the retry policy must open a RetryContextSupport");
+		}
+		RetryContextSupport support = (RetryContextSupport) context;
+		Throwable throwable = className != null
+				? CompactRetryContextSerializer.restoreThrowable(className, message, this.classLoader) : null;
+		if (throwable != null) {
+			for (int i = 0; i < count; i++) {
+				support.registerThrowable(throwable);
+			}
+		}
+		if (exhausted) {
+			support.setExhaustedOnly();
+		}
+		support.setAttribute(RetryContext.STATE_KEY, key);
+		return support;
+	}
+
+	private final class Segment {
+
+		private final MappedByteBuffer buffer;
+
+		private final int mask;
+
+		private final int maximumSize;
+
+		private int size;
+
+		private Segment(MappedByteBuffer buffer, int slots, int maximumSize) {
+			this.buffer = buffer;
+			this.mask = slots - 1;
+			this.maximumSize = maximumSize;
+			for (int slot = 0; slot < slots; slot++) {
+				if (buffer.get(offset(slot) + STATUS) == FULL) {
+					this.size++;
+				}
+			}
+		}
+
+		synchronized RetryContext get(Object key, byte[] keyBytes, int hash) {
+			int slot = find(keyBytes, hash);
+			return slot < 0 ? null : read(key, offset(slot));
+		}
+
+		synchronized boolean containsKey(byte[] keyBytes, int hash) {
+			return find(keyBytes, hash) >= 0;
+		}
+
+		synchronized RetryContext computeIfAbsent(Object key, byte[] keyBytes, int hash,
+				Function<Object, ? extends RetryContext> mappingFunction) {
+			int slot = find(keyBytes, hash);
+			if (slot >= 0) {
+				return read(key, offset(slot));
+			}
+			RetryContext context = mappingFunction.apply(key);
+			if (context != null) {
+				put(keyBytes, hash, context, false);
+			}
+			return context;
+		}
+
+		synchronized boolean put(byte[] keyBytes, int hash, RetryContext context, boolean onlyIfPresent) {
+			int slot = find(keyBytes, hash);
+			if (slot < 0) {
+				if (onlyIfPresent) {
+					return false;
+				}
+				if (this.size >= this.maximumSize) {
+					throw capacityExceeded();
+				}
+				if (MappedRetryContextCache.this.size.incrementAndGet() > MappedRetryContextCache.this.maximumSize) {
+					MappedRetryContextCache.this.size.decrementAndGet();
+					throw capacityExceeded();
+				}
+				slot = hash & this.mask;
+				while (this.buffer.get(offset(slot) + STATUS) == FULL) {
+					slot = (slot + 1) & this.mask;
+				}
+				this.size++;
+			}
+			write(offset(slot), keyBytes, hash, context);
+			return true;
+		}
+
+		synchronized boolean remove(byte[] keyBytes, int hash) {
+			int slot = find(keyBytes, hash);
+			if (slot < 0) {
+				return false;
+			}
+			// Shift back the entries after it, so that no probe crosses a hole
+			int hole = slot;
+			int next = (slot + 1) & this.mask;
+			while (this.buffer.get(offset(next) + STATUS) == FULL) {
+				int home = this.buffer.getInt(offset(next) + HASH) & this.mask;
+				if (((next - home) & this.mask) >= ((next - hole) & this.mask)) {
+					copy(next, hole);
+					hole = next;
+				}
+				next = (next + 1) & this.mask;
+			}
+			this.buffer.put(offset(hole) + STATUS, EMPTY);
+			this.size--;
+			MappedRetryContextCache.this.size.decrementAndGet();
+			return true;
+		}
+
+		synchronized int size() {
+			return this.size;
+		}
+
+		synchronized void force() {
+			this.buffer.force();
+		}
+
+		private RetryCacheCapacityExceededException capacityExceeded() {
+			return new RetryCacheCapacityExceededException("Retry cache capacity limit breached. "
+					+ "Do you need to re-consider the implementation of the key generator, "
+					+ "or the equals and hashCode of the items that failed?");
+		}
+
+		private int find(byte[] keyBytes, int hash) {
+			int slot = hash & this.mask;
+			while (this.buffer.get(offset(slot) + STATUS) == FULL) {
+				int offset = offset(slot);
+				if (this.buffer.getInt(offset + HASH) == hash && keyEquals(offset, keyBytes)) {
+					return slot;
+				}
+				slot = (slot + 1) & this.mask;
+			}
+			return -1;
+		}
+
+		private boolean keyEquals(int offset, byte[] keyBytes) {
+			if (this.buffer.getShort(offset + KEY_LENGTH) != keyBytes.length) {
+				return false;
+			}
+			for (int i = 0; i < keyBytes.length; i++) {
+				if (this.buffer.get(offset + DATA + i) != keyBytes[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void write(int offset, byte[] keyBytes, int hash, RetryContext context) {
+			Throwable throwable = context.getLastThrowable();
+			byte[] className = throwable != null ? throwable.getClass().getName().getBytes(StandardCharsets.UTF_8)
+					: NO_BYTES;
+			int room = MappedRetryContextCache.this.slotSize - DATA - keyBytes.length - className.length;
+			if (room < 0) {
+				throw new IllegalArgumentException(
+						"The key and the class of the last throwable do not fit in a slot of "
+								+ MappedRetryContextCache.this.slotSize + " bytes");
+			}
+			byte[] message = throwable != null && throwable.getMessage() != null
+					? throwable.getMessage().getBytes(StandardCharsets.UTF_8) : NO_BYTES;
+			int messageLength = Math.min(message.length, room);
+			byte flags = (byte) ((context.isExhaustedOnly() ? EXHAUSTED : 0) | (throwable != null ? HAS_THROWABLE : 0));
+			this.buffer.put(offset + FLAGS, flags);
+			this.buffer.putShort(offset + KEY_LENGTH, (short) keyBytes.length);
+			this.buffer.putInt(offset + HASH, hash);
+			this.buffer.putInt(offset + COUNT, context.getRetryCount());
+			this.buffer.putShort(offset + CLASS_LENGTH, (short) className.length);
+			this.buffer.putShort(offset + MESSAGE_LENGTH, (short) messageLength);
+			ByteBuffer data = this.buffer.duplicate();
+			data.position(offset + DATA);
+			data.put(keyBytes).put(className).put(message, 0, messageLength);
+			this.buffer.put(offset + STATUS, FULL);
+		}
+
+		private RetryContext read(Object key, int offset) {
+			byte flags = this.buffer.get(offset + FLAGS);
+			int count = this.buffer.getInt(offset + COUNT);
+			String className = null;
+			String message = null;
+			if ((flags & HAS_THROWABLE) != 0) {
+				ByteBuffer data = this.buffer.duplicate();
+				data.position(offset + DATA + this.buffer.getShort(offset + KEY_LENGTH));
+				byte[] bytes = new byte[this.buffer.getShort(offset + CLASS_LENGTH)];
+				data.get(bytes);
+				className = new String(bytes, StandardCharsets.UTF_8);
+				bytes = new byte[this.buffer.getShort(offset + MESSAGE_LENGTH)];
+				data.get(bytes);
+				message = new String(bytes, StandardCharsets.UTF_8);
+			}
+			return restore(key, count, (flags & EXHAUSTED) != 0, className, message);
+		}
+
+		private void copy(int from, int to) {
+			byte[] bytes = new byte[MappedRetryContextCache.this.slotSize];
+			ByteBuffer data = this.buffer.duplicate();
+			data.position(offset(from));
+			data.get(bytes);
+			data.position(offset(to));
+			data.put(bytes);
+		}
+
+		private int offset(int slot) {
+			return slot * MappedRetryContextCache.this.slotSize;
+		}
+
+	}
+
+}
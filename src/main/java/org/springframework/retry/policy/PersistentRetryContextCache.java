@@ -0,0 +1,639 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.retry.RetryContext;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * A {@link RetryContextCache} that survives a restart of the process, so that the items
+ * failing when it stops do not get all their attempts again when it starts. The contexts
+ * are held in memory, and each change is appended to a journal in a directory before it
+ * returns. On startup the journal is replayed, ignoring a last record that was only
+ * partially written.
+ * <p>
+ * The journal is split into segment files. Appending a change forces the file to the
+ * storage device, and the changes of concurrent callers are forced together, so that a
+ * busy cache does not force the file once per change. When there are too many segments,
+ * the ones before the current segment are replaced in the background by a snapshot of the
+ * contexts, so that the journal grows with the number of contexts, not of changes.
+ * <p>
+ * The keys are stored with Java serialization, so they must be serializable. The contexts
+ * are stored with a {@link RetryContextSerializer}, by default a
+ * {@link JavaRetryContextSerializer}, for which they must be serializable, as the
+ * contexts of the retry policies are. A {@link CompactRetryContextSerializer} makes the
+ * journal smaller and faster to write. It can be set on a
+ * {@link org.springframework.retry.support.RetryTemplate}, or declared as the unique
+ * {@link RetryContextCache} bean used by {@code @EnableRetry}.
+ *
+ * @since 2.0.5
+ */
+public class PersistentRetryContextCache implements RetryContextCache, Closeable {
+
+	private static final Log logger = LogFactory.getLog(PersistentRetryContextCache.class);
+
+	/**
+	 * The default maximum number of contexts, as for a {@link MapRetryContextCache}.
+	 */
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	/**
+	 * The default size in bytes above which a new segment is started.
+	 */
+	public static final long DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+	/**
+	 * The default number of segments above which the journal is compacted.
+	 */
+	public static final int DEFAULT_COMPACTION_THRESHOLD = 4;
+
+	private static final String SEGMENT_SUFFIX = ".log";
+
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+
+	// A record is its length, its checksum, then the operation, the key and the context
+
+	private static final int RECORD_HEADER = 8;
+
+	private static final byte PUT = 1;
+
+	private static final byte REMOVE = 2;
+
+	// Starts a snapshot, which replaces the contexts of the segments before it
+	private static final byte SNAPSHOT = 3;
+
+	// Stands for the null key, which a concurrent map does not accept
+	private static final Object NULL_KEY = new Object();
+
+	private final Path directory;
+
+	private final RetryContextSerializer serializer;
+
+	private final ConcurrentMap<Object, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Held to change the contexts, and exclusively to roll the segment a compaction
+	 * starts from, so that all the changes in the previous segments are visible then.
+	 */
+	private final ReadWriteLock changeLock = new ReentrantReadWriteLock();
+
+	private final Object appendLock = new Object();
+
+	private final Object syncLock = new Object();
+
+	private final Object compactionLock = new Object();
+
+	private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+	private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "retry-context-journal-compaction");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+	private volatile int capacity = DEFAULT_CAPACITY;
+
+	private volatile long segmentSize = DEFAULT_SEGMENT_SIZE;
+
+	private volatile int compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+
+	// Guarded by the append lock
+
+	private FileChannel channel;
+
+	private long segment;
+
+	private long segmentLength;
+
+	private int segmentCount;
+
+	private long appended;
+
+	// Guarded by the sync lock
+
+	private volatile long synced;
+
+	/**
+	 * Create a cache journaling to the given directory, and replay the journal it holds.
+	 * The contexts are written with Java serialization.
+	 * @param directory the directory, created if needed
+	 */
+	public PersistentRetryContextCache(Path directory) {
+		this(directory, new JavaRetryContextSerializer());
+	}
+
+	/**
+	 * Create a cache journaling to the given directory, and replay the journal it holds.
+	 * @param directory the directory, created if needed
+	 * @param serializer the serializer writing the contexts, which must read the journal
+	 * written before
+	 */
+	public PersistentRetryContextCache(Path directory, RetryContextSerializer serializer) {
+		Assert.notNull(directory, "'directory' cannot be null");
+		Assert.notNull(serializer, "'serializer' cannot be null");
+		this.directory = directory;
+		this.serializer = serializer;
+		try {
+			Files.createDirectories(directory);
+			for (Path temporary : list(TEMPORARY_SUFFIX)) {
+				// A compaction that did not complete
+				Files.delete(temporary);
+			}
+			List<Path> segments = list(SEGMENT_SUFFIX);
+			long length = 0;
+			for (int i = 0; i < segments.size(); i++) {
+				length = replay(segments.get(i));
+				if (length < Files.size(segments.get(i)) && i < segments.size() - 1) {
+					throw new IllegalStateException("Corrupt retry context journal segment " + segments.get(i));
+				}
+			}
+			if (segments.isEmpty()) {
+				openSegment(1);
+			}
+			else {
+				openSegment(number(segments.get(segments.size() - 1)));
+				// Drop a last record that was not completely written
+				this.channel.truncate(length);
+				this.channel.position(length);
+				this.segmentLength = length;
+			}
+			this.segmentCount = Math.max(segments.size(), 1);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Cannot open retry context journal in " + directory, ex);
+		}
+	}
+
+	/**
+	 * Public setter for the capacity. Prevents the cache from growing unboundedly if
+	 * items that fail are misidentified and two references to an identical item actually
+	 * do not have the same key.
+	 * @param capacity the capacity to set
+	 */
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * The size in bytes above which the journal continues in a new segment. Defaults to
+	 * {@link #DEFAULT_SEGMENT_SIZE}.
+	 * @param segmentSize the size of a segment in bytes
+	 */
+	public void setSegmentSize(long segmentSize) {
+		Assert.isTrue(segmentSize > 0, "Segment size must be positive");
+		this.segmentSize = segmentSize;
+	}
+
+	/**
+	 * The number of segments above which the journal is compacted. Defaults to
+	 * {@link #DEFAULT_COMPACTION_THRESHOLD}.
+	 * @param compactionThreshold the number of segments
+	 */
+	public void setCompactionThreshold(int compactionThreshold) {
+		Assert.isTrue(compactionThreshold > 1, "Compaction threshold must be greater than 1");
+		this.compactionThreshold = compactionThreshold;
+	}
+
+	@Override
+	public RetryContext get(Object key) {
+		Entry entry = this.entries.get(mapKey(key));
+		return entry != null ? entry.context : null;
+	}
+
+	@Override
+	public void put(Object key, RetryContext context) {
+		checkCapacity();
+		Entry entry = new Entry(context, serializeKey(key), this.serializer.serialize(context));
+		long[] position = new long[1];
+		change(() -> this.entries.compute(mapKey(key), (k, existing) -> {
+			position[0] = append(PUT, entry);
+			return entry;
+		}));
+		sync(position[0]);
+	}
+
+	@Override
+	public void remove(Object key) {
+		long[] position = new long[1];
+		change(() -> this.entries.computeIfPresent(mapKey(key), (k, existing) -> {
+			position[0] = append(REMOVE, existing);
+			return null;
+		}));
+		sync(position[0]);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.entries.containsKey(mapKey(key));
+	}
+
+	@Override
+	public RetryContext computeIfAbsent(Object key, Function<Object, ? extends RetryContext> mappingFunction) {
+		long[] position = new long[1];
+		Entry entry = change(() -> this.entries.computeIfAbsent(mapKey(key), k -> {
+			RetryContext context = mappingFunction.apply(key);
+			if (context == null) {
+				return null;
+			}
+			checkCapacity();
+			Entry created = new Entry(context, serializeKey(key), this.serializer.serialize(context));
+			position[0] = append(PUT, created);
+			return created;
+		}));
+		sync(position[0]);
+		return entry != null ? entry.context : null;
+	}
+
+	@Override
+	public boolean replace(Object key, RetryContext context) {
+		long[] position = new long[1];
+		Entry entry = change(() -> this.entries.computeIfPresent(mapKey(key), (k, existing) -> {
+			Entry replaced = new Entry(context, existing.keyBytes, this.serializer.serialize(context));
+			position[0] = append(PUT, replaced);
+			return replaced;
+		}));
+		sync(position[0]);
+		return entry != null;
+	}
+
+	@Override
+	public boolean remove(Object key, RetryContext context) {
+		boolean[] removed = new boolean[1];
+		long[] position = new long[1];
+		change(() -> this.entries.computeIfPresent(mapKey(key), (k, existing) -> {
+			if (existing.context != context) {
+				return existing;
+			}
+			removed[0] = true;
+			position[0] = append(REMOVE, existing);
+			return null;
+		}));
+		sync(position[0]);
+		return removed[0];
+	}
+
+	/**
+	 * @return the number of contexts in the cache
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Replace the segments before the current one by a snapshot of the contexts. It is
+	 * called in the background when there are too many segments.
+	 */
+	public void compact() {
+		synchronized (this.compactionLock) {
+			try {
+				long base;
+				this.changeLock.writeLock().lock();
+				try {
+					synchronized (this.appendLock) {
+						base = this.segment;
+						roll();
+					}
+				}
+				finally {
+					this.changeLock.writeLock().unlock();
+				}
+				// Any change since is in a later segment, and replayed after the snapshot
+				Path temporary = this.directory.resolve(name(base) + TEMPORARY_SUFFIX);
+				try (FileChannel snapshot = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW,
+						StandardOpenOption.WRITE)) {
+					write(snapshot, record(SNAPSHOT, null));
+					for (Entry entry : this.entries.values()) {
+						write(snapshot, record(PUT, entry));
+					}
+					snapshot.force(true);
+				}
+				// The snapshot starts with a marker, so the previous segments are ignored
+				// if the process stops before they are deleted
+				Files.move(temporary, segmentPath(base), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+				for (Path path : list(SEGMENT_SUFFIX)) {
+					if (number(path) < base) {
+						Files.delete(path);
+					}
+				}
+				synchronized (this.appendLock) {
+					this.segmentCount = (int) (this.segment - base + 1);
+				}
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Cannot compact retry context journal in " + this.directory, ex);
+			}
+		}
+	}
+
+	/**
+	 * Wait for a compaction in progress, and close the journal. The cache must not be
+	 * used afterwards.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.compactor.shutdown();
+		try {
+			this.compactor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (this.appendLock) {
+			this.channel.force(false);
+			this.channel.close();
+		}
+	}
+
+	private <T> T change(Supplier<T> change) {
+		this.changeLock.readLock().lock();
+		try {
+			return change.get();
+		}
+		finally {
+			this.changeLock.readLock().unlock();
+		}
+	}
+
+	private void checkCapacity() {
+		if (this.entries.size() >= this.capacity) {
+			throw new RetryCacheCapacityExceededException("Retry cache capacity limit breached. "
+					+ "Do you need to re-consider the implementation of the key generator, "
+					+ "or the equals and hashCode of the items that failed?");
+		}
+	}
+
+	/**
+	 * Append a record to the current segment.
+	 * @return the position to sync to for the record to be durable
+	 */
+	private long append(byte operation, Entry entry) {
+		byte[] record = record(operation, entry);
+		synchronized (this.appendLock) {
+			try {
+				if (this.segmentLength > 0 && this.segmentLength + record.length > this.segmentSize) {
+					roll();
+					if (this.segmentCount > this.compactionThreshold
+							&& this.compactionScheduled.compareAndSet(false, true)) {
+						this.compactor.execute(() -> {
+							this.compactionScheduled.set(false);
+							try {
+								compact();
+							}
+							catch (RuntimeException ex) {
+								logger.error("Cannot compact retry context journal in " + this.directory, ex);
+							}
+						});
+					}
+				}
+				write(this.channel, record);
+				this.segmentLength += record.length;
+				this.appended += record.length;
+				return this.appended;
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Cannot append to retry context journal in " + this.directory, ex);
+			}
+		}
+	}
+
+	/**
+	 * Force the journal up to the given position, unless a concurrent caller did. The
+	 * callers waiting meanwhile are all covered by the next force.
+	 */
+	private void sync(long position) {
+		if (this.synced >= position) {
+			return;
+		}
+		synchronized (this.syncLock) {
+			if (this.synced >= position) {
+				return;
+			}
+			long target;
+			FileChannel channel;
+			synchronized (this.appendLock) {
+				target = this.appended;
+				channel = this.channel;
+			}
+			try {
+				channel.force(false);
+			}
+			catch (ClosedChannelException ex) {
+				// Rolled over to a new segment, which forced it
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Cannot sync retry context journal in " + this.directory, ex);
+			}
+			this.synced = target;
+		}
+	}
+
+	private void roll() throws IOException {
+		this.channel.force(false);
+		this.channel.close();
+		openSegment(this.segment + 1);
+		this.segmentCount++;
+	}
+
+	private void openSegment(long number) throws IOException {
+		this.segment = number;
+		this.segmentLength = 0;
+		this.channel = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+	}
+
+	private static void write(FileChannel channel, byte[] record) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(record);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private static byte[] record(byte operation, Entry entry) {
+		if (operation == SNAPSHOT) {
+			return checksum(ByteBuffer.allocate(RECORD_HEADER + 1).putInt(1).putInt(0).put(operation), 1);
+		}
+		int contextLength = operation == PUT ? entry.contextBytes.length : 0;
+		int length = 1 + 4 + entry.keyBytes.length + contextLength;
+		ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + length);
+		buffer.putInt(length).putInt(0).put(operation).putInt(entry.keyBytes.length).put(entry.keyBytes);
+		if (operation == PUT) {
+			buffer.put(entry.contextBytes);
+		}
+		return checksum(buffer, length);
+	}
+
+	private static byte[] checksum(ByteBuffer buffer, int length) {
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), RECORD_HEADER, length);
+		buffer.putInt(4, (int) crc.getValue());
+		return buffer.array();
+	}
+
+	/**
+	 * Apply the records of a segment to the contexts.
+	 * @return the length of the complete records
+	 */
+	private long replay(Path path) throws IOException {
+		long size = Files.size(path);
+		long length = 0;
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			while (length + RECORD_HEADER <= size) {
+				int recordLength = input.readInt();
+				int checksum = input.readInt();
+				if (recordLength <= 0 || length + RECORD_HEADER + recordLength > size) {
+					break;
+				}
+				byte[] payload = new byte[recordLength];
+				input.readFully(payload);
+				CRC32 crc = new CRC32();
+				crc.update(payload, 0, recordLength);
+				if ((int) crc.getValue() != checksum) {
+					break;
+				}
+				apply(payload);
+				length += RECORD_HEADER + recordLength;
+			}
+		}
+		catch (EOFException ex) {
+			// A record that was not completely written
+		}
+		return length;
+	}
+
+	private void apply(byte[] payload) {
+		ByteBuffer buffer = ByteBuffer.wrap(payload);
+		byte operation = buffer.get();
+		if (operation == SNAPSHOT) {
+			// The segments before were left by a compaction that did not delete them
+			this.entries.clear();
+			return;
+		}
+		byte[] key = new byte[buffer.getInt()];
+		buffer.get(key);
+		Object mapKey = mapKey(deserialize(key));
+		if (operation == PUT) {
+			byte[] context = new byte[buffer.remaining()];
+			buffer.get(context);
+			this.entries.put(mapKey, new Entry(this.serializer.deserialize(context), key, context));
+		}
+		else {
+			this.entries.remove(mapKey);
+		}
+	}
+
+	private Object deserialize(byte[] bytes) {
+		if (bytes.length == 0) {
+			return null;
+		}
+		try (ObjectInputStream input = new ConfigurableObjectInputStream(new ByteArrayInputStream(bytes),
+				this.classLoader)) {
+			return input.readObject();
+		}
+		catch (IOException | ClassNotFoundException ex) {
+			throw new IllegalStateException("Cannot read retry context journal in " + this.directory, ex);
+		}
+	}
+
+	private static byte[] serializeKey(Object key) {
+		// The null key is stored as no bytes
+		return key == null ? new byte[0] : SerializationUtils.serialize(key);
+	}
+
+	private List<Path> list(String suffix) throws IOException {
+		List<Path> paths = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, "*" + suffix)) {
+			for (Path path : stream) {
+				paths.add(path);
+			}
+		}
+		// The names are zero padded, so they sort in the order of the segments
+		Collections.sort(paths);
+		return paths;
+	}
+
+	private Path segmentPath(long number) {
+		return this.directory.resolve(name(number) + SEGMENT_SUFFIX);
+	}
+
+	private static String name(long number) {
+		return String.format("%020d", number);
+	}
+
+	private static long number(Path path) {
+		String name = path.getFileName().toString();
+		return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+	}
+
+	private static Object mapKey(Object key) {
+		return key == null ? NULL_KEY : key;
+	}
+
+	private static final class Entry {
+
+		private final RetryContext context;
+
+		private final byte[] keyBytes;
+
+		private final byte[] contextBytes;
+
+		private Entry(RetryContext context, byte[] keyBytes, byte[] contextBytes) {
+			this.context = context;
+			this.keyBytes = keyBytes;
+			this.contextBytes = contextBytes;
+		}
+
+	}
+
+}
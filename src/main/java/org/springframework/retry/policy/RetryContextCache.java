@@ -16,6 +16,8 @@
 
 package org.springframework.retry.policy;
 
+import java.util.function.Function;
+
 import org.springframework.retry.RetryContext;
 
 /**
@@ -38,4 +40,62 @@ public interface RetryContextCache {
 
 	boolean containsKey(Object key);
 
+	/**
+	 * Return the context of the key, or else create it with the function and store it if
+	 * it is not null. Concurrent implementations do it atomically, so that only one
+	 * context is ever stored for a key. The default implementation is not atomic.
+	 * @param key the key
+	 * @param mappingFunction the function creating the context, returning null to store
+	 * nothing
+	 * @return the existing context, or the one created, possibly null
+	 * @throws RetryCacheCapacityExceededException if a context cannot be stored
+	 * @since 2.0.5
+	 */
+	default RetryContext computeIfAbsent(Object key, Function<Object, ? extends RetryContext> mappingFunction)
+			throws RetryCacheCapacityExceededException {
+		RetryContext context = containsKey(key) ? get(key) : null;
+		if (context == null) {
+			context = mappingFunction.apply(key);
+			if (context != null) {
+				put(key, context);
+			}
+		}
+		return context;
+	}
+
+	/**
+	 * Store the context only if there already is one for the key. Implementations that
+	 * store a copy of the context, e.g. serialized, need to be called again whenever it
+	 * changes. The default implementation is not atomic.
+	 * @param key the key
+	 * @param context the context
+	 * @return true if the context was stored
+	 * @since 2.0.5
+	 */
+	default boolean replace(Object key, RetryContext context) {
+		if (!containsKey(key)) {
+			return false;
+		}
+		put(key, context);
+		return true;
+	}
+
+	/**
+	 * Remove the context of the key only if it is the given one, so that a retry does not
+	 * remove the context that another one stored since. Implementations that do not keep
+	 * the context instance itself, e.g. serialized, remove the context of the key
+	 * whatever it is, which is what the default implementation does.
+	 * @param key the key
+	 * @param context the context expected for the key
+	 * @return true if a context was removed
+	 * @since 2.0.5
+	 */
+	default boolean remove(Object key, RetryContext context) {
+		if (!containsKey(key)) {
+			return false;
+		}
+		remove(key);
+		return true;
+	}
+
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import org.springframework.retry.RetryContext;
+
+/**
+ * Strategy for writing the state of a {@link RetryContext} to bytes and reading it back,
+ * for a {@link RetryContextCache} that keeps the contexts outside of the heap or of the
+ * process.
+ *
+ * @since 2.0.5
+ * @see JavaRetryContextSerializer
+ * @see CompactRetryContextSerializer
+ */
+public interface RetryContextSerializer {
+
+	/**
+	 * Write the state of a context.
+	 * @param context the context
+	 * @return the bytes
+	 * @throws IllegalArgumentException if the context cannot be written
+	 */
+	byte[] serialize(RetryContext context);
+
+	/**
+	 * Read a context written by {@link #serialize(RetryContext)}.
+	 * @param bytes the bytes
+	 * @return a context with the state that was written
+	 * @throws IllegalArgumentException if the bytes cannot be read
+	 */
+	RetryContext deserialize(byte[] bytes);
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.io.Serializable;
+
+/**
+ * The outcomes of the most recent calls through a circuit, used by a
+ * {@link FailureRateCircuitBreakerRetryPolicy} to decide when to open it. Implementations
+ * are safe for concurrent use and do not allocate when recording. They are serializable
+ * with the context of the circuit.
+ *
+ * @since 2.0.5
+ * @see FailureRateCircuitBreakerRetryPolicy.SlidingWindowType
+ */
+public interface SlidingWindow extends Serializable {
+
+	/**
+	 * Record the outcome of a call.
+	 * @param failure true if the call failed
+	 * @param slow true if the call was slow
+	 */
+	void record(boolean failure, boolean slow);
+
+	/**
+	 * @return the number of calls in the window
+	 */
+	int getNumberOfCalls();
+
+	/**
+	 * @return the number of failed calls in the window
+	 */
+	int getNumberOfFailedCalls();
+
+	/**
+	 * @return the number of slow calls in the window, whether they failed or not
+	 */
+	int getNumberOfSlowCalls();
+
+	/**
+	 * Forget all the recorded outcomes.
+	 */
+	void reset();
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2022 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,17 +15,22 @@
  */
 package org.springframework.retry.policy;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import org.springframework.retry.RetryContext;
 
 /**
  * Map-based implementation of {@link RetryContextCache}. The map backing the cache of
- * contexts is synchronized and its entries are soft-referenced, so may be garbage
- * collected under pressure.
+ * contexts is concurrent and its entries are soft-referenced, so may be garbage collected
+ * under pressure.
+ * <p>
+ * The references cleared by the garbage collector are queued, and their entries removed
+ * on the next write, so that only the live contexts count against the capacity.
  *
  * @see MapRetryContextCache for non-soft referenced version
  * @author Dave Syer
@@ -39,9 +44,14 @@ public class SoftReferenceMapRetryContextCache implements RetryContextCache {
 	 */
 	public static final int DEFAULT_CAPACITY = 4096;
 
-	private final Map<Object, SoftReference<RetryContext>> map = Collections.synchronizedMap(new HashMap<>());
+	// Stands for the null key, which a concurrent map does not accept
+	private static final Object NULL_KEY = new Object();
 
-	private int capacity;
+	private final ConcurrentMap<Object, ContextReference> map = new ConcurrentHashMap<>();
+
+	private final ReferenceQueue<RetryContext> queue = new ReferenceQueue<>();
+
+	private volatile int capacity;
 
 	/**
 	 * Create a {@link SoftReferenceMapRetryContextCache} with default capacity.
@@ -70,31 +80,133 @@ public class SoftReferenceMapRetryContextCache implements RetryContextCache {
 	}
 
 	public boolean containsKey(Object key) {
-		if (!map.containsKey(key)) {
-			return false;
+		return get(key) != null;
+	}
+
+	public RetryContext get(Object key) {
+		Object mapKey = mapKey(key);
+		ContextReference reference = map.get(mapKey);
+		if (reference == null) {
+			return null;
 		}
-		if (map.get(key).get() == null) {
+		RetryContext context = reference.get();
+		if (context == null) {
 			// our reference was garbage collected
-			map.remove(key);
+			map.remove(mapKey, reference);
 		}
-		return map.containsKey(key);
+		return context;
 	}
 
-	public RetryContext get(Object key) {
-		return map.get(key).get();
+	public void put(Object key, RetryContext context) {
+		expunge();
+		checkCapacity();
+		Object mapKey = mapKey(key);
+		map.put(mapKey, new ContextReference(mapKey, context, queue));
 	}
 
-	public void put(Object key, RetryContext context) {
+	public void remove(Object key) {
+		map.remove(mapKey(key));
+	}
+
+	@Override
+	public RetryContext computeIfAbsent(Object key, Function<Object, ? extends RetryContext> mappingFunction) {
+		expunge();
 		if (map.size() >= capacity) {
-			throw new RetryCacheCapacityExceededException("Retry cache capacity limit breached. "
-					+ "Do you need to re-consider the implementation of the key generator, "
-					+ "or the equals and hashCode of the items that failed?");
+			sweep();
 		}
-		map.put(key, new SoftReference<>(context));
+		Object mapKey = mapKey(key);
+		RetryContext[] result = new RetryContext[1];
+		map.compute(mapKey, (k, reference) -> {
+			RetryContext context = reference != null ? reference.get() : null;
+			if (context != null) {
+				result[0] = context;
+				return reference;
+			}
+			context = mappingFunction.apply(key);
+			result[0] = context;
+			if (context == null) {
+				// Also drops a garbage collected reference
+				return null;
+			}
+			if (reference == null && map.size() >= capacity) {
+				throw capacityExceeded();
+			}
+			return new ContextReference(mapKey, context, queue);
+		});
+		return result[0];
 	}
 
-	public void remove(Object key) {
-		map.remove(key);
+	@Override
+	public boolean replace(Object key, RetryContext context) {
+		expunge();
+		Object mapKey = mapKey(key);
+		ContextReference reference = map.get(mapKey);
+		return reference != null && reference.get() != null
+				&& map.replace(mapKey, reference, new ContextReference(mapKey, context, queue));
+	}
+
+	@Override
+	public boolean remove(Object key, RetryContext context) {
+		Object mapKey = mapKey(key);
+		ContextReference reference = map.get(mapKey);
+		return reference != null && reference.get() == context && map.remove(mapKey, reference);
+	}
+
+	/**
+	 * @return the number of contexts in the cache, not counting the ones known to have
+	 * been garbage collected
+	 */
+	public int size() {
+		expunge();
+		return map.size();
+	}
+
+	private void checkCapacity() {
+		if (map.size() >= capacity) {
+			// The garbage collector may have cleared references it has not queued yet
+			sweep();
+			if (map.size() >= capacity) {
+				throw capacityExceeded();
+			}
+		}
+	}
+
+	private RetryCacheCapacityExceededException capacityExceeded() {
+		return new RetryCacheCapacityExceededException("Retry cache capacity limit breached. "
+				+ "Do you need to re-consider the implementation of the key generator, "
+				+ "or the equals and hashCode of the items that failed?");
+	}
+
+	/**
+	 * Remove the entries of the references that the garbage collector has queued.
+	 */
+	private void expunge() {
+		Reference<? extends RetryContext> reference;
+		while ((reference = queue.poll()) != null) {
+			map.remove(((ContextReference) reference).key, reference);
+		}
+	}
+
+	/**
+	 * Remove the entries of all the cleared references, queued or not.
+	 */
+	private void sweep() {
+		map.values().removeIf(reference -> reference.get() == null);
+	}
+
+	private static Object mapKey(Object key) {
+		return key == null ? NULL_KEY : key;
+	}
+
+	private static final class ContextReference extends SoftReference<RetryContext> {
+
+		private final Object key;
+
+		private ContextReference(Object key, RetryContext context, ReferenceQueue<RetryContext> queue) {
+			super(context, queue);
+			this.key = key;
+		}
+
 	}
 
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SlidingWindow} over the calls of the last seconds, kept in a ring buffer of
+ * one bucket per second. A bucket is reused for a later second once the window has moved
+ * past it, and the buckets older than the window are ignored when reading the totals. A
+ * call recorded while its bucket is being reused by another thread may be lost, which is
+ * fine for a failure rate.
+ *
+ * @since 2.0.5
+ */
+@SuppressWarnings("serial")
+class TimeBasedSlidingWindow implements SlidingWindow {
+
+	private static final long BUCKET_MILLIS = 1000;
+
+	private static final long UNUSED = -1;
+
+	private final int size;
+
+	private final AtomicLongArray seconds;
+
+	private final AtomicIntegerArray calls;
+
+	private final AtomicIntegerArray failures;
+
+	private final AtomicIntegerArray slowCalls;
+
+	/**
+	 * Create a window over the given number of seconds.
+	 * @param size the number of seconds
+	 */
+	TimeBasedSlidingWindow(int size) {
+		Assert.isTrue(size > 0, "Sliding window size must be positive");
+		this.size = size;
+		this.seconds = new AtomicLongArray(size);
+		this.calls = new AtomicIntegerArray(size);
+		this.failures = new AtomicIntegerArray(size);
+		this.slowCalls = new AtomicIntegerArray(size);
+		for (int slot = 0; slot < size; slot++) {
+			this.seconds.set(slot, UNUSED);
+		}
+	}
+
+	@Override
+	public void record(boolean failure, boolean slow) {
+		long second = now();
+		int slot = (int) (second % this.size);
+		long current = this.seconds.get(slot);
+		if (current < second && this.seconds.compareAndSet(slot, current, second)) {
+			this.calls.set(slot, 0);
+			this.failures.set(slot, 0);
+			this.slowCalls.set(slot, 0);
+		}
+		this.calls.incrementAndGet(slot);
+		if (failure) {
+			this.failures.incrementAndGet(slot);
+		}
+		if (slow) {
+			this.slowCalls.incrementAndGet(slot);
+		}
+	}
+
+	@Override
+	public int getNumberOfCalls() {
+		return sum(this.calls);
+	}
+
+	@Override
+	public int getNumberOfFailedCalls() {
+		return sum(this.failures);
+	}
+
+	@Override
+	public int getNumberOfSlowCalls() {
+		return sum(this.slowCalls);
+	}
+
+	@Override
+	public void reset() {
+		for (int slot = 0; slot < this.size; slot++) {
+			this.seconds.set(slot, UNUSED);
+			this.calls.set(slot, 0);
+			this.failures.set(slot, 0);
+			this.slowCalls.set(slot, 0);
+		}
+	}
+
+	private int sum(AtomicIntegerArray counts) {
+		long oldest = now() - this.size;
+		int total = 0;
+		for (int slot = 0; slot < this.size; slot++) {
+			if (this.seconds.get(slot) > oldest) {
+				total += counts.get(slot);
+			}
+		}
+		return total;
+	}
+
+	private static long now() {
+		return System.currentTimeMillis() / BUCKET_MILLIS;
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.reactor;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.retry.RecoveryCallback;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryOperations;
+import org.springframework.retry.RetryState;
+
+/**
+ * Defines the basic set of operations to retry Project Reactor publishers with
+ * configurable retry behaviour. In contrast to {@link RetryOperations} an attempt fails
+ * when the publisher returned by the callback signals an error, not when the callback
+ * throws, and no thread is held while backing off between attempts.
+ * <p>
+ * Nothing happens until the returned publisher is subscribed to, and every subscription
+ * is retried independently.
+ *
+ * @since 2.0.5
+ * @see ReactorRetryTemplate
+ */
+public interface ReactorRetryOperations {
+
+	/**
+	 * Retry the {@link Mono} returned by the callback with the configured retry
+	 * semantics. The callback is invoked once per attempt.
+	 * @param <T> the type of the result
+	 * @param retryCallback the {@link RetryCallback} supplying each attempt
+	 * @return a {@link Mono} emitting the result of the first successful attempt, or the
+	 * last error once retries are exhausted.
+	 */
+	<T> Mono<T> executeMono(RetryCallback<? extends Mono<T>, ?> retryCallback);
+
+	/**
+	 * Retry the {@link Mono} returned by the callback with a fallback on exhausted retry
+	 * to the {@link RecoveryCallback}, and optionally with stateful retry semantics.
+	 * @param <T> the type of the result
+	 * @param retryCallback the {@link RetryCallback} supplying each attempt
+	 * @param recoveryCallback the {@link RecoveryCallback} providing the fallback (might
+	 * be null)
+	 * @param retryState the {@link RetryState} identifying a stateful retry (might be
+	 * null)
+	 * @return a {@link Mono} emitting the result of the first successful attempt, or of
+	 * the recovery callback once retries are exhausted.
+	 */
+	<T> Mono<T> executeMono(RetryCallback<? extends Mono<T>, ?> retryCallback,
+			RecoveryCallback<? extends Mono<T>> recoveryCallback, RetryState retryState);
+
+	/**
+	 * Retry the {@link Publisher} returned by the callback with the configured retry
+	 * semantics. The callback is invoked once per attempt. Elements emitted by a failed
+	 * attempt have already been passed downstream and are emitted again by the next one.
+	 * @param <T> the type of the elements
+	 * @param retryCallback the {@link RetryCallback} supplying each attempt
+	 * @return a {@link Flux} emitting the elements of the attempts, terminated by the
+	 * last error once retries are exhausted.
+	 */
+	<T> Flux<T> executeFlux(RetryCallback<? extends Publisher<T>, ?> retryCallback);
+
+	/**
+	 * Retry the {@link Publisher} returned by the callback with a fallback on exhausted
+	 * retry to the {@link RecoveryCallback}, and optionally with stateful retry
+	 * semantics.
+	 * @param <T> the type of the elements
+	 * @param retryCallback the {@link RetryCallback} supplying each attempt
+	 * @param recoveryCallback the {@link RecoveryCallback} providing the fallback (might
+	 * be null)
+	 * @param retryState the {@link RetryState} identifying a stateful retry (might be
+	 * null)
+	 * @return a {@link Flux} emitting the elements of the attempts, followed by those of
+	 * the recovery callback once retries are exhausted.
+	 */
+	<T> Flux<T> executeFlux(RetryCallback<? extends Publisher<T>, ?> retryCallback,
+			RecoveryCallback<? extends Publisher<T>> recoveryCallback, RetryState retryState);
+
+}
@@ -0,0 +1,583 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.reactor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.retry.ExhaustedRetryException;
+import org.springframework.retry.RecoveryCallback;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryException;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.RetryPolicy;
+import org.springframework.retry.RetryState;
+import org.springframework.retry.TerminatedRetryException;
+import org.springframework.retry.backoff.BackOffContext;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.DelayComputingBackOffPolicy;
+import org.springframework.retry.backoff.NoBackOffPolicy;
+import org.springframework.retry.context.SharedRetryContext;
+import org.springframework.retry.listener.RetryListenerDispatcher;
+import org.springframework.retry.policy.MapRetryContextCache;
+import org.springframework.retry.policy.RetryContextCache;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetrySynchronizationManager;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.util.Assert;
+
+/**
+ * Template class that retries Project Reactor publishers with the same
+ * {@link RetryPolicy}, {@link BackOffPolicy}, {@link RetryListener} and
+ * {@link RetryContextCache} contracts as {@link RetryTemplate}, so that for instance a
+ * {@link org.springframework.retry.stats.StatisticsListener} or a
+ * {@link org.springframework.retry.policy.CircuitBreakerRetryPolicy} behave the same for
+ * reactive and for blocking calls.
+ * <p>
+ * An attempt subscribes to the publisher returned by the {@link RetryCallback} and fails
+ * when that publisher signals an error. The next attempt is then delayed on a
+ * {@link Scheduler}, by default {@link Schedulers#parallel()}, for the period computed by
+ * a {@link DelayComputingBackOffPolicy}, so no thread sleeps while backing off. Any other
+ * {@link BackOffPolicy} backs off by itself before the next attempt is scheduled. An
+ * attempt succeeds when its publisher completes, and the listeners are passed the last
+ * element it emitted.
+ * <p>
+ * With a {@link RetryState} the retry is stateful: the {@link RetryContext} is kept in
+ * the {@link RetryContextCache} and a failed attempt is passed downstream unless the
+ * state says it should not be rolled back, exactly like {@link RetryTemplate} rethrows
+ * it.
+ * <p>
+ * The {@link RetryContext} is registered with the {@link RetrySynchronizationManager}
+ * while the callback, the policies and the listeners are invoked, and has no parent.
+ * <p>
+ * This class is thread-safe and suitable for concurrent access when executing operations
+ * and when performing configuration changes.
+ *
+ * @since 2.0.5
+ * @see RetryTemplate
+ */
+public class ReactorRetryTemplate implements ReactorRetryOperations {
+
+	private static final String BACK_OFF_CONTEXT = "backOffContext";
+
+	private static final String GLOBAL_STATE = "state.global";
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private volatile BackOffPolicy backOffPolicy = new NoBackOffPolicy();
+
+	private volatile RetryPolicy retryPolicy = new SimpleRetryPolicy(3);
+
+	private volatile RetryListenerDispatcher dispatcher = RetryListenerDispatcher.EMPTY;
+
+	private volatile RetryContextCache retryContextCache = new MapRetryContextCache();
+
+	private volatile Scheduler scheduler = Schedulers.parallel();
+
+	/**
+	 * Setter for listeners. The listeners are executed before and after a retry block
+	 * (i.e. before and after all the attempts), and on an error (every attempt).
+	 * @param listeners the {@link RetryListener}s
+	 * @see RetryListener
+	 */
+	public void setListeners(RetryListener[] listeners) {
+		this.dispatcher = RetryListenerDispatcher.of(listeners);
+	}
+
+	/**
+	 * Register an additional listener at the end of the list.
+	 * @param listener the {@link RetryListener}
+	 * @see #setListeners(RetryListener[])
+	 */
+	public void registerListener(RetryListener listener) {
+		this.dispatcher = this.dispatcher.with(listener, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Setter for {@link BackOffPolicy}. A {@link DelayComputingBackOffPolicy} is only
+	 * asked for the delay before the next attempt; any other policy backs off by itself
+	 * before the next attempt is scheduled.
+	 * @param backOffPolicy the {@link BackOffPolicy}
+	 */
+	public void setBackOffPolicy(BackOffPolicy backOffPolicy) {
+		Assert.notNull(backOffPolicy, "'backOffPolicy' cannot be null");
+		this.backOffPolicy = backOffPolicy;
+	}
+
+	/**
+	 * Setter for {@link RetryPolicy}.
+	 * @param retryPolicy the {@link RetryPolicy}
+	 */
+	public void setRetryPolicy(RetryPolicy retryPolicy) {
+		Assert.notNull(retryPolicy, "'retryPolicy' cannot be null");
+		this.retryPolicy = retryPolicy;
+	}
+
+	/**
+	 * Public setter for the {@link RetryContextCache} used by stateful retries.
+	 * @param retryContextCache the {@link RetryContextCache} to set
+	 */
+	public void setRetryContextCache(RetryContextCache retryContextCache) {
+		Assert.notNull(retryContextCache, "'retryContextCache' cannot be null");
+		this.retryContextCache = retryContextCache;
+	}
+
+	/**
+	 * Setter for the {@link Scheduler} on which attempts are made after a back off.
+	 * Defaults to {@link Schedulers#parallel()}.
+	 * @param scheduler the scheduler
+	 */
+	public void setScheduler(Scheduler scheduler) {
+		Assert.notNull(scheduler, "'scheduler' cannot be null");
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public <T> Mono<T> executeMono(RetryCallback<? extends Mono<T>, ?> retryCallback) {
+		return Mono.fromDirect(doExecute(retryCallback, null, null));
+	}
+
+	@Override
+	public <T> Mono<T> executeMono(RetryCallback<? extends Mono<T>, ?> retryCallback,
+			RecoveryCallback<? extends Mono<T>> recoveryCallback, RetryState retryState) {
+		return Mono.fromDirect(doExecute(retryCallback, recoveryCallback, retryState));
+	}
+
+	@Override
+	public <T> Flux<T> executeFlux(RetryCallback<? extends Publisher<T>, ?> retryCallback) {
+		return doExecute(retryCallback, null, null);
+	}
+
+	@Override
+	public <T> Flux<T> executeFlux(RetryCallback<? extends Publisher<T>, ?> retryCallback,
+			RecoveryCallback<? extends Publisher<T>> recoveryCallback, RetryState retryState) {
+		return doExecute(retryCallback, recoveryCallback, retryState);
+	}
+
+	/**
+	 * Create a {@link Flux} that retries the callback once per subscription.
+	 * @param retryCallback the {@link RetryCallback} supplying each attempt
+	 * @param recoveryCallback the {@link RecoveryCallback} (might be null)
+	 * @param retryState the {@link RetryState} (might be null)
+	 * @param <T> the type of the elements
+	 * @return the retrying {@link Flux}
+	 */
+	protected <T> Flux<T> doExecute(RetryCallback<? extends Publisher<T>, ?> retryCallback,
+			RecoveryCallback<? extends Publisher<T>> recoveryCallback, RetryState retryState) {
+		Assert.notNull(retryCallback, "'retryCallback' cannot be null");
+		return Flux.defer(() -> new ReactorRetryExecution<>(retryCallback, recoveryCallback, retryState,
+				this.retryPolicy, this.backOffPolicy, this.dispatcher, this.retryContextCache, this.scheduler)
+			.start());
+	}
+
+	/**
+	 * The state of a retry for a single subscription. Its methods are never invoked
+	 * concurrently: each attempt is subscribed to once the previous one has terminated.
+	 */
+	private final class ReactorRetryExecution<T> {
+
+		private final RetryCallback<Object, ?> callback;
+
+		private final RecoveryCallback<? extends Publisher<T>> recoveryCallback;
+
+		private final RetryState state;
+
+		private final RetryPolicy retryPolicy;
+
+		private final BackOffPolicy backOffPolicy;
+
+		private final RetryListenerDispatcher dispatcher;
+
+		private final RetryContextCache retryContextCache;
+
+		private final Scheduler scheduler;
+
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private volatile RetryContext context;
+
+		/**
+		 * The context passed to the policy, the context of this call if the context is
+		 * shared.
+		 */
+		private volatile RetryContext call;
+
+		private volatile BackOffContext backOffContext;
+
+		private volatile Throwable lastException;
+
+		private volatile boolean exhausted;
+
+		private volatile T lastValue;
+
+		// Timed here rather than on the context, which concurrent calls may share
+
+		private volatile long callStart;
+
+		private volatile long attemptStart;
+
+		private volatile boolean attemptTimed;
+
+		@SuppressWarnings("unchecked")
+		private ReactorRetryExecution(RetryCallback<? extends Publisher<T>, ?> callback,
+				RecoveryCallback<? extends Publisher<T>> recoveryCallback, RetryState state, RetryPolicy retryPolicy,
+				BackOffPolicy backOffPolicy, RetryListenerDispatcher dispatcher, RetryContextCache retryContextCache,
+				Scheduler scheduler) {
+			this.callback = (RetryCallback<Object, ?>) (RetryCallback<?, ?>) callback;
+			this.recoveryCallback = recoveryCallback;
+			this.state = state;
+			this.retryPolicy = retryPolicy;
+			this.backOffPolicy = backOffPolicy;
+			this.dispatcher = dispatcher;
+			this.retryContextCache = retryContextCache;
+			this.scheduler = scheduler;
+		}
+
+		Flux<T> start() {
+			this.context = open();
+			this.call = SharedRetryContext.openCall(this.context);
+			if (this.dispatcher.hasLatencyListeners()) {
+				this.callStart = System.nanoTime();
+			}
+			if (ReactorRetryTemplate.this.logger.isTraceEnabled()) {
+				ReactorRetryTemplate.this.logger.trace("RetryContext retrieved: " + this.context);
+			}
+			RetryContext previous = bind();
+			try {
+				if (!doOpenInterceptors()) {
+					return closing(Flux.error(new TerminatedRetryException(
+							"Retry terminated abnormally by interceptor before first attempt")));
+				}
+				this.backOffContext = (BackOffContext) this.context.getAttribute(BACK_OFF_CONTEXT);
+				if (this.backOffContext == null) {
+					this.backOffContext = this.backOffPolicy.start(this.context);
+					if (this.backOffContext != null) {
+						this.context.setAttribute(BACK_OFF_CONTEXT, this.backOffContext);
+					}
+				}
+			}
+			catch (Throwable ex) {
+				return closing(Flux.error(ex));
+			}
+			finally {
+				unbind(previous);
+			}
+			return closing(attempt());
+		}
+
+		private Flux<T> closing(Flux<T> flux) {
+			return flux.doOnTerminate(this::close).doOnCancel(this::close);
+		}
+
+		@SuppressWarnings("unchecked")
+		private Flux<T> attempt() {
+			Publisher<T> publisher;
+			RetryContext previous = bind();
+			try {
+				if (!canRetry()) {
+					return exhausted();
+				}
+				if (ReactorRetryTemplate.this.logger.isDebugEnabled()) {
+					ReactorRetryTemplate.this.logger.debug("Retry: count=" + this.context.getRetryCount());
+				}
+				this.lastException = null;
+				this.lastValue = null;
+				if (this.dispatcher.hasLatencyListeners()) {
+					this.attemptTimed = true;
+					this.attemptStart = System.nanoTime();
+				}
+				publisher = (Publisher<T>) this.callback.doWithRetry(this.context);
+				Assert.state(publisher != null, "Retry callback returned a null Publisher");
+			}
+			catch (Throwable ex) {
+				return onError(ex);
+			}
+			finally {
+				unbind(previous);
+			}
+			return Flux.from(publisher)
+				.doOnNext(value -> this.lastValue = value)
+				.concatWith(Mono.defer(this::onSuccess))
+				.onErrorResume(this::onError);
+		}
+
+		private Mono<T> onSuccess() {
+			RetryContext previous = bind();
+			try {
+				endAttempt();
+				doOnSuccessInterceptors(this.lastValue);
+			}
+			finally {
+				unbind(previous);
+			}
+			return Mono.empty();
+		}
+
+		private Flux<T> onError(Throwable throwable) {
+			this.lastException = throwable;
+			RetryContext previous = bind();
+			try {
+				endAttempt();
+				try {
+					this.retryPolicy.registerThrowable(this.call, throwable);
+					registerContext();
+				}
+				catch (Exception ex) {
+					return Flux.error(new TerminatedRetryException("Could not register throwable", ex));
+				}
+				finally {
+					doOnErrorInterceptors(throwable);
+				}
+				boolean canRetry = canRetry();
+				boolean timed = canRetry && this.dispatcher.hasBackOffListeners();
+				long start = timed ? System.nanoTime() : 0;
+				long delay = canRetry ? backOff() : 0;
+				if (this.state != null && this.state.rollbackFor(throwable)) {
+					if (ReactorRetryTemplate.this.logger.isDebugEnabled()) {
+						ReactorRetryTemplate.this.logger
+							.debug("Rethrow in retry for policy: count=" + this.context.getRetryCount());
+					}
+					return after(delay, timed, start, () -> Flux.error(throwable));
+				}
+				if (this.state != null && isGlobalState()) {
+					return after(delay, timed, start, this::exhausted);
+				}
+				if (ReactorRetryTemplate.this.logger.isDebugEnabled()) {
+					ReactorRetryTemplate.this.logger.debug("Scheduling retry in " + TimeUnit.NANOSECONDS.toMillis(delay)
+							+ "ms: count=" + this.context.getRetryCount());
+				}
+				return after(delay, timed, start, this::attempt);
+			}
+			catch (Throwable ex) {
+				return Flux.error(ex);
+			}
+			finally {
+				unbind(previous);
+			}
+		}
+
+		/**
+		 * Subscribe to the next step once the back off has elapsed. Even without a delay
+		 * the step is made on the scheduler, so that a long series of synchronously
+		 * failing attempts does not grow the stack. When timed, the listeners are told
+		 * how long the back off took since the given start.
+		 */
+		private Flux<T> after(long delay, boolean timed, long start, Supplier<Flux<T>> next) {
+			return Mono.delay(Duration.ofNanos(delay), this.scheduler).thenMany(Flux.defer(() -> {
+				RetryContext previous = bind();
+				try {
+					if (timed) {
+						doOnBackOffInterceptors(System.nanoTime() - start);
+					}
+					return next.get();
+				}
+				finally {
+					unbind(previous);
+				}
+			}));
+		}
+
+		private Flux<T> exhausted() {
+			if (ReactorRetryTemplate.this.logger.isDebugEnabled()) {
+				ReactorRetryTemplate.this.logger
+					.debug("Retry failed last attempt: count=" + this.context.getRetryCount());
+			}
+			this.exhausted = true;
+			this.context.setAttribute(RetryContext.EXHAUSTED, true);
+			if (this.state != null && !isGlobalState()) {
+				this.retryContextCache.remove(this.state.getKey(), this.context);
+			}
+			boolean doRecover = !Boolean.TRUE.equals(this.context.getAttribute(RetryContext.NO_RECOVERY));
+			if (this.recoveryCallback != null && doRecover) {
+				Publisher<T> recovered;
+				try {
+					recovered = this.recoveryCallback.recover(this.context);
+					Assert.state(recovered != null, "Recovery callback returned a null Publisher");
+				}
+				catch (Throwable ex) {
+					return Flux.error(ex);
+				}
+				this.context.setAttribute(RetryContext.RECOVERED, true);
+				return Flux.from(recovered);
+			}
+			Throwable last = this.context.getLastThrowable();
+			if (this.state != null && doRecover) {
+				return Flux.error(
+						new ExhaustedRetryException("Retry exhausted after last attempt with no recovery path", last));
+			}
+			return Flux
+				.error(last != null ? last : new ExhaustedRetryException("Retry exhausted before first attempt"));
+		}
+
+		private RetryContext open() {
+			if (this.state == null) {
+				return doOpenInternal();
+			}
+			Object key = this.state.getKey();
+			if (key == null || this.state.isForceRefresh()) {
+				return doOpenInternal();
+			}
+			// A single atomic lookup, storing a global context as soon as it is created
+			RetryContext[] created = new RetryContext[1];
+			RetryContext context = this.retryContextCache.computeIfAbsent(key, k -> {
+				created[0] = doOpen();
+				return created[0].hasAttribute(GLOBAL_STATE) ? created[0] : null;
+			});
+			if (context == null || context == created[0]) {
+				return created[0];
+			}
+			context.removeAttribute(RetryContext.CLOSED);
+			context.removeAttribute(RetryContext.EXHAUSTED);
+			context.removeAttribute(RetryContext.RECOVERED);
+			return context;
+		}
+
+		private RetryContext doOpenInternal() {
+			RetryContext context = doOpen();
+			if (this.state != null && this.state.getKey() != null && context.hasAttribute(GLOBAL_STATE)) {
+				this.retryContextCache.put(this.state.getKey(), context);
+			}
+			return context;
+		}
+
+		private RetryContext doOpen() {
+			RetryContext context = this.retryPolicy.open(null);
+			if (this.state != null) {
+				context.setAttribute(RetryContext.STATE_KEY, this.state.getKey());
+			}
+			return context;
+		}
+
+		private void registerContext() {
+			if (this.state != null && this.state.getKey() != null) {
+				Object key = this.state.getKey();
+				boolean global = isGlobalState();
+				if (global || this.context.getRetryCount() > 1) {
+					// Stored already, when opened or when it first failed
+					if (!this.retryContextCache.replace(key, this.context) && !global) {
+						throw new RetryException("Inconsistent state for failed item key: cache key has changed. "
+								+ "Consider whether equals() or hashCode() for the key might be inconsistent, "
+								+ "or if you need to supply a better key");
+					}
+				}
+				else {
+					this.retryContextCache.put(key, this.context);
+				}
+			}
+		}
+
+		private boolean isGlobalState() {
+			return this.context.hasAttribute(GLOBAL_STATE);
+		}
+
+		private long backOff() {
+			if (this.backOffPolicy instanceof DelayComputingBackOffPolicy) {
+				return ((DelayComputingBackOffPolicy) this.backOffPolicy).computeDelayNanos(this.backOffContext);
+			}
+			this.backOffPolicy.backOff(this.backOffContext);
+			return 0;
+		}
+
+		/**
+		 * Tell the listeners how long the current attempt took, unless it was told
+		 * already, as when a listener fails a successful attempt.
+		 */
+		private void endAttempt() {
+			if (this.attemptTimed) {
+				this.attemptTimed = false;
+				this.dispatcher.onAttemptLatency(this.context, this.callback, System.nanoTime() - this.attemptStart);
+			}
+		}
+
+		private boolean canRetry() {
+			return this.retryPolicy.canRetry(this.call) && !this.context.isExhaustedOnly();
+		}
+
+		private void close() {
+			if (!this.closed.compareAndSet(false, true)) {
+				return;
+			}
+			RetryContext previous = bind();
+			try {
+				if (this.state == null || this.lastException == null || this.exhausted) {
+					if (this.state != null && !isGlobalState()) {
+						this.retryContextCache.remove(this.state.getKey(), this.context);
+					}
+					this.retryPolicy.close(this.call);
+					this.context.setAttribute(RetryContext.CLOSED, true);
+				}
+			}
+			finally {
+				try {
+					if (this.dispatcher.hasLatencyListeners()) {
+						this.dispatcher.onCallLatency(this.context, this.callback, System.nanoTime() - this.callStart);
+					}
+					doCloseInterceptors();
+				}
+				finally {
+					unbind(previous);
+				}
+			}
+		}
+
+		private RetryContext bind() {
+			return RetrySynchronizationManager.register(this.context);
+		}
+
+		private void unbind(RetryContext previous) {
+			if (previous != null) {
+				RetrySynchronizationManager.register(previous);
+			}
+			else {
+				RetrySynchronizationManager.clear();
+			}
+		}
+
+		private boolean doOpenInterceptors() {
+			return this.dispatcher.open(this.context, this.callback);
+		}
+
+		private void doCloseInterceptors() {
+			this.dispatcher.close(this.context, this.callback, this.lastException);
+		}
+
+		private void doOnSuccessInterceptors(T value) {
+			this.dispatcher.onSuccess(this.context, this.callback, value);
+		}
+
+		private void doOnErrorInterceptors(Throwable throwable) {
+			this.dispatcher.onError(this.context, this.callback, throwable);
+		}
+
+		private void doOnBackOffInterceptors(long nanos) {
+			this.dispatcher.onBackOff(this.context, this.callback, nanos);
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2022 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,17 @@
 
 package org.springframework.retry.stats;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.core.AttributeAccessorSupport;
 import org.springframework.retry.RetryStatistics;
 
 /**
+ * Default {@link MutableRetryStatistics}. The counters are {@link LongAdder}s, so that
+ * threads counting events for the same block do not contend. The latencies of the
+ * attempts and of the whole blocks, and the time spent backing off, are recorded in
+ * {@link LatencyHistogram}s.
+ *
  * @author Dave Syer
  *
  */
@@ -31,15 +36,21 @@ public class DefaultRetryStatistics extends AttributeAccessorSupport
 
 	private String name;
 
-	private final AtomicInteger startedCount = new AtomicInteger();
+	private final LongAdder startedCount = new LongAdder();
+
+	private final LongAdder completeCount = new LongAdder();
+
+	private final LongAdder recoveryCount = new LongAdder();
 
-	private final AtomicInteger completeCount = new AtomicInteger();
+	private final LongAdder errorCount = new LongAdder();
 
-	private final AtomicInteger recoveryCount = new AtomicInteger();
+	private final LongAdder abortCount = new LongAdder();
 
-	private final AtomicInteger errorCount = new AtomicInteger();
+	private final LatencyHistogram attemptLatency = new LatencyHistogram();
 
-	private final AtomicInteger abortCount = new AtomicInteger();
+	private final LatencyHistogram callLatency = new LatencyHistogram();
+
+	private final LatencyHistogram backOffTime = new LatencyHistogram();
 
 	DefaultRetryStatistics() {
 	}
@@ -50,22 +61,22 @@ public class DefaultRetryStatistics extends AttributeAccessorSupport
 
 	@Override
 	public int getCompleteCount() {
-		return completeCount.get();
+		return (int) this.completeCount.sum();
 	}
 
 	@Override
 	public int getStartedCount() {
-		return startedCount.get();
+		return (int) this.startedCount.sum();
 	}
 
 	@Override
 	public int getErrorCount() {
-		return errorCount.get();
+		return (int) this.errorCount.sum();
 	}
 
 	@Override
 	public int getAbortCount() {
-		return abortCount.get();
+		return (int) this.abortCount.sum();
 	}
 
 	@Override
@@ -75,7 +86,56 @@ public class DefaultRetryStatistics extends AttributeAccessorSupport
 
 	@Override
 	public int getRecoveryCount() {
-		return recoveryCount.get();
+		return (int) this.recoveryCount.sum();
+	}
+
+	@Override
+	public long getCompleteTotal() {
+		return this.completeCount.sum();
+	}
+
+	@Override
+	public long getStartedTotal() {
+		return this.startedCount.sum();
+	}
+
+	@Override
+	public long getErrorTotal() {
+		return this.errorCount.sum();
+	}
+
+	@Override
+	public long getAbortTotal() {
+		return this.abortCount.sum();
+	}
+
+	@Override
+	public long getRecoveryTotal() {
+		return this.recoveryCount.sum();
+	}
+
+	/**
+	 * @return the latencies of the attempts
+	 * @since 2.0.5
+	 */
+	public LatencyHistogram getAttemptLatency() {
+		return this.attemptLatency;
+	}
+
+	/**
+	 * @return the latencies of the retry blocks, from start to end across all attempts
+	 * @since 2.0.5
+	 */
+	public LatencyHistogram getCallLatency() {
+		return this.callLatency;
+	}
+
+	/**
+	 * @return the times spent backing off between two attempts
+	 * @since 2.0.5
+	 */
+	public LatencyHistogram getBackOffTime() {
+		return this.backOffTime;
 	}
 
 	public void setName(String name) {
@@ -84,27 +144,42 @@ public class DefaultRetryStatistics extends AttributeAccessorSupport
 
 	@Override
 	public void incrementStartedCount() {
-		this.startedCount.incrementAndGet();
+		this.startedCount.increment();
 	}
 
 	@Override
 	public void incrementCompleteCount() {
-		this.completeCount.incrementAndGet();
+		this.completeCount.increment();
 	}
 
 	@Override
 	public void incrementRecoveryCount() {
-		this.recoveryCount.incrementAndGet();
+		this.recoveryCount.increment();
 	}
 
 	@Override
 	public void incrementErrorCount() {
-		this.errorCount.incrementAndGet();
+		this.errorCount.increment();
 	}
 
 	@Override
 	public void incrementAbortCount() {
-		this.abortCount.incrementAndGet();
+		this.abortCount.increment();
+	}
+
+	@Override
+	public void recordAttemptLatency(long nanos) {
+		this.attemptLatency.record(nanos);
+	}
+
+	@Override
+	public void recordCallLatency(long nanos) {
+		this.callLatency.record(nanos);
+	}
+
+	@Override
+	public void recordBackOffTime(long nanos) {
+		this.backOffTime.record(nanos);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2022 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.springframework.retry.stats;
 import java.util.ArrayList;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 
 import org.springframework.retry.RetryStatistics;
 
@@ -46,6 +47,11 @@ public class DefaultStatisticsRepository implements StatisticsRepository {
 		return new ArrayList<>(map.values());
 	}
 
+	@Override
+	public void forEach(Consumer<? super RetryStatistics> action) {
+		this.map.values().forEach(action);
+	}
+
 	@Override
 	public void addStarted(String name) {
 		getStatistics(name).incrementStartedCount();
@@ -71,12 +77,28 @@ public class DefaultStatisticsRepository implements StatisticsRepository {
 		getStatistics(name).incrementAbortCount();
 	}
 
-	private MutableRetryStatistics getStatistics(String name) {
-		MutableRetryStatistics stats;
-		if (!map.containsKey(name)) {
-			map.putIfAbsent(name, factory.create(name));
+	@Override
+	public void addAttemptLatency(String name, long nanos) {
+		getStatistics(name).recordAttemptLatency(nanos);
+	}
+
+	@Override
+	public void addCallLatency(String name, long nanos) {
+		getStatistics(name).recordCallLatency(nanos);
+	}
+
+	@Override
+	public void addBackOffTime(String name, long nanos) {
+		getStatistics(name).recordBackOffTime(nanos);
+	}
+
+	@Override
+	public MutableRetryStatistics getStatistics(String name) {
+		// Look up first, as computeIfAbsent locks even when the statistics exist
+		MutableRetryStatistics stats = this.map.get(name);
+		if (stats == null) {
+			stats = this.map.computeIfAbsent(name, this.factory::create);
 		}
-		stats = map.get(name);
 		return stats;
 	}
 
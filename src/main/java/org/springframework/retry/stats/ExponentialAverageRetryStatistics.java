@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,19 @@
 
 package org.springframework.retry.stats;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
+ * {@link DefaultRetryStatistics} with rolling counts that decay exponentially over a time
+ * window.
+ * <p>
+ * The rolling counts are updated without locking. Events are counted in a
+ * {@link LongAdder} and folded into the decayed value once per tick of a hundredth of the
+ * window, as in a load average meter, so an event costs a clock read and an increment.
+ * Events not yet folded are decayed from the last tick, which undercounts them by at most
+ * one percent.
+ *
  * @author Dave Syer
  *
  */
@@ -114,27 +126,83 @@ public class ExponentialAverageRetryStatistics extends DefaultRetryStatistics {
 		abort.increment();
 	}
 
-	private class ExponentialAverage {
+	private static final class ExponentialAverage {
+
+		private static final int TICKS_PER_WINDOW = 100;
 
 		private final double alpha;
 
+		private final long tick;
+
+		/**
+		 * All the events counted so far, never reset so that no increment is lost.
+		 */
+		private final LongAdder count = new LongAdder();
+
+		private final AtomicBoolean folding = new AtomicBoolean();
+
+		/**
+		 * Odd while a fold is in progress, so that the value, its time and the count it
+		 * includes are read together.
+		 */
+		private volatile int version;
+
 		private volatile long lastTime = System.currentTimeMillis();
 
 		private volatile double value = 0;
 
-		public ExponentialAverage(long window) {
-			alpha = 1. / window;
+		private volatile long folded;
+
+		private ExponentialAverage(long window) {
+			this.alpha = 1. / window;
+			this.tick = Math.max(1, window / TICKS_PER_WINDOW);
 		}
 
-		public synchronized void increment() {
+		private void increment() {
 			long time = System.currentTimeMillis();
-			value = value * Math.exp(-alpha * (time - lastTime)) + 1;
-			lastTime = time;
+			if (time - this.lastTime >= this.tick) {
+				fold(time);
+			}
+			this.count.increment();
 		}
 
-		public double getValue() {
-			long time = System.currentTimeMillis();
-			return value * Math.exp(-alpha * (time - lastTime));
+		private double getValue() {
+			while (true) {
+				int version = this.version;
+				if ((version & 1) == 0) {
+					double value = this.value;
+					long last = this.lastTime;
+					long pending = this.count.sum() - this.folded;
+					if (this.version == version) {
+						return (value + pending) * Math.exp(-this.alpha * (System.currentTimeMillis() - last));
+					}
+				}
+			}
+		}
+
+		/**
+		 * Decay the value to the given time and add the events counted since the last
+		 * fold. Only one thread folds at a time, the others count their events as
+		 * pending.
+		 */
+		private void fold(long time) {
+			if (this.folding.compareAndSet(false, true)) {
+				try {
+					long last = this.lastTime;
+					if (time - last >= this.tick) {
+						long count = this.count.sum();
+						double value = (this.value + count - this.folded) * Math.exp(-this.alpha * (time - last));
+						this.version++;
+						this.value = value;
+						this.lastTime = time;
+						this.folded = count;
+						this.version++;
+					}
+				}
+				finally {
+					this.folding.set(false);
+				}
+			}
 		}
 
 	}
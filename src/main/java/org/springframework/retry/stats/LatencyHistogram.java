@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.stats;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * Histogram of durations in nanoseconds with log-linear buckets: each power of two is
+ * split in {@value #SUB_BUCKETS} buckets of equal width, so that a recorded duration is
+ * known within about 6% of its value. Durations above about 73 minutes share the last
+ * bucket. The buckets are fixed when the histogram is created, recording a duration is
+ * lock-free, and histograms can be merged.
+ *
+ * @since 2.0.5
+ */
+@SuppressWarnings("serial")
+public class LatencyHistogram implements Serializable {
+
+	private static final int SUB_BUCKET_BITS = 4;
+
+	/**
+	 * The number of buckets a power of two is split in.
+	 */
+	public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * Durations from {@code 2^MAX_EXPONENT} nanoseconds go in the last bucket.
+	 */
+	private static final int MAX_EXPONENT = 42;
+
+	private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	private final LongAdder sum = new LongAdder();
+
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Record a duration. Negative durations are recorded as zero.
+	 * @param nanos the duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		this.counts.incrementAndGet(index(value));
+		this.sum.add(value);
+		long max = this.max.get();
+		while (value > max && !this.max.compareAndSet(max, value)) {
+			max = this.max.get();
+		}
+	}
+
+	/**
+	 * Add the durations recorded by another histogram to this one.
+	 * @param other the histogram to merge
+	 */
+	public void merge(LatencyHistogram other) {
+		Assert.notNull(other, "'other' cannot be null");
+		for (int i = 0; i < BUCKETS; i++) {
+			long count = other.counts.get(i);
+			if (count > 0) {
+				this.counts.addAndGet(i, count);
+			}
+		}
+		this.sum.add(other.getSum());
+		long value = other.getMax();
+		long max = this.max.get();
+		while (value > max && !this.max.compareAndSet(max, value)) {
+			max = this.max.get();
+		}
+	}
+
+	/**
+	 * @return the number of recorded durations
+	 */
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			count += this.counts.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * @return the sum of the recorded durations in nanoseconds
+	 */
+	public long getSum() {
+		return this.sum.sum();
+	}
+
+	/**
+	 * @return the longest recorded duration in nanoseconds, exactly
+	 */
+	public long getMax() {
+		return this.max.get();
+	}
+
+	/**
+	 * Return the duration that the given percentage of the recorded durations do not
+	 * exceed, as the upper bound of its bucket, for instance {@code 99.9} for the p999.
+	 * @param percentile the percentage, between 0 and 100
+	 * @return the duration in nanoseconds, or 0 if nothing was recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		Assert.isTrue(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100");
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = this.counts.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(upperBound(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Return the count of each bucket and its upper bound in nanoseconds, in increasing
+	 * order of the bounds, skipping the empty buckets.
+	 * @param consumer the consumer of the buckets
+	 */
+	public void forEachBucket(BucketConsumer consumer) {
+		for (int i = 0; i < BUCKETS; i++) {
+			long count = this.counts.get(i);
+			if (count > 0) {
+				consumer.accept(upperBound(i), count);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "LatencyHistogram [count=" + getCount() + ", p50=" + getValueAtPercentile(50) + ", p99="
+				+ getValueAtPercentile(99) + ", p999=" + getValueAtPercentile(99.9) + ", max=" + getMax() + "]";
+	}
+
+	static int index(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		if (exponent >= MAX_EXPONENT) {
+			return BUCKETS - 1;
+		}
+		int shift = exponent - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+	}
+
+	static long upperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		if (index == BUCKETS - 1) {
+			return Long.MAX_VALUE;
+		}
+		int shift = index / SUB_BUCKETS - 1;
+		long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+		return lowerBound + (1L << shift) - 1;
+	}
+
+	/**
+	 * Consumer of the buckets of a histogram.
+	 */
+	@FunctionalInterface
+	public interface BucketConsumer {
+
+		/**
+		 * Accept a bucket.
+		 * @param upperBound the longest duration in the bucket, in nanoseconds
+		 * @param count the number of durations in the bucket
+		 */
+		void accept(long upperBound, long count);
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,4 +35,28 @@ public interface MutableRetryStatistics extends RetryStatistics, AttributeAccess
 
 	void incrementAbortCount();
 
+	/**
+	 * Record how long an attempt took.
+	 * @param nanos the duration of the attempt in nanoseconds
+	 * @since 2.0.5
+	 */
+	default void recordAttemptLatency(long nanos) {
+	}
+
+	/**
+	 * Record how long a retry block took from start to end, across all its attempts.
+	 * @param nanos the duration of the block in nanoseconds
+	 * @since 2.0.5
+	 */
+	default void recordCallLatency(long nanos) {
+	}
+
+	/**
+	 * Record how long a retry block backed off between two attempts.
+	 * @param nanos the duration of the back off in nanoseconds
+	 * @since 2.0.5
+	 */
+	default void recordBackOffTime(long nanos) {
+	}
+
 }
\ No newline at end of file
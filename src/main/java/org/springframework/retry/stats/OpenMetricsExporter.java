@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.stats;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+import org.springframework.core.AttributeAccessor;
+import org.springframework.retry.RetryStatistics;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy;
+import org.springframework.util.Assert;
+
+/**
+ * Writes the statistics of a {@link StatisticsRepository} in the OpenMetrics text format,
+ * which Prometheus scrapes. Each retry block is a sample labelled with its name, in the
+ * families:
+ * <ul>
+ * <li>{@code retry_started}, {@code retry_errors}, {@code retry_completed},
+ * {@code retry_recovered} and {@code retry_aborted}, counters of the retry events;</li>
+ * <li>{@code retry_circuit_open}, a gauge that is 1 while the circuit of a circuit
+ * breaker is not closed, and {@code retry_circuit_short_count}, a gauge of the calls it
+ * short circuited, for the statistics holding the
+ * {@link CircuitBreakerRetryPolicy#CIRCUIT_OPEN} and
+ * {@link CircuitBreakerRetryPolicy#CIRCUIT_SHORT_COUNT} attributes.</li>
+ * </ul>
+ * <p>
+ * The statistics are streamed from the repository to the writer, without copying them or
+ * building strings, so that scraping thousands of retry blocks does not create garbage.
+ * Exports are serialized, as the exporter reuses its buffers.
+ *
+ * @since 2.0.5
+ * @see OpenMetricsHttpHandler
+ */
+public class OpenMetricsExporter {
+
+	/**
+	 * The content type of the OpenMetrics text format.
+	 */
+	public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+	private static final String[] FAMILIES = { "retry_started", "retry_errors", "retry_completed", "retry_recovered",
+			"retry_aborted", "retry_circuit_open", "retry_circuit_short_count" };
+
+	private static final String[] HELP = { "Retry blocks started.", "Errors detected, retried or not.",
+			"Retry blocks completed successfully.", "Recovery callbacks applied.", "Retry blocks that failed overall.",
+			"Whether the circuit is open or half open.", "Calls short circuited by the circuit." };
+
+	private static final int COUNTERS = 5;
+
+	private static final int CIRCUIT_OPEN = 5;
+
+	private final StatisticsRepository repository;
+
+	private final Consumer<RetryStatistics> sampleWriter = this::writeSample;
+
+	private final char[] digits = new char[20];
+
+	private Writer writer;
+
+	private int family;
+
+	/**
+	 * Create an exporter for the statistics of the given repository.
+	 * @param repository the repository
+	 */
+	public OpenMetricsExporter(StatisticsRepository repository) {
+		Assert.notNull(repository, "'repository' cannot be null");
+		this.repository = repository;
+	}
+
+	/**
+	 * Write all the statistics, ending with the {@code # EOF} line. The writer is not
+	 * flushed nor closed.
+	 * @param writer the writer
+	 * @throws IOException if the writer fails
+	 */
+	public synchronized void export(Writer writer) throws IOException {
+		this.writer = writer;
+		try {
+			for (int family = 0; family < FAMILIES.length; family++) {
+				this.family = family;
+				writer.write("# TYPE ");
+				writer.write(FAMILIES[family]);
+				writer.write(family < COUNTERS ? " counter\n" : " gauge\n");
+				writer.write("# HELP ");
+				writer.write(FAMILIES[family]);
+				writer.write(' ');
+				writer.write(HELP[family]);
+				writer.write('\n');
+				this.repository.forEach(this.sampleWriter);
+			}
+			writer.write("# EOF\n");
+		}
+		catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+		finally {
+			this.writer = null;
+		}
+	}
+
+	private void writeSample(RetryStatistics statistics) {
+		try {
+			long value;
+			if (this.family < COUNTERS) {
+				value = counter(statistics);
+			}
+			else {
+				if (!(statistics instanceof AttributeAccessor)) {
+					return;
+				}
+				Object attribute = ((AttributeAccessor) statistics).getAttribute(this.family == CIRCUIT_OPEN
+						? CircuitBreakerRetryPolicy.CIRCUIT_OPEN : CircuitBreakerRetryPolicy.CIRCUIT_SHORT_COUNT);
+				if (attribute instanceof Boolean) {
+					value = (Boolean) attribute ? 1 : 0;
+				}
+				else if (attribute instanceof Number) {
+					value = ((Number) attribute).longValue();
+				}
+				else {
+					return;
+				}
+			}
+			Writer writer = this.writer;
+			writer.write(FAMILIES[this.family]);
+			writer.write(this.family < COUNTERS ? "_total{name=\"" : "{name=\"");
+			writeLabelValue(writer, statistics.getName());
+			writer.write("\"} ");
+			writeLong(writer, value);
+			writer.write('\n');
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private long counter(RetryStatistics statistics) {
+		switch (this.family) {
+			case 0:
+				return statistics.getStartedTotal();
+			case 1:
+				return statistics.getErrorTotal();
+			case 2:
+				return statistics.getCompleteTotal();
+			case 3:
+				return statistics.getRecoveryTotal();
+			default:
+				return statistics.getAbortTotal();
+		}
+	}
+
+	/**
+	 * Write a label value, escaping backslashes, double quotes and line feeds, and
+	 * writing the runs of other characters in one go.
+	 */
+	private static void writeLabelValue(Writer writer, String value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		int start = 0;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\' || c == '"' || c == '\n') {
+				writer.write(value, start, i - start);
+				writer.write('\\');
+				writer.write(c == '\n' ? 'n' : c);
+				start = i + 1;
+			}
+		}
+		writer.write(value, start, value.length() - start);
+	}
+
+	private void writeLong(Writer writer, long value) throws IOException {
+		if (value == Long.MIN_VALUE) {
+			writer.write("-9223372036854775808");
+			return;
+		}
+		if (value < 0) {
+			writer.write('-');
+			value = -value;
+		}
+		char[] digits = this.digits;
+		int position = digits.length;
+		do {
+			digits[--position] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+		while (value != 0);
+		writer.write(digits, position, digits.length - position);
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.stats;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link HttpHandler} serving the statistics written by an {@link OpenMetricsExporter},
+ * for instance for a local Prometheus to scrape:
+ *
+ * <pre class="code">
+ * HttpServer server = HttpServer.create(new InetSocketAddress(9404), 0);
+ * server.createContext("/metrics", new OpenMetricsHttpHandler(new OpenMetricsExporter(repository)));
+ * server.start();
+ * </pre>
+ *
+ * The response is written to a buffer that is kept from one request to the next, so that
+ * its length is known and scrapes do not allocate a new one.
+ *
+ * @since 2.0.5
+ */
+public class OpenMetricsHttpHandler implements HttpHandler {
+
+	private final OpenMetricsExporter exporter;
+
+	private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+
+	private final Writer writer = new OutputStreamWriter(this.buffer, StandardCharsets.UTF_8);
+
+	/**
+	 * Create a handler serving the statistics of the given exporter.
+	 * @param exporter the exporter
+	 */
+	public OpenMetricsHttpHandler(OpenMetricsExporter exporter) {
+		Assert.notNull(exporter, "'exporter' cannot be null");
+		this.exporter = exporter;
+	}
+
+	@Override
+	public void handle(HttpExchange exchange) throws IOException {
+		try {
+			if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+				exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			synchronized (this.buffer) {
+				this.buffer.reset();
+				this.exporter.export(this.writer);
+				this.writer.flush();
+				exchange.getResponseHeaders().set("Content-Type", OpenMetricsExporter.CONTENT_TYPE);
+				if ("HEAD".equals(exchange.getRequestMethod())) {
+					exchange.sendResponseHeaders(200, -1);
+					return;
+				}
+				exchange.sendResponseHeaders(200, this.buffer.size());
+				try (OutputStream body = exchange.getResponseBody()) {
+					this.buffer.writeTo(body);
+				}
+			}
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.stats;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link DefaultRetryStatistics} that also count the events of the last minutes in a ring
+ * of time buckets, so that the number of events in a recent window, like the last 1, 5 or
+ * 15 minutes, is known exactly, to the resolution of a bucket.
+ * <p>
+ * Each counter has a fixed number of buckets, its window divided by its resolution, so
+ * the memory used does not grow with time or traffic. A bucket holds its count together
+ * with the tick of time it counts, so that it is reset when the ring comes round to it
+ * with the same compare-and-set that counts the event, without locking.
+ *
+ * @since 2.0.5
+ */
+@SuppressWarnings("serial")
+public class RollingWindowRetryStatistics extends DefaultRetryStatistics {
+
+	/**
+	 * The counters of the retry events.
+	 */
+	public enum Counter {
+
+		/**
+		 * Retry blocks started.
+		 */
+		STARTED,
+
+		/**
+		 * Errors detected.
+		 */
+		ERROR,
+
+		/**
+		 * Retry blocks completed successfully.
+		 */
+		COMPLETE,
+
+		/**
+		 * Recovery callbacks applied.
+		 */
+		RECOVERY,
+
+		/**
+		 * Retry blocks that failed overall.
+		 */
+		ABORT
+
+	}
+
+	/**
+	 * The default resolution, one second.
+	 */
+	public static final long DEFAULT_RESOLUTION = 1000;
+
+	/**
+	 * The default window, fifteen minutes.
+	 */
+	public static final long DEFAULT_WINDOW = 15 * 60 * 1000;
+
+	private static final int COUNTERS = Counter.values().length;
+
+	private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+	private final long resolution;
+
+	private final int buckets;
+
+	private final LongSupplier clock;
+
+	private final long origin;
+
+	/**
+	 * The buckets of each counter in turn, each holding its tick in the high 32 bits and
+	 * its count in the low 32 bits.
+	 */
+	private final AtomicLongArray cells;
+
+	/**
+	 * Create statistics counting the last fifteen minutes by the second.
+	 * @param name the name of the retry block
+	 */
+	public RollingWindowRetryStatistics(String name) {
+		this(name, DEFAULT_RESOLUTION, DEFAULT_WINDOW);
+	}
+
+	/**
+	 * Create statistics counting a window of the given length with the given resolution.
+	 * @param name the name of the retry block
+	 * @param resolution the length of a bucket in milliseconds
+	 * @param window the length of the longest window that can be queried, in
+	 * milliseconds, a multiple of the resolution
+	 */
+	public RollingWindowRetryStatistics(String name, long resolution, long window) {
+		this(name, resolution, window, System::currentTimeMillis);
+	}
+
+	RollingWindowRetryStatistics(String name, long resolution, long window, LongSupplier clock) {
+		super(name);
+		Assert.isTrue(resolution > 0, "Resolution must be positive");
+		Assert.isTrue(window >= resolution && window % resolution == 0,
+				"Window must be a positive multiple of the resolution");
+		Assert.isTrue(window / resolution <= Integer.MAX_VALUE / COUNTERS, "Too many buckets");
+		this.resolution = resolution;
+		this.buckets = (int) (window / resolution);
+		this.clock = clock;
+		this.origin = clock.getAsLong();
+		this.cells = new AtomicLongArray(this.buckets * COUNTERS);
+	}
+
+	/**
+	 * @return the length of a bucket in milliseconds
+	 */
+	public long getResolution() {
+		return this.resolution;
+	}
+
+	/**
+	 * @return the length of the longest window that can be queried, in milliseconds
+	 */
+	public long getWindow() {
+		return this.resolution * this.buckets;
+	}
+
+	/**
+	 * Return the number of events counted in the given window, which ends now and is
+	 * rounded up to a whole number of buckets, the current one included.
+	 * @param counter the counter
+	 * @param window the window, at most {@link #getWindow()}
+	 * @return the number of events
+	 */
+	public long getCount(Counter counter, Duration window) {
+		int count = bucketsIn(window);
+		long tick = tick();
+		int base = counter.ordinal() * this.buckets;
+		long sum = 0;
+		for (int i = 0; i < count && i <= tick; i++) {
+			long cell = this.cells.get(base + slot(tick - i));
+			if ((int) (cell >>> 32) == (int) (tick - i)) {
+				sum += cell & COUNT_MASK;
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Return the number of events per second in the given window.
+	 * @param counter the counter
+	 * @param window the window, at most {@link #getWindow()}
+	 * @return the number of events per second
+	 * @see #getCount(Counter, Duration)
+	 */
+	public double getRate(Counter counter, Duration window) {
+		return getCount(counter, window) * 1000. / (bucketsIn(window) * this.resolution);
+	}
+
+	/**
+	 * Return the ratio of the retry blocks that failed overall, whether or not they were
+	 * recovered, to the retry blocks started in the given window, as
+	 * {@link ExponentialAverageRetryStatistics#getRollingErrorRate()} does for its
+	 * decayed window.
+	 * @param window the window, at most {@link #getWindow()}
+	 * @return the error rate, 0 if nothing was started
+	 */
+	public double getErrorRate(Duration window) {
+		long started = getCount(Counter.STARTED, window);
+		if (started == 0) {
+			return 0.;
+		}
+		return (double) (getCount(Counter.ABORT, window) + getCount(Counter.RECOVERY, window)) / started;
+	}
+
+	@Override
+	public void incrementStartedCount() {
+		super.incrementStartedCount();
+		increment(Counter.STARTED);
+	}
+
+	@Override
+	public void incrementCompleteCount() {
+		super.incrementCompleteCount();
+		increment(Counter.COMPLETE);
+	}
+
+	@Override
+	public void incrementRecoveryCount() {
+		super.incrementRecoveryCount();
+		increment(Counter.RECOVERY);
+	}
+
+	@Override
+	public void incrementErrorCount() {
+		super.incrementErrorCount();
+		increment(Counter.ERROR);
+	}
+
+	@Override
+	public void incrementAbortCount() {
+		super.incrementAbortCount();
+		increment(Counter.ABORT);
+	}
+
+	private void increment(Counter counter) {
+		long tick = tick();
+		int index = counter.ordinal() * this.buckets + slot(tick);
+		long expected = tick << 32;
+		long cell;
+		long next;
+		do {
+			cell = this.cells.get(index);
+			// A bucket left from an earlier turn of the ring starts again from zero, but
+			// a late event never resets a bucket counting a later tick
+			next = (int) (cell >>> 32) - (int) tick >= 0 ? cell + 1 : expected | 1;
+		}
+		while (!this.cells.compareAndSet(index, cell, next));
+	}
+
+	private int bucketsIn(Duration window) {
+		long millis = window.toMillis();
+		Assert.isTrue(millis > 0 && millis <= getWindow(),
+				() -> "Window must be positive and at most " + getWindow() + "ms");
+		return (int) ((millis + this.resolution - 1) / this.resolution);
+	}
+
+	private long tick() {
+		// Never before the origin, should the clock be set back
+		return Math.max(0, this.clock.getAsLong() - this.origin) / this.resolution;
+	}
+
+	private int slot(long tick) {
+		return (int) (tick % this.buckets);
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.stats;
+
+/**
+ * {@link RetryStatisticsFactory} creating {@link RollingWindowRetryStatistics}.
+ *
+ * @since 2.0.5
+ */
+public class RollingWindowRetryStatisticsFactory implements RetryStatisticsFactory {
+
+	private long resolution = RollingWindowRetryStatistics.DEFAULT_RESOLUTION;
+
+	private long window = RollingWindowRetryStatistics.DEFAULT_WINDOW;
+
+	/**
+	 * Length in milliseconds of a time bucket. Defaults to one second.
+	 * @param resolution the resolution to set
+	 */
+	public void setResolution(long resolution) {
+		this.resolution = resolution;
+	}
+
+	/**
+	 * Length in milliseconds of the longest window that can be queried, a multiple of the
+	 * resolution. Defaults to fifteen minutes.
+	 * @param window the window to set
+	 */
+	public void setWindow(long window) {
+		this.window = window;
+	}
+
+	@Override
+	public MutableRetryStatistics create(String name) {
+		return new RollingWindowRetryStatistics(name, this.resolution, this.window);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2022 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.retry.stats;
 
+import java.io.Serializable;
+
 import org.springframework.core.AttributeAccessor;
 import org.springframework.retry.RetryCallback;
 import org.springframework.retry.RetryContext;
@@ -24,12 +26,31 @@ import org.springframework.retry.RetryStatistics;
 import org.springframework.retry.policy.CircuitBreakerRetryPolicy;
 
 /**
+ * {@link RetryListener} counting the retry events of named retry blocks in a
+ * {@link StatisticsRepository}, and recording the latencies of their attempts, the
+ * latencies of the whole blocks and the time they spend backing off. When the repository
+ * hands out its statistics, they are kept on the retry context, so that only the first
+ * event of a context looks them up by name.
+ * <p>
+ * The latencies are timed by the retry operations for each call, so they are those of the
+ * call even when the context is shared by concurrent calls, like the global context of a
+ * circuit breaker.
+ *
  * @author Dave Syer
  * @author Henning Pöttker
  *
  */
 public class StatisticsListener implements RetryListener {
 
+	private static final String[] CIRCUIT_ATTRIBUTES = { CircuitBreakerRetryPolicy.CIRCUIT_OPEN,
+			CircuitBreakerRetryPolicy.CIRCUIT_SHORT_COUNT, CircuitBreakerRetryPolicy.CIRCUIT_STATE,
+			CircuitBreakerRetryPolicy.CIRCUIT_SLOW_CALL_COUNT, CircuitBreakerRetryPolicy.CIRCUIT_LAST_CALL_DURATION };
+
+	/**
+	 * The context attribute holding the resolved statistics.
+	 */
+	private static final String STATISTICS = "retry.statistics";
+
 	private final StatisticsRepository repository;
 
 	public StatisticsListener(StatisticsRepository repository) {
@@ -41,26 +62,25 @@ public class StatisticsListener implements RetryListener {
 			Throwable throwable) {
 		String name = getName(context);
 		if (name != null) {
+			ContextStatistics stats = getStatistics(context);
 			if (!isExhausted(context) || isGlobal(context)) {
 				// If exhausted and stateful then the retry callback was not called. If
 				// exhausted and stateless it was called, but the started counter was
 				// already incremented.
-				repository.addStarted(name);
+				stats.addStarted(name);
 			}
 			if (isRecovered(context)) {
-				repository.addRecovery(name);
+				stats.addRecovery(name);
 			}
 			else if (isExhausted(context)) {
-				repository.addAbort(name);
+				stats.addAbort(name);
 			}
 			else if (isClosed(context)) {
-				repository.addComplete(name);
+				stats.addComplete(name);
 			}
-			RetryStatistics stats = repository.findOne(name);
-			if (stats instanceof AttributeAccessor) {
-				AttributeAccessor accessor = (AttributeAccessor) stats;
-				for (String key : new String[] { CircuitBreakerRetryPolicy.CIRCUIT_OPEN,
-						CircuitBreakerRetryPolicy.CIRCUIT_SHORT_COUNT }) {
+			AttributeAccessor accessor = stats.getAttributeAccessor(name);
+			if (accessor != null) {
+				for (String key : CIRCUIT_ATTRIBUTES) {
 					if (context.hasAttribute(key)) {
 						accessor.setAttribute(key, context.getAttribute(key));
 					}
@@ -74,15 +94,55 @@ public class StatisticsListener implements RetryListener {
 			Throwable throwable) {
 		String name = getName(context);
 		if (name != null) {
+			ContextStatistics stats = getStatistics(context);
 			if (!hasState(context)) {
 				// Stateless retry involves starting the retry callback once per error
 				// without closing the context, so we need to increment the started count
-				repository.addStarted(name);
+				stats.addStarted(name);
 			}
-			repository.addError(name);
+			stats.addError(name);
+		}
+	}
+
+	@Override
+	public <T, E extends Throwable> void onBackOff(RetryContext context, RetryCallback<T, E> callback, long nanos) {
+		String name = getName(context);
+		if (name != null) {
+			getStatistics(context).addBackOffTime(name, nanos);
 		}
 	}
 
+	@Override
+	public <T, E extends Throwable> void onAttemptLatency(RetryContext context, RetryCallback<T, E> callback,
+			long nanos) {
+		String name = getName(context);
+		if (name != null) {
+			getStatistics(context).addAttemptLatency(name, nanos);
+		}
+	}
+
+	@Override
+	public <T, E extends Throwable> void onCallLatency(RetryContext context, RetryCallback<T, E> callback, long nanos) {
+		String name = getName(context);
+		if (name != null) {
+			getStatistics(context).addCallLatency(name, nanos);
+		}
+	}
+
+	/**
+	 * Return the statistics of this listener kept on the context, or else keep new ones
+	 * there.
+	 */
+	private ContextStatistics getStatistics(RetryContext context) {
+		Object value = context.getAttribute(STATISTICS);
+		if (value instanceof ContextStatistics && ((ContextStatistics) value).repository == this.repository) {
+			return (ContextStatistics) value;
+		}
+		ContextStatistics stats = new ContextStatistics(this.repository);
+		context.setAttribute(STATISTICS, stats);
+		return stats;
+	}
+
 	private boolean isGlobal(RetryContext context) {
 		return context.hasAttribute("state.global");
 	}
@@ -107,4 +167,122 @@ public class StatisticsListener implements RetryListener {
 		return (String) context.getAttribute(RetryContext.NAME);
 	}
 
+	/**
+	 * The statistics of a retry context. They are resolved by name once, if the
+	 * repository hands them out, and the events are added to the repository by name
+	 * otherwise. Nothing is serialized with the context, so that a context restored from
+	 * a cache resolves the statistics again. The repository tells apart the statistics of
+	 * listeners sharing a context.
+	 */
+	@SuppressWarnings("serial")
+	private static final class ContextStatistics implements Serializable {
+
+		private final transient StatisticsRepository repository;
+
+		private transient MutableRetryStatistics statistics;
+
+		private ContextStatistics(StatisticsRepository repository) {
+			this.repository = repository;
+		}
+
+		private MutableRetryStatistics resolve(String name) {
+			MutableRetryStatistics statistics = this.statistics;
+			if (statistics == null) {
+				statistics = this.repository.getStatistics(name);
+				this.statistics = statistics;
+			}
+			return statistics;
+		}
+
+		private void addStarted(String name) {
+			MutableRetryStatistics statistics = resolve(name);
+			if (statistics != null) {
+				statistics.incrementStartedCount();
+			}
+			else {
+				this.repository.addStarted(name);
+			}
+		}
+
+		private void addError(String name) {
+			MutableRetryStatistics statistics = resolve(name);
+			if (statistics != null) {
+				statistics.incrementErrorCount();
+			}
+			else {
+				this.repository.addError(name);
+			}
+		}
+
+		private void addRecovery(String name) {
+			MutableRetryStatistics statistics = resolve(name);
+			if (statistics != null) {
+				statistics.incrementRecoveryCount();
+			}
+			else {
+				this.repository.addRecovery(name);
+			}
+		}
+
+		private void addComplete(String name) {
+			MutableRetryStatistics statistics = resolve(name);
+			if (statistics != null) {
+				statistics.incrementCompleteCount();
+			}
+			else {
+				this.repository.addComplete(name);
+			}
+		}
+
+		private void addAbort(String name) {
+			MutableRetryStatistics statistics = resolve(name);
+			if (statistics != null) {
+				statistics.incrementAbortCount();
+			}
+			else {
+				this.repository.addAbort(name);
+			}
+		}
+
+		private void addAttemptLatency(String name, long nanos) {
+			MutableRetryStatistics statistics = resolve(name);
+			if (statistics != null) {
+				statistics.recordAttemptLatency(nanos);
+			}
+			else {
+				this.repository.addAttemptLatency(name, nanos);
+			}
+		}
+
+		private void addCallLatency(String name, long nanos) {
+			MutableRetryStatistics statistics = resolve(name);
+			if (statistics != null) {
+				statistics.recordCallLatency(nanos);
+			}
+			else {
+				this.repository.addCallLatency(name, nanos);
+			}
+		}
+
+		private void addBackOffTime(String name, long nanos) {
+			MutableRetryStatistics statistics = resolve(name);
+			if (statistics != null) {
+				statistics.recordBackOffTime(nanos);
+			}
+			else {
+				this.repository.addBackOffTime(name, nanos);
+			}
+		}
+
+		private AttributeAccessor getAttributeAccessor(String name) {
+			MutableRetryStatistics statistics = resolve(name);
+			if (statistics != null) {
+				return statistics;
+			}
+			RetryStatistics found = this.repository.findOne(name);
+			return found instanceof AttributeAccessor ? (AttributeAccessor) found : null;
+		}
+
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.retry.stats;
 
+import java.util.function.Consumer;
+
 import org.springframework.retry.RetryStatistics;
 
 /**
@@ -28,6 +30,16 @@ public interface StatisticsRepository {
 
 	Iterable<RetryStatistics> findAll();
 
+	/**
+	 * Pass all the statistics to the given action, without copying them first if the
+	 * repository can avoid it.
+	 * @param action the action for each of the statistics
+	 * @since 2.0.5
+	 */
+	default void forEach(Consumer<? super RetryStatistics> action) {
+		findAll().forEach(action);
+	}
+
 	void addStarted(String name);
 
 	void addError(String name);
@@ -38,4 +50,45 @@ public interface StatisticsRepository {
 
 	void addAbort(String name);
 
+	/**
+	 * Record how long an attempt of the named retry block took.
+	 * @param name the name of the retry block
+	 * @param nanos the duration of the attempt in nanoseconds
+	 * @since 2.0.5
+	 */
+	default void addAttemptLatency(String name, long nanos) {
+	}
+
+	/**
+	 * Record how long the named retry block took from start to end, across all its
+	 * attempts.
+	 * @param name the name of the retry block
+	 * @param nanos the duration of the block in nanoseconds
+	 * @since 2.0.5
+	 */
+	default void addCallLatency(String name, long nanos) {
+	}
+
+	/**
+	 * Record how long the named retry block backed off between two attempts.
+	 * @param name the name of the retry block
+	 * @param nanos the duration of the back off in nanoseconds
+	 * @since 2.0.5
+	 */
+	default void addBackOffTime(String name, long nanos) {
+	}
+
+	/**
+	 * Return the statistics for the given name, creating them if necessary, so that a
+	 * caller can keep them and count later events without looking them up by name again.
+	 * Repositories that do not hand out their statistics return null, and the events have
+	 * to be added by name.
+	 * @param name the name of the retry block
+	 * @return the statistics, or null
+	 * @since 2.0.5
+	 */
+	default MutableRetryStatistics getStatistics(String name) {
+		return null;
+	}
+
 }
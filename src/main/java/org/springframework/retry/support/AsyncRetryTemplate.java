@@ -0,0 +1,576 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.retry.AsyncRetryOperations;
+import org.springframework.retry.ExhaustedRetryException;
+import org.springframework.retry.RecoveryCallback;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.RetryPolicy;
+import org.springframework.retry.TerminatedRetryException;
+import org.springframework.retry.backoff.BackOffContext;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.DelayComputingBackOffPolicy;
+import org.springframework.retry.backoff.NoBackOffPolicy;
+import org.springframework.retry.context.SharedRetryContext;
+import org.springframework.retry.listener.RetryListenerDispatcher;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.util.Assert;
+
+/**
+ * Template class that simplifies the execution of asynchronous operations with retry
+ * semantics.
+ * <p>
+ * Each attempt is a {@link Supplier} of a {@link CompletionStage}. When the stage
+ * completes exceptionally the {@link RetryPolicy} decides whether another attempt is
+ * made, and if so the {@link BackOffPolicy} is asked for the period to wait. Instead of
+ * sleeping, the next attempt is submitted to a {@link ScheduledExecutorService} after
+ * that period, so no thread is parked while backing off. The first attempt is made on the
+ * calling thread, subsequent attempts on a scheduler thread, so the supplier should
+ * return quickly and leave the actual work to the stage it returns.
+ * <p>
+ * The same {@link RetryPolicy}, {@link BackOffPolicy} and {@link RetryListener} contracts
+ * as for {@link RetryTemplate} apply. The {@link RetryContext} is registered with the
+ * {@link RetrySynchronizationManager} while the supplier, the policies and the listeners
+ * are invoked. Asynchronous retries are never nested, so the context has no parent.
+ * <p>
+ * Cancelling the returned future cancels any pending attempt and closes the retry.
+ * <p>
+ * This class is thread-safe and suitable for concurrent access when executing operations
+ * and when performing configuration changes.
+ *
+ * @since 2.0.5
+ * @see RetryTemplate
+ */
+public class AsyncRetryTemplate implements AsyncRetryOperations {
+
+	private static final String BACK_OFF_CONTEXT = "backOffContext";
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private volatile BackOffPolicy backOffPolicy = new NoBackOffPolicy();
+
+	private volatile RetryPolicy retryPolicy = new SimpleRetryPolicy(3);
+
+	private volatile RetryListenerDispatcher dispatcher = RetryListenerDispatcher.EMPTY;
+
+	private volatile ScheduledExecutorService scheduler;
+
+	/**
+	 * Setter for listeners. The listeners are executed before and after a retry block
+	 * (i.e. before and after all the attempts), and on an error (every attempt).
+	 * @param listeners the {@link RetryListener}s
+	 * @see RetryListener
+	 */
+	public void setListeners(RetryListener[] listeners) {
+		this.dispatcher = RetryListenerDispatcher.of(listeners);
+	}
+
+	/**
+	 * Register an additional listener at the end of the list.
+	 * @param listener the {@link RetryListener}
+	 * @see #setListeners(RetryListener[])
+	 */
+	public void registerListener(RetryListener listener) {
+		this.dispatcher = this.dispatcher.with(listener, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Setter for {@link BackOffPolicy}. A {@link DelayComputingBackOffPolicy} is only
+	 * asked for the delay before the next attempt; any other policy backs off by itself
+	 * on a scheduler thread, which it blocks until the next attempt is submitted.
+	 * @param backOffPolicy the {@link BackOffPolicy}
+	 */
+	public void setBackOffPolicy(BackOffPolicy backOffPolicy) {
+		Assert.notNull(backOffPolicy, "'backOffPolicy' cannot be null");
+		this.backOffPolicy = backOffPolicy;
+	}
+
+	/**
+	 * Setter for {@link RetryPolicy}.
+	 * @param retryPolicy the {@link RetryPolicy}
+	 */
+	public void setRetryPolicy(RetryPolicy retryPolicy) {
+		Assert.notNull(retryPolicy, "'retryPolicy' cannot be null");
+		this.retryPolicy = retryPolicy;
+	}
+
+	/**
+	 * Setter for the {@link ScheduledExecutorService} used to run attempts after a back
+	 * off. Defaults to a shared single daemon thread, which is sufficient as long as the
+	 * retried operations do not block.
+	 * @param scheduler the scheduler
+	 */
+	public void setScheduler(ScheduledExecutorService scheduler) {
+		Assert.notNull(scheduler, "'scheduler' cannot be null");
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public <T> CompletableFuture<T> execute(Supplier<? extends CompletionStage<T>> supplier) {
+		return doExecute(new SupplierRetryCallback<>(supplier), null);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> execute(Supplier<? extends CompletionStage<T>> supplier,
+			RecoveryCallback<? extends CompletionStage<T>> recoveryCallback) {
+		return doExecute(new SupplierRetryCallback<>(supplier), recoveryCallback);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> execute(RetryCallback<? extends CompletionStage<T>, ?> retryCallback) {
+		return doExecute(retryCallback, null);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> execute(RetryCallback<? extends CompletionStage<T>, ?> retryCallback,
+			RecoveryCallback<? extends CompletionStage<T>> recoveryCallback) {
+		return doExecute(retryCallback, recoveryCallback);
+	}
+
+	/**
+	 * Start an asynchronous retry of the callback, which is invoked once per attempt.
+	 * @param retryCallback the {@link RetryCallback} supplying each attempt
+	 * @param recoveryCallback the {@link RecoveryCallback} (might be null)
+	 * @param <T> the type of the result
+	 * @return a future for the outcome of the whole retry
+	 */
+	protected <T> CompletableFuture<T> doExecute(RetryCallback<? extends CompletionStage<T>, ?> retryCallback,
+			RecoveryCallback<? extends CompletionStage<T>> recoveryCallback) {
+		ScheduledExecutorService scheduler = this.scheduler;
+		Assert.notNull(retryCallback, "'retryCallback' cannot be null");
+		AsyncRetryExecution<T> execution = new AsyncRetryExecution<>(retryCallback, recoveryCallback, this.retryPolicy,
+				this.backOffPolicy, this.dispatcher, scheduler != null ? scheduler : DefaultScheduler.INSTANCE);
+		execution.start();
+		return execution.result;
+	}
+
+	private static Throwable unwrap(Throwable throwable) {
+		if ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+				&& throwable.getCause() != null) {
+			return throwable.getCause();
+		}
+		return throwable;
+	}
+
+	/**
+	 * The state of a single asynchronous retry. Its methods are never invoked
+	 * concurrently: each step is triggered by the completion of the previous one.
+	 */
+	private final class AsyncRetryExecution<T> {
+
+		private final CompletableFuture<T> result = new CompletableFuture<>();
+
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private final RetryCallback<Object, ?> callback;
+
+		private final RecoveryCallback<? extends CompletionStage<T>> recoveryCallback;
+
+		private final RetryPolicy retryPolicy;
+
+		private final BackOffPolicy backOffPolicy;
+
+		private final RetryListenerDispatcher dispatcher;
+
+		private final ScheduledExecutorService scheduler;
+
+		private volatile RetryContext context;
+
+		/**
+		 * The context passed to the policy, the context of this call if the context is
+		 * shared.
+		 */
+		private volatile RetryContext call;
+
+		private volatile BackOffContext backOffContext;
+
+		private volatile Throwable lastException;
+
+		private volatile Future<?> pending;
+
+		// Timed here rather than on the context, which concurrent calls may share
+
+		private volatile long callStart;
+
+		private volatile long attemptStart;
+
+		private volatile boolean attemptTimed;
+
+		@SuppressWarnings("unchecked")
+		private AsyncRetryExecution(RetryCallback<? extends CompletionStage<T>, ?> callback,
+				RecoveryCallback<? extends CompletionStage<T>> recoveryCallback, RetryPolicy retryPolicy,
+				BackOffPolicy backOffPolicy, RetryListenerDispatcher dispatcher, ScheduledExecutorService scheduler) {
+			this.callback = (RetryCallback<Object, ?>) (RetryCallback<?, ?>) callback;
+			this.recoveryCallback = recoveryCallback;
+			this.retryPolicy = retryPolicy;
+			this.backOffPolicy = backOffPolicy;
+			this.dispatcher = dispatcher;
+			this.scheduler = scheduler;
+			this.result.whenComplete((value, ex) -> {
+				if (this.result.isCancelled()) {
+					Future<?> pending = this.pending;
+					if (pending != null) {
+						pending.cancel(false);
+					}
+					close();
+				}
+			});
+		}
+
+		void start() {
+			this.context = this.retryPolicy.open(null);
+			this.call = SharedRetryContext.openCall(this.context);
+			if (this.dispatcher.hasLatencyListeners()) {
+				this.callStart = System.nanoTime();
+			}
+			if (AsyncRetryTemplate.this.logger.isTraceEnabled()) {
+				AsyncRetryTemplate.this.logger.trace("RetryContext retrieved: " + this.context);
+			}
+			RetryContext previous = bind();
+			try {
+				if (!doOpenInterceptors()) {
+					fail(new TerminatedRetryException(
+							"Retry terminated abnormally by interceptor before first attempt"));
+					return;
+				}
+				this.backOffContext = this.backOffPolicy.start(this.context);
+				if (this.backOffContext != null) {
+					this.context.setAttribute(BACK_OFF_CONTEXT, this.backOffContext);
+				}
+			}
+			catch (Throwable ex) {
+				fail(ex);
+				return;
+			}
+			finally {
+				unbind(previous);
+			}
+			attempt();
+		}
+
+		private void attempt() {
+			if (this.result.isDone()) {
+				close();
+				return;
+			}
+			CompletionStage<?> stage;
+			RetryContext previous = bind();
+			try {
+				if (!canRetry()) {
+					exhausted();
+					return;
+				}
+				if (AsyncRetryTemplate.this.logger.isDebugEnabled()) {
+					AsyncRetryTemplate.this.logger.debug("Retry: count=" + this.context.getRetryCount());
+				}
+				this.lastException = null;
+				if (this.dispatcher.hasLatencyListeners()) {
+					this.attemptTimed = true;
+					this.attemptStart = System.nanoTime();
+				}
+				stage = (CompletionStage<?>) this.callback.doWithRetry(this.context);
+				Assert.state(stage != null, "Retry callback returned a null CompletionStage");
+			}
+			catch (Throwable ex) {
+				onFailure(ex);
+				return;
+			}
+			finally {
+				unbind(previous);
+			}
+			stage.whenComplete((value, ex) -> {
+				if (ex != null) {
+					onFailure(unwrap(ex));
+				}
+				else {
+					onSuccess(value);
+				}
+			});
+		}
+
+		private void attemptAfterBackOff(long start) {
+			RetryContext previous = bind();
+			try {
+				doOnBackOffInterceptors(System.nanoTime() - start);
+			}
+			catch (Throwable ex) {
+				fail(ex);
+				return;
+			}
+			finally {
+				unbind(previous);
+			}
+			attempt();
+		}
+
+		private void onSuccess(Object value) {
+			if (this.closed.get()) {
+				return;
+			}
+			RetryContext previous = bind();
+			try {
+				endAttempt();
+				doOnSuccessInterceptors(value);
+			}
+			catch (Throwable ex) {
+				onFailure(ex);
+				return;
+			}
+			finally {
+				unbind(previous);
+			}
+			complete(value);
+		}
+
+		private void onFailure(Throwable throwable) {
+			if (this.closed.get()) {
+				return;
+			}
+			this.lastException = throwable;
+			RetryContext previous = bind();
+			try {
+				endAttempt();
+				try {
+					this.retryPolicy.registerThrowable(this.call, throwable);
+				}
+				catch (Exception ex) {
+					fail(new TerminatedRetryException("Could not register throwable", ex));
+					return;
+				}
+				finally {
+					doOnErrorInterceptors(throwable);
+				}
+				if (this.result.isDone()) {
+					close();
+				}
+				else if (canRetry()) {
+					long start = this.dispatcher.hasBackOffListeners() ? System.nanoTime() : 0;
+					Runnable next = this.dispatcher.hasBackOffListeners() ? () -> attemptAfterBackOff(start)
+							: this::attempt;
+					if (this.backOffPolicy instanceof DelayComputingBackOffPolicy) {
+						long delay = ((DelayComputingBackOffPolicy) this.backOffPolicy)
+							.computeDelayNanos(this.backOffContext);
+						if (AsyncRetryTemplate.this.logger.isDebugEnabled()) {
+							AsyncRetryTemplate.this.logger
+								.debug("Scheduling retry in " + TimeUnit.NANOSECONDS.toMillis(delay) + "ms: count="
+										+ this.context.getRetryCount());
+						}
+						this.pending = this.scheduler.schedule(next, delay, TimeUnit.NANOSECONDS);
+					}
+					else {
+						// Not on the thread that completed the attempt
+						this.pending = this.scheduler.submit(() -> backOffThen(next));
+					}
+				}
+				else {
+					if (AsyncRetryTemplate.this.logger.isDebugEnabled()) {
+						AsyncRetryTemplate.this.logger
+							.debug("Retry failed last attempt: count=" + this.context.getRetryCount());
+					}
+					exhausted();
+				}
+			}
+			catch (Throwable ex) {
+				fail(ex);
+			}
+			finally {
+				unbind(previous);
+			}
+		}
+
+		private void exhausted() {
+			this.context.setAttribute(RetryContext.EXHAUSTED, true);
+			boolean doRecover = !Boolean.TRUE.equals(this.context.getAttribute(RetryContext.NO_RECOVERY));
+			if (this.recoveryCallback != null && doRecover) {
+				CompletionStage<T> recovered;
+				try {
+					recovered = this.recoveryCallback.recover(this.context);
+					Assert.state(recovered != null, "Recovery callback returned a null CompletionStage");
+				}
+				catch (Throwable ex) {
+					fail(ex);
+					return;
+				}
+				recovered.whenComplete((value, ex) -> {
+					if (ex != null) {
+						fail(unwrap(ex));
+					}
+					else {
+						this.context.setAttribute(RetryContext.RECOVERED, true);
+						complete(value);
+					}
+				});
+				return;
+			}
+			Throwable last = this.context.getLastThrowable();
+			fail(last != null ? last : new ExhaustedRetryException("Retry exhausted before first attempt"));
+		}
+
+		/**
+		 * Back off with a policy that blocks, then run the next step.
+		 */
+		private void backOffThen(Runnable next) {
+			RetryContext previous = bind();
+			try {
+				this.backOffPolicy.backOff(this.backOffContext);
+			}
+			catch (Throwable ex) {
+				fail(ex);
+				return;
+			}
+			finally {
+				unbind(previous);
+			}
+			next.run();
+		}
+
+		/**
+		 * Tell the listeners how long the current attempt took, unless it was told
+		 * already, as when a listener fails a successful attempt.
+		 */
+		private void endAttempt() {
+			if (this.attemptTimed) {
+				this.attemptTimed = false;
+				this.dispatcher.onAttemptLatency(this.context, this.callback, System.nanoTime() - this.attemptStart);
+			}
+		}
+
+		private boolean canRetry() {
+			return this.retryPolicy.canRetry(this.call) && !this.context.isExhaustedOnly();
+		}
+
+		@SuppressWarnings("unchecked")
+		private void complete(Object value) {
+			if (close()) {
+				this.result.complete((T) value);
+			}
+		}
+
+		private void fail(Throwable throwable) {
+			if (close()) {
+				this.result.completeExceptionally(throwable);
+			}
+		}
+
+		private boolean close() {
+			if (!this.closed.compareAndSet(false, true)) {
+				return false;
+			}
+			RetryContext previous = bind();
+			try {
+				this.retryPolicy.close(this.call);
+				this.context.setAttribute(RetryContext.CLOSED, true);
+			}
+			finally {
+				try {
+					if (this.dispatcher.hasLatencyListeners()) {
+						this.dispatcher.onCallLatency(this.context, this.callback, System.nanoTime() - this.callStart);
+					}
+					doCloseInterceptors();
+				}
+				finally {
+					unbind(previous);
+				}
+			}
+			return true;
+		}
+
+		private RetryContext bind() {
+			return RetrySynchronizationManager.register(this.context);
+		}
+
+		private void unbind(RetryContext previous) {
+			if (previous != null) {
+				RetrySynchronizationManager.register(previous);
+			}
+			else {
+				RetrySynchronizationManager.clear();
+			}
+		}
+
+		private boolean doOpenInterceptors() {
+			return this.dispatcher.open(this.context, this.callback);
+		}
+
+		private void doCloseInterceptors() {
+			this.dispatcher.close(this.context, this.callback, this.lastException);
+		}
+
+		private void doOnSuccessInterceptors(Object value) {
+			this.dispatcher.onSuccess(this.context, this.callback, value);
+		}
+
+		private void doOnErrorInterceptors(Throwable throwable) {
+			this.dispatcher.onError(this.context, this.callback, throwable);
+		}
+
+		private void doOnBackOffInterceptors(long nanos) {
+			this.dispatcher.onBackOff(this.context, this.callback, nanos);
+		}
+
+	}
+
+	private static final class SupplierRetryCallback<T> implements RetryCallback<CompletionStage<T>, RuntimeException> {
+
+		private final Supplier<? extends CompletionStage<T>> supplier;
+
+		private SupplierRetryCallback(Supplier<? extends CompletionStage<T>> supplier) {
+			Assert.notNull(supplier, "'supplier' cannot be null");
+			this.supplier = supplier;
+		}
+
+		@Override
+		public CompletionStage<T> doWithRetry(RetryContext context) {
+			return this.supplier.get();
+		}
+
+	}
+
+	private static final class DefaultScheduler {
+
+		private static final ScheduledExecutorService INSTANCE;
+
+		static {
+			ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+				Thread thread = new Thread(runnable, "async-retry-scheduler");
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.setRemoveOnCancelPolicy(true);
+			INSTANCE = executor;
+		}
+
+	}
+
+}
@@ -0,0 +1,573 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ScheduledExecutorService} backed by a hashed wheel of buckets, suitable for
+ * driving a large number of pending delayed retries, e.g. as the scheduler of an
+ * {@link AsyncRetryTemplate}.
+ * <p>
+ * Scheduling and cancelling a task are O(1): a new task is appended to a queue that a
+ * single worker thread drains into the bucket of its deadline once per tick, and a
+ * cancelled task is unlinked from its bucket by the worker. The price is precision: a
+ * task runs on the first tick at or after its deadline, so it may run up to one tick
+ * duration late. Tasks are run on the worker thread and should therefore not block.
+ * <p>
+ * The worker thread is started when the first task is scheduled. After
+ * {@link #shutdown()} the tasks that are already scheduled still run, except periodic
+ * ones, and the worker thread stops once none are left.
+ *
+ * @since 2.0.5
+ */
+public class HashedWheelTimer extends AbstractExecutorService implements ScheduledExecutorService {
+
+	/**
+	 * The default tick duration - 10ms.
+	 */
+	public static final long DEFAULT_TICK_DURATION = 10L;
+
+	/**
+	 * The default number of buckets in the wheel.
+	 */
+	public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+	private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+	private static final int INIT = 0;
+
+	private static final int STARTED = 1;
+
+	private static final int SHUTDOWN = 2;
+
+	private static final int STOP = 3;
+
+	private static final int TERMINATED = 4;
+
+	private final AtomicInteger state = new AtomicInteger(INIT);
+
+	private final AtomicLong pendingTasks = new AtomicLong();
+
+	private final Queue<WheelTask<?>> scheduledTasks = new ConcurrentLinkedQueue<>();
+
+	private final Queue<WheelTask<?>> cancelledTasks = new ConcurrentLinkedQueue<>();
+
+	private final CountDownLatch startTimeInitialized = new CountDownLatch(1);
+
+	private final CountDownLatch terminated = new CountDownLatch(1);
+
+	private final List<Runnable> unprocessedTasks = new ArrayList<>();
+
+	private final long tickDuration;
+
+	private final Bucket[] wheel;
+
+	private final int mask;
+
+	private final Thread workerThread;
+
+	private volatile long startTime;
+
+	/**
+	 * Create a timer with a tick duration of {@value #DEFAULT_TICK_DURATION}ms and
+	 * {@value #DEFAULT_TICKS_PER_WHEEL} buckets, running tasks on a daemon thread.
+	 */
+	public HashedWheelTimer() {
+		this(DEFAULT_TICK_DURATION, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+	}
+
+	/**
+	 * Create a timer running tasks on a daemon thread.
+	 * @param tickDuration the resolution of the timer, at least one millisecond
+	 * @param unit the unit of the tick duration
+	 * @param ticksPerWheel the number of buckets in the wheel, rounded up to a power of
+	 * two
+	 */
+	public HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+		this(tickDuration, unit, ticksPerWheel, runnable -> {
+			Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+			thread.setName("hashed-wheel-timer-" + thread.getName());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Create a timer.
+	 * @param tickDuration the resolution of the timer, at least one millisecond
+	 * @param unit the unit of the tick duration
+	 * @param ticksPerWheel the number of buckets in the wheel, rounded up to a power of
+	 * two
+	 * @param threadFactory the factory for the worker thread
+	 */
+	public HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel, ThreadFactory threadFactory) {
+		Assert.notNull(unit, "'unit' cannot be null");
+		Assert.notNull(threadFactory, "'threadFactory' cannot be null");
+		Assert.isTrue(tickDuration > 0, "'tickDuration' must be greater than 0");
+		Assert.isTrue(ticksPerWheel > 0 && ticksPerWheel <= 1 << 30, "'ticksPerWheel' must be between 1 and 2^30");
+		this.tickDuration = Math.max(unit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+		int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+		this.wheel = new Bucket[Math.max(size, 1)];
+		for (int i = 0; i < this.wheel.length; i++) {
+			this.wheel[i] = new Bucket();
+		}
+		this.mask = this.wheel.length - 1;
+		Assert.isTrue(this.tickDuration < Long.MAX_VALUE / this.wheel.length,
+				"'tickDuration' is too long for the number of ticks per wheel");
+		this.workerThread = threadFactory.newThread(new Worker());
+		Assert.notNull(this.workerThread, "'threadFactory' returned a null thread");
+	}
+
+	/**
+	 * The number of tasks that are scheduled but have neither run nor been removed after
+	 * a cancellation.
+	 * @return the number of pending tasks
+	 */
+	public long getPendingTaskCount() {
+		return this.pendingTasks.get();
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+		Assert.notNull(command, "'command' cannot be null");
+		Assert.notNull(unit, "'unit' cannot be null");
+		return enqueue(new WheelTask<Void>(command, null, triggerTime(delay, unit), 0));
+	}
+
+	@Override
+	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+		Assert.notNull(callable, "'callable' cannot be null");
+		Assert.notNull(unit, "'unit' cannot be null");
+		return enqueue(new WheelTask<>(callable, triggerTime(delay, unit)));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+		Assert.notNull(command, "'command' cannot be null");
+		Assert.notNull(unit, "'unit' cannot be null");
+		Assert.isTrue(period > 0, "'period' must be greater than 0");
+		return enqueue(new WheelTask<Void>(command, null, triggerTime(initialDelay, unit), unit.toNanos(period)));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+		Assert.notNull(command, "'command' cannot be null");
+		Assert.notNull(unit, "'unit' cannot be null");
+		Assert.isTrue(delay > 0, "'delay' must be greater than 0");
+		return enqueue(new WheelTask<Void>(command, null, triggerTime(initialDelay, unit), -unit.toNanos(delay)));
+	}
+
+	/**
+	 * Run the command on the next tick.
+	 */
+	@Override
+	public void execute(Runnable command) {
+		schedule(command, 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void shutdown() {
+		for (;;) {
+			int current = this.state.get();
+			if (current >= SHUTDOWN) {
+				return;
+			}
+			int next = current == INIT ? TERMINATED : SHUTDOWN;
+			if (this.state.compareAndSet(current, next)) {
+				if (next == TERMINATED) {
+					this.terminated.countDown();
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Stop the worker thread and cancel all pending tasks. When called from a task
+	 * running on the worker thread the tasks are cancelled once that task returns, and an
+	 * empty list is returned.
+	 * @return the tasks that never commenced execution
+	 */
+	@Override
+	public List<Runnable> shutdownNow() {
+		for (;;) {
+			int current = this.state.get();
+			if (current >= STOP) {
+				break;
+			}
+			int next = current == INIT ? TERMINATED : STOP;
+			if (this.state.compareAndSet(current, next)) {
+				if (next == TERMINATED) {
+					this.terminated.countDown();
+				}
+				break;
+			}
+		}
+		if (Thread.currentThread() == this.workerThread) {
+			return new ArrayList<>();
+		}
+		this.workerThread.interrupt();
+		boolean interrupted = false;
+		while (this.terminated.getCount() > 0) {
+			try {
+				this.terminated.await();
+			}
+			catch (InterruptedException ex) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (this.unprocessedTasks) {
+			List<Runnable> result = new ArrayList<>(this.unprocessedTasks);
+			this.unprocessedTasks.clear();
+			return result;
+		}
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return this.state.get() >= SHUTDOWN;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return this.state.get() == TERMINATED;
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return this.terminated.await(timeout, unit);
+	}
+
+	private long triggerTime(long delay, TimeUnit unit) {
+		long nanos = unit.toNanos(Math.max(delay, 0));
+		long now = System.nanoTime();
+		// Guard against overflow, the task will effectively never run
+		return nanos < Long.MAX_VALUE - now ? now + nanos : Long.MAX_VALUE;
+	}
+
+	private <V> WheelTask<V> enqueue(WheelTask<V> task) {
+		start();
+		this.pendingTasks.incrementAndGet();
+		this.scheduledTasks.add(task);
+		if (this.state.get() == TERMINATED && this.scheduledTasks.remove(task)) {
+			this.pendingTasks.decrementAndGet();
+			throw new RejectedExecutionException("Timer has been shut down");
+		}
+		return task;
+	}
+
+	private void start() {
+		int current = this.state.get();
+		if (current == INIT && this.state.compareAndSet(INIT, STARTED)) {
+			this.workerThread.start();
+		}
+		else if (current >= SHUTDOWN) {
+			throw new RejectedExecutionException("Timer has been shut down");
+		}
+		boolean interrupted = false;
+		while (this.startTimeInitialized.getCount() > 0) {
+			try {
+				this.startTimeInitialized.await();
+			}
+			catch (InterruptedException ex) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void reschedule(WheelTask<?> task) {
+		if (this.state.get() >= SHUTDOWN) {
+			task.cancel(false);
+			return;
+		}
+		this.pendingTasks.incrementAndGet();
+		this.scheduledTasks.add(task);
+	}
+
+	private final class Worker implements Runnable {
+
+		private long tick;
+
+		@Override
+		public void run() {
+			HashedWheelTimer.this.startTime = System.nanoTime();
+			HashedWheelTimer.this.startTimeInitialized.countDown();
+			while (isRunning()) {
+				long deadline = waitForNextTick();
+				if (deadline < 0) {
+					continue;
+				}
+				processCancelledTasks();
+				transferScheduledTasks();
+				HashedWheelTimer.this.wheel[(int) (this.tick & HashedWheelTimer.this.mask)].expire(deadline);
+				this.tick++;
+			}
+			terminate();
+		}
+
+		private boolean isRunning() {
+			int current = HashedWheelTimer.this.state.get();
+			return current == STARTED || (current == SHUTDOWN && HashedWheelTimer.this.pendingTasks.get() > 0);
+		}
+
+		private long waitForNextTick() {
+			long deadline = HashedWheelTimer.this.tickDuration * (this.tick + 1);
+			for (;;) {
+				long currentTime = System.nanoTime() - HashedWheelTimer.this.startTime;
+				long sleepTimeMs = (deadline - currentTime + 999999) / 1000000;
+				if (sleepTimeMs <= 0) {
+					return currentTime;
+				}
+				try {
+					Thread.sleep(sleepTimeMs);
+				}
+				catch (InterruptedException ex) {
+					if (HashedWheelTimer.this.state.get() >= STOP) {
+						return -1;
+					}
+				}
+			}
+		}
+
+		private void processCancelledTasks() {
+			WheelTask<?> task;
+			while ((task = HashedWheelTimer.this.cancelledTasks.poll()) != null) {
+				if (task.bucket != null) {
+					task.bucket.remove(task);
+				}
+			}
+		}
+
+		private void transferScheduledTasks() {
+			for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+				WheelTask<?> task = HashedWheelTimer.this.scheduledTasks.poll();
+				if (task == null) {
+					break;
+				}
+				if (task.isCancelled()) {
+					HashedWheelTimer.this.pendingTasks.decrementAndGet();
+					continue;
+				}
+				long deadline = task.triggerTime - HashedWheelTimer.this.startTime;
+				long calculated = Math.max(deadline, 0) / HashedWheelTimer.this.tickDuration;
+				task.deadline = deadline;
+				task.remainingRounds = (calculated - this.tick) / HashedWheelTimer.this.wheel.length;
+				long ticks = Math.max(calculated, this.tick);
+				HashedWheelTimer.this.wheel[(int) (ticks & HashedWheelTimer.this.mask)].add(task);
+			}
+		}
+
+		private void terminate() {
+			HashedWheelTimer.this.state.set(TERMINATED);
+			List<Runnable> unprocessed = new ArrayList<>();
+			for (Bucket bucket : HashedWheelTimer.this.wheel) {
+				bucket.clear(unprocessed);
+			}
+			WheelTask<?> task;
+			while ((task = HashedWheelTimer.this.scheduledTasks.poll()) != null) {
+				HashedWheelTimer.this.pendingTasks.decrementAndGet();
+				if (!task.isCancelled()) {
+					unprocessed.add(task);
+				}
+			}
+			HashedWheelTimer.this.cancelledTasks.clear();
+			for (Runnable runnable : unprocessed) {
+				((WheelTask<?>) runnable).cancel(false);
+			}
+			synchronized (HashedWheelTimer.this.unprocessedTasks) {
+				HashedWheelTimer.this.unprocessedTasks.addAll(unprocessed);
+			}
+			HashedWheelTimer.this.terminated.countDown();
+		}
+
+	}
+
+	/**
+	 * A doubly-linked list of the tasks that expire in one slot of the wheel. Only
+	 * accessed by the worker thread.
+	 */
+	private final class Bucket {
+
+		private WheelTask<?> head;
+
+		private WheelTask<?> tail;
+
+		void add(WheelTask<?> task) {
+			task.bucket = this;
+			if (this.head == null) {
+				this.head = task;
+				this.tail = task;
+			}
+			else {
+				this.tail.next = task;
+				task.prev = this.tail;
+				this.tail = task;
+			}
+		}
+
+		void expire(long deadline) {
+			WheelTask<?> task = this.head;
+			while (task != null) {
+				WheelTask<?> next = task.next;
+				if (task.isCancelled()) {
+					remove(task);
+				}
+				else if (task.remainingRounds <= 0 && task.deadline <= deadline) {
+					remove(task);
+					task.run();
+				}
+				else if (task.remainingRounds > 0) {
+					task.remainingRounds--;
+				}
+				task = next;
+			}
+		}
+
+		void remove(WheelTask<?> task) {
+			WheelTask<?> next = task.next;
+			if (task.prev != null) {
+				task.prev.next = next;
+			}
+			if (next != null) {
+				next.prev = task.prev;
+			}
+			if (task == this.head) {
+				this.head = next;
+			}
+			if (task == this.tail) {
+				this.tail = task.prev;
+			}
+			task.prev = null;
+			task.next = null;
+			task.bucket = null;
+			HashedWheelTimer.this.pendingTasks.decrementAndGet();
+		}
+
+		void clear(List<Runnable> unprocessed) {
+			while (this.head != null) {
+				WheelTask<?> task = this.head;
+				remove(task);
+				if (!task.isCancelled()) {
+					unprocessed.add(task);
+				}
+			}
+		}
+
+	}
+
+	private final class WheelTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+		/**
+		 * Period in nanoseconds: positive for fixed rate, negative for fixed delay and
+		 * zero for a one-shot task.
+		 */
+		private final long period;
+
+		private volatile long triggerTime;
+
+		private long deadline;
+
+		private long remainingRounds;
+
+		private Bucket bucket;
+
+		private WheelTask<?> next;
+
+		private WheelTask<?> prev;
+
+		WheelTask(Runnable runnable, V result, long triggerTime, long period) {
+			super(runnable, result);
+			this.triggerTime = triggerTime;
+			this.period = period;
+		}
+
+		WheelTask(Callable<V> callable, long triggerTime) {
+			super(callable);
+			this.triggerTime = triggerTime;
+			this.period = 0;
+		}
+
+		@Override
+		public boolean isPeriodic() {
+			return this.period != 0;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.triggerTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (other == this) {
+				return 0;
+			}
+			if (other instanceof WheelTask) {
+				return Long.compare(this.triggerTime - ((WheelTask<?>) other).triggerTime, 0);
+			}
+			return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				HashedWheelTimer.this.cancelledTasks.add(this);
+			}
+			return cancelled;
+		}
+
+		@Override
+		public void run() {
+			if (!isPeriodic()) {
+				super.run();
+			}
+			else if (runAndReset()) {
+				this.triggerTime = this.period > 0 ? this.triggerTime + this.period : System.nanoTime() - this.period;
+				reschedule(this);
+			}
+		}
+
+	}
+
+}
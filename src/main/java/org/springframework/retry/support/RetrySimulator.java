@@ -22,6 +22,7 @@ import java.util.List;
 import org.springframework.retry.RetryCallback;
 import org.springframework.retry.RetryContext;
 import org.springframework.retry.RetryPolicy;
+import org.springframework.retry.backoff.DelayComputingBackOffPolicy;
 import org.springframework.retry.backoff.Sleeper;
 import org.springframework.retry.backoff.SleepingBackOffPolicy;
 
@@ -77,10 +78,15 @@ public class RetrySimulator {
 	 */
 	public List<Long> executeSingleSimulation() {
 		StealingSleeper stealingSleeper = new StealingSleeper();
-		SleepingBackOffPolicy<?> stealingBackoff = backOffPolicy.withSleeper(stealingSleeper);
 
 		RetryTemplate template = new RetryTemplate();
-		template.setBackOffPolicy(stealingBackoff);
+		if (backOffPolicy instanceof DelayComputingBackOffPolicy) {
+			template.setBackOffPolicy(backOffPolicy);
+			template.setSleeper(stealingSleeper);
+		}
+		else {
+			template.setBackOffPolicy(backOffPolicy.withSleeper(stealingSleeper));
+		}
 		template.setRetryPolicy(retryPolicy);
 
 		try {
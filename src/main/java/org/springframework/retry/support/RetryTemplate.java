@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2022 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,7 @@
 
 package org.springframework.retry.support;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -36,7 +34,12 @@ import org.springframework.retry.TerminatedRetryException;
 import org.springframework.retry.backoff.BackOffContext;
 import org.springframework.retry.backoff.BackOffInterruptedException;
 import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.DelayComputingBackOffPolicy;
 import org.springframework.retry.backoff.NoBackOffPolicy;
+import org.springframework.retry.backoff.Sleeper;
+import org.springframework.retry.context.SharedRetryContext;
+import org.springframework.retry.jfr.RetryFlightRecorder;
+import org.springframework.retry.listener.RetryListenerDispatcher;
 import org.springframework.retry.policy.MapRetryContextCache;
 import org.springframework.retry.policy.RetryContextCache;
 import org.springframework.retry.policy.SimpleRetryPolicy;
@@ -90,8 +93,12 @@ public class RetryTemplate implements RetryOperations {
 
 	private volatile RetryPolicy retryPolicy = new SimpleRetryPolicy(3);
 
+	private volatile Sleeper sleeper;
+
 	private volatile RetryListener[] listeners = new RetryListener[0];
 
+	private volatile RetryListenerDispatcher dispatcher = RetryListenerDispatcher.EMPTY;
+
 	private RetryContextCache retryContextCache = new MapRetryContextCache();
 
 	private boolean throwLastExceptionOnExhausted;
@@ -134,12 +141,16 @@ public class RetryTemplate implements RetryOperations {
 
 	/**
 	 * Setter for listeners. The listeners are executed before and after a retry block
-	 * (i.e. before and after all the attempts), and on an error (every attempt).
+	 * (i.e. before and after all the attempts), and on an error (every attempt). Each
+	 * listener is only invoked for the callbacks it overrides.
 	 * @param listeners the {@link RetryListener}s
 	 * @see RetryListener
+	 * @see RetryListenerDispatcher
 	 */
 	public void setListeners(RetryListener[] listeners) {
-		this.listeners = Arrays.asList(listeners).toArray(new RetryListener[listeners.length]);
+		RetryListenerDispatcher dispatcher = RetryListenerDispatcher.of(listeners);
+		this.listeners = dispatcher.getListeners();
+		this.dispatcher = dispatcher;
 	}
 
 	/**
@@ -159,14 +170,9 @@ public class RetryTemplate implements RetryOperations {
 	 * @see #setListeners(RetryListener[])
 	 */
 	public void registerListener(RetryListener listener, int index) {
-		List<RetryListener> list = new ArrayList<>(Arrays.asList(this.listeners));
-		if (index >= list.size()) {
-			list.add(listener);
-		}
-		else {
-			list.add(index, listener);
-		}
-		this.listeners = list.toArray(new RetryListener[list.size()]);
+		RetryListenerDispatcher dispatcher = this.dispatcher.with(listener, index);
+		this.listeners = dispatcher.getListeners();
+		this.dispatcher = dispatcher;
 	}
 
 	/**
@@ -186,6 +192,18 @@ public class RetryTemplate implements RetryOperations {
 		this.backOffPolicy = backOffPolicy;
 	}
 
+	/**
+	 * Setter for the {@link Sleeper} used to wait between attempts. When set, and the
+	 * {@link BackOffPolicy} is a {@link DelayComputingBackOffPolicy}, the policy is only
+	 * asked for the delay and the sleeper does the waiting. Otherwise the policy backs
+	 * off by itself.
+	 * @param sleeper the {@link Sleeper} (might be null)
+	 * @since 2.0.5
+	 */
+	public void setSleeper(Sleeper sleeper) {
+		this.sleeper = sleeper;
+	}
+
 	/**
 	 * Setter for {@link RetryPolicy}.
 	 * @param retryPolicy the {@link RetryPolicy}
@@ -280,6 +298,14 @@ public class RetryTemplate implements RetryOperations {
 			this.logger.trace("RetryContext retrieved: " + context);
 		}
 
+		// A context shared by concurrent calls gives the policy one for this call
+		RetryContext call = SharedRetryContext.openCall(context);
+
+		// Timed here rather than on the context, which concurrent calls may share
+		RetryListenerDispatcher dispatcher = this.dispatcher;
+		boolean timed = dispatcher.hasLatencyListeners();
+		long callStart = timed ? System.nanoTime() : 0;
+
 		// Make sure the context is available globally for clients who need
 		// it...
 		RetrySynchronizationManager.register(context);
@@ -317,8 +343,11 @@ public class RetryTemplate implements RetryOperations {
 			 * recovery in handleRetryExhausted without the callback processing (which
 			 * would throw an exception).
 			 */
-			while (canRetry(retryPolicy, context) && !context.isExhaustedOnly()) {
+			while (canRetry(retryPolicy, call) && !context.isExhaustedOnly()) {
 
+				Object attempt = null;
+				boolean attemptTimed = false;
+				long attemptStart = 0;
 				try {
 					if (this.logger.isDebugEnabled()) {
 						this.logger.debug("Retry: count=" + context.getRetryCount());
@@ -326,16 +355,32 @@ public class RetryTemplate implements RetryOperations {
 					// Reset the last exception, so if we are successful
 					// the close interceptors will not think we failed...
 					lastException = null;
+					attempt = RetryFlightRecorder.beginAttempt();
+					if (timed) {
+						attemptTimed = true;
+						attemptStart = System.nanoTime();
+					}
 					T result = retryCallback.doWithRetry(context);
+					RetryFlightRecorder.endAttempt(attempt, context, null);
+					attempt = null;
+					if (attemptTimed) {
+						attemptTimed = false;
+						dispatcher.onAttemptLatency(context, retryCallback, System.nanoTime() - attemptStart);
+					}
 					doOnSuccessInterceptors(retryCallback, context, result);
 					return result;
 				}
 				catch (Throwable e) {
 
 					lastException = e;
+					RetryFlightRecorder.endAttempt(attempt, context, e);
+					if (attemptTimed) {
+						dispatcher.onAttemptLatency(context, retryCallback, System.nanoTime() - attemptStart);
+					}
 
 					try {
-						registerThrowable(retryPolicy, state, context, e);
+						registerThrowable(retryPolicy, state, call, e);
+						registerContext(context, state);
 					}
 					catch (Exception ex) {
 						throw new TerminatedRetryException("Could not register throwable", ex);
@@ -344,9 +389,9 @@ public class RetryTemplate implements RetryOperations {
 						doOnErrorInterceptors(retryCallback, context, e);
 					}
 
-					if (canRetry(retryPolicy, context) && !context.isExhaustedOnly()) {
+					if (canRetry(retryPolicy, call) && !context.isExhaustedOnly()) {
 						try {
-							backOffPolicy.backOff(backOffContext);
+							backOff(backOffPolicy, backOffContext, retryCallback, context);
 						}
 						catch (BackOffInterruptedException ex) {
 							lastException = e;
@@ -393,19 +438,77 @@ public class RetryTemplate implements RetryOperations {
 			throw RetryTemplate.<E>wrapIfNecessary(e);
 		}
 		finally {
-			close(retryPolicy, context, state, lastException == null || exhausted);
+			close(retryPolicy, call, state, lastException == null || exhausted);
+			SharedRetryContext.closeCall(context, call);
+			if (timed) {
+				dispatcher.onCallLatency(context, retryCallback, System.nanoTime() - callStart);
+			}
 			doCloseInterceptors(retryCallback, context, lastException);
 			RetrySynchronizationManager.clear();
 		}
 
 	}
 
+	/**
+	 * Back off before the next attempt, timing it if a listener wants to know how long it
+	 * took.
+	 * @param backOffPolicy the policy to use
+	 * @param backOffContext the current back off context
+	 * @param callback the current callback
+	 * @param context the current retry context
+	 * @throws BackOffInterruptedException if the back off is interrupted
+	 */
+	private <T, E extends Throwable> void backOff(BackOffPolicy backOffPolicy, BackOffContext backOffContext,
+			RetryCallback<T, E> callback, RetryContext context) throws BackOffInterruptedException {
+		RetryListenerDispatcher dispatcher = this.dispatcher;
+		if (!dispatcher.hasBackOffListeners()) {
+			backOff(backOffPolicy, backOffContext);
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			backOff(backOffPolicy, backOffContext);
+		}
+		finally {
+			dispatcher.onBackOff(context, callback, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Back off before the next attempt, waiting with the configured {@link Sleeper} if
+	 * the policy can compute its delay.
+	 * @param backOffPolicy the policy to use
+	 * @param backOffContext the current back off context
+	 * @throws BackOffInterruptedException if the back off is interrupted
+	 */
+	private void backOff(BackOffPolicy backOffPolicy, BackOffContext backOffContext)
+			throws BackOffInterruptedException {
+		Sleeper sleeper = this.sleeper;
+		if (sleeper == null || !(backOffPolicy instanceof DelayComputingBackOffPolicy)) {
+			backOffPolicy.backOff(backOffContext);
+			return;
+		}
+		long delay = ((DelayComputingBackOffPolicy) backOffPolicy).computeDelayNanos(backOffContext);
+		Object backOff = RetryFlightRecorder.beginBackOff();
+		try {
+			sleeper.sleep(TimeUnit.NANOSECONDS.toMillis(delay));
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BackOffInterruptedException("Thread interrupted while sleeping", e);
+		}
+		finally {
+			RetryFlightRecorder.endBackOff(backOff, delay);
+		}
+	}
+
 	/**
 	 * Decide whether to proceed with the ongoing retry attempt. This method is called
 	 * before the {@link RetryCallback} is executed, but after the backoff and open
 	 * interceptors.
 	 * @param retryPolicy the policy to apply
-	 * @param context the current retry context
+	 * @param context the current retry context, or the context of the call if it is
+	 * shared
 	 * @return true if we can continue with the attempt
 	 */
 	protected boolean canRetry(RetryPolicy retryPolicy, RetryContext context) {
@@ -416,7 +519,7 @@ public class RetryTemplate implements RetryOperations {
 	 * Clean up the cache if necessary and close the context provided (if the flag
 	 * indicates that processing was successful).
 	 * @param retryPolicy the {@link RetryPolicy}
-	 * @param context the {@link RetryContext}
+	 * @param context the {@link RetryContext}, or the context of the call if it is shared
 	 * @param state the {@link RetryState}
 	 * @param succeeded whether the close succeeded
 	 */
@@ -424,7 +527,7 @@ public class RetryTemplate implements RetryOperations {
 		if (state != null) {
 			if (succeeded) {
 				if (!context.hasAttribute(GLOBAL_STATE)) {
-					this.retryContextCache.remove(state.getKey());
+					this.retryContextCache.remove(state.getKey(), context);
 				}
 				retryPolicy.close(context);
 				context.setAttribute(RetryContext.CLOSED, true);
@@ -438,19 +541,24 @@ public class RetryTemplate implements RetryOperations {
 
 	protected void registerThrowable(RetryPolicy retryPolicy, RetryState state, RetryContext context, Throwable e) {
 		retryPolicy.registerThrowable(context, e);
-		registerContext(context, state);
 	}
 
 	private void registerContext(RetryContext context, RetryState state) {
 		if (state != null) {
 			Object key = state.getKey();
 			if (key != null) {
-				if (context.getRetryCount() > 1 && !this.retryContextCache.containsKey(key)) {
-					throw new RetryException("Inconsistent state for failed item key: cache key has changed. "
-							+ "Consider whether equals() or hashCode() for the key might be inconsistent, "
-							+ "or if you need to supply a better key");
+				boolean global = context.hasAttribute(GLOBAL_STATE);
+				if (global || context.getRetryCount() > 1) {
+					// Stored already, when opened or when it first failed
+					if (!this.retryContextCache.replace(key, context) && !global) {
+						throw new RetryException("Inconsistent state for failed item key: cache key has changed. "
+								+ "Consider whether equals() or hashCode() for the key might be inconsistent, "
+								+ "or if you need to supply a better key");
+					}
+				}
+				else {
+					this.retryContextCache.put(key, context);
 				}
-				this.retryContextCache.put(key, context);
 			}
 		}
 	}
@@ -470,27 +578,19 @@ public class RetryTemplate implements RetryOperations {
 		}
 
 		Object key = state.getKey();
-		if (state.isForceRefresh()) {
+		if (key == null || state.isForceRefresh()) {
 			return doOpenInternal(retryPolicy, state);
 		}
 
-		// If there is no cache hit we can avoid the possible expense of the
-		// cache re-hydration.
-		if (!this.retryContextCache.containsKey(key)) {
-			// The cache is only used if there is a failure.
-			return doOpenInternal(retryPolicy, state);
-		}
-
-		RetryContext context = this.retryContextCache.get(key);
-		if (context == null) {
-			if (this.retryContextCache.containsKey(key)) {
-				throw new RetryException("Inconsistent state for failed item: no history found. "
-						+ "Consider whether equals() or hashCode() for the item might be inconsistent, "
-						+ "or if you need to supply a better ItemKeyGenerator");
-			}
-			// The cache could have been expired in between calls to
-			// containsKey(), so we have to live with this:
-			return doOpenInternal(retryPolicy, state);
+		// A single atomic lookup: a global context is stored as soon as it is created,
+		// the others only if there is a failure.
+		RetryContext[] created = new RetryContext[1];
+		RetryContext context = this.retryContextCache.computeIfAbsent(key, k -> {
+			created[0] = doOpen(retryPolicy, state);
+			return created[0].hasAttribute(GLOBAL_STATE) ? created[0] : null;
+		});
+		if (context == null || context == created[0]) {
+			return created[0];
 		}
 
 		// Start with a clean slate for state that others may be inspecting
@@ -502,13 +602,18 @@ public class RetryTemplate implements RetryOperations {
 	}
 
 	private RetryContext doOpenInternal(RetryPolicy retryPolicy, RetryState state) {
+		RetryContext context = doOpen(retryPolicy, state);
+		if (state != null && state.getKey() != null && context.hasAttribute(GLOBAL_STATE)) {
+			this.retryContextCache.put(state.getKey(), context);
+		}
+		return context;
+	}
+
+	private RetryContext doOpen(RetryPolicy retryPolicy, RetryState state) {
 		RetryContext context = retryPolicy.open(RetrySynchronizationManager.getContext());
 		if (state != null) {
 			context.setAttribute(RetryContext.STATE_KEY, state.getKey());
 		}
-		if (context.hasAttribute(GLOBAL_STATE)) {
-			registerContext(context, state);
-		}
 		return context;
 	}
 
@@ -534,13 +639,16 @@ public class RetryTemplate implements RetryOperations {
 	protected <T> T handleRetryExhausted(RecoveryCallback<T> recoveryCallback, RetryContext context, RetryState state)
 			throws Throwable {
 		context.setAttribute(RetryContext.EXHAUSTED, true);
+		RetryFlightRecorder.exhausted(context);
 		if (state != null && !context.hasAttribute(GLOBAL_STATE)) {
-			this.retryContextCache.remove(state.getKey());
+			this.retryContextCache.remove(state.getKey(), context);
 		}
 		boolean doRecover = !Boolean.TRUE.equals(context.getAttribute(RetryContext.NO_RECOVERY));
 		if (recoveryCallback != null) {
 			if (doRecover) {
+				Object recovery = RetryFlightRecorder.beginRecovery();
 				T recovered = recoveryCallback.recover(context);
+				RetryFlightRecorder.endRecovery(recovery, context);
 				context.setAttribute(RetryContext.RECOVERED, true);
 				return recovered;
 			}
@@ -581,36 +689,22 @@ public class RetryTemplate implements RetryOperations {
 	}
 
 	private <T, E extends Throwable> boolean doOpenInterceptors(RetryCallback<T, E> callback, RetryContext context) {
-
-		boolean result = true;
-
-		for (RetryListener listener : this.listeners) {
-			result = result && listener.open(context, callback);
-		}
-
-		return result;
-
+		return this.dispatcher.open(context, callback);
 	}
 
 	private <T, E extends Throwable> void doCloseInterceptors(RetryCallback<T, E> callback, RetryContext context,
 			Throwable lastException) {
-		for (int i = this.listeners.length; i-- > 0;) {
-			this.listeners[i].close(context, callback, lastException);
-		}
+		this.dispatcher.close(context, callback, lastException);
 	}
 
 	private <T, E extends Throwable> void doOnSuccessInterceptors(RetryCallback<T, E> callback, RetryContext context,
 			T result) {
-		for (int i = this.listeners.length; i-- > 0;) {
-			this.listeners[i].onSuccess(context, callback, result);
-		}
+		this.dispatcher.onSuccess(context, callback, result);
 	}
 
 	private <T, E extends Throwable> void doOnErrorInterceptors(RetryCallback<T, E> callback, RetryContext context,
 			Throwable throwable) {
-		for (int i = this.listeners.length; i-- > 0;) {
-			this.listeners[i].onError(context, callback, throwable);
-		}
+		this.dispatcher.onError(context, callback, throwable);
 	}
 
 	/**
@@ -16,11 +16,13 @@
 
 package org.springframework.retry.annotation;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.function.Supplier;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.Advisor;
 import org.springframework.aop.framework.Advised;
@@ -30,6 +32,7 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.retry.RetryContext;
+import org.springframework.retry.interceptor.MethodArgumentsKeyGenerator;
 import org.springframework.retry.policy.CircuitBreakerRetryPolicy;
 import org.springframework.retry.support.RetrySynchronizationManager;
 import org.springframework.retry.util.test.TestUtils;
@@ -118,6 +121,46 @@ public class CircuitBreakerTests {
 		context.close();
 	}
 
+	@Test
+	void keyed() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TestConfiguration.class);
+		KeyedService service = context.getBean(KeyedService.class);
+		for (int i = 0; i < 3; i++) {
+			assertThatExceptionOfType(Exception.class).isThrownBy(() -> service.service("bad"));
+		}
+		assertThat((Boolean) service.getContext().getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_OPEN)).isTrue();
+		assertThatExceptionOfType(Exception.class).isThrownBy(() -> service.service("bad"));
+		// Not called again once the circuit of the key is open
+		assertThat(service.getCount()).isEqualTo(3);
+		service.service("good");
+		assertThat((Boolean) service.getContext().getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_OPEN)).isFalse();
+		assertThat(service.getCount()).isEqualTo(4);
+		for (int i = 0; i < 3; i++) {
+			assertThatExceptionOfType(Exception.class).isThrownBy(() -> service.generated("bad"));
+		}
+		service.generated("good");
+		assertThat(service.getCount()).isEqualTo(8);
+		context.close();
+	}
+
+	@Test
+	void reactive() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TestConfiguration.class);
+		ReactiveService service = context.getBean(ReactiveService.class);
+		Mono<String> result = service.service();
+		assertThat(service.getCount()).isEqualTo(0);
+		assertThatExceptionOfType(Exception.class).isThrownBy(() -> result.block(Duration.ofSeconds(1)));
+		assertThat((Boolean) service.getContext().getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_OPEN)).isFalse();
+		assertThatExceptionOfType(Exception.class).isThrownBy(() -> result.block(Duration.ofSeconds(1)));
+		assertThatExceptionOfType(Exception.class).isThrownBy(() -> service.service().block(Duration.ofSeconds(1)));
+		assertThat((Boolean) service.getContext().getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_OPEN)).isTrue();
+		assertThat(service.getCount()).isEqualTo(3);
+		assertThatExceptionOfType(Exception.class).isThrownBy(() -> service.service().block(Duration.ofSeconds(1)));
+		// Not subscribed again once circuit is open
+		assertThat(service.getCount()).isEqualTo(3);
+		context.close();
+	}
+
 	@Configuration
 	@EnableRetry
 	protected static class TestConfiguration {
@@ -127,6 +170,21 @@ public class CircuitBreakerTests {
 			return new ServiceImpl();
 		}
 
+		@Bean
+		public ReactiveService reactiveService() {
+			return new ReactiveService();
+		}
+
+		@Bean
+		public KeyedService keyedService() {
+			return new KeyedService();
+		}
+
+		@Bean
+		public MethodArgumentsKeyGenerator tenantKeyGenerator() {
+			return args -> args[0];
+		}
+
 		@Bean
 		Configs configs() {
 			return new Configs();
@@ -209,4 +267,62 @@ public class CircuitBreakerTests {
 
 	}
 
+	protected static class KeyedService {
+
+		int count = 0;
+
+		RetryContext context;
+
+		@CircuitBreaker(retryFor = RuntimeException.class, key = "args[0]")
+		public void service(String tenant) {
+			this.context = RetrySynchronizationManager.getContext();
+			this.count++;
+			if ("bad".equals(tenant)) {
+				throw new RuntimeException("Planned");
+			}
+		}
+
+		@CircuitBreaker(retryFor = RuntimeException.class, keyGenerator = "tenantKeyGenerator")
+		public void generated(String tenant) {
+			this.count++;
+			if ("bad".equals(tenant)) {
+				throw new RuntimeException("Planned");
+			}
+		}
+
+		public RetryContext getContext() {
+			return this.context;
+		}
+
+		public int getCount() {
+			return this.count;
+		}
+
+	}
+
+	protected static class ReactiveService {
+
+		int count = 0;
+
+		RetryContext context;
+
+		@CircuitBreaker(retryFor = RuntimeException.class)
+		public Mono<String> service() {
+			this.context = RetrySynchronizationManager.getContext();
+			return Mono.defer(() -> {
+				this.count++;
+				return Mono.error(new RuntimeException("Planned"));
+			});
+		}
+
+		public RetryContext getContext() {
+			return this.context;
+		}
+
+		public int getCount() {
+			return this.count;
+		}
+
+	}
+
 }
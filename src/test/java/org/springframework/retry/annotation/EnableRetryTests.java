@@ -17,11 +17,16 @@
 package org.springframework.retry.annotation;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.Advised;
 import org.springframework.aop.support.AopUtils;
@@ -159,6 +164,58 @@ public class EnableRetryTests {
 		}
 	}
 
+	@Test
+	public void asyncRetry() throws Exception {
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				TestConfiguration.class)) {
+			AsyncService service = context.getBean(AsyncService.class);
+			assertThat(service.service().get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+			assertThat(service.getCount()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	public void asyncRecovery() throws Exception {
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				TestConfiguration.class)) {
+			AsyncService service = context.getBean(AsyncService.class);
+			assertThat(service.serviceWithRecovery().get(1, TimeUnit.SECONDS)).isEqualTo("recovered: Planned");
+			assertThat(service.getCount()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	public void reactiveRetry() {
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				TestConfiguration.class)) {
+			ReactiveService service = context.getBean(ReactiveService.class);
+			Mono<String> result = service.service();
+			assertThat(service.getCount()).isEqualTo(0);
+			assertThat(result.block(Duration.ofSeconds(1))).isEqualTo("foo");
+			assertThat(service.getCount()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	public void reactiveRecovery() {
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				TestConfiguration.class)) {
+			ReactiveService service = context.getBean(ReactiveService.class);
+			assertThat(service.serviceWithRecovery().block(Duration.ofSeconds(1))).isEqualTo("recovered: Planned");
+			assertThat(service.getCount()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	public void reactiveFluxRetry() {
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				TestConfiguration.class)) {
+			ReactiveService service = context.getBean(ReactiveService.class);
+			assertThat(service.fluxService().collectList().block(Duration.ofSeconds(1))).containsExactly("a", "a", "b");
+			assertThat(service.getCount()).isEqualTo(2);
+		}
+	}
+
 	@Test
 	public void type() {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TestConfiguration.class);
@@ -483,6 +540,16 @@ public class EnableRetryTests {
 			return new RecoverableService();
 		}
 
+		@Bean
+		public AsyncService asyncService() {
+			return new AsyncService();
+		}
+
+		@Bean
+		public ReactiveService reactiveService() {
+			return new ReactiveService();
+		}
+
 		@Bean
 		public RetryableService retryable() {
 			return new RetryableService();
@@ -693,6 +760,75 @@ public class EnableRetryTests {
 
 	}
 
+	protected static class AsyncService {
+
+		private int count = 0;
+
+		@Retryable(backoff = @Backoff(10))
+		public CompletableFuture<String> service() {
+			CompletableFuture<String> future = new CompletableFuture<>();
+			if (++this.count < 3) {
+				future.completeExceptionally(new RuntimeException("Planned"));
+			}
+			else {
+				future.complete("foo");
+			}
+			return future;
+		}
+
+		@Retryable(backoff = @Backoff(10), recover = "recover")
+		public CompletableFuture<String> serviceWithRecovery() {
+			this.count++;
+			CompletableFuture<String> future = new CompletableFuture<>();
+			future.completeExceptionally(new RuntimeException("Planned"));
+			return future;
+		}
+
+		@Recover
+		public CompletableFuture<String> recover(RuntimeException cause) {
+			return CompletableFuture.completedFuture("recovered: " + cause.getMessage());
+		}
+
+		public int getCount() {
+			return this.count;
+		}
+
+	}
+
+	protected static class ReactiveService {
+
+		private int count = 0;
+
+		@Retryable(backoff = @Backoff(10))
+		public Mono<String> service() {
+			return Mono.defer(() -> ++this.count < 3 ? Mono.error(new RuntimeException("Planned")) : Mono.just("foo"));
+		}
+
+		@Retryable(backoff = @Backoff(10), recover = "recover")
+		public Mono<String> serviceWithRecovery() {
+			return Mono.defer(() -> {
+				this.count++;
+				return Mono.error(new RuntimeException("Planned"));
+			});
+		}
+
+		@Retryable(backoff = @Backoff(10))
+		public Flux<String> fluxService() {
+			return Flux.defer(() -> ++this.count < 2
+					? Flux.just("a").concatWith(Flux.error(new RuntimeException("Planned"))) : Flux.just("a", "b"));
+		}
+
+		@Recover
+		public Mono<String> recover(RuntimeException cause) {
+			return Mono.just("recovered: " + cause.getMessage());
+		}
+
+		public int getCount() {
+			return this.count;
+		}
+
+	}
+
 	@Retryable(retryFor = RuntimeException.class)
 	protected static class RetryableService {
 
@@ -16,6 +16,8 @@
 
 package org.springframework.retry.backoff;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -108,4 +110,18 @@ public class ExponentialBackOffPolicyTests {
 		assertThat(Thread.interrupted()).isTrue();
 	}
 
+	@Test
+	public void testComputeDelayIncrementsWithoutSleeping() {
+		ExponentialBackOffPolicy strategy = new ExponentialBackOffPolicy();
+		strategy.setInitialInterval(100);
+		strategy.setMaxInterval(300);
+		strategy.setSleeper(sleeper);
+		BackOffContext context = strategy.start(null);
+		assertThat(strategy.computeDelayNanos(context)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+		assertThat(strategy.computeDelayNanos(context)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+		assertThat(strategy.computeDelayNanos(context)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(300));
+		strategy.backOff(context);
+		assertThat(sleeper.getBackOffs()).containsExactly(300);
+	}
+
 }
@@ -16,6 +16,8 @@
 
 package org.springframework.retry.backoff;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -82,4 +84,13 @@ public class FixedBackOffPolicyTests {
 		assertThat(Thread.interrupted()).isTrue();
 	}
 
+	@Test
+	public void testComputeDelayDoesNotSleep() {
+		FixedBackOffPolicy strategy = new FixedBackOffPolicy();
+		strategy.setBackOffPeriod(50);
+		strategy.setSleeper(sleeper);
+		assertThat(strategy.computeDelayNanos(null)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+		assertThat(sleeper.getBackOffs()).isEmpty();
+	}
+
 }
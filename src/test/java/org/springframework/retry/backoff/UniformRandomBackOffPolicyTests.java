@@ -16,6 +16,8 @@
 
 package org.springframework.retry.backoff;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -60,4 +62,15 @@ public class UniformRandomBackOffPolicyTests {
 		assertThat(Thread.interrupted()).isTrue();
 	}
 
+	@Test
+	public void testComputeDelayWithinRange() {
+		UniformRandomBackOffPolicy backOffPolicy = new UniformRandomBackOffPolicy();
+		backOffPolicy.setMinBackOffPeriod(1000);
+		backOffPolicy.setMaxBackOffPeriod(2000);
+		for (int i = 0; i < 100; i++) {
+			assertThat(backOffPolicy.computeDelayNanos(null)).isBetween(TimeUnit.MILLISECONDS.toNanos(1000),
+					TimeUnit.MILLISECONDS.toNanos(2000));
+		}
+	}
+
 }
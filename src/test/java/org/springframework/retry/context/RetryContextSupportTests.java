@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.context;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.retry.RetryContext;
+import org.springframework.util.SerializationUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class RetryContextSupportTests {
+
+	@Test
+	public void testWellKnownAttributesKeptInFields() {
+		RetryContextSupport context = new RetryContextSupport(null);
+		context.setAttribute(RetryContext.NAME, "foo");
+		context.setAttribute(RetryContext.CLOSED, true);
+		context.setAttribute("ARGS", new Object[0]);
+		context.setAttribute("___proxy___", "proxy");
+		context.setAttribute("backOffContext", "backOff");
+		context.setAttribute("state.global", true);
+		context.setAttribute("circuit.open", false);
+		context.setAttribute("circuit.shortCount", 0);
+		DirectFieldAccessor accessor = new DirectFieldAccessor(context);
+		assertThat((Map<?, ?>) accessor.getPropertyValue("attributes")).isEmpty();
+		assertThat(accessor.getPropertyValue("otherAttributes")).isNull();
+		assertThat(context.getAttribute(RetryContext.NAME)).isEqualTo("foo");
+		assertThat(context.hasAttribute(RetryContext.CLOSED)).isTrue();
+		assertThat(context.hasAttribute(RetryContext.EXHAUSTED)).isFalse();
+		assertThat(context.<Boolean>computeAttribute(RetryContext.EXHAUSTED, name -> true)).isTrue();
+		assertThat(context.attributeNames()).containsExactly(RetryContext.NAME, RetryContext.CLOSED,
+				RetryContext.EXHAUSTED, "ARGS", "___proxy___", "backOffContext", "state.global", "circuit.open",
+				"circuit.shortCount");
+	}
+
+	@Test
+	public void testCopyAttributes() {
+		RetryContextSupport source = new RetryContextSupport(null);
+		source.setAttribute(RetryContext.NAME, "foo");
+		source.setAttribute("foo", "bar");
+		RetryContextSupport context = new RetryContextSupport(null) {
+			{
+				copyAttributesFrom(source);
+			}
+		};
+		assertThat(context).isEqualTo(source);
+		assertThat((Map<?, ?>) new DirectFieldAccessor(context).getPropertyValue("otherAttributes")).hasSize(1);
+	}
+
+	@Test
+	public void testSerialization() {
+		RetryContextSupport context = new RetryContextSupport(null);
+		context.setAttribute(RetryContext.NAME, "foo");
+		context.setAttribute("foo", "bar");
+		RetryContextSupport copy = SerializationUtils.clone(context);
+		assertThat(copy).isEqualTo(context);
+		assertThat(copy.attributeNames()).containsExactly(RetryContext.NAME, "foo");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSerializedWithAttributesInMap() {
+		RetryContextSupport context = new RetryContextSupport(null);
+		// As serialized before the attributes were kept apart
+		Map<String, Object> map = (Map<String, Object>) new DirectFieldAccessor(context).getPropertyValue("attributes");
+		map.put(RetryContext.NAME, "foo");
+		map.put("foo", "bar");
+		RetryContextSupport copy = SerializationUtils.clone(context);
+		assertThat(copy.getAttribute(RetryContext.NAME)).isEqualTo("foo");
+		assertThat(copy.getAttribute("foo")).isEqualTo("bar");
+		assertThat((Map<?, ?>) new DirectFieldAccessor(copy).getPropertyValue("attributes")).isEmpty();
+	}
+
+	@Test
+	public void testOtherAttributes() {
+		RetryContextSupport context = new RetryContextSupport(null);
+		assertThat(context.getAttribute("foo")).isNull();
+		assertThat(context.hasAttribute("foo")).isFalse();
+		assertThat(context.removeAttribute("foo")).isNull();
+		context.setAttribute("foo", "bar");
+		context.setAttribute(RetryContext.RECOVERED, true);
+		assertThat(context.getAttribute("foo")).isEqualTo("bar");
+		assertThat(context.attributeNames()).containsExactly(RetryContext.RECOVERED, "foo");
+		assertThat(context.removeAttribute("foo")).isEqualTo("bar");
+		assertThat(context.hasAttribute("foo")).isFalse();
+	}
+
+	@Test
+	public void testNullValueRemovesAttribute() {
+		RetryContextSupport context = new RetryContextSupport(null);
+		context.setAttribute(RetryContext.EXHAUSTED, true);
+		context.setAttribute("foo", "bar");
+		context.setAttribute(RetryContext.EXHAUSTED, null);
+		context.setAttribute("foo", null);
+		assertThat(context.hasAttribute(RetryContext.EXHAUSTED)).isFalse();
+		assertThat(context.hasAttribute("foo")).isFalse();
+		assertThat(context.attributeNames()).isEmpty();
+		assertThatIllegalArgumentException().isThrownBy(() -> context.getAttribute(null));
+	}
+
+	@Test
+	public void testEqualsAndHashCodeFollowAttributes() {
+		RetryContextSupport context = new RetryContextSupport(null);
+		RetryContextSupport other = new RetryContextSupport(null);
+		assertThat(context).isEqualTo(other);
+		context.setAttribute(RetryContext.NAME, "foo");
+		context.setAttribute("foo", "bar");
+		assertThat(context).isNotEqualTo(other);
+		other.setAttribute("foo", "bar");
+		other.setAttribute(RetryContext.NAME, "foo");
+		assertThat(context).isEqualTo(other);
+		Map<String, Object> map = new HashMap<>();
+		map.put(RetryContext.NAME, "foo");
+		map.put("foo", "bar");
+		assertThat(context.hashCode()).isEqualTo(other.hashCode()).isEqualTo(map.hashCode());
+	}
+
+}
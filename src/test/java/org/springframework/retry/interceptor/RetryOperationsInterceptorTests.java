@@ -18,16 +18,21 @@ package org.springframework.retry.interceptor;
 
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.Advised;
 import org.springframework.aop.framework.ProxyFactory;
@@ -39,6 +44,8 @@ import org.springframework.retry.RetryListener;
 import org.springframework.retry.listener.MethodInvocationRetryListenerSupport;
 import org.springframework.retry.policy.NeverRetryPolicy;
 import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.reactor.ReactorRetryTemplate;
+import org.springframework.retry.support.AsyncRetryTemplate;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.ClassUtils;
@@ -249,6 +256,107 @@ public class RetryOperationsInterceptorTests {
 		})).withMessageContaining("MethodInvocation");
 	}
 
+	@Test
+	public void testAsyncInterceptorRetriesFailedFuture() throws Exception {
+		this.interceptor.setAsyncRetryOperations(new AsyncRetryTemplate());
+		AsyncService service = ProxyFactory.getProxy(AsyncService.class,
+				new SingletonTargetSource(new AsyncServiceImpl()));
+		((Advised) service).addAdvice(this.interceptor);
+		assertThat(service.service().get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+		assertThat(count).isEqualTo(2);
+	}
+
+	@Test
+	public void testAsyncInterceptorRecovers() throws Exception {
+		AsyncRetryTemplate asyncTemplate = new AsyncRetryTemplate();
+		asyncTemplate.setRetryPolicy(new NeverRetryPolicy());
+		this.interceptor.setAsyncRetryOperations(asyncTemplate);
+		this.interceptor.setRecoverer((args, cause) -> CompletableFuture.completedFuture(cause.getMessage()));
+		AsyncService service = ProxyFactory.getProxy(AsyncService.class,
+				new SingletonTargetSource(new AsyncServiceImpl()));
+		((Advised) service).addAdvice(this.interceptor);
+		assertThat(service.service().get(1, TimeUnit.SECONDS)).isEqualTo("Not enough calls: 1");
+		assertThat(count).isEqualTo(1);
+	}
+
+	@Test
+	public void testFailedFutureNotRetriedWithoutAsyncOperations() {
+		AsyncService service = ProxyFactory.getProxy(AsyncService.class,
+				new SingletonTargetSource(new AsyncServiceImpl()));
+		((Advised) service).addAdvice(this.interceptor);
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> service.service().get());
+		assertThat(count).isEqualTo(1);
+	}
+
+	@Test
+	public void testReactorInterceptorRetriesFailedMono() {
+		MethodInterceptor interceptor = RetryInterceptorBuilder.stateless()
+			.reactorRetryOperations(new ReactorRetryTemplate())
+			.build();
+		ReactiveService service = ProxyFactory.getProxy(ReactiveService.class,
+				new SingletonTargetSource(new ReactiveServiceImpl()));
+		((Advised) service).addAdvice(interceptor);
+		assertThat(service.service().block(Duration.ofSeconds(1))).isEqualTo("foo");
+		assertThat(count).isEqualTo(2);
+	}
+
+	@Test
+	public void testReactorInterceptorRecovers() {
+		ReactorRetryTemplate reactorTemplate = new ReactorRetryTemplate();
+		reactorTemplate.setRetryPolicy(new NeverRetryPolicy());
+		this.interceptor.setReactorRetryOperations(reactorTemplate);
+		this.interceptor.setRecoverer((args, cause) -> cause.getMessage());
+		ReactiveService service = ProxyFactory.getProxy(ReactiveService.class,
+				new SingletonTargetSource(new ReactiveServiceImpl()));
+		((Advised) service).addAdvice(this.interceptor);
+		assertThat(service.service().block(Duration.ofSeconds(1))).isEqualTo("Not enough calls: 1");
+		assertThat(count).isEqualTo(1);
+	}
+
+	public static interface ReactiveService {
+
+		Mono<String> service();
+
+	}
+
+	public static class ReactiveServiceImpl implements ReactiveService {
+
+		@Override
+		public Mono<String> service() {
+			return Mono.defer(() -> {
+				count++;
+				if (count < 2) {
+					return Mono.error(new IllegalStateException("Not enough calls: " + count));
+				}
+				return Mono.just("foo");
+			});
+		}
+
+	}
+
+	public static interface AsyncService {
+
+		CompletableFuture<String> service();
+
+	}
+
+	public static class AsyncServiceImpl implements AsyncService {
+
+		@Override
+		public CompletableFuture<String> service() {
+			CompletableFuture<String> future = new CompletableFuture<>();
+			count++;
+			if (count < 2) {
+				future.completeExceptionally(new IllegalStateException("Not enough calls: " + count));
+			}
+			else {
+				future.complete("foo");
+			}
+			return future;
+		}
+
+	}
+
 	public static interface Service {
 
 		void service() throws Exception;
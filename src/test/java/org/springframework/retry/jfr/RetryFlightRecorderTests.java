@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.jfr;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.classify.BinaryExceptionClassifier;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.FixedBackOffPolicy;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy;
+import org.springframework.retry.policy.NeverRetryPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.DefaultRetryState;
+import org.springframework.retry.support.RetryTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RetryFlightRecorderTests {
+
+	private final Recording recording = new Recording();
+
+	@BeforeEach
+	public void start() {
+		for (String name : new String[] { RetryAttemptEvent.NAME, RetryBackOffEvent.NAME, RetryExhaustedEvent.NAME,
+				RetryRecoveredEvent.NAME, CircuitStateChangeEvent.NAME }) {
+			this.recording.enable(name).withoutThreshold();
+		}
+		this.recording.start();
+	}
+
+	@AfterEach
+	public void close() {
+		this.recording.close();
+	}
+
+	@Test
+	public void testRetryEvents() throws Exception {
+		RetryTemplate template = new RetryTemplate();
+		template.setRetryPolicy(new SimpleRetryPolicy(3));
+		FixedBackOffPolicy backOffPolicy = new FixedBackOffPolicy();
+		backOffPolicy.setBackOffPeriod(10);
+		template.setBackOffPolicy(backOffPolicy);
+		Object result = template.execute(context -> {
+			context.setAttribute(RetryContext.NAME, "foo");
+			throw new IllegalStateException("planned");
+		}, context -> "bar");
+		assertThat(result).isEqualTo("bar");
+		List<RecordedEvent> events = stop();
+		List<RecordedEvent> attempts = named(events, RetryAttemptEvent.NAME);
+		assertThat(attempts).extracting(event -> event.getInt("attempt")).containsExactly(1, 2, 3);
+		assertThat(attempts).allSatisfy(event -> {
+			assertThat(event.getString("label")).isEqualTo("foo");
+			assertThat(event.getClass("exceptionClass").getName()).isEqualTo(IllegalStateException.class.getName());
+		});
+		List<RecordedEvent> backOffs = named(events, RetryBackOffEvent.NAME);
+		assertThat(backOffs).hasSize(2).allSatisfy(event -> {
+			assertThat(event.getString("label")).isEqualTo("foo");
+			assertThat(event.getDuration("requested")).isEqualTo(Duration.ofMillis(10));
+			assertThat(event.getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(9));
+		});
+		assertThat(named(events, RetryExhaustedEvent.NAME)).singleElement()
+			.satisfies(event -> assertThat(event.getInt("attempts")).isEqualTo(3));
+		assertThat(named(events, RetryRecoveredEvent.NAME)).singleElement()
+			.satisfies(event -> assertThat(event.getString("label")).isEqualTo("foo"));
+	}
+
+	@Test
+	public void testCircuitStateChangeEvents() throws Exception {
+		RetryTemplate template = new RetryTemplate();
+		CircuitBreakerRetryPolicy retryPolicy = new CircuitBreakerRetryPolicy(new NeverRetryPolicy());
+		retryPolicy.setResetTimeout(10);
+		template.setRetryPolicy(retryPolicy);
+		DefaultRetryState state = new DefaultRetryState("circuit", new BinaryExceptionClassifier(false));
+		AtomicInteger calls = new AtomicInteger();
+		for (int i = 0; i < 2; i++) {
+			template.execute(context -> {
+				context.setAttribute(RetryContext.NAME, "circuit");
+				if (calls.incrementAndGet() == 1) {
+					throw new IllegalStateException("planned");
+				}
+				return "foo";
+			}, context -> "bar", state);
+			Thread.sleep(50);
+		}
+		List<RecordedEvent> changes = named(stop(), CircuitStateChangeEvent.NAME);
+		assertThat(changes).extracting(event -> event.getString("from") + "->" + event.getString("to"))
+			.containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+		assertThat(changes).allSatisfy(event -> assertThat(event.getString("label")).isEqualTo("circuit"));
+	}
+
+	private List<RecordedEvent> stop() throws Exception {
+		this.recording.stop();
+		Path file = Files.createTempFile("retry", ".jfr");
+		try {
+			this.recording.dump(file);
+			return RecordingFile.readAllEvents(file);
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+
+	private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+		return events.stream()
+			.filter(event -> event.getEventType().getName().equals(name))
+			.collect(Collectors.toList());
+	}
+
+}
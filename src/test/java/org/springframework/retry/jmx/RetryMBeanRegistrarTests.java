@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.jmx;
+
+import java.util.Set;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.annotation.CircuitBreaker;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.retry.stats.DefaultStatisticsRepository;
+import org.springframework.retry.stats.StatisticsListener;
+import org.springframework.retry.stats.StatisticsRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class RetryMBeanRegistrarTests {
+
+	@Test
+	public void testMBeans() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TestConfiguration.class);
+		MBeanServer server = context.getBean(MBeanServer.class);
+		Service service = context.getBean(Service.class);
+		ObjectName circuit = new ObjectName("org.springframework.retry:type=CircuitBreaker,name=\"service\"");
+		ObjectName statistics = new ObjectName("org.springframework.retry:type=RetryStatistics,name=\"service\"");
+		assertThat(server.isRegistered(circuit)).isFalse();
+
+		service.setFail(true);
+		assertThatExceptionOfType(Exception.class).isThrownBy(service::service);
+		assertThat(server.getAttribute(circuit, "Label")).isEqualTo("service");
+		assertThat(server.getAttribute(circuit, "State")).isEqualTo("OPEN");
+		assertThat((Long) server.getAttribute(circuit, "TimeUntilReset")).isPositive();
+		assertThat(server.getAttribute(statistics, "ErrorCount")).isEqualTo(1L);
+		service.setFail(false);
+		assertThatExceptionOfType(Exception.class).isThrownBy(service::service);
+		assertThat(service.getCount()).isEqualTo(1);
+		// The call that opened the circuit counts as short circuited too
+		assertThat(server.getAttribute(circuit, "ShortCircuitCount")).isEqualTo(2);
+
+		server.invoke(circuit, "forceClose", null, null);
+		assertThat(server.getAttribute(circuit, "State")).isEqualTo("CLOSED");
+		assertThat(server.getAttribute(circuit, "TimeUntilReset")).isEqualTo(0L);
+		service.service();
+		assertThat(service.getCount()).isEqualTo(2);
+		server.invoke(circuit, "forceOpen", null, null);
+		assertThat(server.getAttribute(circuit, "State")).isEqualTo("OPEN");
+		assertThatExceptionOfType(Exception.class).isThrownBy(service::service);
+		assertThat(service.getCount()).isEqualTo(2);
+		server.invoke(circuit, "reset", null, null);
+		assertThat(server.getAttribute(circuit, "State")).isEqualTo("CLOSED");
+		assertThat(server.getAttribute(circuit, "ShortCircuitCount")).isEqualTo(0);
+
+		context.close();
+		assertThat(server.isRegistered(circuit)).isFalse();
+		assertThat(server.isRegistered(statistics)).isFalse();
+	}
+
+	@Test
+	public void testKeyedCircuitMBeans() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TestConfiguration.class);
+		MBeanServer server = context.getBean(MBeanServer.class);
+		Service service = context.getBean(Service.class);
+		ObjectName circuits = new ObjectName("org.springframework.retry:type=CircuitBreaker,name=\"keyed\",*");
+
+		service.setFail(true);
+		assertThatExceptionOfType(Exception.class).isThrownBy(() -> service.keyed("foo"));
+		service.keyed("bar");
+		Set<ObjectName> names = awaitNames(server, circuits, 1);
+		assertThat(names).hasSize(1);
+		ObjectName circuit = names.iterator().next();
+		assertThat(circuit.getKeyProperty("key")).contains("foo");
+		assertThat(server.getAttribute(circuit, "State")).isEqualTo("OPEN");
+
+		server.invoke(circuit, "forceClose", null, null);
+		assertThat(awaitNames(server, circuits, 0)).isEmpty();
+		context.close();
+	}
+
+	private static Set<ObjectName> awaitNames(MBeanServer server, ObjectName pattern, int size) throws Exception {
+		// The transitions are delivered to the registrar in the background
+		Set<ObjectName> names = server.queryNames(pattern, null);
+		for (int i = 0; i < 100 && names.size() != size; i++) {
+			Thread.sleep(50);
+			names = server.queryNames(pattern, null);
+		}
+		return names;
+	}
+
+	@Configuration
+	@EnableRetry
+	protected static class TestConfiguration {
+
+		@Bean
+		public MBeanServer mbeanServer() {
+			return MBeanServerFactory.newMBeanServer();
+		}
+
+		@Bean
+		public StatisticsRepository statisticsRepository() {
+			return new DefaultStatisticsRepository();
+		}
+
+		@Bean
+		public StatisticsListener statisticsListener(StatisticsRepository repository) {
+			return new StatisticsListener(repository);
+		}
+
+		@Bean
+		public Service service() {
+			return new Service();
+		}
+
+	}
+
+	protected static class Service {
+
+		private volatile boolean fail;
+
+		private volatile int count;
+
+		@CircuitBreaker(label = "service", maxAttempts = 1)
+		public void service() {
+			this.count++;
+			if (this.fail) {
+				throw new IllegalStateException("Planned");
+			}
+		}
+
+		@CircuitBreaker(label = "keyed", maxAttempts = 1, key = "args[0]")
+		public void keyed(String key) {
+			if (this.fail && key.equals("foo")) {
+				throw new IllegalStateException("Planned");
+			}
+		}
+
+		public void setFail(boolean fail) {
+			this.fail = fail;
+		}
+
+		public int getCount() {
+			return this.count;
+		}
+
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.listener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class RetryListenerDispatcherTests {
+
+	private final List<String> calls = new ArrayList<>();
+
+	@Test
+	public void testOnlyOverriddenCallbacksAreDispatched() {
+		RetryListener onError = new ErrorListener("error");
+		RetryListener all = new MethodInvocationRetryListenerSupport() {
+			@Override
+			protected <T, E extends Throwable> boolean doOpen(RetryContext context,
+					MethodInvocationRetryCallback<T, E> callback) {
+				return true;
+			}
+
+			@Override
+			protected <T, E extends Throwable> void doClose(RetryContext context,
+					MethodInvocationRetryCallback<T, E> callback, Throwable throwable) {
+			}
+
+			@Override
+			protected <T, E extends Throwable> void doOnSuccess(RetryContext context,
+					MethodInvocationRetryCallback<T, E> callback, T result) {
+			}
+
+			@Override
+			protected <T, E extends Throwable> void doOnError(RetryContext context,
+					MethodInvocationRetryCallback<T, E> callback, Throwable throwable) {
+			}
+		};
+		RetryListener none = new RetryListener() {
+		};
+		RetryListenerDispatcher dispatcher = RetryListenerDispatcher.of(onError, all, none);
+		DirectFieldAccessor accessor = new DirectFieldAccessor(dispatcher);
+		assertThat((RetryListener[]) accessor.getPropertyValue("openListeners")).containsExactly(all);
+		assertThat((RetryListener[]) accessor.getPropertyValue("closeListeners")).containsExactly(all);
+		assertThat((RetryListener[]) accessor.getPropertyValue("successListeners")).containsExactly(all);
+		assertThat((RetryListener[]) accessor.getPropertyValue("errorListeners")).containsExactly(onError, all);
+		assertThat((RetryListener[]) accessor.getPropertyValue("backOffListeners")).isEmpty();
+		assertThat(dispatcher.hasBackOffListeners()).isFalse();
+		assertThat(dispatcher.getListeners()).containsExactly(onError, all, none);
+	}
+
+	@Test
+	public void testMethodInvocationListenersDispatchedForTheirTemplateMethods() {
+		RetryListener none = new MethodInvocationRetryListenerSupport();
+		RetryListener onError = new MethodInvocationErrorListener();
+		RetryListener openAndOnError = new MethodInvocationOpenListener();
+		RetryListenerDispatcher dispatcher = RetryListenerDispatcher.of(none, onError, openAndOnError);
+		DirectFieldAccessor accessor = new DirectFieldAccessor(dispatcher);
+		assertThat((RetryListener[]) accessor.getPropertyValue("openListeners")).containsExactly(openAndOnError);
+		assertThat((RetryListener[]) accessor.getPropertyValue("closeListeners")).isEmpty();
+		assertThat((RetryListener[]) accessor.getPropertyValue("successListeners")).isEmpty();
+		assertThat((RetryListener[]) accessor.getPropertyValue("errorListeners")).containsExactly(onError,
+				openAndOnError);
+	}
+
+	@Test
+	public void testBackOff() {
+		RetryListener backOff = new RetryListener() {
+			@Override
+			public <T, E extends Throwable> void onBackOff(RetryContext context, RetryCallback<T, E> callback,
+					long nanos) {
+				RetryListenerDispatcherTests.this.calls.add("backOff " + nanos);
+			}
+		};
+		RetryListenerDispatcher dispatcher = RetryListenerDispatcher.of(new ErrorListener("error"), backOff);
+		assertThat(dispatcher.hasBackOffListeners()).isTrue();
+		dispatcher.onBackOff(null, null, 42);
+		assertThat(this.calls).containsExactly("backOff 42");
+	}
+
+	@Test
+	public void testLatency() {
+		RetryListener latency = new RetryListener() {
+			@Override
+			public <T, E extends Throwable> void onAttemptLatency(RetryContext context, RetryCallback<T, E> callback,
+					long nanos) {
+				RetryListenerDispatcherTests.this.calls.add("attempt " + nanos);
+			}
+
+			@Override
+			public <T, E extends Throwable> void onCallLatency(RetryContext context, RetryCallback<T, E> callback,
+					long nanos) {
+				RetryListenerDispatcherTests.this.calls.add("call " + nanos);
+			}
+		};
+		assertThat(RetryListenerDispatcher.of(new ErrorListener("error")).hasLatencyListeners()).isFalse();
+		RetryListenerDispatcher dispatcher = RetryListenerDispatcher.of(new ErrorListener("error"), latency);
+		assertThat(dispatcher.hasLatencyListeners()).isTrue();
+		dispatcher.onAttemptLatency(null, null, 42);
+		dispatcher.onCallLatency(null, null, 43);
+		assertThat(this.calls).containsExactly("attempt 42", "call 43");
+	}
+
+	@Test
+	public void testOrder() {
+		RetryListenerDispatcher dispatcher = RetryListenerDispatcher.of(new ErrorListener("first"))
+			.with(new ErrorListener("second"), Integer.MAX_VALUE)
+			.with(new ErrorListener("zeroth"), 0);
+		dispatcher.onError(null, null, new RuntimeException());
+		assertThat(this.calls).containsExactly("second", "first", "zeroth");
+	}
+
+	@Test
+	public void testOpenStopsAtFirstVeto() {
+		RetryListener veto = new RetryListener() {
+			@Override
+			public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+				RetryListenerDispatcherTests.this.calls.add("veto");
+				return false;
+			}
+		};
+		RetryListener other = new RetryListener() {
+			@Override
+			public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+				RetryListenerDispatcherTests.this.calls.add("other");
+				return true;
+			}
+		};
+		assertThat(RetryListenerDispatcher.of(other, veto, other).open(null, null)).isFalse();
+		assertThat(this.calls).containsExactly("other", "veto");
+	}
+
+	@Test
+	public void testEmpty() {
+		assertThat(RetryListenerDispatcher.of()).isSameAs(RetryListenerDispatcher.EMPTY);
+		assertThat(RetryListenerDispatcher.EMPTY.hasListeners()).isFalse();
+		assertThat(RetryListenerDispatcher.EMPTY.open(null, null)).isTrue();
+		assertThatIllegalArgumentException().isThrownBy(() -> RetryListenerDispatcher.of((RetryListener) null));
+	}
+
+	private static class MethodInvocationErrorListener extends MethodInvocationRetryListenerSupport {
+
+		@Override
+		protected <T, E extends Throwable> void doOnError(RetryContext context,
+				MethodInvocationRetryCallback<T, E> callback, Throwable throwable) {
+		}
+
+	}
+
+	private static class MethodInvocationOpenListener extends MethodInvocationErrorListener {
+
+		@Override
+		protected <T, E extends Throwable> boolean doOpen(RetryContext context,
+				MethodInvocationRetryCallback<T, E> callback) {
+			return true;
+		}
+
+	}
+
+	private class ErrorListener implements RetryListener {
+
+		private final String name;
+
+		ErrorListener(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+				Throwable throwable) {
+			RetryListenerDispatcherTests.this.calls.add(this.name);
+		}
+
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.retry.context.RetryContextSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedRetryContextCacheTests {
+
+	@Test
+	public void testPut() {
+		BoundedRetryContextCache cache = new BoundedRetryContextCache();
+		RetryContextSupport context = new RetryContextSupport(null);
+		cache.put("foo", context);
+		assertThat(cache.get("foo")).isEqualTo(context);
+		assertThat(cache.containsKey("foo")).isTrue();
+	}
+
+	@Test
+	public void testRemove() {
+		BoundedRetryContextCache cache = new BoundedRetryContextCache();
+		assertThat(cache.containsKey("foo")).isFalse();
+		cache.put("foo", new RetryContextSupport(null));
+		cache.remove("foo");
+		assertThat(cache.containsKey("foo")).isFalse();
+		assertThat(cache.get("foo")).isNull();
+	}
+
+	@Test
+	public void testPutOverLimitEvictsLeastRecentlyUsed() {
+		BoundedRetryContextCache cache = new BoundedRetryContextCache(1);
+		RetryContextSupport context = new RetryContextSupport(null);
+		cache.put("foo", context);
+		cache.put("bar", context);
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.containsKey("foo")).isFalse();
+		assertThat(cache.containsKey("bar")).isTrue();
+	}
+
+	@Test
+	public void testSizeBounded() {
+		BoundedRetryContextCache cache = new BoundedRetryContextCache(100);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(i, new RetryContextSupport(null));
+		}
+		assertThat(cache.size()).isEqualTo(100);
+		assertThat(cache.containsKey(999)).isTrue();
+	}
+
+	@Test
+	public void testExpireAfterAccess() throws Exception {
+		BoundedRetryContextCache cache = new BoundedRetryContextCache();
+		cache.setExpireAfterAccess(50);
+		cache.put("foo", new RetryContextSupport(null));
+		cache.put("bar", new RetryContextSupport(null));
+		Thread.sleep(30L);
+		assertThat(cache.get("bar")).isNotNull();
+		Thread.sleep(30L);
+		assertThat(cache.containsKey("foo")).isFalse();
+		assertThat(cache.containsKey("bar")).isTrue();
+	}
+
+	@Test
+	public void testExpireAfterWrite() throws Exception {
+		BoundedRetryContextCache cache = new BoundedRetryContextCache();
+		cache.setExpireAfterWrite(50);
+		cache.put("foo", new RetryContextSupport(null));
+		Thread.sleep(30L);
+		assertThat(cache.get("foo")).isNotNull();
+		Thread.sleep(30L);
+		assertThat(cache.get("foo")).isNull();
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testCounters() {
+		BoundedRetryContextCache cache = new BoundedRetryContextCache(1);
+		cache.put("foo", new RetryContextSupport(null));
+		assertThat(cache.containsKey("foo")).isTrue();
+		cache.get("foo");
+		cache.get("bar");
+		cache.put("bar", new RetryContextSupport(null));
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testComputeIfAbsent() {
+		BoundedRetryContextCache cache = new BoundedRetryContextCache();
+		RetryContextSupport context = new RetryContextSupport(null);
+		assertThat(cache.computeIfAbsent("foo", key -> null)).isNull();
+		assertThat(cache.computeIfAbsent("foo", key -> context)).isSameAs(context);
+		assertThat(cache.computeIfAbsent("foo", key -> new RetryContextSupport(null))).isSameAs(context);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void testReplaceAndRemoveIfSame() {
+		BoundedRetryContextCache cache = new BoundedRetryContextCache();
+		RetryContextSupport context = new RetryContextSupport(null);
+		assertThat(cache.replace("foo", context)).isFalse();
+		cache.put("foo", new RetryContextSupport(null));
+		assertThat(cache.replace("foo", context)).isTrue();
+		assertThat(cache.remove("foo", new RetryContextSupport(null))).isFalse();
+		assertThat(cache.remove("foo", context)).isTrue();
+		assertThat(cache.containsKey("foo")).isFalse();
+	}
+
+}
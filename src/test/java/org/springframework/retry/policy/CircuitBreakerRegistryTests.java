@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.classify.BinaryExceptionClassifier;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.annotation.CircuitBreaker;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.retry.policy.CircuitBreakerRegistry.StateChange;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy.State;
+import org.springframework.retry.support.DefaultRetryState;
+import org.springframework.retry.support.RetryTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+
+public class CircuitBreakerRegistryTests {
+
+	private final CircuitBreakerRegistry registry = new CircuitBreakerRegistry();
+
+	private final MapRetryContextCache cache = new MapRetryContextCache();
+
+	@Test
+	public void testStates() throws Throwable {
+		CircuitBreakerRetryPolicy policy = new CircuitBreakerRetryPolicy(new NeverRetryPolicy());
+		assertThat(this.registry.register("foo", policy, this.cache, "foo")).isTrue();
+		assertThat(this.registry.register("foo", new CircuitBreakerRetryPolicy(), this.cache, "foo")).isFalse();
+		assertThat(this.registry.getLabels()).containsExactly("foo");
+		assertThat(this.registry.getCircuitBreaker("foo")).isSameAs(policy);
+		assertThat(this.registry.getState("foo")).isEqualTo(State.CLOSED);
+		assertThat(this.registry.getState("bar")).isNull();
+		RetryTemplate template = new RetryTemplate();
+		template.setRetryPolicy(policy);
+		template.setRetryContextCache(this.cache);
+		DefaultRetryState state = new DefaultRetryState("foo", new BinaryExceptionClassifier(false));
+		Object result = template.execute(context -> {
+			throw new IllegalStateException("planned");
+		}, context -> "bar", state);
+		assertThat(result).isEqualTo("bar");
+		assertThat(this.registry.getState("foo")).isEqualTo(State.OPEN);
+		assertThat(this.registry.getStates()).containsExactly(entry("foo", State.OPEN));
+		RetryContext context = this.registry.getContext("foo");
+		assertThat(context).isSameAs(this.cache.get("foo"));
+		policy.forceClose(context);
+		assertThat(this.registry.getState("foo")).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	public void testListenerOfPolicyWithLabelTaken() {
+		CircuitBreakerRetryPolicy policy = new CircuitBreakerRetryPolicy();
+		CircuitBreakerRetryPolicy.StateChangeListener listener = (context, from, to) -> {
+		};
+		policy.setStateChangeListener(listener);
+		this.registry.register("foo", new CircuitBreakerRetryPolicy(), this.cache, "foo");
+		assertThat(this.registry.register("foo", policy, this.cache, "foo")).isFalse();
+		assertThat(policy.getStateChangeListener()).isSameAs(listener);
+	}
+
+	@Test
+	public void testKeyed() throws Throwable {
+		CircuitBreakerRetryPolicy policy = new CircuitBreakerRetryPolicy(new NeverRetryPolicy());
+		assertThat(this.registry.registerKeyed("foo", policy, this.cache)).isTrue();
+		assertThat(this.registry.isKeyed("foo")).isTrue();
+		assertThat(this.registry.getLabels()).containsExactly("foo");
+		assertThat(this.registry.getState("foo")).isNull();
+		assertThat(this.registry.getState("foo", "bar")).isEqualTo(State.CLOSED);
+		List<StateChange> changes = new ArrayList<>();
+		this.registry.setExecutor(Runnable::run);
+		this.registry.subscribe(changes::add);
+		RetryTemplate template = new RetryTemplate();
+		template.setRetryPolicy(policy);
+		template.setRetryContextCache(this.cache);
+		DefaultRetryState state = new DefaultRetryState("bar", new BinaryExceptionClassifier(false));
+		template.execute(context -> {
+			throw new IllegalStateException("planned");
+		}, context -> "bar", state);
+		assertThat(this.registry.getState("foo", "bar")).isEqualTo(State.OPEN);
+		assertThat(this.registry.getState("foo", "baz")).isEqualTo(State.CLOSED);
+		assertThat(this.registry.getStates()).isEmpty();
+		assertThat(changes).hasSize(1);
+		assertThat(changes.get(0).getKey()).isEqualTo("bar");
+		policy.forceClose(this.registry.getContext("foo", "bar"));
+		assertThat(this.registry.getState("foo", "bar")).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	public void testSubscribers() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		this.registry.setExecutor(executor);
+		CircuitBreakerRetryPolicy policy = new CircuitBreakerRetryPolicy();
+		this.registry.register("foo", policy, this.cache, "foo");
+		RetryContext context = this.registry.getContext("foo");
+		CountDownLatch latch = new CountDownLatch(1);
+		BlockingQueue<StateChange> changes = new LinkedBlockingQueue<>();
+		this.registry.subscribe(change -> {
+			throw new IllegalStateException("planned");
+		});
+		this.registry.subscribe(change -> {
+			try {
+				latch.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		this.registry.subscribe(changes::add);
+		try {
+			policy.forceOpen(context);
+			policy.forceClose(context);
+			policy.forceOpen(context);
+			// The transitions do not wait for the subscribers
+			assertThat(changes).isEmpty();
+			latch.countDown();
+			List<String> transitions = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				StateChange change = changes.poll(10, TimeUnit.SECONDS);
+				assertThat(change).isNotNull();
+				assertThat(change.getLabel()).isEqualTo("foo");
+				transitions.add(change.getFrom() + "->" + change.getTo());
+			}
+			assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->CLOSED", "CLOSED->OPEN");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testEnableRetry() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TestConfiguration.class);
+		CircuitBreakerRegistry registry = context.getBean(CircuitBreakerRegistry.class);
+		Service service = context.getBean(Service.class);
+		assertThat(registry.getLabels()).isEmpty();
+		assertThatExceptionOfType(Exception.class).isThrownBy(service::service);
+		assertThat(registry.getState("service")).isEqualTo(State.OPEN);
+		context.close();
+	}
+
+	@Configuration
+	@EnableRetry
+	protected static class TestConfiguration {
+
+		@Bean
+		public CircuitBreakerRegistry circuitBreakerRegistry() {
+			return new CircuitBreakerRegistry();
+		}
+
+		@Bean
+		public Service service() {
+			return new Service();
+		}
+
+	}
+
+	protected static class Service {
+
+		@CircuitBreaker(label = "service", maxAttempts = 1)
+		public void service() {
+			throw new IllegalStateException("Planned");
+		}
+
+	}
+
+}
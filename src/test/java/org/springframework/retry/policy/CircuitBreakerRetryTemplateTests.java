@@ -1,5 +1,5 @@
 /*
- * Copyright 2006-2023 the original author or authors.
+ * Copyright 2006-2026 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -135,6 +135,133 @@ public class CircuitBreakerRetryTemplateTests {
 		assertThat(result).isEqualTo(RESULT);
 	}
 
+	@Test
+	public void testCircuitHalfOpenAdmitsLimitedTrials() throws Throwable {
+		CircuitBreakerRetryPolicy retryPolicy = new CircuitBreakerRetryPolicy(new NeverRetryPolicy());
+		this.retryTemplate.setRetryPolicy(retryPolicy);
+		retryPolicy.setResetTimeout(100);
+		retryPolicy.setHalfOpenPermits(2);
+		this.retryTemplate.execute(this.callback, this.recovery, this.state);
+		assertThat(this.callback.status.getState()).isEqualTo(CircuitBreakerRetryPolicy.State.OPEN);
+		Thread.sleep(200L);
+		CircuitBreakerRetryContext circuit = this.callback.status;
+		RetryContext first = circuit.openCall();
+		RetryContext second = circuit.openCall();
+		RetryContext third = circuit.openCall();
+		// Two trials are in flight, the next call is short circuited
+		assertThat(retryPolicy.canRetry(first)).isTrue();
+		assertThat(circuit.getState()).isEqualTo(CircuitBreakerRetryPolicy.State.HALF_OPEN);
+		assertThat(retryPolicy.canRetry(second)).isTrue();
+		assertThat(circuit.isOpen()).isTrue();
+		assertThat(retryPolicy.canRetry(third)).isFalse();
+		assertThat(circuit.getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_SHORT_COUNT)).isEqualTo(1);
+		// The short circuited call is not a successful trial
+		retryPolicy.close(third);
+		retryPolicy.close(first);
+		assertThat(circuit.getState()).isEqualTo(CircuitBreakerRetryPolicy.State.HALF_OPEN);
+		retryPolicy.close(second);
+		assertThat(circuit.getState()).isEqualTo(CircuitBreakerRetryPolicy.State.CLOSED);
+		assertThat(circuit.getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_OPEN)).isEqualTo(false);
+	}
+
+	@Test
+	public void testCircuitReopensWhenTrialFails() throws Throwable {
+		CircuitBreakerRetryPolicy retryPolicy = new CircuitBreakerRetryPolicy(new NeverRetryPolicy());
+		this.retryTemplate.setRetryPolicy(retryPolicy);
+		retryPolicy.setResetTimeout(100);
+		this.callback.setAttemptsBeforeSuccess(10);
+		this.retryTemplate.execute(this.callback, this.recovery, this.state);
+		Thread.sleep(200L);
+		Object result = this.retryTemplate.execute(this.callback, this.recovery, this.state);
+		assertThat(this.callback.getAttempts()).isEqualTo(2);
+		assertThat(result).isEqualTo(RECOVERED);
+		assertThat(this.callback.status.getState()).isEqualTo(CircuitBreakerRetryPolicy.State.OPEN);
+		assertThat(this.callback.status.getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_STATE))
+			.isEqualTo(CircuitBreakerRetryPolicy.State.OPEN);
+		this.retryTemplate.execute(this.callback, this.recovery, this.state);
+		// circuit is open again so no more attempts
+		assertThat(this.callback.getAttempts()).isEqualTo(2);
+	}
+
+	@Test
+	public void testCircuitClosesAfterTimeoutWhenRethrowing() throws Throwable {
+		CircuitBreakerRetryPolicy retryPolicy = new CircuitBreakerRetryPolicy(new SimpleRetryPolicy(2));
+		this.retryTemplate.setRetryPolicy(retryPolicy);
+		retryPolicy.setResetTimeout(100);
+		this.callback.setAttemptsBeforeSuccess(2);
+		DefaultRetryState state = new DefaultRetryState("retry");
+		for (int i = 0; i < 2; i++) {
+			assertThatExceptionOfType(Exception.class)
+				.isThrownBy(() -> this.retryTemplate.execute(this.callback, state))
+				.isEqualTo(this.callback.exceptionToThrow);
+		}
+		CircuitBreakerRetryContext circuit = this.callback.status;
+		assertThat(circuit.getState()).isEqualTo(CircuitBreakerRetryPolicy.State.OPEN);
+		Thread.sleep(200L);
+		// The call that opened the circuit was rethrown rather than closed, which does
+		// not hold back the trial
+		Object result = this.retryTemplate.execute(this.callback, state);
+		assertThat(result).isEqualTo(RESULT);
+		assertThat(this.callback.getAttempts()).isEqualTo(3);
+		assertThat(circuit.getState()).isEqualTo(CircuitBreakerRetryPolicy.State.CLOSED);
+	}
+
+	@Test
+	public void testClosedCallIsReused() throws Throwable {
+		CircuitBreakerRetryPolicy retryPolicy = new CircuitBreakerRetryPolicy(new NeverRetryPolicy());
+		this.retryTemplate.setRetryPolicy(retryPolicy);
+		retryPolicy.setResetTimeout(100);
+		this.retryTemplate.execute(this.callback, this.recovery, this.state);
+		CircuitBreakerRetryContext circuit = this.callback.status;
+		RetryContext call = circuit.openCall();
+		assertThat(retryPolicy.canRetry(call)).isFalse();
+		circuit.closeCall(call);
+		assertThat(circuit.openCall()).isSameAs(call);
+		Thread.sleep(200L);
+		// The reused call is no longer short circuited, so its close is a success
+		assertThat(retryPolicy.canRetry(call)).isTrue();
+		retryPolicy.close(call);
+		assertThat(circuit.getState()).isEqualTo(CircuitBreakerRetryPolicy.State.CLOSED);
+		assertThat(circuit.openCall()).isNotSameAs(call);
+	}
+
+	@Test
+	public void testForceOpenCloseAndReset() throws Throwable {
+		CircuitBreakerRetryPolicy retryPolicy = new CircuitBreakerRetryPolicy(new NeverRetryPolicy());
+		this.retryTemplate.setRetryPolicy(retryPolicy);
+		Object result = this.retryTemplate.execute(this.callback, this.recovery, this.state);
+		assertThat(result).isEqualTo(RECOVERED);
+		CircuitBreakerRetryContext circuit = this.callback.status;
+		assertThat(circuit.getState()).isEqualTo(CircuitBreakerRetryPolicy.State.OPEN);
+		assertThat(retryPolicy.getTimeUntilReset(circuit)).isPositive().isLessThanOrEqualTo(20000L);
+		this.retryTemplate.execute(this.callback, this.recovery, this.state);
+		// The call that opened the circuit counts as short circuited too
+		assertThat(circuit.getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_SHORT_COUNT)).isEqualTo(2);
+		retryPolicy.forceClose(circuit);
+		assertThat(circuit.getState()).isEqualTo(CircuitBreakerRetryPolicy.State.CLOSED);
+		assertThat(retryPolicy.getTimeUntilReset(circuit)).isZero();
+		// The delegate starts again, so the next call goes through
+		result = this.retryTemplate.execute(this.callback, this.recovery, this.state);
+		assertThat(result).isEqualTo(RESULT);
+		assertThat(this.callback.getAttempts()).isEqualTo(2);
+		retryPolicy.forceOpen(circuit);
+		assertThat(circuit.getState()).isEqualTo(CircuitBreakerRetryPolicy.State.OPEN);
+		this.retryTemplate.execute(this.callback, this.recovery, this.state);
+		assertThat(this.callback.getAttempts()).isEqualTo(2);
+		assertThat(circuit.getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_SHORT_COUNT)).isEqualTo(1);
+		retryPolicy.reset(circuit);
+		assertThat(circuit.getState()).isEqualTo(CircuitBreakerRetryPolicy.State.CLOSED);
+		assertThat(circuit.getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_SHORT_COUNT)).isEqualTo(0);
+	}
+
+	@Test
+	public void testHalfOpenPermitsOutOfRange() {
+		CircuitBreakerRetryPolicy retryPolicy = new CircuitBreakerRetryPolicy();
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> retryPolicy.setHalfOpenPermits(0));
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> retryPolicy.setHalfOpenPermits(CircuitBreakerRetryPolicy.MAX_HALF_OPEN_PERMITS + 1));
+	}
+
 	@Test
 	public void testCircuitOpensWhenRetryPolicyFirstTimeAttributeCircuitOpenNull() throws Throwable {
 		MockNeverRetryPolicy mockNeverRetryPolicy = new MockNeverRetryPolicy();
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryPolicy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class CompactRetryContextSerializerTests {
+
+	@Test
+	public void testSimpleContext() {
+		SimpleRetryPolicy policy = new SimpleRetryPolicy(3);
+		CompactRetryContextSerializer serializer = new CompactRetryContextSerializer(policy);
+		RetryContext context = policy.open(null);
+		policy.registerThrowable(context, new IllegalStateException("Planned"));
+		policy.registerThrowable(context, new IllegalStateException("Planned"));
+		context.setExhaustedOnly();
+		context.setAttribute(RetryContext.STATE_KEY, "foo");
+		context = serializer.deserialize(serializer.serialize(context));
+		assertThat(context.getRetryCount()).isEqualTo(2);
+		assertThat(context.getLastThrowable()).isInstanceOf(IllegalStateException.class).hasMessage("Planned");
+		assertThat(context.isExhaustedOnly()).isTrue();
+		assertThat(context.getAttribute(RetryContext.STATE_KEY)).isEqualTo("foo");
+	}
+
+	@Test
+	public void testStateKeys() {
+		SimpleRetryPolicy policy = new SimpleRetryPolicy();
+		CompactRetryContextSerializer serializer = new CompactRetryContextSerializer(policy);
+		for (Object key : new Object[] { null, "foo", 42, -42L, UUID.randomUUID(), Arrays.asList("foo", "bar") }) {
+			RetryContext context = policy.open(null);
+			context.setAttribute(RetryContext.STATE_KEY, key);
+			context = serializer.deserialize(serializer.serialize(context));
+			assertThat(context.getAttribute(RetryContext.STATE_KEY)).isEqualTo(key);
+			assertThat(context.getRetryCount()).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void testCompositeContext() {
+		CompositeRetryPolicy policy = new CompositeRetryPolicy();
+		policy.setPolicies(new RetryPolicy[] { new SimpleRetryPolicy(3), new SimpleRetryPolicy(5) });
+		CompactRetryContextSerializer serializer = new CompactRetryContextSerializer(policy);
+		RetryContext context = policy.open(null);
+		policy.registerThrowable(context, new IllegalStateException("Planned"));
+		policy.registerThrowable(context, new IllegalStateException("Planned"));
+		context = serializer.deserialize(serializer.serialize(context));
+		assertThat(context.getRetryCount()).isEqualTo(2);
+		assertThat(policy.canRetry(context)).isTrue();
+		policy.registerThrowable(context, new IllegalStateException("Planned"));
+		assertThat(policy.canRetry(context)).isFalse();
+	}
+
+	@Test
+	public void testExceptionClassifierContext() {
+		ExceptionClassifierRetryPolicy policy = new ExceptionClassifierRetryPolicy();
+		Map<Class<? extends Throwable>, RetryPolicy> policies = new HashMap<>();
+		policies.put(IllegalStateException.class, new SimpleRetryPolicy(2));
+		policies.put(IllegalArgumentException.class, new SimpleRetryPolicy(5));
+		policy.setPolicyMap(policies);
+		CompactRetryContextSerializer serializer = new CompactRetryContextSerializer(policy);
+		RetryContext context = policy.open(null);
+		policy.registerThrowable(context, new IllegalStateException("Planned"));
+		policy.registerThrowable(context, new IllegalArgumentException("Planned"));
+		context = serializer.deserialize(serializer.serialize(context));
+		assertThat(context.getRetryCount()).isEqualTo(2);
+		assertThat(context.getLastThrowable()).isInstanceOf(IllegalArgumentException.class);
+		assertThat(policy.canRetry(context)).isTrue();
+		policy.registerThrowable(context, new IllegalStateException("Planned"));
+		assertThat(policy.canRetry(context)).isFalse();
+	}
+
+	@Test
+	public void testSmallerThanJavaSerialization() {
+		SimpleRetryPolicy policy = new SimpleRetryPolicy();
+		RetryContext context = policy.open(null);
+		policy.registerThrowable(context, new IllegalStateException("Planned"));
+		context.setAttribute(RetryContext.STATE_KEY, "foo");
+		byte[] compact = new CompactRetryContextSerializer(policy).serialize(context);
+		byte[] java = new JavaRetryContextSerializer().serialize(context);
+		assertThat(compact.length * 10).isLessThan(java.length);
+	}
+
+	@Test
+	public void testUnknownVersion() {
+		CompactRetryContextSerializer serializer = new CompactRetryContextSerializer(new SimpleRetryPolicy());
+		assertThatIllegalArgumentException().isThrownBy(() -> serializer.deserialize(new byte[] { 42 }));
+	}
+
+}
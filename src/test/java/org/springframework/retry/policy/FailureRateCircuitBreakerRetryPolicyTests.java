@@ -0,0 +1,231 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.classify.BinaryExceptionClassifier;
+import org.springframework.retry.RecoveryCallback;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryState;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy.CircuitBreakerRetryContext;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy.State;
+import org.springframework.retry.policy.FailureRateCircuitBreakerRetryPolicy.SlidingWindowType;
+import org.springframework.retry.support.DefaultRetryState;
+import org.springframework.retry.support.RetryTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class FailureRateCircuitBreakerRetryPolicyTests {
+
+	private static final String RECOVERED = "RECOVERED";
+
+	private static final String RESULT = "RESULT";
+
+	private final RetryTemplate retryTemplate = new RetryTemplate();
+
+	private final RecoveryCallback<Object> recovery = context -> RECOVERED;
+
+	private final DefaultRetryState state = new DefaultRetryState("retry", new BinaryExceptionClassifier(false));
+
+	private final FailureRateCircuitBreakerRetryPolicy retryPolicy = new FailureRateCircuitBreakerRetryPolicy();
+
+	private final AtomicInteger attempts = new AtomicInteger();
+
+	private volatile CircuitBreakerRetryContext circuit;
+
+	@BeforeEach
+	public void init() {
+		this.retryPolicy.setSlidingWindowSize(10);
+		this.retryPolicy.setMinimumNumberOfCalls(4);
+		this.retryPolicy.setFailureRateThreshold(50);
+		this.retryTemplate.setRetryPolicy(this.retryPolicy);
+	}
+
+	@Test
+	public void testCircuitOpensWhenFailureRateReached() throws Throwable {
+		assertThat(call(false)).isEqualTo(RESULT);
+		assertThat(call(true)).isEqualTo(RECOVERED);
+		assertThat(call(false)).isEqualTo(RESULT);
+		assertThat(this.circuit.getState()).isEqualTo(State.CLOSED);
+		assertThat(call(true)).isEqualTo(RECOVERED);
+		assertThat(this.circuit.getState()).isEqualTo(State.OPEN);
+		assertThat(call(false)).isEqualTo(RECOVERED);
+		// circuit is now open so no more attempts
+		assertThat(this.attempts.get()).isEqualTo(4);
+	}
+
+	@Test
+	public void testCircuitStaysClosedBelowFailureRate() throws Throwable {
+		for (int i = 0; i < 30; i++) {
+			call(i % 4 == 3);
+		}
+		assertThat(this.circuit.getState()).isEqualTo(State.CLOSED);
+		assertThat(this.attempts.get()).isEqualTo(30);
+	}
+
+	@Test
+	public void testCircuitStaysClosedBelowMinimumNumberOfCalls() throws Throwable {
+		call(true);
+		call(true);
+		call(true);
+		assertThat(this.circuit.getState()).isEqualTo(State.CLOSED);
+		call(true);
+		assertThat(this.circuit.getState()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	public void testWindowResetWhenCircuitCloses() throws Throwable {
+		this.retryPolicy.setResetTimeout(100);
+		for (int i = 0; i < 4; i++) {
+			call(true);
+		}
+		assertThat(this.circuit.getState()).isEqualTo(State.OPEN);
+		Thread.sleep(200L);
+		assertThat(call(false)).isEqualTo(RESULT);
+		assertThat(this.circuit.getState()).isEqualTo(State.CLOSED);
+		// the failures before the circuit opened are forgotten
+		call(true);
+		assertThat(this.circuit.getState()).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	public void testTimeBasedCircuitOpensWhenFailureRateReached() throws Throwable {
+		this.retryPolicy.setSlidingWindowType(SlidingWindowType.TIME_BASED);
+		this.retryPolicy.setSlidingWindowSize(60);
+		for (int i = 0; i < 4; i++) {
+			call(i % 2 == 1);
+		}
+		assertThat(this.circuit.getState()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	public void testCircuitOpensWhenSlowCallRateReached() throws Throwable {
+		this.retryPolicy.setSlowCallDurationThreshold(20);
+		this.retryPolicy.setSlowCallRateThreshold(50);
+		call(false);
+		call(false, 50);
+		call(false);
+		call(false, 50);
+		assertThat(this.circuit.getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_SLOW_CALL_COUNT)).isEqualTo(2);
+		assertThat((Long) this.circuit.getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_LAST_CALL_DURATION))
+			.isGreaterThanOrEqualTo(50);
+		// nothing failed but the next call finds half of the calls slow
+		assertThat(call(false)).isEqualTo(RECOVERED);
+		assertThat(this.circuit.getState()).isEqualTo(State.OPEN);
+		assertThat(this.attempts.get()).isEqualTo(4);
+	}
+
+	@Test
+	public void testRethrownCallDoesNotTimeTheNextOne() throws Throwable {
+		this.retryPolicy.setSlowCallDurationThreshold(20);
+		this.retryPolicy.setSlowCallRateThreshold(50);
+		assertThatExceptionOfType(Exception.class).isThrownBy(() -> call(true, 0, new DefaultRetryState("retry")));
+		Thread.sleep(50L);
+		call(false);
+		assertThat(this.circuit.getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_SLOW_CALL_COUNT)).isEqualTo(0);
+	}
+
+	@Test
+	public void testSlowCallsIgnoredWithoutDurationThreshold() throws Throwable {
+		for (int i = 0; i < 4; i++) {
+			call(false, 10);
+		}
+		assertThat(this.circuit.getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_SLOW_CALL_COUNT)).isEqualTo(0);
+		assertThat(call(false)).isEqualTo(RESULT);
+	}
+
+	@Test
+	public void testRethrownFailuresRecordedOnce() throws Throwable {
+		DefaultRetryState rollback = new DefaultRetryState("retry");
+		assertThatExceptionOfType(Exception.class).isThrownBy(() -> call(true, 0, rollback));
+		assertThat(call(false)).isEqualTo(RESULT);
+		assertThatExceptionOfType(Exception.class).isThrownBy(() -> call(true, 0, rollback));
+		assertThat(call(false)).isEqualTo(RESULT);
+		// the successes after the failures that were never closed are recorded too
+		assertThat(call(false)).isEqualTo(RECOVERED);
+		assertThat(this.circuit.getState()).isEqualTo(State.OPEN);
+		assertThat(this.attempts.get()).isEqualTo(4);
+	}
+
+	@Test
+	public void testCountBasedWindowEvictsOldestCalls() {
+		SlidingWindow window = new CountBasedSlidingWindow(3);
+		window.record(true, false);
+		window.record(true, false);
+		assertThat(window.getNumberOfCalls()).isEqualTo(2);
+		assertThat(window.getNumberOfFailedCalls()).isEqualTo(2);
+		window.record(false, false);
+		window.record(false, false);
+		assertThat(window.getNumberOfCalls()).isEqualTo(3);
+		assertThat(window.getNumberOfFailedCalls()).isEqualTo(1);
+		window.reset();
+		assertThat(window.getNumberOfCalls()).isEqualTo(0);
+		assertThat(window.getNumberOfFailedCalls()).isEqualTo(0);
+	}
+
+	@Test
+	public void testCountBasedWindowCountsSlowCalls() {
+		SlidingWindow window = new CountBasedSlidingWindow(2);
+		window.record(true, true);
+		window.record(false, true);
+		assertThat(window.getNumberOfSlowCalls()).isEqualTo(2);
+		window.record(false, false);
+		assertThat(window.getNumberOfCalls()).isEqualTo(2);
+		assertThat(window.getNumberOfFailedCalls()).isEqualTo(0);
+		assertThat(window.getNumberOfSlowCalls()).isEqualTo(1);
+	}
+
+	@Test
+	public void testTimeBasedWindowCountsRecentCalls() {
+		SlidingWindow window = new TimeBasedSlidingWindow(10);
+		window.record(true, false);
+		window.record(false, false);
+		assertThat(window.getNumberOfCalls()).isEqualTo(2);
+		assertThat(window.getNumberOfFailedCalls()).isEqualTo(1);
+		window.reset();
+		assertThat(window.getNumberOfCalls()).isEqualTo(0);
+	}
+
+	private Object call(boolean failure) throws Throwable {
+		return call(failure, 0);
+	}
+
+	private Object call(boolean failure, long duration) throws Throwable {
+		return call(failure, duration, this.state);
+	}
+
+	private Object call(boolean failure, long duration, RetryState state) throws Throwable {
+		RetryCallback<Object, Exception> callback = context -> {
+			this.circuit = (CircuitBreakerRetryContext) context;
+			this.attempts.incrementAndGet();
+			if (duration > 0) {
+				Thread.sleep(duration);
+			}
+			if (failure) {
+				throw new Exception("Planned");
+			}
+			return RESULT;
+		};
+		return this.retryTemplate.execute(callback, this.recovery, state);
+	}
+
+}
@@ -53,4 +53,42 @@ public class MapRetryContextCacheTests {
 		assertThat(cache.containsKey("foo")).isFalse();
 	}
 
+	@Test
+	public void testComputeIfAbsent() {
+		RetryContextSupport context = new RetryContextSupport(null);
+		assertThat(cache.computeIfAbsent("foo", key -> null)).isNull();
+		assertThat(cache.containsKey("foo")).isFalse();
+		assertThat(cache.computeIfAbsent("foo", key -> context)).isSameAs(context);
+		assertThat(cache.computeIfAbsent("foo", key -> new RetryContextSupport(null))).isSameAs(context);
+	}
+
+	@Test
+	public void testComputeIfAbsentOverLimit() {
+		cache.setCapacity(1);
+		cache.put("foo", new RetryContextSupport(null));
+		assertThatExceptionOfType(RetryCacheCapacityExceededException.class)
+			.isThrownBy(() -> cache.computeIfAbsent("bar", key -> new RetryContextSupport(null)));
+		assertThat(cache.containsKey("bar")).isFalse();
+	}
+
+	@Test
+	public void testReplace() {
+		RetryContextSupport context = new RetryContextSupport(null);
+		assertThat(cache.replace("foo", context)).isFalse();
+		assertThat(cache.containsKey("foo")).isFalse();
+		cache.put("foo", new RetryContextSupport(null));
+		assertThat(cache.replace("foo", context)).isTrue();
+		assertThat(cache.get("foo")).isSameAs(context);
+	}
+
+	@Test
+	public void testRemoveIfSame() {
+		RetryContextSupport context = new RetryContextSupport(null);
+		cache.put("foo", context);
+		assertThat(cache.remove("foo", new RetryContextSupport(null))).isFalse();
+		assertThat(cache.containsKey("foo")).isTrue();
+		assertThat(cache.remove("foo", context)).isTrue();
+		assertThat(cache.containsKey("foo")).isFalse();
+	}
+
 }
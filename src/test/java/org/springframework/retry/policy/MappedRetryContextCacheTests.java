@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.retry.ExhaustedRetryException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.DefaultRetryState;
+import org.springframework.retry.support.RetryTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class MappedRetryContextCacheTests {
+
+	private final SimpleRetryPolicy policy = new SimpleRetryPolicy(3);
+
+	@Test
+	public void testPutAndGet() throws Exception {
+		try (MappedRetryContextCache cache = new MappedRetryContextCache(this.policy, 100)) {
+			cache.put("foo", failed(2, new IllegalStateException("Planned")));
+			RetryContext context = cache.get("foo");
+			assertThat(context.getRetryCount()).isEqualTo(2);
+			assertThat(context.getLastThrowable()).isInstanceOf(IllegalStateException.class).hasMessage("Planned");
+			assertThat(context.getAttribute(RetryContext.STATE_KEY)).isEqualTo("foo");
+			assertThat(context.isExhaustedOnly()).isFalse();
+			assertThat(this.policy.canRetry(context)).isTrue();
+			this.policy.registerThrowable(context, new IllegalStateException("Planned"));
+			assertThat(this.policy.canRetry(context)).isFalse();
+			assertThat(cache.get("bar")).isNull();
+			assertThat(cache.containsKey(1L)).isFalse();
+		}
+	}
+
+	@Test
+	public void testExhaustedAndUnknownThrowable() throws Exception {
+		try (MappedRetryContextCache cache = new MappedRetryContextCache(this.policy, 100)) {
+			RetryContext context = failed(1, new Exception("Planned") {
+			});
+			context.setExhaustedOnly();
+			cache.put(42, context);
+			context = cache.get(42);
+			assertThat(context.isExhaustedOnly()).isTrue();
+			assertThat(context.getLastThrowable()).hasMessageEndingWith("Planned");
+		}
+	}
+
+	@Test
+	public void testRemove() throws Exception {
+		try (MappedRetryContextCache cache = new MappedRetryContextCache(this.policy, 10000)) {
+			for (int i = 0; i < 10000; i++) {
+				cache.put(i, failed(1, new RuntimeException()));
+			}
+			for (int i = 0; i < 10000; i += 2) {
+				assertThat(cache.remove(i, null)).isTrue();
+			}
+			assertThat(cache.size()).isEqualTo(5000);
+			for (int i = 0; i < 10000; i++) {
+				assertThat(cache.containsKey(i)).isEqualTo(i % 2 == 1);
+			}
+		}
+	}
+
+	@Test
+	public void testReplaceAndComputeIfAbsent() throws Exception {
+		try (MappedRetryContextCache cache = new MappedRetryContextCache(this.policy, 100)) {
+			assertThat(cache.replace("foo", failed(1, new RuntimeException()))).isFalse();
+			assertThat(cache.computeIfAbsent("foo", key -> null)).isNull();
+			RetryContext context = failed(1, new RuntimeException());
+			assertThat(cache.computeIfAbsent("foo", key -> context)).isSameAs(context);
+			assertThat(cache.replace("foo", failed(2, new RuntimeException()))).isTrue();
+			assertThat(cache.computeIfAbsent("foo", key -> context).getRetryCount()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	public void testPutOverLimit() throws Exception {
+		try (MappedRetryContextCache cache = new MappedRetryContextCache(this.policy, 1)) {
+			cache.put("foo", failed(1, new RuntimeException()));
+			cache.put("foo", failed(2, new RuntimeException()));
+			assertThatExceptionOfType(RetryCacheCapacityExceededException.class)
+				.isThrownBy(() -> cache.put("bar", failed(1, new RuntimeException())));
+		}
+	}
+
+	@Test
+	public void testPutOverLimitWithSegments() throws Exception {
+		try (MappedRetryContextCache cache = new MappedRetryContextCache(this.policy, 5000)) {
+			for (int i = 0; i < 5000; i++) {
+				cache.put(i, failed(1, new RuntimeException()));
+			}
+			assertThat(cache.size()).isEqualTo(5000);
+			assertThatExceptionOfType(RetryCacheCapacityExceededException.class)
+				.isThrownBy(() -> cache.put(5000, failed(1, new RuntimeException())));
+			cache.remove(0);
+			cache.put(5000, failed(1, new RuntimeException()));
+			assertThat(cache.size()).isEqualTo(5000);
+		}
+	}
+
+	@Test
+	public void testReopen(@TempDir Path directory) throws Exception {
+		Path file = directory.resolve("contexts.bin");
+		try (MappedRetryContextCache cache = new MappedRetryContextCache(this.policy, 100, file)) {
+			cache.put("foo", failed(2, new IllegalStateException("Planned")));
+		}
+		try (MappedRetryContextCache cache = new MappedRetryContextCache(this.policy, 100, file)) {
+			assertThat(cache.size()).isEqualTo(1);
+			assertThat(cache.get("foo").getRetryCount()).isEqualTo(2);
+		}
+		assertThatExceptionOfType(IllegalStateException.class)
+			.isThrownBy(() -> new MappedRetryContextCache(this.policy, 200, file));
+	}
+
+	@Test
+	public void testStatefulRetry() throws Throwable {
+		RetryTemplate template = new RetryTemplate();
+		template.setRetryPolicy(this.policy);
+		try (MappedRetryContextCache cache = new MappedRetryContextCache(this.policy, 100)) {
+			template.setRetryContextCache(cache);
+			DefaultRetryState state = new DefaultRetryState("foo");
+			RetryCallback<Object, Exception> callback = context -> {
+				throw new IllegalStateException("Planned");
+			};
+			for (int i = 0; i < 3; i++) {
+				assertThatExceptionOfType(IllegalStateException.class)
+					.isThrownBy(() -> template.execute(callback, state));
+			}
+			assertThat(cache.get("foo").getRetryCount()).isEqualTo(3);
+			assertThatExceptionOfType(ExhaustedRetryException.class)
+				.isThrownBy(() -> template.execute(callback, state));
+			assertThat(cache.containsKey("foo")).isFalse();
+		}
+	}
+
+	private RetryContext failed(int count, Throwable throwable) {
+		RetryContext context = this.policy.open(null);
+		for (int i = 0; i < count; i++) {
+			this.policy.registerThrowable(context, throwable);
+		}
+		return context;
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.retry.ExhaustedRetryException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.context.RetryContextSupport;
+import org.springframework.retry.support.DefaultRetryState;
+import org.springframework.retry.support.RetryTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class PersistentRetryContextCacheTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void testPutAndRemove() throws Exception {
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			RetryContextSupport context = new RetryContextSupport(null);
+			cache.put("foo", context);
+			assertThat(cache.get("foo")).isSameAs(context);
+			assertThat(cache.remove("foo", new RetryContextSupport(null))).isFalse();
+			assertThat(cache.remove("foo", context)).isTrue();
+			assertThat(cache.containsKey("foo")).isFalse();
+			assertThat(cache.replace("foo", context)).isFalse();
+			assertThat(cache.computeIfAbsent("foo", key -> context)).isSameAs(context);
+		}
+	}
+
+	@Test
+	public void testReplay() throws Exception {
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			cache.put("foo", failed(1));
+			cache.put("bar", failed(1));
+			cache.replace("foo", failed(2));
+			cache.remove("bar");
+			cache.put(null, failed(3));
+		}
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			assertThat(cache.size()).isEqualTo(2);
+			assertThat(cache.get("foo").getRetryCount()).isEqualTo(2);
+			assertThat(cache.get("foo").getLastThrowable()).hasMessage("Planned");
+			assertThat(cache.containsKey("bar")).isFalse();
+			assertThat(cache.get(null).getRetryCount()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	public void testReplayWithCompactSerializer() throws Exception {
+		SimpleRetryPolicy policy = new SimpleRetryPolicy(3);
+		CompactRetryContextSerializer serializer = new CompactRetryContextSerializer(policy);
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory, serializer)) {
+			RetryContext context = policy.open(null);
+			policy.registerThrowable(context, new IllegalStateException("Planned"));
+			cache.put("foo", context);
+		}
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory, serializer)) {
+			RetryContext context = cache.get("foo");
+			assertThat(context.getRetryCount()).isEqualTo(1);
+			assertThat(context.getLastThrowable()).isInstanceOf(IllegalStateException.class).hasMessage("Planned");
+		}
+	}
+
+	@Test
+	public void testReplayIgnoresPartialRecord() throws Exception {
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			cache.put("foo", failed(1));
+		}
+		Path segment = segments()[0];
+		Files.write(segment, new byte[] { 0, 0, 1, 0, 42 }, StandardOpenOption.APPEND);
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			assertThat(cache.get("foo").getRetryCount()).isEqualTo(1);
+			cache.put("bar", failed(1));
+		}
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			assertThat(cache.size()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	public void testCompact() throws Exception {
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			cache.setSegmentSize(1024);
+			cache.setCompactionThreshold(Integer.MAX_VALUE);
+			for (int i = 0; i < 100; i++) {
+				cache.put(i, failed(1));
+				if (i % 10 != 0) {
+					cache.remove(i);
+				}
+			}
+			assertThat(segments().length).isGreaterThan(2);
+			cache.compact();
+			assertThat(segments()).hasSize(2);
+		}
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			assertThat(cache.size()).isEqualTo(10);
+			assertThat(cache.containsKey(90)).isTrue();
+		}
+	}
+
+	@Test
+	public void testCompactStoppedBeforeDeletingSegments() throws Exception {
+		Path previous = Files.createDirectory(this.directory.resolve("previous"));
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			cache.setSegmentSize(1024);
+			cache.setCompactionThreshold(Integer.MAX_VALUE);
+			for (int i = 0; i < 100; i++) {
+				cache.put(i, failed(1));
+			}
+			// Removed in the segment the snapshot replaces, not in the previous ones
+			cache.remove(0);
+			for (Path segment : segments()) {
+				Files.copy(segment, previous.resolve(segment.getFileName()));
+			}
+			cache.compact();
+		}
+		// Bring back the segments before the snapshot, as if they were not deleted
+		try (Stream<Path> paths = Files.list(previous)) {
+			for (Path segment : (Iterable<Path>) paths::iterator) {
+				if (!Files.exists(this.directory.resolve(segment.getFileName()))) {
+					Files.move(segment, this.directory.resolve(segment.getFileName()));
+				}
+			}
+		}
+		assertThat(segments().length).isGreaterThan(2);
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			assertThat(cache.size()).isEqualTo(99);
+			assertThat(cache.containsKey(0)).isFalse();
+		}
+	}
+
+	@Test
+	public void testPutOverLimit() throws Exception {
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			cache.setCapacity(1);
+			cache.put("foo", failed(1));
+			assertThatExceptionOfType(RetryCacheCapacityExceededException.class)
+				.isThrownBy(() -> cache.put("bar", failed(1)));
+		}
+	}
+
+	@Test
+	public void testStatefulRetryAcrossRestart() throws Throwable {
+		RetryTemplate template = new RetryTemplate();
+		template.setRetryPolicy(new SimpleRetryPolicy(2));
+		DefaultRetryState state = new DefaultRetryState("foo");
+		RetryCallback<Object, Exception> callback = context -> {
+			throw new IllegalStateException("Planned");
+		};
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			template.setRetryContextCache(cache);
+			for (int i = 0; i < 2; i++) {
+				assertThatExceptionOfType(IllegalStateException.class)
+					.isThrownBy(() -> template.execute(callback, state));
+			}
+		}
+		try (PersistentRetryContextCache cache = new PersistentRetryContextCache(this.directory)) {
+			template.setRetryContextCache(cache);
+			assertThatExceptionOfType(ExhaustedRetryException.class)
+				.isThrownBy(() -> template.execute(callback, state));
+			assertThat(cache.containsKey("foo")).isFalse();
+		}
+	}
+
+	private Path[] segments() throws Exception {
+		try (Stream<Path> paths = Files.list(this.directory)) {
+			return paths.filter(path -> path.toString().endsWith(".log")).sorted().toArray(Path[]::new);
+		}
+	}
+
+	private static RetryContext failed(int count) {
+		RetryContextSupport context = new RetryContextSupport(null);
+		for (int i = 0; i < count; i++) {
+			context.registerThrowable(new IllegalStateException("Planned"));
+		}
+		return context;
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.policy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryPolicy;
+
+/**
+ * Compares writing and reading back the context of a stateful retry that failed twice
+ * with a {@link JavaRetryContextSerializer} and a {@link CompactRetryContextSerializer},
+ * for a simple and a composite policy. The sizes are printed before running. Run
+ * {@link #main(String[])} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RetryContextSerializerBenchmark {
+
+	@Param({ "java", "compact" })
+	public String serializer;
+
+	@Param({ "simple", "composite" })
+	public String policy;
+
+	private RetryContextSerializer retryContextSerializer;
+
+	private RetryContext context;
+
+	private byte[] bytes;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		RetryPolicy retryPolicy = policy(this.policy);
+		this.retryContextSerializer = serializer(this.serializer, retryPolicy);
+		this.context = failedContext(retryPolicy);
+		this.bytes = this.retryContextSerializer.serialize(this.context);
+	}
+
+	@Benchmark
+	public byte[] serialize() {
+		return this.retryContextSerializer.serialize(this.context);
+	}
+
+	@Benchmark
+	public RetryContext deserialize() {
+		return this.retryContextSerializer.deserialize(this.bytes);
+	}
+
+	private static RetryPolicy policy(String name) {
+		if ("composite".equals(name)) {
+			CompositeRetryPolicy policy = new CompositeRetryPolicy();
+			policy.setPolicies(new RetryPolicy[] { new SimpleRetryPolicy(5), new TimeoutRetryPolicy() });
+			return policy;
+		}
+		return new SimpleRetryPolicy(5);
+	}
+
+	private static RetryContextSerializer serializer(String name, RetryPolicy policy) {
+		return "compact".equals(name) ? new CompactRetryContextSerializer(policy) : new JavaRetryContextSerializer();
+	}
+
+	private static RetryContext failedContext(RetryPolicy policy) {
+		RetryContext context = policy.open(null);
+		context.setAttribute(RetryContext.STATE_KEY, "message-0123456789");
+		for (int i = 0; i < 2; i++) {
+			policy.registerThrowable(context, new IllegalStateException("Service unavailable"));
+		}
+		return context;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		for (String policy : new String[] { "simple", "composite" }) {
+			for (String serializer : new String[] { "java", "compact" }) {
+				RetryPolicy retryPolicy = policy(policy);
+				int size = serializer(serializer, retryPolicy).serialize(failedContext(retryPolicy)).length;
+				System.out.println(policy + " context with " + serializer + " serializer: " + size + " bytes");
+			}
+		}
+		new Runner(new OptionsBuilder().include(RetryContextSerializerBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -16,9 +16,13 @@
 
 package org.springframework.retry.policy;
 
+import java.lang.ref.Reference;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.retry.context.RetryContextSupport;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -53,4 +57,57 @@ public class SoftReferenceMapRetryContextCacheTests {
 		assertThat(cache.containsKey("foo")).isFalse();
 	}
 
+	@Test
+	public void testComputeIfAbsent() {
+		RetryContextSupport context = new RetryContextSupport(null);
+		assertThat(cache.computeIfAbsent("foo", key -> null)).isNull();
+		assertThat(cache.containsKey("foo")).isFalse();
+		assertThat(cache.computeIfAbsent("foo", key -> context)).isSameAs(context);
+		assertThat(cache.computeIfAbsent("foo", key -> new RetryContextSupport(null))).isSameAs(context);
+	}
+
+	@Test
+	public void testReplace() {
+		RetryContextSupport context = new RetryContextSupport(null);
+		assertThat(cache.replace("foo", context)).isFalse();
+		assertThat(cache.containsKey("foo")).isFalse();
+		cache.put("foo", new RetryContextSupport(null));
+		assertThat(cache.replace("foo", context)).isTrue();
+		assertThat(cache.get("foo")).isSameAs(context);
+	}
+
+	@Test
+	public void testRemoveIfSame() {
+		RetryContextSupport context = new RetryContextSupport(null);
+		cache.put("foo", context);
+		assertThat(cache.remove("foo", new RetryContextSupport(null))).isFalse();
+		assertThat(cache.containsKey("foo")).isTrue();
+		assertThat(cache.remove("foo", context)).isTrue();
+		assertThat(cache.containsKey("foo")).isFalse();
+	}
+
+	@Test
+	public void testGetMissing() {
+		assertThat(cache.get("foo")).isNull();
+		assertThat(cache.containsKey(null)).isFalse();
+		RetryContextSupport context = new RetryContextSupport(null);
+		cache.put(null, context);
+		assertThat(cache.get(null)).isSameAs(context);
+	}
+
+	@Test
+	public void testCollectedContextsDoNotCountAgainstCapacity() {
+		cache.setCapacity(1);
+		cache.put("foo", new RetryContextSupport(null));
+		// Simulate the garbage collector clearing and queuing the reference
+		@SuppressWarnings("unchecked")
+		Map<Object, Reference<?>> map = (Map<Object, Reference<?>>) ReflectionTestUtils.getField(cache, "map");
+		map.get("foo").enqueue();
+		RetryContextSupport context = new RetryContextSupport(null);
+		cache.put("bar", context);
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.containsKey("foo")).isFalse();
+		assertThat(cache.get("bar")).isSameAs(context);
+	}
+
 }
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.reactor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.classify.BinaryExceptionClassifier;
+import org.springframework.retry.ExhaustedRetryException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.TerminatedRetryException;
+import org.springframework.retry.backoff.DummySleeper;
+import org.springframework.retry.backoff.FixedBackOffPolicy;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.DefaultRetryState;
+import org.springframework.retry.support.RetrySynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class ReactorRetryTemplateTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(1);
+
+	@Test
+	public void testNothingHappensUntilSubscribed() {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		AtomicInteger attempts = new AtomicInteger();
+		Mono<String> result = template.executeMono(context -> {
+			attempts.incrementAndGet();
+			return Mono.just("foo");
+		});
+		assertThat(attempts.get()).isEqualTo(0);
+		assertThat(result.block(TIMEOUT)).isEqualTo("foo");
+		assertThat(result.block(TIMEOUT)).isEqualTo("foo");
+		assertThat(attempts.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testSubscriptionErrorsAreRetried() {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		template.setRetryPolicy(new SimpleRetryPolicy(5));
+		AtomicInteger attempts = new AtomicInteger();
+		Mono<String> result = template.executeMono(context -> Mono.defer(() -> attempts.incrementAndGet() < 3
+				? Mono.error(new IllegalStateException("planned")) : Mono.just("foo")));
+		assertThat(result.block(TIMEOUT)).isEqualTo("foo");
+		assertThat(attempts.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void testExhaustedRetryEmitsLastException() {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		AtomicInteger attempts = new AtomicInteger();
+		Mono<String> result = template.executeMono(context -> {
+			throw new IllegalStateException("attempt " + attempts.incrementAndGet());
+		});
+		assertThatIllegalStateException().isThrownBy(() -> result.block(TIMEOUT)).withMessage("attempt 3");
+		assertThat(attempts.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void testRecovery() {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		AtomicReference<RetryContext> recoveryContext = new AtomicReference<>();
+		Mono<String> result = template.executeMono(context -> Mono.error(new IllegalStateException("planned")),
+				context -> {
+					recoveryContext.set(context);
+					return Mono.just("recovered");
+				}, null);
+		assertThat(result.block(TIMEOUT)).isEqualTo("recovered");
+		assertThat(recoveryContext.get().getRetryCount()).isEqualTo(3);
+		assertThat(recoveryContext.get().getAttribute(RetryContext.RECOVERED)).isEqualTo(true);
+		assertThat(recoveryContext.get().getAttribute(RetryContext.CLOSED)).isEqualTo(true);
+	}
+
+	@Test
+	public void testFluxReplaysElementsOfFailedAttempt() {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		AtomicInteger attempts = new AtomicInteger();
+		Flux<String> result = template.executeFlux(context -> attempts.incrementAndGet() < 2
+				? Flux.just("a").concatWith(Flux.error(new IllegalStateException("planned"))) : Flux.just("a", "b"));
+		assertThat(result.collectList().block(TIMEOUT)).containsExactly("a", "a", "b");
+	}
+
+	@Test
+	public void testBackOffIsScheduledNotSlept() {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		FixedBackOffPolicy backOffPolicy = new FixedBackOffPolicy();
+		backOffPolicy.setBackOffPeriod(50);
+		DummySleeper sleeper = new DummySleeper();
+		backOffPolicy.setSleeper(sleeper);
+		template.setBackOffPolicy(backOffPolicy);
+		List<Long> timestamps = new ArrayList<>();
+		List<String> threads = new ArrayList<>();
+		Mono<String> result = template.executeMono(context -> Mono.defer(() -> {
+			timestamps.add(System.nanoTime());
+			threads.add(Thread.currentThread().getName());
+			return timestamps.size() < 3 ? Mono.error(new IllegalStateException("planned")) : Mono.just("foo");
+		}));
+		assertThat(result.block(TIMEOUT)).isEqualTo("foo");
+		assertThat(sleeper.getBackOffs()).isEmpty();
+		assertThat(TimeUnit.NANOSECONDS.toMillis(timestamps.get(1) - timestamps.get(0))).isGreaterThanOrEqualTo(50);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(timestamps.get(2) - timestamps.get(1))).isGreaterThanOrEqualTo(50);
+		assertThat(threads.get(0)).isEqualTo(Thread.currentThread().getName());
+		assertThat(threads.get(1)).startsWith("parallel-");
+	}
+
+	@Test
+	public void testListeners() {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		List<String> events = new ArrayList<>();
+		template.setListeners(new RetryListener[] { new EventListener("1", events) });
+		template.registerListener(new EventListener("2", events));
+		AtomicInteger attempts = new AtomicInteger();
+		Mono<String> result = template.executeMono(context -> attempts.incrementAndGet() < 2
+				? Mono.error(new IllegalStateException("planned")) : Mono.just("foo"));
+		assertThat(result.block(TIMEOUT)).isEqualTo("foo");
+		assertThat(events).containsExactly("1-open", "2-open", "2-error", "1-error", "2-success:foo", "1-success:foo",
+				"2-close", "1-close");
+	}
+
+	@Test
+	public void testListenerVetoesOpen() {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		template.registerListener(new RetryListener() {
+			@Override
+			public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+				return false;
+			}
+		});
+		AtomicInteger attempts = new AtomicInteger();
+		Mono<String> result = template.executeMono(context -> {
+			attempts.incrementAndGet();
+			return Mono.just("foo");
+		});
+		assertThatExceptionOfType(TerminatedRetryException.class).isThrownBy(() -> result.block(TIMEOUT));
+		assertThat(attempts.get()).isEqualTo(0);
+	}
+
+	@Test
+	public void testContextRegisteredDuringAttempt() {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		List<RetryContext> contexts = new ArrayList<>();
+		Mono<String> result = template.executeMono(context -> {
+			contexts.add(RetrySynchronizationManager.getContext());
+			return contexts.size() < 2 ? Mono.error(new IllegalStateException("planned")) : Mono.just("foo");
+		});
+		assertThat(result.block(TIMEOUT)).isEqualTo("foo");
+		assertThat(contexts).hasSize(2);
+		assertThat(contexts.get(0)).isNotNull().isSameAs(contexts.get(1));
+		assertThat(RetrySynchronizationManager.getContext()).isNull();
+	}
+
+	@Test
+	public void testStatefulRetryPassesErrorDownstream() {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		DefaultRetryState state = new DefaultRetryState("foo");
+		AtomicInteger attempts = new AtomicInteger();
+		List<RetryContext> contexts = new ArrayList<>();
+		Mono<String> result = template.executeMono(context -> {
+			contexts.add(context);
+			attempts.incrementAndGet();
+			return Mono.error(new IllegalStateException("planned"));
+		}, context -> Mono.just("recovered"), state);
+		assertThatIllegalStateException().isThrownBy(() -> result.block(TIMEOUT));
+		assertThatIllegalStateException().isThrownBy(() -> result.block(TIMEOUT));
+		assertThat(contexts.get(1)).isSameAs(contexts.get(0));
+		assertThat(contexts.get(1).getRetryCount()).isEqualTo(2);
+		assertThatIllegalStateException().isThrownBy(() -> result.block(TIMEOUT));
+		assertThat(result.block(TIMEOUT)).isEqualTo("recovered");
+		assertThat(attempts.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void testStatefulRetryWithoutRecovery() {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		template.setRetryPolicy(new SimpleRetryPolicy(1));
+		Mono<String> result = template.executeMono(context -> Mono.error(new IllegalStateException("planned")), null,
+				new DefaultRetryState("foo"));
+		assertThatIllegalStateException().isThrownBy(() -> result.block(TIMEOUT));
+		assertThatExceptionOfType(ExhaustedRetryException.class).isThrownBy(() -> result.block(TIMEOUT))
+			.withCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void testCircuitBreakerOpens() {
+		ReactorRetryTemplate template = new ReactorRetryTemplate();
+		template.setRetryPolicy(new CircuitBreakerRetryPolicy(new SimpleRetryPolicy(2)));
+		DefaultRetryState state = new DefaultRetryState("circuit", new BinaryExceptionClassifier(false));
+		AtomicInteger attempts = new AtomicInteger();
+		AtomicReference<RetryContext> recoveryContext = new AtomicReference<>();
+		Mono<String> result = template.executeMono(context -> Mono.defer(() -> {
+			attempts.incrementAndGet();
+			return Mono.error(new IllegalStateException("planned"));
+		}), context -> {
+			recoveryContext.set(context);
+			return Mono.just("fallback");
+		}, state);
+		assertThat(result.block(TIMEOUT)).isEqualTo("fallback");
+		assertThat(recoveryContext.get().getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_OPEN)).isEqualTo(false);
+		assertThat(result.block(TIMEOUT)).isEqualTo("fallback");
+		assertThat(attempts.get()).isEqualTo(2);
+		assertThat(result.block(TIMEOUT)).isEqualTo("fallback");
+		assertThat(recoveryContext.get().getAttribute(CircuitBreakerRetryPolicy.CIRCUIT_OPEN)).isEqualTo(true);
+		assertThat(attempts.get()).isEqualTo(2);
+	}
+
+	private static final class EventListener implements RetryListener {
+
+		private final String name;
+
+		private final List<String> events;
+
+		private EventListener(String name, List<String> events) {
+			this.name = name;
+			this.events = events;
+		}
+
+		@Override
+		public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+			this.events.add(this.name + "-open");
+			return true;
+		}
+
+		@Override
+		public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+				Throwable throwable) {
+			this.events.add(this.name + "-error");
+		}
+
+		@Override
+		public <T, E extends Throwable> void onSuccess(RetryContext context, RetryCallback<T, E> callback, T result) {
+			this.events.add(this.name + "-success:" + result);
+		}
+
+		@Override
+		public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+				Throwable throwable) {
+			this.events.add(this.name + "-close");
+		}
+
+	}
+
+}
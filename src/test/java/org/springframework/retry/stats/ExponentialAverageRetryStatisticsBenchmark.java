@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.stats;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the rolling counts of {@link ExponentialAverageRetryStatistics} with the
+ * synchronized exponential average they replace, with many threads counting the events of
+ * the same retry block. Run {@link #main(String[])} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class ExponentialAverageRetryStatisticsBenchmark {
+
+	@Param({ "striped", "synchronized" })
+	public String average;
+
+	private ExponentialAverageRetryStatistics statistics;
+
+	private SynchronizedExponentialAverage synchronizedAverage;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.statistics = new ExponentialAverageRetryStatistics("benchmark");
+		this.synchronizedAverage = new SynchronizedExponentialAverage(15000);
+	}
+
+	@Benchmark
+	public void increment() {
+		if ("striped".equals(this.average)) {
+			this.statistics.incrementErrorCount();
+		}
+		else {
+			this.synchronizedAverage.increment();
+		}
+	}
+
+	@Benchmark
+	public double read() {
+		if ("striped".equals(this.average)) {
+			return this.statistics.getRollingErrorCount();
+		}
+		return this.synchronizedAverage.getValue();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(
+				new OptionsBuilder().include(ExponentialAverageRetryStatisticsBenchmark.class.getSimpleName()).build())
+			.run();
+	}
+
+	/**
+	 * The exponential average as it was before the rolling counts were striped.
+	 */
+	private static final class SynchronizedExponentialAverage {
+
+		private final double alpha;
+
+		private volatile long lastTime = System.currentTimeMillis();
+
+		private volatile double value = 0;
+
+		private SynchronizedExponentialAverage(long window) {
+			this.alpha = 1. / window;
+		}
+
+		private synchronized void increment() {
+			long time = System.currentTimeMillis();
+			this.value = this.value * Math.exp(-this.alpha * (time - this.lastTime)) + 1;
+			this.lastTime = time;
+		}
+
+		private double getValue() {
+			long time = System.currentTimeMillis();
+			return this.value * Math.exp(-this.alpha * (time - this.lastTime));
+		}
+
+	}
+
+}
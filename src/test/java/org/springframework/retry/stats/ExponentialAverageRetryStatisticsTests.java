@@ -17,12 +17,16 @@
 package org.springframework.retry.stats;
 
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 /**
  * @author Dave Syer
@@ -96,4 +100,30 @@ public class ExponentialAverageRetryStatisticsTests {
 		assertThat(stats.getRollingAbortCount()).isEqualTo(0);
 	}
 
+	@Test
+	public void errorRate() {
+		for (int i = 0; i < 10; i++) {
+			stats.incrementStartedCount();
+		}
+		stats.incrementAbortCount();
+		stats.incrementRecoveryCount();
+		assertThat(stats.getRollingErrorRate()).isCloseTo(0.2, within(0.01));
+	}
+
+	@Test
+	public void concurrentIncrements() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int i = 0; i < 4; i++) {
+			executor.execute(() -> {
+				for (int j = 0; j < 10000; j++) {
+					stats.incrementErrorCount();
+				}
+			});
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(stats.getErrorCount()).isEqualTo(40000);
+		assertThat(stats.getRollingErrorCount()).isCloseTo(40000, within(800));
+	}
+
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class LatencyHistogramTests {
+
+	private final LatencyHistogram histogram = new LatencyHistogram();
+
+	@Test
+	public void testEmpty() {
+		assertThat(this.histogram.getCount()).isZero();
+		assertThat(this.histogram.getValueAtPercentile(99)).isZero();
+		assertThatIllegalArgumentException().isThrownBy(() -> this.histogram.getValueAtPercentile(101));
+	}
+
+	@Test
+	public void testPercentiles() {
+		for (int i = 1; i <= 1000; i++) {
+			this.histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+		}
+		assertThat(this.histogram.getCount()).isEqualTo(1000);
+		assertThat(this.histogram.getMax()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(1000));
+		assertThat(this.histogram.getSum()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(500500));
+		assertWithinBucket(this.histogram.getValueAtPercentile(50), TimeUnit.MICROSECONDS.toNanos(500));
+		assertWithinBucket(this.histogram.getValueAtPercentile(99), TimeUnit.MICROSECONDS.toNanos(990));
+		assertThat(this.histogram.getValueAtPercentile(100)).isEqualTo(this.histogram.getMax());
+	}
+
+	@Test
+	public void testBuckets() {
+		long previous = -1;
+		for (long value : new long[] { 0, 1, 15, 16, 17, 31, 32, 1000, 123456789, 1L << 41, 1L << 42,
+				Long.MAX_VALUE }) {
+			int index = LatencyHistogram.index(value);
+			assertThat(LatencyHistogram.upperBound(index)).isGreaterThanOrEqualTo(value);
+			if (index > 0) {
+				assertThat(LatencyHistogram.upperBound(index - 1)).isLessThan(value);
+			}
+			assertThat(value).isGreaterThan(previous);
+			previous = value;
+		}
+	}
+
+	@Test
+	public void testMerge() {
+		LatencyHistogram other = new LatencyHistogram();
+		this.histogram.record(100);
+		other.record(200);
+		other.record(-1);
+		this.histogram.merge(other);
+		assertThat(this.histogram.getCount()).isEqualTo(3);
+		assertThat(this.histogram.getSum()).isEqualTo(300);
+		assertThat(this.histogram.getMax()).isEqualTo(200);
+		List<Long> counts = new ArrayList<>();
+		this.histogram.forEachBucket((upperBound, count) -> counts.add(count));
+		assertThat(counts).containsExactly(1L, 1L, 1L);
+	}
+
+	private static void assertWithinBucket(long actual, long expected) {
+		assertThat(actual).isBetween(expected, expected + expected / LatencyHistogram.SUB_BUCKETS);
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.stats;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OpenMetricsExporterTests {
+
+	private final DefaultStatisticsRepository repository = new DefaultStatisticsRepository();
+
+	private final OpenMetricsExporter exporter = new OpenMetricsExporter(this.repository);
+
+	@Test
+	public void testExport() throws Exception {
+		this.repository.addStarted("foo");
+		this.repository.addStarted("foo");
+		this.repository.addError("foo");
+		this.repository.addComplete("foo");
+		this.repository.addAbort("a \"quoted\\\" \nname");
+		MutableRetryStatistics circuit = this.repository.getStatistics("circuit");
+		circuit.setAttribute(CircuitBreakerRetryPolicy.CIRCUIT_OPEN, true);
+		circuit.setAttribute(CircuitBreakerRetryPolicy.CIRCUIT_SHORT_COUNT, 42);
+		StringWriter writer = new StringWriter();
+		this.exporter.export(writer);
+		String text = writer.toString();
+		assertThat(text).startsWith("# TYPE retry_started counter\n# HELP retry_started Retry blocks started.\n")
+			.contains("retry_started_total{name=\"foo\"} 2\n")
+			.contains("retry_errors_total{name=\"foo\"} 1\n")
+			.contains("retry_completed_total{name=\"foo\"} 1\n")
+			.contains("retry_recovered_total{name=\"foo\"} 0\n")
+			.contains("retry_aborted_total{name=\"a \\\"quoted\\\\\\\" \\nname\"} 1\n")
+			.contains("# TYPE retry_circuit_open gauge\n")
+			.contains("retry_circuit_open{name=\"circuit\"} 1\n")
+			.contains("retry_circuit_short_count{name=\"circuit\"} 42\n")
+			.doesNotContain("retry_circuit_open{name=\"foo\"}")
+			.endsWith("# EOF\n");
+		// Each family is written together
+		assertThat(text.indexOf("retry_started_total{name=\"circuit\"}"))
+			.isLessThan(text.indexOf("# TYPE retry_errors"));
+	}
+
+	@Test
+	public void testHttpHandler() throws Exception {
+		this.repository.addStarted("foo");
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/metrics", new OpenMetricsHttpHandler(this.exporter));
+		server.start();
+		try {
+			for (int i = 0; i < 2; i++) {
+				HttpURLConnection connection = (HttpURLConnection) new URL(
+						"http://localhost:" + server.getAddress().getPort() + "/metrics")
+					.openConnection();
+				assertThat(connection.getResponseCode()).isEqualTo(200);
+				assertThat(connection.getContentType()).isEqualTo(OpenMetricsExporter.CONTENT_TYPE);
+				try (InputStream body = connection.getInputStream()) {
+					ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+					StreamUtils.copy(body, bytes);
+					StringWriter expected = new StringWriter();
+					this.exporter.export(expected);
+					assertThat(new String(bytes.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+				}
+			}
+		}
+		finally {
+			server.stop(0);
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.stats;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.retry.stats.RollingWindowRetryStatistics.Counter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class RollingWindowRetryStatisticsTests {
+
+	private final AtomicLong time = new AtomicLong(1_000_000);
+
+	private final RollingWindowRetryStatistics stats = new RollingWindowRetryStatistics("test", 1000, 15 * 60 * 1000,
+			this.time::get);
+
+	@Test
+	public void testWindows() {
+		for (int second = 0; second < 600; second++) {
+			this.stats.incrementStartedCount();
+			if (second % 10 == 0) {
+				this.stats.incrementAbortCount();
+			}
+			this.time.addAndGet(1000);
+		}
+		this.time.addAndGet(-1);
+		assertThat(this.stats.getCount(Counter.STARTED, Duration.ofMinutes(1))).isEqualTo(60);
+		assertThat(this.stats.getCount(Counter.STARTED, Duration.ofMinutes(5))).isEqualTo(300);
+		assertThat(this.stats.getCount(Counter.STARTED, Duration.ofMinutes(15))).isEqualTo(600);
+		assertThat(this.stats.getCount(Counter.ABORT, Duration.ofMinutes(1))).isEqualTo(6);
+		assertThat(this.stats.getRate(Counter.STARTED, Duration.ofMinutes(1))).isEqualTo(1.);
+		assertThat(this.stats.getErrorRate(Duration.ofMinutes(1))).isEqualTo(0.1);
+		assertThat(this.stats.getStartedTotal()).isEqualTo(600);
+	}
+
+	@Test
+	public void testRingComesRound() {
+		this.stats.incrementErrorCount();
+		this.time.addAndGet(15 * 60 * 1000);
+		assertThat(this.stats.getCount(Counter.ERROR, Duration.ofMinutes(15))).isZero();
+		this.stats.incrementErrorCount();
+		this.stats.incrementErrorCount();
+		assertThat(this.stats.getCount(Counter.ERROR, Duration.ofSeconds(1))).isEqualTo(2);
+		assertThat(this.stats.getErrorCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void testWindowTooLong() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.stats.getCount(Counter.ERROR, Duration.ofMinutes(16)));
+		assertThatIllegalArgumentException().isThrownBy(() -> new RollingWindowRetryStatistics("test", 1000, 1500));
+	}
+
+	@Test
+	public void testConcurrentIncrements() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int i = 0; i < 4; i++) {
+			executor.execute(() -> {
+				for (int j = 0; j < 10000; j++) {
+					this.stats.incrementCompleteCount();
+				}
+			});
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(this.stats.getCount(Counter.COMPLETE, Duration.ofSeconds(1))).isEqualTo(40000);
+	}
+
+	@Test
+	public void testFactory() {
+		RollingWindowRetryStatisticsFactory factory = new RollingWindowRetryStatisticsFactory();
+		factory.setResolution(100);
+		factory.setWindow(60000);
+		RollingWindowRetryStatistics created = (RollingWindowRetryStatistics) factory.create("foo");
+		assertThat(created.getName()).isEqualTo("foo");
+		assertThat(created.getResolution()).isEqualTo(100);
+		assertThat(created.getWindow()).isEqualTo(60000);
+	}
+
+}
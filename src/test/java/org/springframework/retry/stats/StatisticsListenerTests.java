@@ -16,6 +16,9 @@
 
 package org.springframework.retry.stats;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.retry.RetryCallback;
@@ -23,6 +26,8 @@ import org.springframework.retry.RetryContext;
 import org.springframework.retry.RetryListener;
 import org.springframework.retry.RetryState;
 import org.springframework.retry.RetryStatistics;
+import org.springframework.retry.backoff.FixedBackOffPolicy;
+import org.springframework.retry.policy.CircuitBreakerRetryPolicy;
 import org.springframework.retry.policy.SimpleRetryPolicy;
 import org.springframework.retry.support.DefaultRetryState;
 import org.springframework.retry.support.RetryTemplate;
@@ -182,6 +187,127 @@ public class StatisticsListenerTests {
 		}
 	}
 
+	@Test
+	public void testStatisticsResolvedOncePerContext() {
+		AtomicInteger lookups = new AtomicInteger();
+		StatisticsRepository repository = new DefaultStatisticsRepository() {
+			@Override
+			public MutableRetryStatistics getStatistics(String name) {
+				lookups.incrementAndGet();
+				return super.getStatistics(name);
+			}
+		};
+		RetryTemplate retryTemplate = new RetryTemplate();
+		retryTemplate.setListeners(new RetryListener[] { new StatisticsListener(repository) });
+		retryTemplate.setRetryPolicy(new SimpleRetryPolicy(5));
+		MockRetryCallback callback = new MockRetryCallback();
+		callback.setAttemptsBeforeSuccess(5);
+		try {
+			retryTemplate.execute(callback);
+		}
+		catch (Exception e) {
+			// not interested
+		}
+		assertThat(lookups.get()).isEqualTo(1);
+		RetryStatistics stats = repository.findOne("test");
+		assertThat(stats.getStartedTotal()).isEqualTo(5L);
+		assertThat(stats.getErrorTotal()).isEqualTo(4L);
+		assertThat(stats.getCompleteTotal()).isEqualTo(1L);
+	}
+
+	@Test
+	public void testLatencies() throws Throwable {
+		RetryTemplate retryTemplate = new RetryTemplate();
+		retryTemplate.setListeners(new RetryListener[] { listener });
+		retryTemplate.setRetryPolicy(new SimpleRetryPolicy(3));
+		FixedBackOffPolicy backOffPolicy = new FixedBackOffPolicy();
+		backOffPolicy.setBackOffPeriod(10);
+		retryTemplate.setBackOffPolicy(backOffPolicy);
+		MockRetryCallback callback = new MockRetryCallback();
+		callback.setAttemptsBeforeSuccess(3);
+		retryTemplate.execute(callback);
+		DefaultRetryStatistics stats = (DefaultRetryStatistics) repository.findOne("test");
+		assertThat(stats.getAttemptLatency().getCount()).isEqualTo(3);
+		assertThat(stats.getBackOffTime().getCount()).isEqualTo(2);
+		assertThat(stats.getBackOffTime().getValueAtPercentile(50))
+			.isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+		assertThat(stats.getCallLatency().getCount()).isEqualTo(1);
+		assertThat(stats.getCallLatency().getMax())
+			.isGreaterThanOrEqualTo(stats.getBackOffTime().getSum() + stats.getAttemptLatency().getSum());
+	}
+
+	@Test
+	public void testLatenciesOfCallsSharingContext() throws Throwable {
+		RetryTemplate retryTemplate = new RetryTemplate();
+		retryTemplate.setListeners(new RetryListener[] { listener });
+		retryTemplate.setRetryPolicy(new CircuitBreakerRetryPolicy());
+		RetryState state = new DefaultRetryState("foo");
+		retryTemplate.execute(context -> {
+			context.setAttribute(RetryContext.NAME, "test");
+			// Another call through the circuit while this one is running
+			retryTemplate.execute(inner -> inner.getAttribute(RetryContext.NAME), null, state);
+			Thread.sleep(50);
+			return null;
+		}, null, state);
+		DefaultRetryStatistics stats = (DefaultRetryStatistics) repository.findOne("test");
+		assertThat(stats.getCallLatency().getCount()).isEqualTo(2);
+		assertThat(stats.getCallLatency().getMax()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+		assertThat(stats.getAttemptLatency().getCount()).isEqualTo(2);
+		assertThat(stats.getAttemptLatency().getMax()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+	}
+
+	@Test
+	public void testRepositoryWithoutStatistics() throws Exception {
+		StatisticsRepository repository = new StatisticsRepository() {
+
+			@Override
+			public RetryStatistics findOne(String name) {
+				return StatisticsListenerTests.this.repository.findOne(name);
+			}
+
+			@Override
+			public Iterable<RetryStatistics> findAll() {
+				return StatisticsListenerTests.this.repository.findAll();
+			}
+
+			@Override
+			public void addStarted(String name) {
+				StatisticsListenerTests.this.repository.addStarted(name);
+			}
+
+			@Override
+			public void addError(String name) {
+				StatisticsListenerTests.this.repository.addError(name);
+			}
+
+			@Override
+			public void addRecovery(String name) {
+				StatisticsListenerTests.this.repository.addRecovery(name);
+			}
+
+			@Override
+			public void addComplete(String name) {
+				StatisticsListenerTests.this.repository.addComplete(name);
+			}
+
+			@Override
+			public void addAbort(String name) {
+				StatisticsListenerTests.this.repository.addAbort(name);
+			}
+
+		};
+		RetryTemplate retryTemplate = new RetryTemplate();
+		retryTemplate.setListeners(new RetryListener[] { new StatisticsListener(repository) });
+		retryTemplate.setRetryPolicy(new SimpleRetryPolicy(3));
+		MockRetryCallback callback = new MockRetryCallback();
+		callback.setAttemptsBeforeSuccess(2);
+		retryTemplate.execute(callback);
+		RetryStatistics stats = this.repository.findOne("test");
+		assertThat(stats.getStartedCount()).isEqualTo(2);
+		assertThat(stats.getErrorCount()).isEqualTo(1);
+		assertThat(stats.getCompleteCount()).isEqualTo(1);
+	}
+
 	private static class MockRetryCallback implements RetryCallback<Object, Exception> {
 
 		private int attempts;
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.TerminatedRetryException;
+import org.springframework.retry.backoff.BackOffContext;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.DummySleeper;
+import org.springframework.retry.backoff.FixedBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class AsyncRetryTemplateTests {
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+	@AfterEach
+	public void shutdown() {
+		this.scheduler.shutdownNow();
+	}
+
+	@Test
+	public void testSuccessOnFirstAttempt() throws Exception {
+		AsyncRetryTemplate template = new AsyncRetryTemplate();
+		AtomicInteger attempts = new AtomicInteger();
+		CompletableFuture<String> result = template.execute(() -> {
+			attempts.incrementAndGet();
+			return CompletableFuture.completedFuture("foo");
+		});
+		assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+		assertThat(attempts.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testSuccessfulRetry() throws Exception {
+		AsyncRetryTemplate template = new AsyncRetryTemplate();
+		template.setScheduler(this.scheduler);
+		template.setRetryPolicy(new SimpleRetryPolicy(5));
+		AtomicInteger attempts = new AtomicInteger();
+		CompletableFuture<String> result = template.execute(() -> {
+			if (attempts.incrementAndGet() < 3) {
+				return failed(new IllegalStateException("planned"));
+			}
+			return CompletableFuture.completedFuture("foo");
+		});
+		assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+		assertThat(attempts.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void testExhaustedRetryCompletesWithLastException() throws Exception {
+		AsyncRetryTemplate template = new AsyncRetryTemplate();
+		template.setScheduler(this.scheduler);
+		AtomicInteger attempts = new AtomicInteger();
+		CompletableFuture<String> result = template.execute(() -> {
+			throw new IllegalStateException("attempt " + attempts.incrementAndGet());
+		});
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+			.withCauseInstanceOf(IllegalStateException.class)
+			.withMessageContaining("attempt 3");
+		assertThat(attempts.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void testRecovery() throws Exception {
+		AsyncRetryTemplate template = new AsyncRetryTemplate();
+		template.setScheduler(this.scheduler);
+		AtomicReference<RetryContext> recoveryContext = new AtomicReference<>();
+		CompletableFuture<String> result = template.execute(() -> failed(new IllegalStateException("planned")),
+				context -> {
+					recoveryContext.set(context);
+					return CompletableFuture.completedFuture("recovered");
+				});
+		assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("recovered");
+		assertThat(recoveryContext.get().getRetryCount()).isEqualTo(3);
+		assertThat(recoveryContext.get().getAttribute(RetryContext.RECOVERED)).isEqualTo(true);
+		assertThat(recoveryContext.get().getAttribute(RetryContext.CLOSED)).isEqualTo(true);
+	}
+
+	@Test
+	public void testBackOffIsScheduledNotSlept() throws Exception {
+		AsyncRetryTemplate template = new AsyncRetryTemplate();
+		template.setScheduler(this.scheduler);
+		FixedBackOffPolicy backOffPolicy = new FixedBackOffPolicy();
+		backOffPolicy.setBackOffPeriod(50);
+		DummySleeper sleeper = new DummySleeper();
+		backOffPolicy.setSleeper(sleeper);
+		template.setBackOffPolicy(backOffPolicy);
+		List<Long> timestamps = new ArrayList<>();
+		List<String> threads = new ArrayList<>();
+		CompletableFuture<String> result = template.execute(() -> {
+			timestamps.add(System.nanoTime());
+			threads.add(Thread.currentThread().getName());
+			return timestamps.size() < 3 ? failed(new IllegalStateException("planned"))
+					: CompletableFuture.completedFuture("foo");
+		});
+		assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+		assertThat(sleeper.getBackOffs()).isEmpty();
+		assertThat(TimeUnit.NANOSECONDS.toMillis(timestamps.get(1) - timestamps.get(0))).isGreaterThanOrEqualTo(50);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(timestamps.get(2) - timestamps.get(1))).isGreaterThanOrEqualTo(50);
+		assertThat(threads.get(0)).isEqualTo(Thread.currentThread().getName());
+		assertThat(threads.get(1)).isNotEqualTo(Thread.currentThread().getName());
+	}
+
+	@Test
+	public void testListeners() throws Exception {
+		AsyncRetryTemplate template = new AsyncRetryTemplate();
+		template.setScheduler(this.scheduler);
+		List<String> events = new ArrayList<>();
+		template.setListeners(new RetryListener[] { new EventListener("1", events) });
+		template.registerListener(new EventListener("2", events));
+		AtomicInteger attempts = new AtomicInteger();
+		CompletableFuture<String> result = template.execute(() -> attempts.incrementAndGet() < 2
+				? failed(new IllegalStateException("planned")) : CompletableFuture.completedFuture("foo"));
+		assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+		assertThat(events).containsExactly("1-open", "2-open", "2-error", "1-error", "2-success:foo", "1-success:foo",
+				"2-close", "1-close");
+	}
+
+	@Test
+	public void testListenerVetoesOpen() {
+		AsyncRetryTemplate template = new AsyncRetryTemplate();
+		template.registerListener(new RetryListener() {
+			@Override
+			public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+				return false;
+			}
+		});
+		AtomicInteger attempts = new AtomicInteger();
+		CompletableFuture<String> result = template.execute(() -> {
+			attempts.incrementAndGet();
+			return CompletableFuture.completedFuture("foo");
+		});
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(result::get)
+			.withCauseInstanceOf(TerminatedRetryException.class);
+		assertThat(attempts.get()).isEqualTo(0);
+	}
+
+	@Test
+	public void testContextRegisteredDuringAttempt() throws Exception {
+		AsyncRetryTemplate template = new AsyncRetryTemplate();
+		template.setScheduler(this.scheduler);
+		List<RetryContext> contexts = new ArrayList<>();
+		CompletableFuture<String> result = template.execute(() -> {
+			contexts.add(RetrySynchronizationManager.getContext());
+			return contexts.size() < 2 ? failed(new IllegalStateException("planned"))
+					: CompletableFuture.completedFuture("foo");
+		});
+		assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+		assertThat(contexts).hasSize(2);
+		assertThat(contexts.get(0)).isNotNull().isSameAs(contexts.get(1));
+		assertThat(RetrySynchronizationManager.getContext()).isNull();
+	}
+
+	@Test
+	public void testCancelStopsPendingAttempt() throws Exception {
+		AsyncRetryTemplate template = new AsyncRetryTemplate();
+		template.setScheduler(this.scheduler);
+		template.setRetryPolicy(new SimpleRetryPolicy(Integer.MAX_VALUE));
+		FixedBackOffPolicy backOffPolicy = new FixedBackOffPolicy();
+		backOffPolicy.setBackOffPeriod(10_000);
+		template.setBackOffPolicy(backOffPolicy);
+		List<String> events = new ArrayList<>();
+		template.registerListener(new EventListener("listener", events));
+		AtomicInteger attempts = new AtomicInteger();
+		CompletableFuture<String> result = template.execute(() -> {
+			attempts.incrementAndGet();
+			return failed(new IllegalStateException("planned"));
+		});
+		assertThat(result.cancel(false)).isTrue();
+		this.scheduler.shutdown();
+		assertThat(this.scheduler.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(attempts.get()).isEqualTo(1);
+		assertThat(events).containsExactly("listener-open", "listener-error", "listener-close");
+	}
+
+	@Test
+	public void testBlockingBackOffOnScheduler() throws Exception {
+		ExecutorService completer = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "completer"));
+		try {
+			AsyncRetryTemplate template = new AsyncRetryTemplate();
+			template.setScheduler(this.scheduler);
+			template.setRetryPolicy(new SimpleRetryPolicy(2));
+			List<String> threads = new ArrayList<>();
+			template.setBackOffPolicy(new BackOffPolicy() {
+
+				@Override
+				public BackOffContext start(RetryContext context) {
+					return null;
+				}
+
+				@Override
+				public void backOff(BackOffContext backOffContext) {
+					threads.add(Thread.currentThread().getName());
+				}
+
+			});
+			AtomicInteger attempts = new AtomicInteger();
+			CompletableFuture<String> result = template.execute(() -> CompletableFuture.supplyAsync(() -> {
+				if (attempts.incrementAndGet() < 2) {
+					throw new IllegalStateException("planned");
+				}
+				return "foo";
+			}, completer));
+			assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+			assertThat(threads).hasSize(1).doesNotContain("completer");
+		}
+		finally {
+			completer.shutdownNow();
+		}
+	}
+
+	private static <T> CompletableFuture<T> failed(Throwable throwable) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(throwable);
+		return future;
+	}
+
+	private static final class EventListener implements RetryListener {
+
+		private final String name;
+
+		private final List<String> events;
+
+		private EventListener(String name, List<String> events) {
+			this.name = name;
+			this.events = events;
+		}
+
+		@Override
+		public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+			this.events.add(this.name + "-open");
+			return true;
+		}
+
+		@Override
+		public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+				Throwable throwable) {
+			this.events.add(this.name + "-error");
+		}
+
+		@Override
+		public <T, E extends Throwable> void onSuccess(RetryContext context, RetryCallback<T, E> callback, T result) {
+			this.events.add(this.name + "-success:" + result);
+		}
+
+		@Override
+		public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+				Throwable throwable) {
+			this.events.add(this.name + "-close");
+		}
+
+	}
+
+}
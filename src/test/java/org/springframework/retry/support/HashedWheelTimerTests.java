@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.retry.support;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.retry.backoff.FixedBackOffPolicy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class HashedWheelTimerTests {
+
+	private final HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 8);
+
+	@AfterEach
+	public void shutdown() {
+		this.timer.shutdownNow();
+	}
+
+	@Test
+	public void testScheduledTaskRunsAfterDelay() throws Exception {
+		long start = System.nanoTime();
+		ScheduledFuture<String> future = this.timer.schedule(() -> "foo", 50, TimeUnit.MILLISECONDS);
+		assertThat(future.get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(50);
+		assertThat(this.timer.getPendingTaskCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void testDelayLongerThanOneRotation() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		long start = System.nanoTime();
+		this.timer.schedule(latch::countDown, 30, TimeUnit.MILLISECONDS);
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(30);
+	}
+
+	@Test
+	public void testCancelledTaskDoesNotRun() throws Exception {
+		AtomicInteger runs = new AtomicInteger();
+		ScheduledFuture<?> future = this.timer.schedule(runs::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+		assertThat(this.timer.getPendingTaskCount()).isEqualTo(1);
+		assertThat(future.cancel(false)).isTrue();
+		Thread.sleep(100);
+		assertThat(runs.get()).isEqualTo(0);
+		assertThat(future.isCancelled()).isTrue();
+		assertThat(this.timer.getPendingTaskCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void testFixedRate() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.timer.scheduleAtFixedRate(latch::countDown, 0, 5, TimeUnit.MILLISECONDS);
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(future.cancel(false)).isTrue();
+	}
+
+	@Test
+	public void testShutdownRunsScheduledTasks() throws Exception {
+		AtomicInteger runs = new AtomicInteger();
+		this.timer.schedule(runs::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+		this.timer.shutdown();
+		assertThat(this.timer.isShutdown()).isTrue();
+		assertThatExceptionOfType(RejectedExecutionException.class)
+			.isThrownBy(() -> this.timer.schedule(runs::incrementAndGet, 0, TimeUnit.MILLISECONDS));
+		assertThat(this.timer.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(runs.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testShutdownNowReturnsPendingTasks() {
+		ScheduledFuture<?> future = this.timer.schedule(() -> {
+		}, 1, TimeUnit.HOURS);
+		List<Runnable> pending = this.timer.shutdownNow();
+		assertThat(pending).containsExactly((Runnable) future);
+		assertThat(future.isCancelled()).isTrue();
+		assertThat(this.timer.isTerminated()).isTrue();
+		assertThat(this.timer.getPendingTaskCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void testShutdownBeforeStart() throws Exception {
+		HashedWheelTimer timer = new HashedWheelTimer();
+		timer.shutdown();
+		assertThat(timer.awaitTermination(0, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void testAsAsyncRetryScheduler() throws Exception {
+		AsyncRetryTemplate template = new AsyncRetryTemplate();
+		template.setScheduler(this.timer);
+		FixedBackOffPolicy backOffPolicy = new FixedBackOffPolicy();
+		backOffPolicy.setBackOffPeriod(10);
+		template.setBackOffPolicy(backOffPolicy);
+		AtomicInteger attempts = new AtomicInteger();
+		CompletableFuture<String> result = template.execute(() -> {
+			CompletableFuture<String> future = new CompletableFuture<>();
+			if (attempts.incrementAndGet() < 3) {
+				future.completeExceptionally(new IllegalStateException("planned"));
+			}
+			else {
+				future.complete("foo");
+			}
+			return future;
+		});
+		assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+		assertThat(attempts.get()).isEqualTo(3);
+	}
+
+}
@@ -30,6 +30,9 @@ import org.springframework.retry.TerminatedRetryException;
 import org.springframework.retry.backoff.BackOffContext;
 import org.springframework.retry.backoff.BackOffInterruptedException;
 import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.DummySleeper;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+import org.springframework.retry.backoff.FixedBackOffPolicy;
 import org.springframework.retry.backoff.StatelessBackOffPolicy;
 import org.springframework.retry.policy.NeverRetryPolicy;
 import org.springframework.retry.policy.SimpleRetryPolicy;
@@ -279,6 +282,35 @@ public class RetryTemplateTests {
 		})).withMessage("foo");
 	}
 
+	@Test
+	public void testSleeperWaitsForComputedDelay() throws Throwable {
+		RetryTemplate retryTemplate = new RetryTemplate();
+		ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
+		DummySleeper policySleeper = new DummySleeper();
+		backOffPolicy.setSleeper(policySleeper);
+		retryTemplate.setBackOffPolicy(backOffPolicy);
+		DummySleeper sleeper = new DummySleeper();
+		retryTemplate.setSleeper(sleeper);
+		MockRetryCallback callback = new MockRetryCallback();
+		callback.setAttemptsBeforeSuccess(3);
+		retryTemplate.execute(callback);
+		assertThat(sleeper.getBackOffs()).containsExactly(100, 200);
+		assertThat(policySleeper.getBackOffs()).isEmpty();
+	}
+
+	@Test
+	public void testSleeperInterrupted() {
+		RetryTemplate retryTemplate = new RetryTemplate();
+		retryTemplate.setBackOffPolicy(new FixedBackOffPolicy());
+		retryTemplate.setSleeper(backOffPeriod -> {
+			throw new InterruptedException("foo");
+		});
+		assertThatExceptionOfType(BackOffInterruptedException.class).isThrownBy(() -> retryTemplate.execute(context -> {
+			throw new RuntimeException("Bad!");
+		})).withCauseInstanceOf(InterruptedException.class);
+		assertThat(Thread.interrupted()).isTrue();
+	}
+
 	/**
 	 * {@link BackOffPolicy} should apply also for exceptions that are re-thrown.
 	 */